@@ -0,0 +1,90 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authentication;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.authentication.ott.InMemoryOneTimeTokenService;
+import org.springframework.security.authentication.ott.OneTimeTokenAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.DPoPAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationProvider;
+
+/**
+ * Benchmarks stateless per-request authentication of a bearer token with
+ * {@link ProviderManager#authenticate}, where the {@link JwtAuthenticationProvider} is
+ * either the only provider or comes after providers for other types of
+ * {@link Authentication}. The JWT is not verified, so that the benchmark measures the
+ * work of {@link ProviderManager} rather than that of signature verification.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ProviderManagerBenchmark {
+
+	@Param({ "1", "8" })
+	public int providers;
+
+	private ProviderManager providerManager;
+
+	@Setup
+	public void setup() {
+		Jwt jwt = Jwt.withTokenValue("token")
+			.header("alg", "none")
+			.subject("user")
+			.claim("scope", "message:read message:write")
+			.build();
+		JwtAuthenticationProvider jwtAuthenticationProvider = new JwtAuthenticationProvider((token) -> jwt);
+		List<AuthenticationProvider> providers = new ArrayList<>();
+		if (this.providers > 1) {
+			UserDetailsService userDetailsService = new InMemoryUserDetailsManager();
+			providers.add(new DaoAuthenticationProvider(userDetailsService));
+			providers.add(new AnonymousAuthenticationProvider("key"));
+			providers.add(new RememberMeAuthenticationProvider("key"));
+			providers.add(new TestingAuthenticationProvider());
+			providers.add(new OneTimeTokenAuthenticationProvider(new InMemoryOneTimeTokenService(),
+					userDetailsService));
+			providers.add(new PreAuthenticatedAuthenticationProvider());
+			providers.add(new DPoPAuthenticationProvider(new ProviderManager(jwtAuthenticationProvider)));
+		}
+		providers.add(jwtAuthenticationProvider);
+		this.providerManager = new ProviderManager(providers);
+	}
+
+	@Benchmark
+	public Authentication authenticateBearerToken() {
+		return this.providerManager.authenticate(new BearerTokenAuthenticationToken("token"));
+	}
+
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authorization.method;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.prepost.PostAuthorize;
+import org.springframework.security.access.prepost.PostFilter;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.access.prepost.PreFilter;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.context.ThreadLocalSecurityContextHolderStrategy;
+import org.springframework.security.core.parameters.P;
+
+/**
+ * Benchmarks authorizing and filtering invocations of methods that are annotated with
+ * {@link PreAuthorize}, {@link PostAuthorize}, {@link PreFilter} and {@link PostFilter},
+ * comparing interpreted expressions with
+ * {@link DefaultMethodSecurityExpressionHandler#setCompileExpressions(boolean) compiled}
+ * ones. The expressions reference method parameters and properties, so that they need
+ * SpEL.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class MethodSecurityExpressionBenchmark {
+
+	@Param({ "interpreted", "compiled" })
+	public String expressions;
+
+	@Param({ "10" })
+	public int documents;
+
+	private final Supplier<Authentication> authentication = () -> new TestingAuthenticationToken("user", "password",
+			"ROLE_USER");
+
+	private final DocumentService service = new DocumentService();
+
+	private PreAuthorizeAuthorizationManager preAuthorize;
+
+	private PostAuthorizeAuthorizationManager postAuthorize;
+
+	private PreFilterAuthorizationMethodInterceptor preFilter;
+
+	private PostFilterAuthorizationMethodInterceptor postFilter;
+
+	private List<Document> allDocuments;
+
+	private Method findById;
+
+	private Method save;
+
+	private Method findAll;
+
+	@Setup
+	public void setup() throws Exception {
+		DefaultMethodSecurityExpressionHandler expressionHandler = new DefaultMethodSecurityExpressionHandler();
+		expressionHandler.setCompileExpressions("compiled".equals(this.expressions));
+		SecurityContextHolderStrategy securityContextHolderStrategy = new ThreadLocalSecurityContextHolderStrategy();
+		securityContextHolderStrategy.setContext(new SecurityContextImpl(this.authentication.get()));
+		this.preAuthorize = new PreAuthorizeAuthorizationManager();
+		this.preAuthorize.setExpressionHandler(expressionHandler);
+		this.postAuthorize = new PostAuthorizeAuthorizationManager();
+		this.postAuthorize.setExpressionHandler(expressionHandler);
+		this.preFilter = new PreFilterAuthorizationMethodInterceptor();
+		this.preFilter.setExpressionHandler(expressionHandler);
+		this.preFilter.setSecurityContextHolderStrategy(securityContextHolderStrategy);
+		this.postFilter = new PostFilterAuthorizationMethodInterceptor();
+		this.postFilter.setExpressionHandler(expressionHandler);
+		this.postFilter.setSecurityContextHolderStrategy(securityContextHolderStrategy);
+		this.allDocuments = new ArrayList<>();
+		for (int i = 0; i < this.documents; i++) {
+			this.allDocuments.add(new Document(i, (i % 2 == 0) ? "user" : "admin"));
+		}
+		this.findById = DocumentService.class.getMethod("findById", String.class, long.class);
+		this.save = DocumentService.class.getMethod("save", List.class);
+		this.findAll = DocumentService.class.getMethod("findAll");
+	}
+
+	@Benchmark
+	public AuthorizationResult preAuthorize() {
+		return this.preAuthorize.authorize(this.authentication,
+				new Invocation(this.service, this.findById, "user", 1L));
+	}
+
+	@Benchmark
+	public AuthorizationResult postAuthorize() {
+		MethodInvocation invocation = new Invocation(this.service, this.findById, "user", 1L);
+		return this.postAuthorize.authorize(this.authentication,
+				new MethodInvocationResult(invocation, new Document(1L, "user")));
+	}
+
+	@Benchmark
+	public Object preFilter() throws Throwable {
+		return this.preFilter.invoke(new Invocation(this.service, this.save, new ArrayList<>(this.allDocuments)));
+	}
+
+	@Benchmark
+	public Object postFilter() throws Throwable {
+		return this.postFilter.invoke(new Invocation(this.service, this.findAll) {
+
+			@Override
+			public Object proceed() {
+				return new ArrayList<>(MethodSecurityExpressionBenchmark.this.allDocuments);
+			}
+
+		});
+	}
+
+	public static class Document {
+
+		private final long id;
+
+		private final String owner;
+
+		Document(long id, String owner) {
+			this.id = id;
+			this.owner = owner;
+		}
+
+		public long getId() {
+			return this.id;
+		}
+
+		public String getOwner() {
+			return this.owner;
+		}
+
+	}
+
+	public static class DocumentService {
+
+		@PreAuthorize("#owner == authentication.name and #id > 0")
+		@PostAuthorize("returnObject.owner == authentication.name")
+		public Document findById(@P("owner") String owner, @P("id") long id) {
+			return new Document(id, owner);
+		}
+
+		@PreFilter("filterObject.owner == authentication.name")
+		public List<Document> save(List<Document> documents) {
+			return documents;
+		}
+
+		@PostFilter("filterObject.owner == authentication.name")
+		public List<Document> findAll() {
+			return List.of();
+		}
+
+	}
+
+	private static class Invocation implements MethodInvocation {
+
+		private final Object target;
+
+		private final Method method;
+
+		private final Object[] arguments;
+
+		Invocation(Object target, Method method, Object... arguments) {
+			this.target = target;
+			this.method = method;
+			this.arguments = arguments;
+		}
+
+		@Override
+		public Method getMethod() {
+			return this.method;
+		}
+
+		@Override
+		public Object[] getArguments() {
+			return this.arguments;
+		}
+
+		@Override
+		public Object proceed() throws Throwable {
+			return this.method.invoke(this.target, this.arguments);
+		}
+
+		@Override
+		public Object getThis() {
+			return this.target;
+		}
+
+		@Override
+		public AccessibleObject getStaticPart() {
+			return this.method;
+		}
+
+	}
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.concurrent;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+/**
+ * Benchmarks a request that fans out to many short tasks, comparing
+ * {@link DelegatingSecurityContextExecutorService} with
+ * {@link VirtualThreadSecurityContextExecutorService} and its
+ * {@link VirtualThreadSecurityContextExecutorService.TaskScope}. All of them start a
+ * virtual thread per task when the benchmarks run on a JVM that provides virtual threads,
+ * see {@code -PjmhJvm}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class VirtualThreadSecurityContextExecutorServiceBenchmark {
+
+	@Param({ "delegating", "snapshot", "scope" })
+	public String executor;
+
+	@Param({ "10000" })
+	public int tasks;
+
+	private ExecutorService delegate;
+
+	private ExecutorService executorService;
+
+	private VirtualThreadSecurityContextExecutorService virtualThreadExecutorService;
+
+	private SecurityContext context;
+
+	private Callable<Authentication> task;
+
+	@Setup
+	public void setup() throws Exception {
+		this.delegate = newThreadPerTaskExecutor();
+		this.virtualThreadExecutorService = new VirtualThreadSecurityContextExecutorService(this.delegate);
+		this.executorService = "delegating".equals(this.executor)
+				? new DelegatingSecurityContextExecutorService(this.delegate) : this.virtualThreadExecutorService;
+		this.context = new SecurityContextImpl(new TestingAuthenticationToken("user", "password", "ROLE_USER"));
+		this.task = () -> SecurityContextHolder.getContext().getAuthentication();
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.delegate.shutdownNow();
+	}
+
+	@Benchmark
+	public int request() throws Exception {
+		SecurityContextHolder.setContext(this.context);
+		try {
+			if ("scope".equals(this.executor)) {
+				return forkAndJoin();
+			}
+			List<Future<Authentication>> futures = new ArrayList<>(this.tasks);
+			for (int i = 0; i < this.tasks; i++) {
+				futures.add(this.executorService.submit(this.task));
+			}
+			return await(futures);
+		}
+		finally {
+			SecurityContextHolder.clearContext();
+		}
+	}
+
+	private int forkAndJoin() throws Exception {
+		try (VirtualThreadSecurityContextExecutorService.TaskScope scope = this.virtualThreadExecutorService
+			.openScope()) {
+			List<Future<Authentication>> futures = new ArrayList<>(this.tasks);
+			for (int i = 0; i < this.tasks; i++) {
+				futures.add(scope.fork(this.task));
+			}
+			scope.join();
+			return await(futures);
+		}
+	}
+
+	private static int await(List<Future<Authentication>> futures) throws InterruptedException, ExecutionException {
+		int authenticated = 0;
+		for (Future<Authentication> future : futures) {
+			if (future.get() != null) {
+				authenticated++;
+			}
+		}
+		return authenticated;
+	}
+
+	private static ExecutorService newThreadPerTaskExecutor() throws Exception {
+		try {
+			Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) method.invoke(null);
+		}
+		catch (NoSuchMethodException ex) {
+			return Executors.newCachedThreadPool();
+		}
+	}
+
+}
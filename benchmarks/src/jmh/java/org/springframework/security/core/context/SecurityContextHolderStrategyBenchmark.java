@@ -0,0 +1,132 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.context;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+/**
+ * Benchmarks looking up the {@link SecurityContext} during a request and propagating it
+ * to threads that the request fans out to, comparing the {@link ThreadLocal},
+ * {@link InheritableThreadLocal} and scoped {@link SecurityContextHolderStrategy}
+ * implementations. The scoped strategy uses {@code java.lang.ScopedValue} only when the
+ * benchmarks run on a JVM that provides it, see {@code -PjmhJvm}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class SecurityContextHolderStrategyBenchmark {
+
+	private static final int LOOKUPS_PER_REQUEST = 10;
+
+	@Param({ "threadLocal", "inheritableThreadLocal", "scopedValue" })
+	public String strategy;
+
+	@Param({ "4" })
+	public int tasks;
+
+	private SecurityContextHolderStrategy securityContextHolderStrategy;
+
+	private Supplier<SecurityContext> deferredContext;
+
+	@Setup
+	public void setup() {
+		this.securityContextHolderStrategy = switch (this.strategy) {
+			case "threadLocal" -> new ThreadLocalSecurityContextHolderStrategy();
+			case "inheritableThreadLocal" -> new InheritableThreadLocalSecurityContextHolderStrategy();
+			default -> new ScopedValueSecurityContextHolderStrategy();
+		};
+		SecurityContext context = new SecurityContextImpl(
+				new TestingAuthenticationToken("user", "password", "ROLE_USER"));
+		this.deferredContext = () -> context;
+	}
+
+	@Benchmark
+	public void request(Blackhole blackhole) {
+		inRequest(() -> {
+			for (int i = 0; i < LOOKUPS_PER_REQUEST; i++) {
+				blackhole.consume(this.securityContextHolderStrategy.getContext().getAuthentication());
+			}
+		});
+	}
+
+	@Benchmark
+	public void fanOut(Blackhole blackhole) {
+		inRequest(() -> {
+			Thread[] threads = new Thread[this.tasks];
+			for (int i = 0; i < threads.length; i++) {
+				threads[i] = new Thread(propagate(
+						() -> blackhole.consume(this.securityContextHolderStrategy.getContext().getAuthentication())));
+				threads[i].start();
+			}
+			for (Thread thread : threads) {
+				join(thread);
+			}
+		});
+	}
+
+	private void inRequest(Runnable runnable) {
+		if (this.securityContextHolderStrategy instanceof ScopedValueSecurityContextHolderStrategy scoped) {
+			scoped.runWhere(this.deferredContext, runnable);
+			return;
+		}
+		this.securityContextHolderStrategy.setDeferredContext(this.deferredContext);
+		try {
+			runnable.run();
+		}
+		finally {
+			this.securityContextHolderStrategy.clearContext();
+		}
+	}
+
+	private Runnable propagate(Runnable task) {
+		SecurityContext context = this.securityContextHolderStrategy.getContext();
+		if (this.securityContextHolderStrategy instanceof ScopedValueSecurityContextHolderStrategy scoped) {
+			return () -> scoped.runWhere(() -> context, task);
+		}
+		if (this.securityContextHolderStrategy instanceof InheritableThreadLocalSecurityContextHolderStrategy) {
+			// the context is copied when the thread is created
+			return task;
+		}
+		DelegatingSecurityContextRunnable runnable = new DelegatingSecurityContextRunnable(task, context);
+		runnable.setSecurityContextHolderStrategy(this.securityContextHolderStrategy);
+		return runnable;
+	}
+
+	private static void join(Thread thread) {
+		try {
+			thread.join();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.session;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Benchmarks {@link SessionRegistry#registerNewSession} and
+ * {@link SessionRegistry#getAllSessions} under contention, comparing
+ * {@link SessionRegistryImpl} with {@link ShardedSessionRegistry}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Threads(8)
+public class SessionRegistryBenchmark {
+
+	private static final int PRINCIPALS = 10_000;
+
+	private static final int SESSIONS_PER_PRINCIPAL = 2;
+
+	private final AtomicLong sessionIds = new AtomicLong();
+
+	@Param({ "default", "sharded" })
+	public String registry;
+
+	private SessionRegistry sessionRegistry;
+
+	@Setup
+	public void setup() {
+		this.sessionRegistry = "sharded".equals(this.registry) ? new ShardedSessionRegistry()
+				: new SessionRegistryImpl();
+		for (int principal = 0; principal < PRINCIPALS; principal++) {
+			for (int session = 0; session < SESSIONS_PER_PRINCIPAL; session++) {
+				this.sessionRegistry.registerNewSession(nextSessionId(), principal(principal));
+			}
+		}
+	}
+
+	@Benchmark
+	public SessionInformation registerAndRemoveSession() {
+		String sessionId = nextSessionId();
+		this.sessionRegistry.registerNewSession(sessionId, randomPrincipal());
+		SessionInformation information = this.sessionRegistry.getSessionInformation(sessionId);
+		this.sessionRegistry.removeSessionInformation(sessionId);
+		return information;
+	}
+
+	@Benchmark
+	public List<SessionInformation> getAllSessions() {
+		return this.sessionRegistry.getAllSessions(randomPrincipal(), false);
+	}
+
+	private String nextSessionId() {
+		return "session-" + this.sessionIds.incrementAndGet();
+	}
+
+	private static String randomPrincipal() {
+		return principal(ThreadLocalRandom.current().nextInt(PRINCIPALS));
+	}
+
+	private static String principal(int index) {
+		return "user-" + index;
+	}
+
+}
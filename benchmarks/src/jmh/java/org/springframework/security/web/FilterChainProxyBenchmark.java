@@ -0,0 +1,85 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+
+/**
+ * Benchmarks the selection of a {@link SecurityFilterChain} by {@link FilterChainProxy}
+ * among many path-based chains, with and without
+ * {@link FilterChainProxy#setIndexFilterChains(boolean) indexing}. The request matches
+ * the last chain, which is the worst case when the chains are evaluated in order.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class FilterChainProxyBenchmark {
+
+	private static final Filter FILTER = (request, response, chain) -> chain.doFilter(request, response);
+
+	private static final FilterChain APPLICATION = (request, response) -> {
+	};
+
+	@Param({ "5", "50", "200" })
+	public int chains;
+
+	@Param({ "false", "true" })
+	public boolean indexed;
+
+	private FilterChainProxy filterChainProxy;
+
+	private String path;
+
+	@Setup
+	public void setup() {
+		List<SecurityFilterChain> filterChains = new ArrayList<>();
+		for (int i = 0; i < this.chains; i++) {
+			PathPatternRequestMatcher matcher = PathPatternRequestMatcher.withDefaults().matcher("/api" + i + "/**");
+			filterChains.add(new DefaultSecurityFilterChain(matcher, FILTER));
+		}
+		this.filterChainProxy = new FilterChainProxy(filterChains);
+		this.filterChainProxy.setIndexFilterChains(this.indexed);
+		this.filterChainProxy.afterPropertiesSet();
+		this.path = "/api" + (this.chains - 1) + "/resource";
+	}
+
+	@Benchmark
+	public MockHttpServletResponse doFilter() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", this.path);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		this.filterChainProxy.doFilter(request, response, APPLICATION);
+		return response;
+	}
+
+}
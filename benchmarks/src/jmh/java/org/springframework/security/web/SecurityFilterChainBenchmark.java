@@ -0,0 +1,261 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+
+/**
+ * Benchmarks a request through a complete servlet security filter chain, as built by
+ * {@link HttpSecurity}, for form login, a JWT resource server and stateless HTTP Basic.
+ *
+ * <p>
+ * Each chain is driven with an anonymous request to a permitted path, an authenticated
+ * request to a protected path and an unauthenticated request to a protected path, which
+ * is rejected. Passwords are not encoded, so that the results reflect the filter chain
+ * rather than the password hash.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class SecurityFilterChainBenchmark {
+
+	private static final FilterChain APPLICATION = (request, response) -> {
+	};
+
+	private static final KeyPair KEY_PAIR = generateKeyPair();
+
+	@Param({ "formLogin", "jwt", "basic" })
+	public String chain;
+
+	@Param({ "anonymous", "authenticated", "rejected" })
+	public String request;
+
+	private AnnotationConfigWebApplicationContext context;
+
+	private Filter springSecurityFilterChain;
+
+	private Supplier<MockHttpServletRequest> requests;
+
+	@Setup
+	public void setup() {
+		this.context = new AnnotationConfigWebApplicationContext();
+		this.context.setServletContext(new MockServletContext());
+		this.context.register(configuration(this.chain));
+		this.context.refresh();
+		this.springSecurityFilterChain = this.context.getBean("springSecurityFilterChain", Filter.class);
+		this.requests = requests(this.chain, this.request);
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public MockHttpServletResponse doFilter() throws Exception {
+		MockHttpServletRequest request = this.requests.get();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		this.springSecurityFilterChain.doFilter(request, response, APPLICATION);
+		return response;
+	}
+
+	private static Class<?> configuration(String chain) {
+		return switch (chain) {
+			case "formLogin" -> FormLoginConfig.class;
+			case "jwt" -> JwtConfig.class;
+			case "basic" -> BasicConfig.class;
+			default -> throw new IllegalArgumentException("Unknown chain " + chain);
+		};
+	}
+
+	private static Supplier<MockHttpServletRequest> requests(String chain, String request) {
+		if ("anonymous".equals(request)) {
+			return () -> new MockHttpServletRequest("GET", "/public/resource");
+		}
+		if ("rejected".equals(request)) {
+			return () -> new MockHttpServletRequest("GET", "/resource");
+		}
+		return switch (chain) {
+			case "formLogin" -> authenticatedSession();
+			case "jwt" -> authorization("Bearer " + jwt());
+			case "basic" -> authorization("Basic "
+					+ Base64.getEncoder().encodeToString("user:password".getBytes(StandardCharsets.UTF_8)));
+			default -> throw new IllegalArgumentException("Unknown chain " + chain);
+		};
+	}
+
+	private static Supplier<MockHttpServletRequest> authenticatedSession() {
+		MockHttpSession session = new MockHttpSession();
+		UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated("user",
+				null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+		session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY,
+				new SecurityContextImpl(authentication));
+		return () -> {
+			MockHttpServletRequest request = new MockHttpServletRequest("GET", "/resource");
+			request.setSession(session);
+			return request;
+		};
+	}
+
+	private static Supplier<MockHttpServletRequest> authorization(String authorization) {
+		return () -> {
+			MockHttpServletRequest request = new MockHttpServletRequest("GET", "/resource");
+			request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+			return request;
+		};
+	}
+
+	private static String jwt() {
+		NimbusJwtEncoder encoder = NimbusJwtEncoder
+			.withKeyPair((RSAPublicKey) KEY_PAIR.getPublic(), (RSAPrivateKey) KEY_PAIR.getPrivate())
+			.build();
+		Instant now = Instant.now();
+		JwtClaimsSet claims = JwtClaimsSet.builder()
+			.subject("user")
+			.issuedAt(now)
+			.expiresAt(now.plusSeconds(3600))
+			.claim("scope", "read")
+			.build();
+		JwsHeader header = JwsHeader.with(SignatureAlgorithm.RS256).build();
+		return encoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+	}
+
+	private static KeyPair generateKeyPair() {
+		try {
+			KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+			generator.initialize(2048);
+			return generator.generateKeyPair();
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static UserDetailsService users() {
+		UserDetails user = User.withUsername("user").password("{noop}password").roles("USER").build();
+		return new InMemoryUserDetailsManager(user);
+	}
+
+	@Configuration
+	@EnableWebSecurity
+	static class FormLoginConfig {
+
+		@Bean
+		SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+			http.authorizeHttpRequests(
+					(authorize) -> authorize.requestMatchers("/public/**").permitAll().anyRequest().authenticated())
+				.formLogin(Customizer.withDefaults());
+			return http.build();
+		}
+
+		@Bean
+		UserDetailsService userDetailsService() {
+			return users();
+		}
+
+	}
+
+	@Configuration
+	@EnableWebSecurity
+	static class JwtConfig {
+
+		@Bean
+		SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+			http.authorizeHttpRequests(
+					(authorize) -> authorize.requestMatchers("/public/**").permitAll().anyRequest().authenticated())
+				.sessionManagement((session) -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+				.oauth2ResourceServer((oauth2) -> oauth2.jwt(Customizer.withDefaults()));
+			return http.build();
+		}
+
+		@Bean
+		JwtDecoder jwtDecoder() {
+			return NimbusJwtDecoder.withPublicKey((RSAPublicKey) KEY_PAIR.getPublic()).build();
+		}
+
+	}
+
+	@Configuration
+	@EnableWebSecurity
+	static class BasicConfig {
+
+		@Bean
+		SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+			http.authorizeHttpRequests(
+					(authorize) -> authorize.requestMatchers("/public/**").permitAll().anyRequest().authenticated())
+				.sessionManagement((session) -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+				.httpBasic(Customizer.withDefaults());
+			return http.build();
+		}
+
+		@Bean
+		UserDetailsService userDetailsService() {
+			return users();
+		}
+
+	}
+
+}
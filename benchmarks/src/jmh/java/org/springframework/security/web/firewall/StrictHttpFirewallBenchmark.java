@@ -0,0 +1,69 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.firewall;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * Benchmarks the per-request checks of {@link StrictHttpFirewall} and the single pass of
+ * its {@link UrlBlocklist} over a URL component.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class StrictHttpFirewallBenchmark {
+
+	@Param({ "/", "/api/v1/orders/12345/items/67890/details", "/static/js/app.5f2c9e1b.min.js" })
+	public String path;
+
+	private StrictHttpFirewall firewall;
+
+	private UrlBlocklist blocklist;
+
+	private MockHttpServletRequest request;
+
+	@Setup
+	public void setup() {
+		this.firewall = new StrictHttpFirewall();
+		this.blocklist = new UrlBlocklist(this.firewall.getDecodedUrlBlocklist());
+		this.request = new MockHttpServletRequest("GET", this.path);
+		this.request.setServletPath(this.path);
+	}
+
+	@Benchmark
+	public HttpServletRequest getFirewalledRequest() {
+		return this.firewall.getFirewalledRequest(this.request);
+	}
+
+	@Benchmark
+	public int scan() {
+		return this.blocklist.scan(this.path);
+	}
+
+}
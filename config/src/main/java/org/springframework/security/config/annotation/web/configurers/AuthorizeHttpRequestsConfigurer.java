@@ -176,6 +176,22 @@ public final class AuthorizeHttpRequestsConfigurer<H extends HttpSecurityBuilder
 			return new AuthorizedUrl(requestMatchers);
 		}
 
+		/**
+		 * Whether to index the configured mappings by HTTP method and by the literal path
+		 * segments of their request matchers, so that only the mappings that can match a
+		 * given request are evaluated. Mappings are still evaluated in the order they were
+		 * declared. Defaults to {@code false}.
+		 * @param indexRequestMatchers whether to index the mappings
+		 * @return the {@link AuthorizationManagerRequestMatcherRegistry} for further
+		 * customizations
+		 * @since 7.0
+		 * @see RequestMatcherDelegatingAuthorizationManager.Builder#indexRequestMatchers(boolean)
+		 */
+		public AuthorizationManagerRequestMatcherRegistry indexRequestMatchers(boolean indexRequestMatchers) {
+			this.managerBuilder.indexRequestMatchers(indexRequestMatchers);
+			return this;
+		}
+
 		/**
 		 * Adds an {@link ObjectPostProcessor} for this class.
 		 * @param objectPostProcessor the {@link ObjectPostProcessor} to use
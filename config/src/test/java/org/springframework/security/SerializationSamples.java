@@ -80,6 +80,7 @@ import org.springframework.security.authentication.ott.DefaultOneTimeToken;
 import org.springframework.security.authentication.ott.InvalidOneTimeTokenException;
 import org.springframework.security.authentication.ott.OneTimeTokenAuthenticationToken;
 import org.springframework.security.authentication.password.CompromisedPasswordException;
+import org.springframework.security.authentication.password.PasswordEncoderSaturatedException;
 import org.springframework.security.authorization.AuthorityAuthorizationDecision;
 import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.authorization.AuthorizationDeniedException;
@@ -187,6 +188,7 @@ import org.springframework.security.saml2.provider.service.authentication.logout
 import org.springframework.security.saml2.provider.service.registration.RelyingPartyRegistration;
 import org.springframework.security.saml2.provider.service.registration.TestRelyingPartyRegistrations;
 import org.springframework.security.web.PortResolverImpl;
+import org.springframework.security.web.authentication.AuthenticationThrottledException;
 import org.springframework.security.web.authentication.WebAuthenticationDetails;
 import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
 import org.springframework.security.web.authentication.preauth.PreAuthenticatedCredentialsNotFoundException;
@@ -423,6 +425,8 @@ final class SerializationSamples {
 		generatorByClassName.put(InvalidOneTimeTokenException.class, (r) -> new InvalidOneTimeTokenException("error"));
 		generatorByClassName.put(CompromisedPasswordException.class,
 				(r) -> new CompromisedPasswordException("error", new RuntimeException()));
+		generatorByClassName.put(PasswordEncoderSaturatedException.class,
+				(r) -> new PasswordEncoderSaturatedException("error"));
 		generatorByClassName.put(UsernameNotFoundException.class,
 				(r) -> new UsernameNotFoundException("error", new RuntimeException()));
 		generatorByClassName.put(TestingAuthenticationToken.class,
@@ -561,6 +565,8 @@ final class SerializationSamples {
 				(r) -> new RememberMeAuthenticationException("message", new IOException("fail")));
 		generatorByClassName.put(SessionAuthenticationException.class,
 				(r) -> new SessionAuthenticationException("message"));
+		generatorByClassName.put(AuthenticationThrottledException.class,
+				(r) -> new AuthenticationThrottledException("message"));
 		generatorByClassName.put(NonceExpiredException.class,
 				(r) -> new NonceExpiredException("message", new IOException("fail")));
 		generatorByClassName.put(CsrfException.class, (r) -> new CsrfException("message"));
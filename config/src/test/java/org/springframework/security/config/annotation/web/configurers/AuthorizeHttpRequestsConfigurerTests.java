@@ -36,6 +36,7 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
 import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
 import org.springframework.security.authentication.RememberMeAuthenticationToken;
@@ -179,6 +180,15 @@ public class AuthorizeHttpRequestsConfigurerTests {
 		verify(objectPostProcessor).postProcess(any(AuthorizationFilter.class));
 	}
 
+	@Test
+	public void getWhenIndexRequestMatchersThenFirstMatchingMappingApplies() throws Exception {
+		this.spring.register(IndexRequestMatchersConfig.class, BasicController.class).autowire();
+		this.mvc.perform(get("/path").with(user("user"))).andExpect(status().isForbidden());
+		this.mvc.perform(get("/path").with(user("user").roles("ADMIN"))).andExpect(status().isOk());
+		this.mvc.perform(get("/").with(user("user"))).andExpect(status().isOk());
+		this.mvc.perform(post("/").with(csrf()).with(user("user"))).andExpect(status().isForbidden());
+	}
+
 	@Test
 	public void getWhenHasAnyAuthorityRoleUserConfiguredAndAuthorityIsRoleUserThenRespondsWithOk() throws Exception {
 		this.spring.register(RoleUserAnyAuthorityConfig.class, BasicController.class).autowire();
@@ -992,6 +1002,26 @@ public class AuthorizeHttpRequestsConfigurerTests {
 
 	}
 
+	@Configuration
+	@EnableWebSecurity
+	static class IndexRequestMatchersConfig {
+
+		@Bean
+		SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+			// @formatter:off
+			return http
+				.authorizeHttpRequests((authorize) -> authorize
+					.indexRequestMatchers(true)
+					.requestMatchers("/path/**").hasRole("ADMIN")
+					.requestMatchers(HttpMethod.GET, "/").authenticated()
+					.anyRequest().denyAll()
+				)
+				.build();
+			// @formatter:on
+		}
+
+	}
+
 	@Configuration
 	@EnableWebSecurity
 	static class DenyAllConfig {
@@ -97,6 +97,20 @@ public abstract class SecurityExpressionRoot implements SecurityExpressionOperat
 		});
 	}
 
+	/**
+	 * Creates a new instance with the same {@link Authentication}, trust resolver, role
+	 * hierarchy, default role prefix and permission evaluator as the given one.
+	 * @param root the {@link SecurityExpressionRoot} to copy
+	 * @since 7.0
+	 */
+	protected SecurityExpressionRoot(SecurityExpressionRoot root) {
+		this.authentication = root.authentication;
+		this.trustResolver = root.trustResolver;
+		this.roleHierarchy = root.roleHierarchy;
+		this.defaultRolePrefix = root.defaultRolePrefix;
+		this.permissionEvaluator = root.permissionEvaluator;
+	}
+
 	@Override
 	public final boolean hasAuthority(String authority) {
 		return hasAnyAuthority(authority);
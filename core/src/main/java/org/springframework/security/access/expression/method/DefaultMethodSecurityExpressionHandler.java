@@ -17,13 +17,19 @@
 package org.springframework.security.access.expression.method;
 
 import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -32,20 +38,43 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.jspecify.annotations.Nullable;
 
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.MethodClassKey;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.core.log.LogMessage;
 import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.EvaluationException;
 import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.PropertyAccessor;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.ast.MethodReference;
+import org.springframework.expression.spel.ast.PropertyOrFieldReference;
+import org.springframework.expression.spel.ast.StringLiteral;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.ReflectivePropertyAccessor;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.security.access.PermissionCacheOptimizer;
 import org.springframework.security.access.expression.AbstractSecurityExpressionHandler;
 import org.springframework.security.access.expression.ExpressionUtils;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
 import org.springframework.security.authentication.AuthenticationTrustResolver;
 import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.authorization.ExpressionAuthorizationDecision;
+import org.springframework.security.authorization.SingleResultAuthorizationManager;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.parameters.DefaultSecurityParameterNameDiscoverer;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 
 /**
  * The standard implementation of {@code MethodSecurityExpressionHandler}.
@@ -71,6 +100,16 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 
 	private String defaultRolePrefix = "ROLE_";
 
+	private boolean compileExpressions;
+
+	private @Nullable ExpressionParser compilingExpressionParser;
+
+	private @Nullable ExpressionParser replacedExpressionParser;
+
+	private final Map<MethodClassKey, MethodParameterNames> methodParameterNames = new ConcurrentHashMap<>();
+
+	private final List<PropertyAccessor> propertyAccessors = List.of(new ReflectivePropertyAccessor());
+
 	public DefaultMethodSecurityExpressionHandler() {
 	}
 
@@ -80,18 +119,35 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 	 */
 	@Override
 	public StandardEvaluationContext createEvaluationContextInternal(Authentication auth, MethodInvocation mi) {
+		if (this.compileExpressions) {
+			return createCachingEvaluationContext(mi.getThis(), mi);
+		}
 		return new MethodSecurityEvaluationContext(auth, mi, getParameterNameDiscoverer());
 	}
 
 	@Override
 	public EvaluationContext createEvaluationContext(Supplier<Authentication> authentication, MethodInvocation mi) {
 		MethodSecurityExpressionOperations root = createSecurityExpressionRoot(authentication, mi);
-		MethodSecurityEvaluationContext ctx = new MethodSecurityEvaluationContext(root, mi,
-				getParameterNameDiscoverer());
+		MethodSecurityEvaluationContext ctx = (this.compileExpressions) ? createCachingEvaluationContext(root, mi)
+				: new MethodSecurityEvaluationContext(root, mi, getParameterNameDiscoverer());
 		Optional.ofNullable(getBeanResolver()).ifPresent(ctx::setBeanResolver);
 		return ctx;
 	}
 
+	private MethodSecurityEvaluationContext createCachingEvaluationContext(@Nullable Object root,
+			MethodInvocation mi) {
+		Object target = mi.getThis();
+		Class<?> targetClass = (target != null) ? AopProxyUtils.ultimateTargetClass(target) : null;
+		MethodParameterNames parameterNames = this.methodParameterNames.computeIfAbsent(
+				new MethodClassKey(mi.getMethod(), targetClass),
+				(key) -> new MethodParameterNames(AopUtils.getMostSpecificMethod(mi.getMethod(), targetClass),
+						getParameterNameDiscoverer()));
+		MethodSecurityEvaluationContext ctx = new MethodSecurityEvaluationContext(root, parameterNames.method,
+				mi.getArguments(), parameterNames);
+		ctx.setPropertyAccessors(new ArrayList<>(this.propertyAccessors));
+		return ctx;
+	}
+
 	/**
 	 * Creates the root object for expression evaluation.
 	 */
@@ -218,12 +274,41 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 
 	private Object filterStream(final Stream<?> filterTarget, Expression filterExpression, EvaluationContext ctx,
 			MethodSecurityExpressionOperations rootObject) {
+		// the stream may be made parallel after it is returned, so the first thread to
+		// filter it uses the given root object and any other thread uses its own copy
+		if (rootObject.getClass() == MethodSecurityExpressionRoot.class) {
+			FilterRoots roots = new FilterRoots((MethodSecurityExpressionRoot) rootObject);
+			return filterTarget.filter((filterObject) -> {
+				MethodSecurityExpressionRoot root = roots.get();
+				root.setFilterObject(filterObject);
+				return (root == rootObject) ? ExpressionUtils.evaluateAsBoolean(filterExpression, ctx)
+						: evaluateAsBoolean(filterExpression, ctx, root);
+			}).onClose(filterTarget::close);
+		}
+		// a custom root object cannot be copied
 		return filterTarget.filter((filterObject) -> {
-			rootObject.setFilterObject(filterObject);
-			return ExpressionUtils.evaluateAsBoolean(filterExpression, ctx);
+			synchronized (rootObject) {
+				rootObject.setFilterObject(filterObject);
+				return ExpressionUtils.evaluateAsBoolean(filterExpression, ctx);
+			}
 		}).onClose(filterTarget::close);
 	}
 
+	private static boolean evaluateAsBoolean(Expression expression, EvaluationContext ctx, Object rootObject) {
+		try {
+			Boolean result = expression.getValue(ctx, rootObject, Boolean.class);
+			if (result == null) {
+				throw new IllegalArgumentException(
+						"Expression was null but expected boolean result '" + expression.getExpressionString() + "'");
+			}
+			return result;
+		}
+		catch (EvaluationException ex) {
+			throw new IllegalArgumentException(
+					"Failed to evaluate expression '" + expression.getExpressionString() + "'", ex);
+		}
+	}
+
 	/**
 	 * Sets the {@link AuthenticationTrustResolver} to be used. The default is
 	 * {@link AuthenticationTrustResolverImpl}.
@@ -249,6 +334,7 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 	 */
 	public void setParameterNameDiscoverer(ParameterNameDiscoverer parameterNameDiscoverer) {
 		this.parameterNameDiscoverer = parameterNameDiscoverer;
+		this.methodParameterNames.clear();
 	}
 
 	/**
@@ -258,6 +344,47 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 		return this.parameterNameDiscoverer;
 	}
 
+	/**
+	 * Whether to compile expressions and to reduce the work of creating an
+	 * {@link EvaluationContext} for each invocation. Defaults to {@code false}.
+	 *
+	 * <p>
+	 * When {@code true}, this sets an expression parser that uses
+	 * {@link SpelCompilerMode#MIXED}, so expressions are compiled to bytecode once they
+	 * have been interpreted often enough, and are interpreted again if they stop being
+	 * compilable. Also, the parameter names and most specific method of each secured
+	 * method are looked up once and cached, and each {@link EvaluationContext} shares the
+	 * reflective property accessor, and so its cache, with the others.
+	 *
+	 * <p>
+	 * Since expressions are parsed when they are first used, this should be set before
+	 * any secured method is invoked. Setting it back to {@code false} restores the
+	 * expression parser that was in use before, unless another one has been set with
+	 * {@link #setExpressionParser(ExpressionParser)} in the meantime. Setting it to the
+	 * value it already has changes nothing.
+	 * @param compileExpressions whether to compile expressions
+	 * @since 7.0
+	 */
+	public void setCompileExpressions(boolean compileExpressions) {
+		if (this.compileExpressions == compileExpressions) {
+			return;
+		}
+		if (compileExpressions) {
+			this.replacedExpressionParser = getExpressionParser();
+			this.compilingExpressionParser = new SpelExpressionParser(
+					new SpelParserConfiguration(SpelCompilerMode.MIXED, ClassUtils.getDefaultClassLoader()));
+			setExpressionParser(this.compilingExpressionParser);
+		}
+		else {
+			if (getExpressionParser() == this.compilingExpressionParser && this.replacedExpressionParser != null) {
+				setExpressionParser(this.replacedExpressionParser);
+			}
+			this.compilingExpressionParser = null;
+			this.replacedExpressionParser = null;
+		}
+		this.compileExpressions = compileExpressions;
+	}
+
 	public void setPermissionCacheOptimizer(PermissionCacheOptimizer permissionCacheOptimizer) {
 		this.permissionCacheOptimizer = permissionCacheOptimizer;
 	}
@@ -272,6 +399,96 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 		methodOperations.setReturnObject(returnObject);
 	}
 
+	/**
+	 * Creates an {@link AuthorizationManager} that decides in the same way as the given
+	 * expression, but without evaluating it. This is possible when the expression is a
+	 * single call to {@code hasRole}, {@code hasAnyRole}, {@code hasAuthority} or
+	 * {@code hasAnyAuthority} with string literals, to {@code isAuthenticated()},
+	 * {@code isFullyAuthenticated()}, {@code isAnonymous()} or {@code isRememberMe()}, or
+	 * when it is {@code permitAll} or {@code denyAll}. Like the expression, the
+	 * {@link AuthorizationManager} returns an {@link ExpressionAuthorizationDecision}.
+	 *
+	 * <p>
+	 * The {@link AuthorizationManager} uses the role prefix, {@link RoleHierarchy} and
+	 * {@link AuthenticationTrustResolver} that are configured at the time that this
+	 * method is called. Since subclasses may create a different root object, this method
+	 * returns {@code null} when called on a subclass.
+	 * @param expression the parsed expression
+	 * @return the {@link AuthorizationManager}, or {@code null} if the expression needs
+	 * to be evaluated
+	 * @since 7.0
+	 */
+	public <T> @Nullable AuthorizationManager<T> createAuthorizationManager(Expression expression) {
+		if (getClass() != DefaultMethodSecurityExpressionHandler.class
+				|| !(expression instanceof SpelExpression spelExpression)) {
+			return null;
+		}
+		AuthorizationManager<T> authorizationManager = createAuthorizationManager(spelExpression.getAST());
+		if (authorizationManager == null) {
+			return null;
+		}
+		return new PrecompiledAuthorizationManager<>(authorizationManager, expression);
+	}
+
+	private <T> @Nullable AuthorizationManager<T> createAuthorizationManager(SpelNode node) {
+		if (node instanceof PropertyOrFieldReference property) {
+			return switch (property.getName()) {
+				case "permitAll" -> SingleResultAuthorizationManager.permitAll();
+				case "denyAll" -> SingleResultAuthorizationManager.denyAll();
+				default -> null;
+			};
+		}
+		if (!(node instanceof MethodReference method)) {
+			return null;
+		}
+		String[] arguments = new String[node.getChildCount()];
+		for (int i = 0; i < arguments.length; i++) {
+			if (!(node.getChild(i) instanceof StringLiteral literal)
+					|| !(literal.getLiteralValue().getValue() instanceof String argument)) {
+				return null;
+			}
+			arguments[i] = argument;
+		}
+		return switch (method.getName()) {
+			case "hasAuthority" -> (arguments.length == 1) ? hasAnyAuthority(null, arguments) : null;
+			case "hasAnyAuthority" -> (arguments.length > 0) ? hasAnyAuthority(null, arguments) : null;
+			case "hasRole" -> (arguments.length == 1) ? hasAnyAuthority(getDefaultRolePrefix(), arguments) : null;
+			case "hasAnyRole" -> (arguments.length > 0) ? hasAnyAuthority(getDefaultRolePrefix(), arguments) : null;
+			case "isAuthenticated" -> withTrustResolver(AuthenticatedAuthorizationManager.authenticated(), arguments);
+			case "isFullyAuthenticated" ->
+				withTrustResolver(AuthenticatedAuthorizationManager.fullyAuthenticated(), arguments);
+			case "isAnonymous" -> withTrustResolver(AuthenticatedAuthorizationManager.anonymous(), arguments);
+			case "isRememberMe" -> withTrustResolver(AuthenticatedAuthorizationManager.rememberMe(), arguments);
+			case "permitAll" -> (arguments.length == 0) ? SingleResultAuthorizationManager.permitAll() : null;
+			case "denyAll" -> (arguments.length == 0) ? SingleResultAuthorizationManager.denyAll() : null;
+			default -> null;
+		};
+	}
+
+	private <T> AuthorizationManager<T> hasAnyAuthority(@Nullable String rolePrefix, String[] roles) {
+		Set<String> authorities = new LinkedHashSet<>();
+		for (String role : roles) {
+			boolean prefixed = rolePrefix == null || rolePrefix.isEmpty() || role.startsWith(rolePrefix);
+			authorities.add(prefixed ? role : rolePrefix + role);
+		}
+		AuthorityAuthorizationManager<T> authorizationManager = AuthorityAuthorizationManager
+			.hasAnyAuthority(authorities.toArray(new String[0]));
+		RoleHierarchy roleHierarchy = getRoleHierarchy();
+		if (roleHierarchy != null) {
+			authorizationManager.setRoleHierarchy(roleHierarchy);
+		}
+		return authorizationManager;
+	}
+
+	private <T> @Nullable AuthorizationManager<T> withTrustResolver(
+			AuthenticatedAuthorizationManager<T> authorizationManager, String[] arguments) {
+		if (arguments.length > 0) {
+			return null;
+		}
+		authorizationManager.setTrustResolver(getTrustResolver());
+		return authorizationManager;
+	}
+
 	/**
 	 * <p>
 	 * Sets the default prefix to be added to
@@ -298,4 +515,88 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 		return this.defaultRolePrefix;
 	}
 
+	/**
+	 * The most specific method of a secured method invocation and the names of its
+	 * parameters, which are discovered once
+	 */
+	private static final class MethodParameterNames implements ParameterNameDiscoverer {
+
+		private final Method method;
+
+		private final String @Nullable [] names;
+
+		private MethodParameterNames(Method method, ParameterNameDiscoverer parameterNameDiscoverer) {
+			this.method = method;
+			this.names = parameterNameDiscoverer.getParameterNames(method);
+		}
+
+		@Override
+		public String @Nullable [] getParameterNames(Method method) {
+			return this.names;
+		}
+
+		@Override
+		public String @Nullable [] getParameterNames(Constructor<?> constructor) {
+			return null;
+		}
+
+	}
+
+	/**
+	 * The root objects that a filtered {@link Stream} evaluates its elements against, one
+	 * for each thread that filters it
+	 */
+	private static final class FilterRoots {
+
+		private final MethodSecurityExpressionRoot root;
+
+		private final AtomicReference<@Nullable Thread> owner = new AtomicReference<>();
+
+		private final Map<Thread, MethodSecurityExpressionRoot> copies = new ConcurrentHashMap<>();
+
+		private FilterRoots(MethodSecurityExpressionRoot root) {
+			this.root = root;
+		}
+
+		private MethodSecurityExpressionRoot get() {
+			Thread thread = Thread.currentThread();
+			Thread owner = this.owner.get();
+			if (owner == thread || (owner == null && this.owner.compareAndSet(null, thread))) {
+				return this.root;
+			}
+			return this.copies.computeIfAbsent(thread, (key) -> new MethodSecurityExpressionRoot(this.root));
+		}
+
+	}
+
+	/**
+	 * An {@link AuthorizationManager} that decides in the same way as a precompiled
+	 * expression. Since such expressions do not refer to the secured object, a bulk
+	 * authorization decides only once.
+	 */
+	private static final class PrecompiledAuthorizationManager<T> implements AuthorizationManager<T> {
+
+		private final AuthorizationManager<T> delegate;
+
+		private final Expression expression;
+
+		private PrecompiledAuthorizationManager(AuthorizationManager<T> delegate, Expression expression) {
+			this.delegate = delegate;
+			this.expression = expression;
+		}
+
+		@Override
+		public AuthorizationResult authorize(Supplier<Authentication> authentication, T object) {
+			AuthorizationResult result = this.delegate.authorize(authentication, object);
+			return new ExpressionAuthorizationDecision(result != null && result.isGranted(), this.expression);
+		}
+
+		@Override
+		public List<@Nullable AuthorizationResult> authorizeAll(Supplier<Authentication> authentication,
+				Collection<? extends T> objects) {
+			return AuthorizationManager.authorizeOnce(this, authentication, objects);
+		}
+
+	}
+
 }
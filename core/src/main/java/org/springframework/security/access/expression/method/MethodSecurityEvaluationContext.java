@@ -61,6 +61,12 @@ class MethodSecurityEvaluationContext extends MethodBasedEvaluationContext {
 		super(root, getSpecificMethod(mi), mi.getArguments(), parameterNameDiscoverer);
 	}
 
+	@NullUnmarked
+	MethodSecurityEvaluationContext(Object root, Method specificMethod, Object[] arguments,
+			ParameterNameDiscoverer parameterNameDiscoverer) {
+		super(root, specificMethod, arguments, parameterNameDiscoverer);
+	}
+
 	private static Method getSpecificMethod(MethodInvocation mi) {
 		Class<?> targetClass = (mi.getThis() != null) ? AopProxyUtils.ultimateTargetClass(mi.getThis()) : null;
 		return AopUtils.getMostSpecificMethod(mi.getMethod(), targetClass);
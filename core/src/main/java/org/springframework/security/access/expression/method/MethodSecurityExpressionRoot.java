@@ -46,6 +46,16 @@ class MethodSecurityExpressionRoot extends SecurityExpressionRoot implements Met
 		super(authentication);
 	}
 
+	/**
+	 * Creates a copy of the given root object, without its filter object
+	 * @param root the root object to copy
+	 */
+	MethodSecurityExpressionRoot(MethodSecurityExpressionRoot root) {
+		super(root);
+		this.returnObject = root.returnObject;
+		this.target = root.target;
+	}
+
 	@Override
 	public void setFilterObject(Object filterObject) {
 		this.filterObject = filterObject;
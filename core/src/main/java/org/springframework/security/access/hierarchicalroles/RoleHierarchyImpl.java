@@ -17,10 +17,12 @@
 package org.springframework.security.access.hierarchicalroles;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -32,6 +34,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
 
 /**
  * <p>
@@ -75,6 +78,14 @@ import org.springframework.util.Assert;
  * In addition to shorter rules this will also make your access rules more readable and
  * your intentions clearer.
  *
+ * <p>
+ * The hierarchy is compiled once: every role in it is given an index, and the roles that
+ * each role reaches are stored as a {@link BitSet} of those indexes. The reachable
+ * authorities of a given set of authorities are then the union of those bit sets. The
+ * results for the most recently used sets of authorities are cached, so that the
+ * authorities of the same user are not computed again for every access check. Since
+ * the results are shared, they are unmodifiable.
+ *
  * @author Michael Mayr
  * @author Josh Cummings
  */
@@ -82,14 +93,30 @@ public final class RoleHierarchyImpl implements RoleHierarchy {
 
 	private static final Log logger = LogFactory.getLog(RoleHierarchyImpl.class);
 
+	private static final int CACHE_SIZE = 1024;
+
+	/**
+	 * The index of each role in the hierarchy
+	 */
+	private final Map<String, Integer> roleIndexes = new HashMap<>();
+
 	/**
-	 * {@code rolesReachableInOneOrMoreStepsMap} is a Map that under the key of a specific
-	 * role name contains a set of all roles reachable from this role in 1 or more steps
+	 * The role at each index
 	 */
-	private final Map<String, Set<GrantedAuthority>> rolesReachableInOneOrMoreStepsMap;
+	private final List<GrantedAuthority> roles = new ArrayList<>();
+
+	/**
+	 * The indexes of all roles reachable in one or more steps from the role at each index
+	 */
+	private final List<BitSet> rolesReachableInOneOrMoreSteps;
+
+	private final ConcurrentLruCache<List<GrantedAuthority>, Collection<GrantedAuthority>> reachableGrantedAuthorities;
 
 	private RoleHierarchyImpl(Map<String, Set<GrantedAuthority>> hierarchy) {
-		this.rolesReachableInOneOrMoreStepsMap = buildRolesReachableInOneOrMoreStepsMap(hierarchy);
+		List<BitSet> rolesReachableInOneStep = buildRolesReachableInOneStep(hierarchy);
+		this.rolesReachableInOneOrMoreSteps = buildRolesReachableInOneOrMoreSteps(rolesReachableInOneStep);
+		this.reachableGrantedAuthorities = new ConcurrentLruCache<>(CACHE_SIZE,
+				this::computeReachableGrantedAuthorities);
 	}
 
 	/**
@@ -137,35 +164,57 @@ public final class RoleHierarchyImpl implements RoleHierarchy {
 		if (authorities == null || authorities.isEmpty()) {
 			return AuthorityUtils.NO_AUTHORITIES;
 		}
-		Set<GrantedAuthority> reachableRoles = new HashSet<>();
+		return this.reachableGrantedAuthorities.get(List.copyOf(authorities));
+	}
+
+	private Collection<GrantedAuthority> computeReachableGrantedAuthorities(List<GrantedAuthority> authorities) {
+		List<GrantedAuthority> reachableRoles = new ArrayList<>();
+		BitSet assignedRoles = new BitSet(this.roles.size());
+		BitSet lowerRoles = new BitSet(this.roles.size());
 		Set<String> processedNames = new HashSet<>();
 		for (GrantedAuthority authority : authorities) {
+			String name = authority.getAuthority();
 			// Do not process authorities without string representation
-			if (authority.getAuthority() == null) {
+			if (name == null) {
 				reachableRoles.add(authority);
 				continue;
 			}
+			Integer index = this.roleIndexes.get(name);
+			if (index == null) {
+				// No hierarchy for the role
+				if (processedNames.add(name)) {
+					reachableRoles.add(authority);
+				}
+				continue;
+			}
 			// Do not process already processed roles
-			if (!processedNames.add(authority.getAuthority())) {
+			if (assignedRoles.get(index)) {
 				continue;
 			}
 			// Add original authority
+			assignedRoles.set(index);
 			reachableRoles.add(authority);
-			// Add roles reachable in one or more steps
-			Set<GrantedAuthority> lowerRoles = this.rolesReachableInOneOrMoreStepsMap.get(authority.getAuthority());
-			if (lowerRoles == null) {
-				continue; // No hierarchy for the role
-			}
-			for (GrantedAuthority role : lowerRoles) {
-				if (processedNames.add(role.getAuthority())) {
-					reachableRoles.add(role);
-				}
-			}
+			lowerRoles.or(this.rolesReachableInOneOrMoreSteps.get(index));
+		}
+		// Add roles reachable in one or more steps
+		lowerRoles.andNot(assignedRoles);
+		for (int i = lowerRoles.nextSetBit(0); i >= 0; i = lowerRoles.nextSetBit(i + 1)) {
+			reachableRoles.add(this.roles.get(i));
 		}
 		logger.debug(LogMessage.format(
 				"getReachableGrantedAuthorities() - From the roles %s one can reach %s in zero or more steps.",
 				authorities, reachableRoles));
-		return new ArrayList<>(reachableRoles);
+		return List.copyOf(reachableRoles);
+	}
+
+	private int indexOf(String role) {
+		Integer index = this.roleIndexes.get(role);
+		if (index != null) {
+			return index;
+		}
+		this.roles.add(new SimpleGrantedAuthority(role));
+		this.roleIndexes.put(role, this.roles.size() - 1);
+		return this.roles.size() - 1;
 	}
 
 	/**
@@ -198,36 +247,68 @@ public final class RoleHierarchyImpl implements RoleHierarchy {
 	}
 
 	/**
-	 * For every higher role from rolesReachableInOneStepMap store all roles that are
-	 * reachable from it in the map of roles reachable in one or more steps. (Or throw a
-	 * CycleInRoleHierarchyException if a cycle in the role hierarchy definition is
-	 * detected)
+	 * Give every role in the hierarchy an index and store the indexes of the roles that
+	 * are reachable from each role in one step.
 	 */
-	private static Map<String, Set<GrantedAuthority>> buildRolesReachableInOneOrMoreStepsMap(
-			Map<String, Set<GrantedAuthority>> hierarchy) {
-		Map<String, Set<GrantedAuthority>> rolesReachableInOneOrMoreStepsMap = new HashMap<>();
-		// iterate over all higher roles from rolesReachableInOneStepMap
-		for (String roleName : hierarchy.keySet()) {
-			Set<GrantedAuthority> rolesToVisitSet = new HashSet<>(hierarchy.get(roleName));
-			Set<GrantedAuthority> visitedRolesSet = new HashSet<>();
-			while (!rolesToVisitSet.isEmpty()) {
-				// take a role from the rolesToVisit set
-				GrantedAuthority lowerRole = rolesToVisitSet.iterator().next();
-				rolesToVisitSet.remove(lowerRole);
-				if (!visitedRolesSet.add(lowerRole) || !hierarchy.containsKey(lowerRole.getAuthority())) {
-					continue; // Already visited role or role with missing hierarchy
-				}
-				else if (roleName.equals(lowerRole.getAuthority())) {
-					throw new CycleInRoleHierarchyException();
-				}
-				rolesToVisitSet.addAll(hierarchy.get(lowerRole.getAuthority()));
+	private List<BitSet> buildRolesReachableInOneStep(Map<String, Set<GrantedAuthority>> hierarchy) {
+		Map<Integer, BitSet> rolesReachableInOneStepMap = new HashMap<>();
+		for (Map.Entry<String, Set<GrantedAuthority>> entry : hierarchy.entrySet()) {
+			BitSet rolesReachableInOneStep = rolesReachableInOneStepMap.computeIfAbsent(indexOf(entry.getKey()),
+					(index) -> new BitSet());
+			for (GrantedAuthority lowerRole : entry.getValue()) {
+				rolesReachableInOneStep.set(indexOf(lowerRole.getAuthority()));
 			}
-			rolesReachableInOneOrMoreStepsMap.put(roleName, visitedRolesSet);
-			logger.debug(LogMessage.format(
-					"buildRolesReachableInOneOrMoreStepsMap() - From role %s one can reach %s in one or more steps.",
-					roleName, visitedRolesSet));
 		}
-		return rolesReachableInOneOrMoreStepsMap;
+		List<BitSet> rolesReachableInOneStep = new ArrayList<>(this.roles.size());
+		for (int i = 0; i < this.roles.size(); i++) {
+			rolesReachableInOneStep.add(rolesReachableInOneStepMap.getOrDefault(i, new BitSet()));
+		}
+		return rolesReachableInOneStep;
+	}
+
+	/**
+	 * For every role store the indexes of all roles that are reachable from it in one or
+	 * more steps. (Or throw a CycleInRoleHierarchyException if a cycle in the role
+	 * hierarchy definition is detected)
+	 */
+	private List<BitSet> buildRolesReachableInOneOrMoreSteps(List<BitSet> hierarchy) {
+		BitSet[] rolesReachableInOneOrMoreSteps = new BitSet[hierarchy.size()];
+		BitSet visitingRoles = new BitSet(hierarchy.size());
+		for (int role = 0; role < hierarchy.size(); role++) {
+			BitSet visitedRoles = visit(role, hierarchy, rolesReachableInOneOrMoreSteps, visitingRoles);
+			if (logger.isDebugEnabled() && !visitedRoles.isEmpty()) {
+				logger.debug(LogMessage.format(
+						"buildRolesReachableInOneOrMoreSteps() - From role %s one can reach %s in one or more steps.",
+						this.roles.get(role), visitedRoles.stream().mapToObj(this.roles::get).toList()));
+			}
+		}
+		return List.of(rolesReachableInOneOrMoreSteps);
+	}
+
+	/**
+	 * Collect the roles reachable from the given role from those of its lower roles,
+	 * visiting each role only once
+	 */
+	private static BitSet visit(int role, List<BitSet> hierarchy, BitSet[] rolesReachableInOneOrMoreSteps,
+			BitSet visitingRoles) {
+		BitSet visitedRoles = rolesReachableInOneOrMoreSteps[role];
+		if (visitedRoles != null) {
+			return visitedRoles;
+		}
+		if (visitingRoles.get(role)) {
+			throw new CycleInRoleHierarchyException();
+		}
+		visitingRoles.set(role);
+		BitSet lowerRoles = hierarchy.get(role);
+		visitedRoles = (BitSet) lowerRoles.clone();
+		int lowerRole = lowerRoles.nextSetBit(0);
+		while (lowerRole >= 0) {
+			visitedRoles.or(visit(lowerRole, hierarchy, rolesReachableInOneOrMoreSteps, visitingRoles));
+			lowerRole = lowerRoles.nextSetBit(lowerRole + 1);
+		}
+		visitingRoles.clear(role);
+		rolesReachableInOneOrMoreSteps[role] = visitedRoles;
+		return visitedRoles;
 	}
 
 	/**
@@ -29,6 +29,7 @@ import org.springframework.context.support.MessageSourceAccessor;
 import org.springframework.security.authentication.password.CompromisedPasswordChecker;
 import org.springframework.security.authentication.password.CompromisedPasswordDecision;
 import org.springframework.security.authentication.password.CompromisedPasswordException;
+import org.springframework.security.authentication.password.PasswordEncoderSaturatedException;
 import org.springframework.security.authentication.password.ReactiveCompromisedPasswordChecker;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.SpringSecurityMessageSource;
@@ -130,7 +131,15 @@ public abstract class AbstractUserDetailsReactiveAuthenticationManager
 		boolean upgradeEncoding = existingEncodedPassword != null
 				&& this.passwordEncoder.upgradeEncoding(existingEncodedPassword);
 		if (upgradeEncoding) {
-			String newPassword = this.passwordEncoder.encode(presentedPassword);
+			String newPassword;
+			try {
+				newPassword = this.passwordEncoder.encode(presentedPassword);
+			}
+			catch (PasswordEncoderSaturatedException ex) {
+				// the password is already verified, so upgrade it on a later authentication
+				this.logger.debug("Skipped upgrading the password encoding since the password encoder is saturated");
+				return Mono.just(userDetails);
+			}
 			return this.userDetailsPasswordService.updatePassword(userDetails, newPassword);
 		}
 		return Mono.just(userDetails);
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authentication;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.security.core.Authentication;
+
+/**
+ * A Java Flight Recorder event for {@link AuthenticationManager#authenticate}. It is
+ * disabled by default and can be enabled in a recording's settings.
+ *
+ * @since 7.0
+ */
+@Name("org.springframework.security.Authentication")
+@Label("Authentication")
+@Description("An AuthenticationManager authenticated a request")
+@Category({ "Spring Security", "Authentication" })
+@Enabled(false)
+@StackTrace(false)
+final class AuthenticationJfrEvent extends Event {
+
+	@Label("Authentication Manager")
+	@Nullable String authenticationManager;
+
+	@Label("Authentication Type")
+	@Nullable String authenticationType;
+
+	@Label("Authenticated")
+	boolean authenticated;
+
+	void record(AuthenticationManager authenticationManager, Authentication request,
+			@Nullable Authentication result) {
+		if (shouldCommit()) {
+			this.authenticationManager = authenticationManager.getClass().getName();
+			this.authenticationType = request.getClass().getName();
+			this.authenticated = result != null && result.isAuthenticated();
+			commit();
+		}
+	}
+
+}
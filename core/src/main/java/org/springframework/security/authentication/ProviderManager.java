@@ -19,6 +19,7 @@ package org.springframework.security.authentication;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -35,6 +36,7 @@ import org.springframework.security.core.CredentialsContainer;
 import org.springframework.security.core.SpringSecurityMessageSource;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * Iterates an {@link Authentication} request through a list of
@@ -58,6 +60,11 @@ import org.springframework.util.CollectionUtils;
  * The exception to this process is when a provider throws an
  * {@link AccountStatusException}, in which case no further providers in the list will be
  * queried.
+ * <p>
+ * The providers that support each type of {@code Authentication} are worked out the
+ * first time that type is authenticated and again whenever the list of providers
+ * changes, so {@link AuthenticationProvider#supports(Class)} should depend only on the
+ * given type.
  *
  * Post-authentication, the credentials will be cleared from the returned
  * {@code Authentication} object, if it implements the {@link CredentialsContainer}
@@ -102,6 +109,10 @@ public class ProviderManager implements AuthenticationManager, MessageSourceAwar
 
 	private boolean eraseCredentialsAfterAuthentication = true;
 
+	private @Nullable VerifiedCredentialsCache verifiedCredentialsCache;
+
+	private volatile @Nullable ProviderRoutes routes;
+
 	/**
 	 * Construct a {@link ProviderManager} using the given {@link AuthenticationProvider}s
 	 * @param providers the {@link AuthenticationProvider}s to use
@@ -164,17 +175,38 @@ public class ProviderManager implements AuthenticationManager, MessageSourceAwar
 	 */
 	@Override
 	public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+		AuthenticationJfrEvent event = new AuthenticationJfrEvent();
+		event.begin();
+		Authentication result = null;
+		try {
+			result = doAuthenticate(authentication);
+			return result;
+		}
+		finally {
+			event.record(this, authentication, result);
+		}
+	}
+
+	private Authentication doAuthenticate(Authentication authentication) throws AuthenticationException {
+		VerifiedCredentialsCache cache = this.verifiedCredentialsCache;
+		String cacheKey = (cache != null) ? cache.key(authentication) : null;
+		if (cache != null && cacheKey != null) {
+			Authentication cached = cache.get(cacheKey, authentication);
+			if (cached != null) {
+				logger.trace("Authenticated request with verified credentials cache");
+				this.eventPublisher.publishAuthenticationSuccess(cached);
+				return cached;
+			}
+		}
 		Class<? extends Authentication> toTest = authentication.getClass();
 		AuthenticationException lastException = null;
 		AuthenticationException parentException = null;
 		Authentication result = null;
 		Authentication parentResult = null;
 		int currentPosition = 0;
-		int size = this.providers.size();
-		for (AuthenticationProvider provider : getProviders()) {
-			if (!provider.supports(toTest)) {
-				continue;
-			}
+		AuthenticationProvider[] supportingProviders = getSupportingProviders(toTest);
+		int size = supportingProviders.length;
+		for (AuthenticationProvider provider : supportingProviders) {
 			if (logger.isTraceEnabled()) {
 				logger.trace(LogMessage.format("Authenticating request with %s (%d/%d)",
 						provider.getClass().getSimpleName(), ++currentPosition, size));
@@ -232,6 +264,9 @@ public class ProviderManager implements AuthenticationManager, MessageSourceAwar
 				// from authentication
 				((CredentialsContainer) result).eraseCredentials();
 			}
+			if (cache != null && cacheKey != null) {
+				cache.put(cacheKey, result);
+			}
 			// If the parent AuthenticationManager was attempted and successful then it
 			// will publish an AuthenticationSuccessEvent
 			// This check prevents a duplicate AuthenticationSuccessEvent if the parent
@@ -265,6 +300,16 @@ public class ProviderManager implements AuthenticationManager, MessageSourceAwar
 		throw lastException;
 	}
 
+	private AuthenticationProvider[] getSupportingProviders(Class<? extends Authentication> authentication) {
+		List<AuthenticationProvider> providers = getProviders();
+		ProviderRoutes routes = this.routes;
+		if (routes == null || !routes.isFor(providers)) {
+			routes = new ProviderRoutes(providers);
+			this.routes = routes;
+		}
+		return routes.getSupportingProviders(authentication);
+	}
+
 	@SuppressWarnings("deprecation")
 	private void prepareException(AuthenticationException ex, Authentication auth) {
 		ex.setAuthenticationRequest(auth);
@@ -313,6 +358,62 @@ public class ProviderManager implements AuthenticationManager, MessageSourceAwar
 		return this.eraseCredentialsAfterAuthentication;
 	}
 
+	/**
+	 * Use the given {@link VerifiedCredentialsCache} to answer repeated username and
+	 * password authentications without invoking the {@link AuthenticationProvider}s, and
+	 * so without verifying the password again. Only authentications whose credentials were
+	 * erased are cached. Not used by default.
+	 * @param verifiedCredentialsCache the {@link VerifiedCredentialsCache} to use, or
+	 * {@code null} to disable caching
+	 * @since 7.0
+	 */
+	public void setVerifiedCredentialsCache(@Nullable VerifiedCredentialsCache verifiedCredentialsCache) {
+		this.verifiedCredentialsCache = verifiedCredentialsCache;
+	}
+
+	/**
+	 * The providers that support each type of {@link Authentication}, for a given list of
+	 * providers
+	 */
+	private static final class ProviderRoutes {
+
+		private final AuthenticationProvider[] providers;
+
+		private final Map<Class<?>, AuthenticationProvider[]> supportingProviders = new ConcurrentReferenceHashMap<>();
+
+		private ProviderRoutes(List<AuthenticationProvider> providers) {
+			this.providers = providers.toArray(new AuthenticationProvider[0]);
+		}
+
+		/**
+		 * Whether these routes were worked out for the given list of providers. The list
+		 * is the one given to the constructor and returned by
+		 * {@link ProviderManager#getProviders()}, and callers may change it at any time,
+		 * so it is compared element by element. This only compares references, which is
+		 * much cheaper than asking each provider whether it supports the type being
+		 * authenticated.
+		 */
+		private boolean isFor(List<AuthenticationProvider> providers) {
+			if (providers.size() != this.providers.length) {
+				return false;
+			}
+			int i = 0;
+			for (AuthenticationProvider provider : providers) {
+				if (provider != this.providers[i++]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private AuthenticationProvider[] getSupportingProviders(Class<?> authentication) {
+			return this.supportingProviders.computeIfAbsent(authentication, (type) -> Arrays.stream(this.providers)
+				.filter((provider) -> provider.supports(type))
+				.toArray(AuthenticationProvider[]::new));
+		}
+
+	}
+
 	private static final class NullEventPublisher implements AuthenticationEventPublisher {
 
 		@Override
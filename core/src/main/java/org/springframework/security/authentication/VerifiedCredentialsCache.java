@@ -0,0 +1,338 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authentication;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.util.Assert;
+import org.springframework.util.CompositeIterator;
+
+/**
+ * A bounded, short-lived cache of successful username and password authentications, so
+ * that {@link ProviderManager} does not need to verify the same credentials with an
+ * expensive password hash on every request, as stateless HTTP Basic clients would
+ * otherwise require.
+ *
+ * <p>
+ * Entries are keyed by an HMAC of the username and the presented password under a key
+ * that never leaves this cache, and only authentications whose credentials were erased
+ * are stored, so the cache never holds a raw or hashed password. Only
+ * {@link UsernamePasswordAuthenticationToken}s are cached, and only their principal and
+ * authorities are kept, so that each hit is answered with a new token carrying the
+ * details of its own request. Each entry expires after {@link #setTimeToLive(Duration)
+ * the time to live}, and once the cache holds more than {@link #setMaximumSize(int) its
+ * maximum size}, the least recently used of a small sample of entries, taken from a
+ * random position, is evicted, so lookups never wait on a lock.
+ *
+ * <p>
+ * While an entry is cached, changes to the account, such as it being locked or its
+ * password being changed on another node, are not seen. Keep the time to live short,
+ * and call {@link #evict(String)} or use
+ * {@link #evictOnPasswordChange(UserDetailsPasswordService)} when a password changes.
+ *
+ * @since 7.0
+ * @see ProviderManager#setVerifiedCredentialsCache(VerifiedCredentialsCache)
+ */
+public final class VerifiedCredentialsCache {
+
+	private static final String ALGORITHM = "HmacSHA256";
+
+	private static final int EVICTION_SAMPLE_SIZE = 8;
+
+	private final Mac mac;
+
+	private final ConcurrentNavigableMap<String, Entry> entries = new ConcurrentSkipListMap<>();
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private Duration timeToLive = Duration.ofMinutes(1);
+
+	private int maximumSize = 10_000;
+
+	private Clock clock = Clock.systemUTC();
+
+	/**
+	 * Construct a {@link VerifiedCredentialsCache} with a random HMAC key
+	 */
+	public VerifiedCredentialsCache() {
+		this(generateKey());
+	}
+
+	/**
+	 * Construct a {@link VerifiedCredentialsCache} with the given HMAC key
+	 * @param key the key to derive cache keys with
+	 */
+	public VerifiedCredentialsCache(SecretKey key) {
+		Assert.notNull(key, "key cannot be null");
+		try {
+			this.mac = Mac.getInstance(ALGORITHM);
+			this.mac.init(key);
+		}
+		catch (GeneralSecurityException ex) {
+			throw new IllegalArgumentException("Unable to initialize " + ALGORITHM + " with the given key", ex);
+		}
+	}
+
+	/**
+	 * Remove the cached authentications of the given user
+	 * @param username the username
+	 */
+	public void evict(String username) {
+		Assert.notNull(username, "username cannot be null");
+		this.entries.values().removeIf((entry) -> entry.username.equals(username));
+	}
+
+	/**
+	 * Remove every cached authentication
+	 */
+	public void evictAll() {
+		this.entries.clear();
+	}
+
+	/**
+	 * Decorate the given {@link UserDetailsPasswordService} so that the cached
+	 * authentications of a user are removed whenever that user's password is updated
+	 * @param passwordService the {@link UserDetailsPasswordService} to decorate
+	 * @return the decorated {@link UserDetailsPasswordService}
+	 */
+	public UserDetailsPasswordService evictOnPasswordChange(UserDetailsPasswordService passwordService) {
+		Assert.notNull(passwordService, "passwordService cannot be null");
+		return (user, newPassword) -> {
+			UserDetails updated = passwordService.updatePassword(user, newPassword);
+			evict(user.getUsername());
+			return updated;
+		};
+	}
+
+	/**
+	 * Get the number of authentications that were answered from this cache
+	 * @return the number of hits
+	 */
+	public long getHitCount() {
+		return this.hits.sum();
+	}
+
+	/**
+	 * Get the number of cacheable authentications that were not in this cache
+	 * @return the number of misses
+	 */
+	public long getMissCount() {
+		return this.misses.sum();
+	}
+
+	/**
+	 * Get the number of cached authentications, including any that expired but were not
+	 * yet removed
+	 * @return the number of cached authentications
+	 */
+	public int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Set how long a successful authentication is cached. Defaults to one minute.
+	 * @param timeToLive the time to live
+	 */
+	public void setTimeToLive(Duration timeToLive) {
+		Assert.notNull(timeToLive, "timeToLive cannot be null");
+		Assert.isTrue(!timeToLive.isNegative() && !timeToLive.isZero(), "timeToLive must be positive");
+		this.timeToLive = timeToLive;
+	}
+
+	/**
+	 * Set the maximum number of cached authentications. Defaults to 10,000.
+	 * @param maximumSize the maximum size
+	 */
+	public void setMaximumSize(int maximumSize) {
+		Assert.isTrue(maximumSize > 0, "maximumSize must be positive");
+		this.maximumSize = maximumSize;
+	}
+
+	/**
+	 * Set the {@link Clock} to use for expiring entries
+	 * @param clock the {@link Clock}
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	/**
+	 * Derive the cache key of the given authentication request
+	 * @param request the authentication request
+	 * @return the cache key, or {@code null} if the request cannot be cached
+	 */
+	@Nullable String key(Authentication request) {
+		if (request.getClass() != UsernamePasswordAuthenticationToken.class
+				|| !(request.getCredentials() instanceof CharSequence password)) {
+			return null;
+		}
+		String username = request.getName();
+		if (username == null || username.isEmpty() || password.length() == 0) {
+			return null;
+		}
+		byte[] name = username.getBytes(StandardCharsets.UTF_8);
+		byte[] secret = password.toString().getBytes(StandardCharsets.UTF_8);
+		Mac mac = mac();
+		mac.update(ByteBuffer.allocate(Integer.BYTES).putInt(name.length).array());
+		mac.update(name);
+		mac.update(secret);
+		return Base64.getEncoder().encodeToString(mac.doFinal());
+	}
+
+	/**
+	 * Get the cached authentication for the given key, carrying the details of the given
+	 * request
+	 * @param key the cache key
+	 * @param request the authentication request
+	 * @return the cached authentication, or {@code null} if there is none
+	 */
+	@Nullable Authentication get(String key, Authentication request) {
+		Entry entry = this.entries.get(key);
+		if (entry != null && !this.clock.instant().isBefore(entry.expiresAt)) {
+			this.entries.remove(key, entry);
+			entry = null;
+		}
+		if (entry == null) {
+			this.misses.increment();
+			return null;
+		}
+		this.hits.increment();
+		entry.lastAccess = System.nanoTime();
+		UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken
+			.authenticated(entry.principal, null, entry.authorities);
+		result.setDetails(request.getDetails());
+		return result;
+	}
+
+	/**
+	 * Cache the principal and authorities of the given successful authentication, unless
+	 * it still holds its credentials or is not a
+	 * {@link UsernamePasswordAuthenticationToken}
+	 * @param key the cache key
+	 * @param result the successful authentication
+	 */
+	void put(String key, Authentication result) {
+		if (result.getClass() != UsernamePasswordAuthenticationToken.class || !result.isAuthenticated()
+				|| result.getCredentials() != null
+				|| (result.getPrincipal() instanceof UserDetails user && user.getPassword() != null)) {
+			return;
+		}
+		Entry entry = new Entry(result.getName(), result.getPrincipal(), result.getAuthorities(),
+				this.clock.instant().plus(this.timeToLive));
+		this.entries.put(key, entry);
+		while (this.entries.size() > this.maximumSize) {
+			evictSample();
+		}
+	}
+
+	private void evictSample() {
+		Instant now = this.clock.instant();
+		// keys are HMACs, so a random key falls at a random position among them
+		String start = randomKey();
+		CompositeIterator<Map.Entry<String, Entry>> sample = new CompositeIterator<>();
+		sample.add(this.entries.tailMap(start).entrySet().iterator());
+		sample.add(this.entries.headMap(start).entrySet().iterator());
+		Map.Entry<String, Entry> eldest = null;
+		for (int i = 0; i < EVICTION_SAMPLE_SIZE && sample.hasNext(); i++) {
+			Map.Entry<String, Entry> candidate = sample.next();
+			if (!now.isBefore(candidate.getValue().expiresAt)) {
+				this.entries.remove(candidate.getKey(), candidate.getValue());
+				return;
+			}
+			if (eldest == null || candidate.getValue().lastAccess - eldest.getValue().lastAccess < 0) {
+				eldest = candidate;
+			}
+		}
+		if (eldest != null) {
+			this.entries.remove(eldest.getKey(), eldest.getValue());
+		}
+	}
+
+	private String randomKey() {
+		byte[] key = new byte[this.mac.getMacLength()];
+		ThreadLocalRandom.current().nextBytes(key);
+		return Base64.getEncoder().encodeToString(key);
+	}
+
+	private Mac mac() {
+		try {
+			return (Mac) this.mac.clone();
+		}
+		catch (CloneNotSupportedException ex) {
+			throw new IllegalStateException(ALGORITHM + " does not support cloning", ex);
+		}
+	}
+
+	private static SecretKey generateKey() {
+		try {
+			KeyGenerator generator = KeyGenerator.getInstance(ALGORITHM);
+			generator.init(256);
+			return generator.generateKey();
+		}
+		catch (GeneralSecurityException ex) {
+			throw new IllegalStateException("Unable to generate an " + ALGORITHM + " key", ex);
+		}
+	}
+
+	private static final class Entry {
+
+		private final String username;
+
+		private final Object principal;
+
+		private final Collection<? extends GrantedAuthority> authorities;
+
+		private final Instant expiresAt;
+
+		private volatile long lastAccess = System.nanoTime();
+
+		private Entry(String username, Object principal, Collection<? extends GrantedAuthority> authorities,
+				Instant expiresAt) {
+			this.username = username;
+			this.principal = principal;
+			this.authorities = authorities;
+			this.expiresAt = expiresAt;
+		}
+
+	}
+
+}
@@ -31,6 +31,7 @@ import org.springframework.security.authentication.CredentialsExpiredException;
 import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.password.PasswordEncoderSaturatedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.SpringSecurityMessageSource;
@@ -151,7 +152,7 @@ public abstract class AbstractUserDetailsAuthenticationProvider
 			additionalAuthenticationChecks(user, (UsernamePasswordAuthenticationToken) authentication);
 		}
 		catch (AuthenticationException ex) {
-			if (!cacheWasUsed) {
+			if (!cacheWasUsed || ex instanceof PasswordEncoderSaturatedException) {
 				throw ex;
 			}
 			// There was a problem, so try again after checking
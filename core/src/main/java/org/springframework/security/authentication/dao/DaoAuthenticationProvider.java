@@ -26,6 +26,7 @@ import org.springframework.security.authentication.InternalAuthenticationService
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.authentication.password.CompromisedPasswordChecker;
 import org.springframework.security.authentication.password.CompromisedPasswordException;
+import org.springframework.security.authentication.password.PasswordEncoderSaturatedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -134,12 +135,23 @@ public class DaoAuthenticationProvider extends AbstractUserDetailsAuthentication
 		boolean upgradeEncoding = existingEncodedPassword != null && this.userDetailsPasswordService != null
 				&& this.passwordEncoder.get().upgradeEncoding(existingEncodedPassword);
 		if (upgradeEncoding) {
-			String newPassword = this.passwordEncoder.get().encode(presentedPassword);
-			user = this.userDetailsPasswordService.updatePassword(user, newPassword);
+			user = upgradeEncoding(user, presentedPassword);
 		}
 		return super.createSuccessAuthentication(principal, authentication, user);
 	}
 
+	private UserDetails upgradeEncoding(UserDetails user, String presentedPassword) {
+		try {
+			String newPassword = this.passwordEncoder.get().encode(presentedPassword);
+			return this.userDetailsPasswordService.updatePassword(user, newPassword);
+		}
+		catch (PasswordEncoderSaturatedException ex) {
+			// the password is already verified, so upgrade it on a later authentication
+			this.logger.debug("Skipped upgrading the password encoding since the password encoder is saturated");
+			return user;
+		}
+	}
+
 	private void prepareTimingAttackProtection() {
 		if (this.userNotFoundEncodedPassword == null) {
 			this.userNotFoundEncodedPassword = this.passwordEncoder.get().encode(USER_NOT_FOUND_PASSWORD);
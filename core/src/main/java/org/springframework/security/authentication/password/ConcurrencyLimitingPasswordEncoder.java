@@ -0,0 +1,140 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authentication.password;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link PasswordEncoder} that limits how many passwords its delegate hashes or verifies
+ * at the same time.
+ *
+ * <p>
+ * Adaptive one-way functions such as bcrypt or Argon2 are deliberately expensive, so a
+ * flood of login attempts, for example during credential stuffing, can occupy every
+ * request thread with hashing. This encoder admits at most a configured number of
+ * {@link #encode(CharSequence)} and {@link #matches(CharSequence, String)} calls at once.
+ * Other callers wait, in arrival order, for at most {@link #setMaxWait(Duration) the
+ * maximum wait} and then fail fast with a {@link PasswordEncoderSaturatedException}, which
+ * leaves the remaining threads to the rest of the application.
+ *
+ * <p>
+ * {@link #upgradeEncoding(String)} does not hash and so is not limited.
+ *
+ * @since 7.0
+ * @see org.springframework.security.authentication.dao.DaoAuthenticationProvider
+ * @see org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager
+ */
+public final class ConcurrencyLimitingPasswordEncoder implements PasswordEncoder {
+
+	private final PasswordEncoder delegate;
+
+	private final Semaphore permits;
+
+	private final int maxConcurrency;
+
+	private Duration maxWait = Duration.ofSeconds(1);
+
+	/**
+	 * Construct a {@link ConcurrencyLimitingPasswordEncoder} that admits at most
+	 * {@code maxConcurrency} hashing operations at once
+	 * @param delegate the {@link PasswordEncoder} to delegate to
+	 * @param maxConcurrency the maximum number of concurrent hashing operations, for
+	 * example the number of available processors
+	 */
+	public ConcurrencyLimitingPasswordEncoder(PasswordEncoder delegate, int maxConcurrency) {
+		Assert.notNull(delegate, "delegate cannot be null");
+		Assert.isTrue(maxConcurrency > 0, "maxConcurrency must be greater than 0");
+		this.delegate = delegate;
+		this.permits = new Semaphore(maxConcurrency, true);
+		this.maxConcurrency = maxConcurrency;
+	}
+
+	@Override
+	public @Nullable String encode(@Nullable CharSequence rawPassword) {
+		return admit(() -> this.delegate.encode(rawPassword));
+	}
+
+	@Override
+	public boolean matches(@Nullable CharSequence rawPassword, @Nullable String encodedPassword) {
+		return admit(() -> this.delegate.matches(rawPassword, encodedPassword));
+	}
+
+	@Override
+	public boolean upgradeEncoding(@Nullable String encodedPassword) {
+		return this.delegate.upgradeEncoding(encodedPassword);
+	}
+
+	/**
+	 * Return the number of hashing operations currently in progress
+	 * @return the number of hashing operations in progress
+	 */
+	public int getActiveCount() {
+		return this.maxConcurrency - this.permits.availablePermits();
+	}
+
+	/**
+	 * Return an estimate of the number of callers waiting for a permit
+	 * @return the number of waiting callers
+	 */
+	public int getQueueLength() {
+		return this.permits.getQueueLength();
+	}
+
+	/**
+	 * Set how long a caller waits for a permit before a
+	 * {@link PasswordEncoderSaturatedException} is thrown. A zero duration rejects callers
+	 * immediately when every permit is in use. The default is one second.
+	 * @param maxWait the maximum wait, cannot be negative
+	 */
+	public void setMaxWait(Duration maxWait) {
+		Assert.notNull(maxWait, "maxWait cannot be null");
+		Assert.isTrue(!maxWait.isNegative(), "maxWait cannot be negative");
+		this.maxWait = maxWait;
+	}
+
+	private <T> T admit(Supplier<T> operation) {
+		acquire();
+		try {
+			return operation.get();
+		}
+		finally {
+			this.permits.release();
+		}
+	}
+
+	private void acquire() {
+		try {
+			if (!this.permits.tryAcquire(this.maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+				throw new PasswordEncoderSaturatedException(
+						"Timed out after " + this.maxWait + " waiting to verify the password");
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new PasswordEncoderSaturatedException("Interrupted while waiting to verify the password");
+		}
+	}
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authentication.password;
+
+import java.io.Serial;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * Thrown if a password could not be hashed or verified because a
+ * {@link ConcurrencyLimitingPasswordEncoder} had no permit available before its maximum
+ * wait elapsed.
+ *
+ * @since 7.0
+ * @see ConcurrencyLimitingPasswordEncoder
+ */
+public class PasswordEncoderSaturatedException extends AuthenticationServiceException {
+
+	@Serial
+	private static final long serialVersionUID = 3120871364458221935L;
+
+	public PasswordEncoderSaturatedException(String message) {
+		super(message);
+	}
+
+}
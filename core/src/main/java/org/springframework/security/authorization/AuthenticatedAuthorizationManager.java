@@ -16,8 +16,12 @@
 
 package org.springframework.security.authorization;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.function.Supplier;
 
+import org.jspecify.annotations.Nullable;
+
 import org.springframework.security.authentication.AuthenticationTrustResolver;
 import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
 import org.springframework.security.core.Authentication;
@@ -116,6 +120,12 @@ public final class AuthenticatedAuthorizationManager<T> implements Authorization
 		return new AuthorizationDecision(granted);
 	}
 
+	@Override
+	public List<@Nullable AuthorizationResult> authorizeAll(Supplier<Authentication> authentication,
+			Collection<? extends T> objects) {
+		return AuthorizationManager.authorizeOnce(this, authentication, objects);
+	}
+
 	private abstract static class AbstractAuthorizationStrategy {
 
 		AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
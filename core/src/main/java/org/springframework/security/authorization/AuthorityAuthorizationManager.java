@@ -16,9 +16,13 @@
 
 package org.springframework.security.authorization;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Supplier;
 
+import org.jspecify.annotations.Nullable;
+
 import org.springframework.security.access.hierarchicalroles.NullRoleHierarchy;
 import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
 import org.springframework.security.core.Authentication;
@@ -141,6 +145,12 @@ public final class AuthorityAuthorizationManager<T> implements AuthorizationMana
 		return this.delegate.authorize(authentication, this.authorities);
 	}
 
+	@Override
+	public List<@Nullable AuthorizationResult> authorizeAll(Supplier<Authentication> authentication,
+			Collection<? extends T> objects) {
+		return AuthorizationManager.authorizeOnce(this, authentication, objects);
+	}
+
 	@Override
 	public String toString() {
 		return "AuthorityAuthorizationManager[authorities=" + this.authorities + "]";
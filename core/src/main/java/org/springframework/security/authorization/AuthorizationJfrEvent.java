@@ -0,0 +1,78 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authorization;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A Java Flight Recorder event for {@link AuthorizationManager#authorize}. It is disabled
+ * by default and can be enabled in a recording's settings.
+ *
+ * <p>
+ * To record an authorization, construct the event and call {@link #begin()} before
+ * invoking the {@link AuthorizationManager}, and then call
+ * {@link #record(AuthorizationManager, Object, AuthorizationResult)} with its result.
+ * When the event is disabled, none of these calls does any work.
+ *
+ * @since 7.0
+ */
+@Name("org.springframework.security.Authorization")
+@Label("Authorization")
+@Description("An AuthorizationManager authorized access to an object")
+@Category({ "Spring Security", "Authorization" })
+@Enabled(false)
+@StackTrace(false)
+public final class AuthorizationJfrEvent extends Event {
+
+	@Label("Authorization Manager")
+	@Nullable String authorizationManager;
+
+	@Label("Object Type")
+	@Nullable String objectType;
+
+	@Label("Granted")
+	boolean granted;
+
+	@Label("Abstained")
+	boolean abstained;
+
+	/**
+	 * Commit this event, if it is enabled, with the given authorization
+	 * @param authorizationManager the {@link AuthorizationManager} that was invoked
+	 * @param object the object that access was authorized to
+	 * @param result the {@link AuthorizationResult}, or {@code null} if the
+	 * {@link AuthorizationManager} abstained
+	 */
+	public void record(AuthorizationManager<?> authorizationManager, @Nullable Object object,
+			@Nullable AuthorizationResult result) {
+		if (shouldCommit()) {
+			this.authorizationManager = authorizationManager.getClass().getName();
+			this.objectType = (object != null) ? object.getClass().getName() : null;
+			this.granted = result != null && result.isGranted();
+			this.abstained = result == null;
+			commit();
+		}
+	}
+
+}
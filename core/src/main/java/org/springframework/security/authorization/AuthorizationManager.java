@@ -16,12 +16,17 @@
 
 package org.springframework.security.authorization;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Supplier;
 
 import org.jspecify.annotations.Nullable;
 
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
+import org.springframework.util.function.SingletonSupplier;
 
 /**
  * An Authorization manager which can determine if an {@link Authentication} has access to
@@ -56,4 +61,51 @@ public interface AuthorizationManager<@Nullable T> {
 	 */
 	@Nullable AuthorizationResult authorize(Supplier<Authentication> authentication, T object);
 
+	/**
+	 * Determines if access is granted for a specific authentication and each of the given
+	 * objects.
+	 *
+	 * <p>
+	 * By default, the {@link Authentication} is resolved at most once and
+	 * {@link #authorize(Supplier, Object)} is called for each object. Implementations
+	 * whose result does not depend on the object can override this to authorize only
+	 * once.
+	 * @param authentication the {@link Supplier} of the {@link Authentication} to
+	 * authorize
+	 * @param objects the objects to authorize
+	 * @return an {@link AuthorizationResult} for each object, in iteration order
+	 * @since 7.0
+	 */
+	default List<@Nullable AuthorizationResult> authorizeAll(Supplier<Authentication> authentication,
+			Collection<? extends T> objects) {
+		Supplier<Authentication> resolved = SingletonSupplier.of(authentication);
+		List<@Nullable AuthorizationResult> results = new ArrayList<>(objects.size());
+		for (T object : objects) {
+			results.add(authorize(resolved, object));
+		}
+		return results;
+	}
+
+	/**
+	 * Authorizes only the first of the given objects and returns that result for each of
+	 * them. This is meant for {@link #authorizeAll(Supplier, Collection)}
+	 * implementations whose result does not depend on the object.
+	 * @param authorizationManager the {@link AuthorizationManager} to use
+	 * @param authentication the {@link Supplier} of the {@link Authentication} to
+	 * authorize
+	 * @param objects the objects to authorize
+	 * @param <T> the type of object that the authorization check is being done on
+	 * @return the same {@link AuthorizationResult} for each object
+	 * @since 7.0
+	 */
+	static <T> List<@Nullable AuthorizationResult> authorizeOnce(AuthorizationManager<T> authorizationManager,
+			Supplier<Authentication> authentication, Collection<? extends T> objects) {
+		if (objects.isEmpty()) {
+			return Collections.emptyList();
+		}
+		@Nullable AuthorizationResult result = authorizationManager.authorize(authentication,
+				objects.iterator().next());
+		return Collections.nCopies(objects.size(), result);
+	}
+
 }
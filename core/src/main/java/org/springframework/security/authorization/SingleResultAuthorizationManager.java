@@ -16,8 +16,12 @@
 
 package org.springframework.security.authorization;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.function.Supplier;
 
+import org.jspecify.annotations.Nullable;
+
 import org.springframework.security.core.Authentication;
 import org.springframework.util.Assert;
 
@@ -51,6 +55,12 @@ public final class SingleResultAuthorizationManager<C> implements AuthorizationM
 		return this.result;
 	}
 
+	@Override
+	public List<@Nullable AuthorizationResult> authorizeAll(Supplier<Authentication> authentication,
+			Collection<? extends C> objects) {
+		return AuthorizationManager.authorizeOnce(this, authentication, objects);
+	}
+
 	@SuppressWarnings("unchecked")
 	public static <C> SingleResultAuthorizationManager<C> denyAll() {
 		return (SingleResultAuthorizationManager<C>) DENY_MANAGER;
@@ -24,8 +24,10 @@ import org.aopalliance.intercept.MethodInvocation;
 import org.jspecify.annotations.Nullable;
 
 import org.springframework.core.MethodClassKey;
+import org.springframework.expression.Expression;
 import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
 import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.core.annotation.AnnotationTemplateExpressionDefaults;
 import org.springframework.util.Assert;
 
@@ -77,6 +79,22 @@ abstract class AbstractExpressionAttributeRegistry<T extends ExpressionAttribute
 		this.expressionHandler = expressionHandler;
 	}
 
+	/**
+	 * Returns an {@link AuthorizationManager} that decides in the same way as the
+	 * expression without evaluating it, if the {@link MethodSecurityExpressionHandler}
+	 * can create one.
+	 * @param expression the parsed expression
+	 * @return the {@link AuthorizationManager}, or {@code null} if the expression needs
+	 * to be evaluated
+	 * @see DefaultMethodSecurityExpressionHandler#createAuthorizationManager(Expression)
+	 */
+	@Nullable AuthorizationManager<Object> createAuthorizationManager(Expression expression) {
+		if (this.expressionHandler instanceof DefaultMethodSecurityExpressionHandler defaultExpressionHandler) {
+			return defaultExpressionHandler.createAuthorizationManager(expression);
+		}
+		return null;
+	}
+
 	abstract void setTemplateDefaults(AnnotationTemplateExpressionDefaults adapter);
 
 	/**
@@ -16,25 +16,34 @@
 
 package org.springframework.security.authorization.method;
 
+import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.RandomAccess;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -46,13 +55,17 @@ import reactor.core.publisher.Mono;
 
 import org.springframework.aop.Advisor;
 import org.springframework.aop.Pointcut;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.AdvisorChainFactory;
 import org.springframework.aop.framework.AopInfrastructureBean;
+import org.springframework.aop.framework.DefaultAdvisorChainFactory;
 import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.security.authorization.AuthorizationProxyFactory;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * A proxy factory for applying authorization advice to an arbitrary object.
@@ -92,12 +105,16 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 	private static final TargetVisitor DEFAULT_VISITOR_SKIP_VALUE_TYPES = TargetVisitor.of(new ClassVisitor(),
 			new IgnoreValueTypeVisitor(), DEFAULT_VISITOR);
 
+	private static final TargetVisitor LAZY_COLLECTION_VISITOR = new LazyCollectionVisitor();
+
 	private final AuthorizationProxyMethodInterceptor authorizationProxy = new AuthorizationProxyMethodInterceptor();
 
 	private List<AuthorizationAdvisor> advisors;
 
 	private TargetVisitor visitor = DEFAULT_VISITOR;
 
+	private final Map<Class<?>, ProxyTemplate> proxyTemplates = new ConcurrentReferenceHashMap<>();
+
 	/**
 	 * Construct an {@link AuthorizationAdvisorProxyFactory} with the provided advisors.
 	 * @param advisors the advisors to use
@@ -151,6 +168,7 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 	@Override
 	public void afterSingletonsInstantiated() {
 		AnnotationAwareOrderComparator.sort(this.advisors);
+		this.proxyTemplates.clear();
 	}
 
 	/**
@@ -183,17 +201,25 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 		if (proxied != null) {
 			return (T) proxied;
 		}
-		ProxyFactory factory = new ProxyFactory(target);
-		factory.addAdvisors(this.authorizationProxy);
-		List<Advisor> advisors = new ArrayList<>(this.advisors);
-		AnnotationAwareOrderComparator.sort(advisors);
-		factory.addAdvisors(advisors);
+		ProxyTemplate template = this.proxyTemplates.computeIfAbsent(target.getClass(), this::createProxyTemplate);
+		ProxyFactory factory = new ProxyFactory();
+		factory.setTarget(target);
+		factory.setInterfaces(template.interfaces);
+		factory.setAdvisorChainFactory(template.advisorChainFactory);
+		factory.addAdvisors(template.advisors);
 		factory.addInterface(AuthorizationProxy.class);
 		factory.setOpaque(true);
-		factory.setProxyTargetClass(!Modifier.isFinal(target.getClass().getModifiers()));
+		factory.setProxyTargetClass(template.proxyTargetClass);
 		return (T) factory.getProxy();
 	}
 
+	private ProxyTemplate createProxyTemplate(Class<?> targetClass) {
+		List<Advisor> advisors = new ArrayList<>(this.advisors);
+		AnnotationAwareOrderComparator.sort(advisors);
+		advisors.add(0, this.authorizationProxy);
+		return new ProxyTemplate(targetClass, advisors);
+	}
+
 	/**
 	 * Add advisors that should be included to each proxy created.
 	 *
@@ -205,6 +231,7 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 	@Deprecated
 	public void setAdvisors(AuthorizationAdvisor... advisors) {
 		this.advisors = new ArrayList<>(List.of(advisors));
+		this.proxyTemplates.clear();
 	}
 
 	/**
@@ -218,6 +245,7 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 	@Deprecated
 	public void setAdvisors(Collection<AuthorizationAdvisor> advisors) {
 		this.advisors = new ArrayList<>(advisors);
+		this.proxyTemplates.clear();
 	}
 
 	/**
@@ -235,6 +263,7 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 	@Deprecated
 	public void addAdvisor(AuthorizationAdvisor advisor) {
 		this.advisors.add(advisor);
+		this.proxyTemplates.clear();
 	}
 
 	/**
@@ -332,6 +361,34 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 			return AuthorizationAdvisorProxyFactory.DEFAULT_VISITOR_SKIP_VALUE_TYPES;
 		}
 
+		/**
+		 * A {@link TargetVisitor} that, instead of copying a {@link List}, {@link Set},
+		 * {@link SortedSet}, {@link Map} or {@link SortedMap} and proxying each of its
+		 * elements up front, returns a view of it that proxies each element when it is
+		 * read. This is handy for methods that return large collections of which only a
+		 * few elements are read.
+		 *
+		 * <p>
+		 * The view reads through to the collection and keeps the proxies of recently read
+		 * elements. Changes made through the view are made to the collection, so the view
+		 * is only modifiable when the collection is. Other types are not visited, so this
+		 * visitor is meant to be composed with the defaults, for example:
+		 *
+		 * <pre>
+		 * 	proxyFactory.setTargetVisitor(TargetVisitor.of(TargetVisitor.lazyCollections(), TargetVisitor.defaults()));
+		 * </pre>
+		 *
+		 * <p>
+		 * Since a view is neither a copy nor of the same class as the collection, methods
+		 * whose results are visited should declare the collection interface as their
+		 * return type.
+		 * @return a {@link TargetVisitor} that proxies the elements of collections lazily
+		 * @since 7.0
+		 */
+		static TargetVisitor lazyCollections() {
+			return AuthorizationAdvisorProxyFactory.LAZY_COLLECTION_VISITOR;
+		}
+
 		/**
 		 * Compose a set of visitors. This is helpful when you are customizing for a given
 		 * type and still want the defaults applied for the remaining types.
@@ -574,6 +631,497 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 
 	}
 
+	private static final class LazyCollectionVisitor implements TargetVisitor {
+
+		@Override
+		public @Nullable Object visit(AuthorizationAdvisorProxyFactory proxyFactory, Object target) {
+			if (target instanceof Queue<?>) {
+				return null;
+			}
+			if (target instanceof List<?> list) {
+				ProxyCache proxies = new ProxyCache(proxyFactory);
+				return (list instanceof RandomAccess) ? new RandomAccessProxyList<>(list, proxies)
+						: new ProxyList<>(list, proxies);
+			}
+			if (target instanceof SortedSet<?> set) {
+				return new ProxySortedSet<>(set, new ProxyCache(proxyFactory));
+			}
+			if (target instanceof Set<?> set) {
+				return new ProxySet<>(set, new ProxyCache(proxyFactory));
+			}
+			if (target instanceof SortedMap<?, ?> map) {
+				return new ProxySortedMap<>(map, new ProxyCache(proxyFactory));
+			}
+			if (target instanceof Map<?, ?> map) {
+				return new ProxyMap<>(map, new ProxyCache(proxyFactory));
+			}
+			return null;
+		}
+
+	}
+
+	/**
+	 * The proxies of the most recently read elements of a view, so that reading an
+	 * element again does not create another proxy
+	 */
+	private static final class ProxyCache {
+
+		private static final int SIZE = 32;
+
+		private final AuthorizationProxyFactory proxyFactory;
+
+		private final @Nullable CachedProxy[] entries = new CachedProxy[SIZE];
+
+		private ProxyCache(AuthorizationProxyFactory proxyFactory) {
+			this.proxyFactory = proxyFactory;
+		}
+
+		@SuppressWarnings("unchecked")
+		private <T> @Nullable T proxy(@Nullable T target) {
+			if (target == null) {
+				return null;
+			}
+			int index = System.identityHashCode(target) & (SIZE - 1);
+			CachedProxy entry = this.entries[index];
+			if (entry != null && entry.target() == target) {
+				return (T) entry.proxy();
+			}
+			T proxy = this.proxyFactory.proxy(target);
+			this.entries[index] = new CachedProxy(target, proxy);
+			return proxy;
+		}
+
+		private static @Nullable Object target(@Nullable Object object) {
+			return (object instanceof AuthorizationProxy proxy) ? proxy.toAuthorizedTarget() : object;
+		}
+
+		private record CachedProxy(Object target, @Nullable Object proxy) {
+
+		}
+
+	}
+
+	private static class ProxyList<T> extends AbstractList<T> {
+
+		private final List<T> list;
+
+		private final ProxyCache proxies;
+
+		private ProxyList(List<T> list, ProxyCache proxies) {
+			this.list = list;
+			this.proxies = proxies;
+		}
+
+		@Override
+		public @Nullable T get(int index) {
+			return this.proxies.proxy(this.list.get(index));
+		}
+
+		@Override
+		public @Nullable T set(int index, T element) {
+			return this.proxies.proxy(this.list.set(index, element));
+		}
+
+		@Override
+		public void add(int index, T element) {
+			this.list.add(index, element);
+		}
+
+		@Override
+		public @Nullable T remove(int index) {
+			return this.proxies.proxy(this.list.remove(index));
+		}
+
+		@Override
+		public void clear() {
+			this.list.clear();
+		}
+
+		@Override
+		public int size() {
+			return this.list.size();
+		}
+
+		@Override
+		public int indexOf(Object object) {
+			int index = this.list.indexOf(object);
+			return (index != -1) ? index : this.list.indexOf(ProxyCache.target(object));
+		}
+
+		@Override
+		public int lastIndexOf(Object object) {
+			int index = this.list.lastIndexOf(object);
+			return (index != -1) ? index : this.list.lastIndexOf(ProxyCache.target(object));
+		}
+
+		@Override
+		public boolean contains(Object object) {
+			return indexOf(object) != -1;
+		}
+
+		@Override
+		public boolean remove(Object object) {
+			int index = indexOf(object);
+			if (index == -1) {
+				return false;
+			}
+			this.list.remove(index);
+			return true;
+		}
+
+		@Override
+		public Iterator<T> iterator() {
+			return listIterator(0);
+		}
+
+		@Override
+		public ListIterator<T> listIterator(int index) {
+			ListIterator<T> iterator = this.list.listIterator(index);
+			return new ListIterator<>() {
+
+				@Override
+				public boolean hasNext() {
+					return iterator.hasNext();
+				}
+
+				@Override
+				public @Nullable T next() {
+					return ProxyList.this.proxies.proxy(iterator.next());
+				}
+
+				@Override
+				public boolean hasPrevious() {
+					return iterator.hasPrevious();
+				}
+
+				@Override
+				public @Nullable T previous() {
+					return ProxyList.this.proxies.proxy(iterator.previous());
+				}
+
+				@Override
+				public int nextIndex() {
+					return iterator.nextIndex();
+				}
+
+				@Override
+				public int previousIndex() {
+					return iterator.previousIndex();
+				}
+
+				@Override
+				public void remove() {
+					iterator.remove();
+				}
+
+				@Override
+				public void set(T element) {
+					iterator.set(element);
+				}
+
+				@Override
+				public void add(T element) {
+					iterator.add(element);
+				}
+
+			};
+		}
+
+		@Override
+		public List<T> subList(int fromIndex, int toIndex) {
+			List<T> subList = this.list.subList(fromIndex, toIndex);
+			return (this instanceof RandomAccess) ? new RandomAccessProxyList<>(subList, this.proxies)
+					: new ProxyList<>(subList, this.proxies);
+		}
+
+	}
+
+	private static final class RandomAccessProxyList<T> extends ProxyList<T> implements RandomAccess {
+
+		private RandomAccessProxyList(List<T> list, ProxyCache proxies) {
+			super(list, proxies);
+		}
+
+	}
+
+	private static class ProxySet<T> extends AbstractSet<T> {
+
+		private final Set<T> set;
+
+		private final ProxyCache proxies;
+
+		private ProxySet(Set<T> set, ProxyCache proxies) {
+			this.set = set;
+			this.proxies = proxies;
+		}
+
+		@Override
+		public Iterator<T> iterator() {
+			Iterator<T> iterator = this.set.iterator();
+			return new Iterator<>() {
+
+				@Override
+				public boolean hasNext() {
+					return iterator.hasNext();
+				}
+
+				@Override
+				public @Nullable T next() {
+					return ProxySet.this.proxies.proxy(iterator.next());
+				}
+
+				@Override
+				public void remove() {
+					iterator.remove();
+				}
+
+			};
+		}
+
+		@Override
+		public int size() {
+			return this.set.size();
+		}
+
+		@Override
+		public boolean contains(Object object) {
+			return this.set.contains(object) || this.set.contains(ProxyCache.target(object));
+		}
+
+		@Override
+		public boolean add(T element) {
+			return this.set.add(element);
+		}
+
+		@Override
+		public boolean remove(Object object) {
+			return this.set.remove(object) || this.set.remove(ProxyCache.target(object));
+		}
+
+		@Override
+		public void clear() {
+			this.set.clear();
+		}
+
+	}
+
+	private static final class ProxySortedSet<T> extends ProxySet<T> implements SortedSet<T> {
+
+		private final SortedSet<T> set;
+
+		private ProxySortedSet(SortedSet<T> set, ProxyCache proxies) {
+			super(set, proxies);
+			this.set = set;
+		}
+
+		@Override
+		public @Nullable Comparator<? super T> comparator() {
+			return this.set.comparator();
+		}
+
+		@Override
+		public SortedSet<T> subSet(T fromElement, T toElement) {
+			return new ProxySortedSet<>(this.set.subSet(fromElement, toElement), super.proxies);
+		}
+
+		@Override
+		public SortedSet<T> headSet(T toElement) {
+			return new ProxySortedSet<>(this.set.headSet(toElement), super.proxies);
+		}
+
+		@Override
+		public SortedSet<T> tailSet(T fromElement) {
+			return new ProxySortedSet<>(this.set.tailSet(fromElement), super.proxies);
+		}
+
+		@Override
+		public @Nullable T first() {
+			return super.proxies.proxy(this.set.first());
+		}
+
+		@Override
+		public @Nullable T last() {
+			return super.proxies.proxy(this.set.last());
+		}
+
+	}
+
+	private static class ProxyMap<K, V> extends AbstractMap<K, V> {
+
+		private final Map<K, V> map;
+
+		private final ProxyCache proxies;
+
+		private ProxyMap(Map<K, V> map, ProxyCache proxies) {
+			this.map = map;
+			this.proxies = proxies;
+		}
+
+		@Override
+		public @Nullable V get(Object key) {
+			return this.proxies.proxy(this.map.get(key));
+		}
+
+		@Override
+		public @Nullable V put(K key, V value) {
+			return this.proxies.proxy(this.map.put(key, value));
+		}
+
+		@Override
+		public @Nullable V remove(Object key) {
+			return this.proxies.proxy(this.map.remove(key));
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return this.map.containsKey(key);
+		}
+
+		@Override
+		public boolean containsValue(Object value) {
+			return this.map.containsValue(value) || this.map.containsValue(ProxyCache.target(value));
+		}
+
+		@Override
+		public int size() {
+			return this.map.size();
+		}
+
+		@Override
+		public void clear() {
+			this.map.clear();
+		}
+
+		@Override
+		public Set<K> keySet() {
+			return this.map.keySet();
+		}
+
+		@Override
+		public Set<Entry<K, V>> entrySet() {
+			Set<Entry<K, V>> entries = this.map.entrySet();
+			return new AbstractSet<>() {
+
+				@Override
+				public Iterator<Entry<K, V>> iterator() {
+					Iterator<Entry<K, V>> iterator = entries.iterator();
+					return new Iterator<>() {
+
+						@Override
+						public boolean hasNext() {
+							return iterator.hasNext();
+						}
+
+						@Override
+						public Entry<K, V> next() {
+							return new ProxyEntry(iterator.next());
+						}
+
+						@Override
+						public void remove() {
+							iterator.remove();
+						}
+
+					};
+				}
+
+				@Override
+				public int size() {
+					return entries.size();
+				}
+
+				@Override
+				public void clear() {
+					entries.clear();
+				}
+
+			};
+		}
+
+		private final class ProxyEntry implements Entry<K, V> {
+
+			private final Entry<K, V> entry;
+
+			private ProxyEntry(Entry<K, V> entry) {
+				this.entry = entry;
+			}
+
+			@Override
+			public K getKey() {
+				return this.entry.getKey();
+			}
+
+			@Override
+			public @Nullable V getValue() {
+				return ProxyMap.this.proxies.proxy(this.entry.getValue());
+			}
+
+			@Override
+			public @Nullable V setValue(V value) {
+				return ProxyMap.this.proxies.proxy(this.entry.setValue(value));
+			}
+
+			@Override
+			public boolean equals(@Nullable Object other) {
+				return other instanceof Entry<?, ?> that && Objects.equals(getKey(), that.getKey())
+						&& Objects.equals(getValue(), that.getValue());
+			}
+
+			@Override
+			public int hashCode() {
+				return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+			}
+
+			@Override
+			public String toString() {
+				return getKey() + "=" + getValue();
+			}
+
+		}
+
+	}
+
+	private static final class ProxySortedMap<K, V> extends ProxyMap<K, V> implements SortedMap<K, V> {
+
+		private final SortedMap<K, V> map;
+
+		private ProxySortedMap(SortedMap<K, V> map, ProxyCache proxies) {
+			super(map, proxies);
+			this.map = map;
+		}
+
+		@Override
+		public @Nullable Comparator<? super K> comparator() {
+			return this.map.comparator();
+		}
+
+		@Override
+		public SortedMap<K, V> subMap(K fromKey, K toKey) {
+			return new ProxySortedMap<>(this.map.subMap(fromKey, toKey), super.proxies);
+		}
+
+		@Override
+		public SortedMap<K, V> headMap(K toKey) {
+			return new ProxySortedMap<>(this.map.headMap(toKey), super.proxies);
+		}
+
+		@Override
+		public SortedMap<K, V> tailMap(K fromKey) {
+			return new ProxySortedMap<>(this.map.tailMap(fromKey), super.proxies);
+		}
+
+		@Override
+		public K firstKey() {
+			return this.map.firstKey();
+		}
+
+		@Override
+		public K lastKey() {
+			return this.map.lastKey();
+		}
+
+	}
+
 	private static class ReactiveTypeVisitor implements TargetVisitor {
 
 		@Override
@@ -598,6 +1146,50 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 
 	}
 
+	/**
+	 * What is the same for each proxy of a given class, so that it is worked out once
+	 * instead of for each proxy. This includes the chain of interceptors for each method,
+	 * which Spring AOP otherwise works out again for each proxy.
+	 */
+	private static final class ProxyTemplate {
+
+		private final Class<?>[] interfaces;
+
+		private final List<Advisor> advisors;
+
+		private final boolean proxyTargetClass;
+
+		private final AdvisorChainFactory advisorChainFactory = new CachingAdvisorChainFactory();
+
+		private ProxyTemplate(Class<?> targetClass, List<Advisor> advisors) {
+			this.interfaces = ClassUtils.getAllInterfacesForClass(targetClass);
+			this.advisors = advisors;
+			this.proxyTargetClass = !Modifier.isFinal(targetClass.getModifiers());
+		}
+
+	}
+
+	private static final class CachingAdvisorChainFactory implements AdvisorChainFactory, Serializable {
+
+		private static final long serialVersionUID = -3452137681427419316L;
+
+		private final AdvisorChainFactory delegate = new DefaultAdvisorChainFactory();
+
+		private final transient Map<Method, List<Object>> chains = new ConcurrentHashMap<>();
+
+		@Override
+		public List<Object> getInterceptorsAndDynamicInterceptionAdvice(Advised config, Method method,
+				@Nullable Class<?> targetClass) {
+			return this.chains.computeIfAbsent(method,
+					(key) -> this.delegate.getInterceptorsAndDynamicInterceptionAdvice(config, method, targetClass));
+		}
+
+		private Object readResolve() {
+			return new CachingAdvisorChainFactory();
+		}
+
+	}
+
 	private static final class AuthorizationProxyMethodInterceptor implements AuthorizationAdvisor {
 
 		private static final Method GET_TARGET_METHOD = ClassUtils.getMethod(AuthorizationProxy.class,
@@ -32,6 +32,7 @@ import org.springframework.security.access.prepost.PostAuthorize;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.authorization.AuthorizationDeniedException;
 import org.springframework.security.authorization.AuthorizationEventPublisher;
+import org.springframework.security.authorization.AuthorizationJfrEvent;
 import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.authorization.AuthorizationResult;
 import org.springframework.security.core.Authentication;
@@ -183,7 +184,10 @@ public final class AuthorizationManagerAfterMethodInterceptor implements Authori
 	private @Nullable Object attemptAuthorization(MethodInvocation mi, @Nullable Object result) {
 		this.logger.debug(LogMessage.of(() -> "Authorizing method invocation " + mi));
 		MethodInvocationResult object = new MethodInvocationResult(mi, result);
+		AuthorizationJfrEvent event = new AuthorizationJfrEvent();
+		event.begin();
 		AuthorizationResult authorizationResult = this.authorizationManager.authorize(this::getAuthentication, object);
+		event.record(this.authorizationManager, object, authorizationResult);
 		if (authorizationResult != null) {
 			this.eventPublisher.publishAuthorizationEvent(this::getAuthentication, object, authorizationResult);
 		}
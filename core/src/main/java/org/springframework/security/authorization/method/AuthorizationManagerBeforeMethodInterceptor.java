@@ -36,6 +36,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.authorization.AuthorizationDeniedException;
 import org.springframework.security.authorization.AuthorizationEventPublisher;
+import org.springframework.security.authorization.AuthorizationJfrEvent;
 import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.authorization.AuthorizationResult;
 import org.springframework.security.core.Authentication;
@@ -248,12 +249,16 @@ public final class AuthorizationManagerBeforeMethodInterceptor implements Author
 	private @Nullable Object attemptAuthorization(MethodInvocation mi) throws Throwable {
 		this.logger.debug(LogMessage.of(() -> "Authorizing method invocation " + mi));
 		AuthorizationResult result;
+		AuthorizationJfrEvent event = new AuthorizationJfrEvent();
+		event.begin();
 		try {
 			result = this.authorizationManager.authorize(this::getAuthentication, mi);
 		}
 		catch (AuthorizationDeniedException denied) {
+			event.record(this.authorizationManager, mi, denied);
 			return handle(mi, denied);
 		}
+		event.record(this.authorizationManager, mi, result);
 		if (result != null) {
 			this.eventPublisher.publishAuthorizationEvent(this::getAuthentication, mi, result);
 		}
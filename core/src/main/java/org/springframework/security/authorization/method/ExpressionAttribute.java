@@ -16,7 +16,10 @@
 
 package org.springframework.security.authorization.method;
 
+import org.jspecify.annotations.Nullable;
+
 import org.springframework.expression.Expression;
+import org.springframework.security.authorization.AuthorizationManager;
 
 /**
  * An {@link Expression} attribute.
@@ -28,12 +31,25 @@ class ExpressionAttribute {
 
 	private final Expression expression;
 
+	private final @Nullable AuthorizationManager<Object> authorizationManager;
+
 	/**
 	 * Creates an instance.
 	 * @param expression the {@link Expression} to use
 	 */
 	ExpressionAttribute(Expression expression) {
+		this(expression, null);
+	}
+
+	/**
+	 * Creates an instance.
+	 * @param expression the {@link Expression} to use
+	 * @param authorizationManager the {@link AuthorizationManager} that decides in the
+	 * same way as the {@link Expression}, or {@code null} if there is none
+	 */
+	ExpressionAttribute(Expression expression, @Nullable AuthorizationManager<Object> authorizationManager) {
 		this.expression = expression;
+		this.authorizationManager = authorizationManager;
 	}
 
 	/**
@@ -44,6 +60,16 @@ class ExpressionAttribute {
 		return this.expression;
 	}
 
+	/**
+	 * Returns the {@link AuthorizationManager} that decides in the same way as the
+	 * {@link Expression} without evaluating it.
+	 * @return the {@link AuthorizationManager}, or {@code null} if the
+	 * {@link Expression} needs to be evaluated
+	 */
+	@Nullable AuthorizationManager<Object> getAuthorizationManager() {
+		return this.authorizationManager;
+	}
+
 	@Override
 	public String toString() {
 		return getClass().getSimpleName() + " [Expression="
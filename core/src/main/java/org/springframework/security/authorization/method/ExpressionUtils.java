@@ -16,14 +16,22 @@
 
 package org.springframework.security.authorization.method;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
 import org.jspecify.annotations.Nullable;
 
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.Expression;
 import org.springframework.security.authorization.AuthorizationDeniedException;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.authorization.AuthorizationResult;
 import org.springframework.security.authorization.ExpressionAuthorizationDecision;
+import org.springframework.security.core.Authentication;
 
 final class ExpressionUtils {
 
@@ -55,6 +63,30 @@ final class ExpressionUtils {
 		}
 	}
 
+	static <T> Collection<T> filter(Collection<T> filterTarget, AuthorizationManager<Object> authorizationManager,
+			Supplier<Authentication> authentication) {
+		List<@Nullable AuthorizationResult> results = authorizationManager.authorizeAll(authentication, filterTarget);
+		List<T> retain = new ArrayList<>(filterTarget.size());
+		Iterator<@Nullable AuthorizationResult> result = results.iterator();
+		for (T filterObject : filterTarget) {
+			AuthorizationResult decision = result.next();
+			if (decision != null && decision.isGranted()) {
+				retain.add(filterObject);
+			}
+		}
+		if (retain.size() == filterTarget.size()) {
+			return filterTarget;
+		}
+		try {
+			filterTarget.clear();
+			filterTarget.addAll(retain);
+			return filterTarget;
+		}
+		catch (UnsupportedOperationException readonly) {
+			return retain;
+		}
+	}
+
 	static @Nullable AuthorizationDeniedException findAuthorizationException(EvaluationException ex) {
 		Throwable cause = ex.getCause();
 		while (cause != null) {
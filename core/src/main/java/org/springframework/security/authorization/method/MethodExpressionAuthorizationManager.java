@@ -16,9 +16,12 @@
 
 package org.springframework.security.authorization.method;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.function.Supplier;
 
 import org.aopalliance.intercept.MethodInvocation;
+import org.jspecify.annotations.Nullable;
 
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
@@ -44,6 +47,8 @@ public final class MethodExpressionAuthorizationManager implements Authorization
 
 	private Expression expression;
 
+	private @Nullable AuthorizationManager<MethodInvocation> authorizationManager;
+
 	/**
 	 * Creates an instance.
 	 * @param expressionString the raw expression string to parse
@@ -51,6 +56,7 @@ public final class MethodExpressionAuthorizationManager implements Authorization
 	public MethodExpressionAuthorizationManager(String expressionString) {
 		Assert.hasText(expressionString, "expressionString cannot be empty");
 		this.expression = this.expressionHandler.getExpressionParser().parseExpression(expressionString);
+		this.authorizationManager = createAuthorizationManager(this.expressionHandler, this.expression);
 	}
 
 	/**
@@ -63,6 +69,7 @@ public final class MethodExpressionAuthorizationManager implements Authorization
 		this.expressionHandler = expressionHandler;
 		this.expression = expressionHandler.getExpressionParser()
 			.parseExpression(this.expression.getExpressionString());
+		this.authorizationManager = createAuthorizationManager(expressionHandler, this.expression);
 	}
 
 	/**
@@ -79,6 +86,32 @@ public final class MethodExpressionAuthorizationManager implements Authorization
 		return new ExpressionAuthorizationDecision(granted, this.expression);
 	}
 
+	/**
+	 * Determines the access to each of the given {@link MethodInvocation}s. When the
+	 * expression does not need to be evaluated against the {@link MethodInvocation},
+	 * this decides only once.
+	 * @param authentication the {@link Supplier} of the {@link Authentication} to check
+	 * @param contexts the {@link MethodInvocation}s to check
+	 * @return an {@link AuthorizationResult} for each {@link MethodInvocation}
+	 * @since 7.0
+	 */
+	@Override
+	public List<@Nullable AuthorizationResult> authorizeAll(Supplier<Authentication> authentication,
+			Collection<? extends MethodInvocation> contexts) {
+		if (this.authorizationManager != null) {
+			return this.authorizationManager.authorizeAll(authentication, contexts);
+		}
+		return AuthorizationManager.super.authorizeAll(authentication, contexts);
+	}
+
+	private static @Nullable AuthorizationManager<MethodInvocation> createAuthorizationManager(
+			SecurityExpressionHandler<MethodInvocation> expressionHandler, Expression expression) {
+		if (expressionHandler instanceof DefaultMethodSecurityExpressionHandler defaultExpressionHandler) {
+			return defaultExpressionHandler.createAuthorizationManager(expression);
+		}
+		return null;
+	}
+
 	@Override
 	public String toString() {
 		return "WebExpressionAuthorizationManager[expression='" + this.expression + "']";
@@ -16,6 +16,11 @@
 
 package org.springframework.security.authorization.method;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Supplier;
 
 import org.aopalliance.intercept.MethodInvocation;
@@ -30,6 +35,7 @@ import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.authorization.AuthorizationResult;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AnnotationTemplateExpressionDefaults;
+import org.springframework.util.function.SingletonSupplier;
 
 /**
  * An {@link AuthorizationManager} which can determine if an {@link Authentication} may
@@ -91,12 +97,49 @@ public final class PostAuthorizeAuthorizationManager
 		if (attribute == null) {
 			return null;
 		}
+		AuthorizationManager<Object> authorizationManager = attribute.getAuthorizationManager();
+		if (authorizationManager != null) {
+			return authorizationManager.authorize(authentication, mi);
+		}
 		MethodSecurityExpressionHandler expressionHandler = this.registry.getExpressionHandler();
 		EvaluationContext ctx = expressionHandler.createEvaluationContext(authentication, mi.getMethodInvocation());
 		expressionHandler.setReturnObject(mi.getResult(), ctx);
 		return ExpressionUtils.evaluate(attribute.getExpression(), ctx);
 	}
 
+	/**
+	 * Determine if an {@link Authentication} has access to each of the given
+	 * {@link MethodInvocationResult}s. The {@link Authentication} is resolved at most once, and
+	 * {@link PostAuthorize} expressions that do not need to be evaluated are decided only
+	 * once.
+	 * @param authentication the {@link Supplier} of the {@link Authentication} to check
+	 * @param mis the {@link MethodInvocationResult}s to check
+	 * @return an {@link AuthorizationResult} for each {@link MethodInvocationResult}, or
+	 * {@code null} where the {@link PostAuthorize} annotation is not present
+	 * @since 7.0
+	 */
+	@Override
+	public List<@Nullable AuthorizationResult> authorizeAll(Supplier<Authentication> authentication,
+			Collection<? extends MethodInvocationResult> mis) {
+		Supplier<Authentication> resolved = SingletonSupplier.of(authentication);
+		Map<AuthorizationManager<Object>, @Nullable AuthorizationResult> decided = new IdentityHashMap<>();
+		List<@Nullable AuthorizationResult> results = new ArrayList<>(mis.size());
+		for (MethodInvocationResult mi : mis) {
+			ExpressionAttribute attribute = this.registry.getAttribute(mi.getMethodInvocation());
+			AuthorizationManager<Object> authorizationManager = (attribute != null)
+					? attribute.getAuthorizationManager() : null;
+			if (authorizationManager == null) {
+				results.add(authorize(resolved, mi));
+				continue;
+			}
+			if (!decided.containsKey(authorizationManager)) {
+				decided.put(authorizationManager, authorizationManager.authorize(resolved, mi));
+			}
+			results.add(decided.get(authorizationManager));
+		}
+		return results;
+	}
+
 	@Override
 	public @Nullable Object handleDeniedInvocation(MethodInvocation methodInvocation,
 			AuthorizationResult authorizationResult) {
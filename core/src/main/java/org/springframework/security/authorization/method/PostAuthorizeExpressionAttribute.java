@@ -16,7 +16,10 @@
 
 package org.springframework.security.authorization.method;
 
+import org.jspecify.annotations.Nullable;
+
 import org.springframework.expression.Expression;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.util.Assert;
 
 /**
@@ -29,8 +32,9 @@ class PostAuthorizeExpressionAttribute extends ExpressionAttribute {
 
 	private final MethodAuthorizationDeniedHandler handler;
 
-	PostAuthorizeExpressionAttribute(Expression expression, MethodAuthorizationDeniedHandler handler) {
-		super(expression);
+	PostAuthorizeExpressionAttribute(Expression expression, @Nullable AuthorizationManager<Object> authorizationManager,
+			MethodAuthorizationDeniedHandler handler) {
+		super(expression, authorizationManager);
 		Assert.notNull(handler, "handler cannot be null");
 		this.handler = handler;
 	}
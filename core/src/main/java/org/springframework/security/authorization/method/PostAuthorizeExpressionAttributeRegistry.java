@@ -62,7 +62,7 @@ final class PostAuthorizeExpressionAttributeRegistry extends AbstractExpressionA
 		}
 		Expression expression = getExpressionHandler().getExpressionParser().parseExpression(postAuthorize.value());
 		MethodAuthorizationDeniedHandler deniedHandler = resolveHandler(method, targetClass);
-		return new PostAuthorizeExpressionAttribute(expression, deniedHandler);
+		return new PostAuthorizeExpressionAttribute(expression, createAuthorizationManager(expression), deniedHandler);
 	}
 
 	private MethodAuthorizationDeniedHandler resolveHandler(Method method, @Nullable Class<?> targetClass) {
@@ -16,7 +16,14 @@
 
 package org.springframework.security.authorization.method;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import org.aopalliance.aop.Advice;
 import org.aopalliance.intercept.MethodInterceptor;
@@ -25,13 +32,19 @@ import org.jspecify.annotations.Nullable;
 
 import org.springframework.aop.Pointcut;
 import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
 import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.access.prepost.PostFilter;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AnnotationTemplateExpressionDefaults;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.util.Assert;
+import org.springframework.util.function.SingletonSupplier;
 
 /**
  * A {@link MethodInterceptor} which filters a {@code returnedObject} from the
@@ -50,6 +63,10 @@ public final class PostFilterAuthorizationMethodInterceptor implements Authoriza
 
 	private int order = AuthorizationInterceptorsOrder.POST_FILTER.getOrder();
 
+	private int parallelThreshold = Integer.MAX_VALUE;
+
+	private ForkJoinPool forkJoinPool = ForkJoinPool.commonPool();
+
 	private final Pointcut pointcut;
 
 	/**
@@ -120,9 +137,40 @@ public final class PostFilterAuthorizationMethodInterceptor implements Authoriza
 		this.securityContextHolderStrategy = () -> strategy;
 	}
 
+	/**
+	 * Filter returned collections with at least this many elements in parallel, using
+	 * the {@link #setForkJoinPool configured} {@link ForkJoinPool}. Each part of the
+	 * collection is filtered with its own {@link EvaluationContext}, and with the
+	 * {@link SecurityContext} of the invoking thread. The default is
+	 * {@link Integer#MAX_VALUE}, so that collections are filtered on the invoking thread.
+	 * @param parallelThreshold the number of elements from which to filter in parallel
+	 * @since 7.0
+	 */
+	public void setParallelThreshold(int parallelThreshold) {
+		Assert.isTrue(parallelThreshold > 0, "parallelThreshold must be greater than 0");
+		this.parallelThreshold = parallelThreshold;
+	}
+
+	/**
+	 * Use this {@link ForkJoinPool} to filter collections in parallel. The default is
+	 * {@link ForkJoinPool#commonPool()}.
+	 * @param forkJoinPool the {@link ForkJoinPool} to use
+	 * @since 7.0
+	 * @see #setParallelThreshold
+	 */
+	public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+		Assert.notNull(forkJoinPool, "forkJoinPool cannot be null");
+		this.forkJoinPool = forkJoinPool;
+	}
+
 	/**
 	 * Filter a {@code returnedObject} using the {@link PostFilter} annotation that the
 	 * {@link MethodInvocation} specifies.
+	 *
+	 * <p>
+	 * A returned {@link Stream} is filtered as it is consumed, with the
+	 * {@link SecurityContext} of the invoking thread, so that it can be consumed after
+	 * the method returns and on another thread.
 	 * @param mi the {@link MethodInvocation} to check check
 	 * @return filtered {@code returnedObject}
 	 */
@@ -133,13 +181,73 @@ public final class PostFilterAuthorizationMethodInterceptor implements Authoriza
 		if (attribute == null) {
 			return returnedObject;
 		}
+		AuthorizationManager<Object> authorizationManager = attribute.getAuthorizationManager();
+		if (authorizationManager != null && returnedObject instanceof Collection<?> collection) {
+			return ExpressionUtils.filter(collection, authorizationManager, this::getAuthentication);
+		}
 		MethodSecurityExpressionHandler expressionHandler = this.registry.getExpressionHandler();
+		if (returnedObject instanceof Collection<?> collection && collection.size() >= this.parallelThreshold) {
+			return filterInParallel(collection, attribute.getExpression(), mi);
+		}
+		if (returnedObject instanceof Stream<?>) {
+			SecurityContext context = this.securityContextHolderStrategy.get().getContext();
+			EvaluationContext ctx = expressionHandler.createEvaluationContext(() -> getAuthentication(context), mi);
+			return expressionHandler.filter(returnedObject, attribute.getExpression(), ctx);
+		}
 		EvaluationContext ctx = expressionHandler.createEvaluationContext(this::getAuthentication, mi);
 		return expressionHandler.filter(returnedObject, attribute.getExpression(), ctx);
 	}
 
+	@SuppressWarnings("unchecked")
+	private <T> Collection<T> filterInParallel(Collection<T> collection, Expression expression, MethodInvocation mi)
+			throws Throwable {
+		MethodSecurityExpressionHandler expressionHandler = this.registry.getExpressionHandler();
+		SecurityContextHolderStrategy strategy = this.securityContextHolderStrategy.get();
+		SecurityContext context = strategy.getContext();
+		Supplier<Authentication> authentication = SingletonSupplier.of(() -> getAuthentication(context));
+		List<T> elements = new ArrayList<>(collection);
+		int size = elements.size();
+		int parts = Math.max(1, Math.min(this.forkJoinPool.getParallelism(), size));
+		int partSize = (size + parts - 1) / parts;
+		List<Future<Collection<T>>> filtered = new ArrayList<>(parts);
+		for (int from = 0; from < size; from += partSize) {
+			List<T> part = new ArrayList<>(elements.subList(from, Math.min(from + partSize, size)));
+			DelegatingSecurityContextCallable<Collection<T>> filter = new DelegatingSecurityContextCallable<>(() -> {
+				EvaluationContext ctx = expressionHandler.createEvaluationContext(authentication, mi);
+				return (Collection<T>) expressionHandler.filter(part, expression, ctx);
+			}, context);
+			filter.setSecurityContextHolderStrategy(strategy);
+			filtered.add(this.forkJoinPool.submit(filter));
+		}
+		List<T> retain = new ArrayList<>(size);
+		try {
+			for (Future<Collection<T>> part : filtered) {
+				retain.addAll(part.get());
+			}
+		}
+		catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			throw (cause != null) ? cause : ex;
+		}
+		finally {
+			filtered.forEach((part) -> part.cancel(true));
+		}
+		try {
+			collection.clear();
+			collection.addAll(retain);
+			return collection;
+		}
+		catch (UnsupportedOperationException readonly) {
+			return retain;
+		}
+	}
+
 	private Authentication getAuthentication() {
-		Authentication authentication = this.securityContextHolderStrategy.get().getContext().getAuthentication();
+		return getAuthentication(this.securityContextHolderStrategy.get().getContext());
+	}
+
+	private Authentication getAuthentication(SecurityContext context) {
+		Authentication authentication = context.getAuthentication();
 		if (authentication == null) {
 			throw new AuthenticationCredentialsNotFoundException(
 					"An Authentication object was not found in the SecurityContext");
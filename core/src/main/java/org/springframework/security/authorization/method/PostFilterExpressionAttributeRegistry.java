@@ -45,7 +45,7 @@ final class PostFilterExpressionAttributeRegistry extends AbstractExpressionAttr
 		}
 		Expression postFilterExpression = getExpressionHandler().getExpressionParser()
 			.parseExpression(postFilter.value());
-		return new ExpressionAttribute(postFilterExpression);
+		return new ExpressionAttribute(postFilterExpression, createAuthorizationManager(postFilterExpression));
 	}
 
 	void setTemplateDefaults(AnnotationTemplateExpressionDefaults defaults) {
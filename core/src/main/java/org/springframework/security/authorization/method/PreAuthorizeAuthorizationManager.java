@@ -16,6 +16,11 @@
 
 package org.springframework.security.authorization.method;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Supplier;
 
 import org.aopalliance.intercept.MethodInvocation;
@@ -30,6 +35,7 @@ import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.authorization.AuthorizationResult;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AnnotationTemplateExpressionDefaults;
+import org.springframework.util.function.SingletonSupplier;
 
 /**
  * An {@link AuthorizationManager} which can determine if an {@link Authentication} may
@@ -83,10 +89,47 @@ public final class PreAuthorizeAuthorizationManager
 		if (attribute == null) {
 			return null;
 		}
+		AuthorizationManager<Object> authorizationManager = attribute.getAuthorizationManager();
+		if (authorizationManager != null) {
+			return authorizationManager.authorize(authentication, mi);
+		}
 		EvaluationContext ctx = this.registry.getExpressionHandler().createEvaluationContext(authentication, mi);
 		return ExpressionUtils.evaluate(attribute.getExpression(), ctx);
 	}
 
+	/**
+	 * Determine if an {@link Authentication} has access to each of the given
+	 * {@link MethodInvocation}s. The {@link Authentication} is resolved at most once, and
+	 * {@link PreAuthorize} expressions that do not need to be evaluated are decided only
+	 * once.
+	 * @param authentication the {@link Supplier} of the {@link Authentication} to check
+	 * @param mis the {@link MethodInvocation}s to check
+	 * @return an {@link AuthorizationResult} for each {@link MethodInvocation}, or
+	 * {@code null} where the {@link PreAuthorize} annotation is not present
+	 * @since 7.0
+	 */
+	@Override
+	public List<@Nullable AuthorizationResult> authorizeAll(Supplier<Authentication> authentication,
+			Collection<? extends MethodInvocation> mis) {
+		Supplier<Authentication> resolved = SingletonSupplier.of(authentication);
+		Map<AuthorizationManager<Object>, @Nullable AuthorizationResult> decided = new IdentityHashMap<>();
+		List<@Nullable AuthorizationResult> results = new ArrayList<>(mis.size());
+		for (MethodInvocation mi : mis) {
+			ExpressionAttribute attribute = this.registry.getAttribute(mi);
+			AuthorizationManager<Object> authorizationManager = (attribute != null)
+					? attribute.getAuthorizationManager() : null;
+			if (authorizationManager == null) {
+				results.add(authorize(resolved, mi));
+				continue;
+			}
+			if (!decided.containsKey(authorizationManager)) {
+				decided.put(authorizationManager, authorizationManager.authorize(resolved, mi));
+			}
+			results.add(decided.get(authorizationManager));
+		}
+		return results;
+	}
+
 	@Override
 	public @Nullable Object handleDeniedInvocation(MethodInvocation methodInvocation,
 			AuthorizationResult authorizationResult) {
@@ -16,6 +16,7 @@
 
 package org.springframework.security.authorization.method;
 
+import java.util.Collection;
 import java.util.function.Supplier;
 
 import org.aopalliance.aop.Advice;
@@ -28,6 +29,7 @@ import org.springframework.expression.EvaluationContext;
 import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.access.prepost.PreFilter;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AnnotationTemplateExpressionDefaults;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -135,6 +137,11 @@ public final class PreFilterAuthorizationMethodInterceptor implements Authorizat
 		MethodSecurityExpressionHandler expressionHandler = this.registry.getExpressionHandler();
 		EvaluationContext ctx = expressionHandler.createEvaluationContext(this::getAuthentication, mi);
 		Object filterTarget = findFilterTarget(attribute.getFilterTarget(), ctx, mi);
+		AuthorizationManager<Object> authorizationManager = attribute.getAuthorizationManager();
+		if (authorizationManager != null && filterTarget instanceof Collection<?> collection) {
+			ExpressionUtils.filter(collection, authorizationManager, this::getAuthentication);
+			return mi.proceed();
+		}
 		expressionHandler.filter(filterTarget, attribute.getExpression(), ctx);
 		return mi.proceed();
 	}
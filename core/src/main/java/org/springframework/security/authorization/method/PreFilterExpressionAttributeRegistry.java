@@ -22,6 +22,7 @@ import org.jspecify.annotations.Nullable;
 
 import org.springframework.expression.Expression;
 import org.springframework.security.access.prepost.PreFilter;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.core.annotation.AnnotationTemplateExpressionDefaults;
 import org.springframework.security.core.annotation.SecurityAnnotationScanner;
 import org.springframework.security.core.annotation.SecurityAnnotationScanners;
@@ -46,7 +47,8 @@ final class PreFilterExpressionAttributeRegistry
 		}
 		Expression preFilterExpression = getExpressionHandler().getExpressionParser()
 			.parseExpression(preFilter.value());
-		return new PreFilterExpressionAttribute(preFilterExpression, preFilter.filterTarget());
+		return new PreFilterExpressionAttribute(preFilterExpression, createAuthorizationManager(preFilterExpression),
+				preFilter.filterTarget());
 	}
 
 	void setTemplateDefaults(AnnotationTemplateExpressionDefaults defaults) {
@@ -62,8 +64,9 @@ final class PreFilterExpressionAttributeRegistry
 
 		private final String filterTarget;
 
-		private PreFilterExpressionAttribute(Expression expression, String filterTarget) {
-			super(expression);
+		private PreFilterExpressionAttribute(Expression expression,
+				@Nullable AuthorizationManager<Object> authorizationManager, String filterTarget) {
+			super(expression, authorizationManager);
 			this.filterTarget = filterTarget;
 		}
 
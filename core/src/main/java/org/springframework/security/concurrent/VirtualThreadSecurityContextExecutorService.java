@@ -0,0 +1,527 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.concurrent;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ScopedValueSecurityContextHolderStrategy;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * An {@link ExecutorService} that runs each task in a new virtual thread with the
+ * {@link SecurityContext} of the thread that submitted it.
+ *
+ * <p>
+ * Unlike {@link DelegatingSecurityContextExecutorService}, which establishes the context
+ * separately for every task, this executor takes a single read-only snapshot of the
+ * submitting thread's context and shares it among all tasks that are submitted with the
+ * same context, such as the subtasks that fan out from one request. A task that already
+ * runs with that snapshot, for example because it was submitted from another task of the
+ * same request, runs without saving and restoring the context. When the
+ * {@link SecurityContextHolderStrategy} is a
+ * {@link ScopedValueSecurityContextHolderStrategy}, the snapshot is bound to the scope of
+ * the task instead of to a {@link ThreadLocal}.
+ *
+ * <p>
+ * Because the snapshot is shared, tasks cannot change its
+ * {@link SecurityContext#setAuthentication(Authentication) authentication}. A task that
+ * needs a different context should set a new {@link SecurityContext} instead. Only a
+ * {@link SecurityContextImpl} is shared this way. For any other type of
+ * {@link SecurityContext}, each task gets its own copy, created with
+ * {@link SecurityContextHolderStrategy#createEmptyContext()} and holding the same
+ * authentication, so that tasks still cannot affect each other.
+ *
+ * <p>
+ * Subtasks that should complete or fail together can be forked from a
+ * {@link #openScope() TaskScope}, which follows the rules of structured concurrency.
+ *
+ * <p>
+ * Virtual threads require Java 21 or later. On earlier JVMs, this executor uses a cached
+ * thread pool instead.
+ *
+ * @since 7.0
+ * @see DelegatingSecurityContextExecutorService
+ */
+public final class VirtualThreadSecurityContextExecutorService implements ExecutorService {
+
+	private final ExecutorService delegate;
+
+	private SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder
+		.getContextHolderStrategy();
+
+	private volatile @Nullable Snapshot lastSnapshot;
+
+	/**
+	 * Creates a new {@link VirtualThreadSecurityContextExecutorService} that starts a new
+	 * virtual thread for each task
+	 */
+	public VirtualThreadSecurityContextExecutorService() {
+		this(newThreadPerTaskExecutor());
+	}
+
+	/**
+	 * Creates a new {@link VirtualThreadSecurityContextExecutorService} that delegates to
+	 * the given {@link ExecutorService}
+	 * @param delegate the {@link ExecutorService} to delegate to. Cannot be null.
+	 */
+	public VirtualThreadSecurityContextExecutorService(ExecutorService delegate) {
+		Assert.notNull(delegate, "delegate cannot be null");
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Opens a {@link TaskScope} whose subtasks run with the current
+	 * {@link SecurityContext}
+	 * @return the {@link TaskScope}, to be closed by the thread that opened it
+	 */
+	public TaskScope openScope() {
+		return new TaskScope(snapshot().deferred);
+	}
+
+	/**
+	 * Opens a {@link TaskScope} whose subtasks run with the given
+	 * {@link SecurityContext}
+	 * @param securityContext the {@link SecurityContext} to run the subtasks with. Cannot
+	 * be null.
+	 * @return the {@link TaskScope}, to be closed by the thread that opened it
+	 */
+	public TaskScope openScope(SecurityContext securityContext) {
+		Assert.notNull(securityContext, "securityContext cannot be null");
+		return new TaskScope(snapshot(securityContext).deferred);
+	}
+
+	@Override
+	public void execute(Runnable task) {
+		Assert.notNull(task, "task cannot be null");
+		Supplier<SecurityContext> snapshot = snapshot().deferred;
+		this.delegate.execute(() -> run(snapshot, task));
+	}
+
+	@Override
+	public Future<?> submit(Runnable task) {
+		Assert.notNull(task, "task cannot be null");
+		Supplier<SecurityContext> snapshot = snapshot().deferred;
+		return this.delegate.submit(() -> run(snapshot, task));
+	}
+
+	@Override
+	public <T> Future<T> submit(Runnable task, T result) {
+		Assert.notNull(task, "task cannot be null");
+		Supplier<SecurityContext> snapshot = snapshot().deferred;
+		return this.delegate.submit(() -> run(snapshot, task), result);
+	}
+
+	@Override
+	public <T> Future<T> submit(Callable<T> task) {
+		Assert.notNull(task, "task cannot be null");
+		Supplier<SecurityContext> snapshot = snapshot().deferred;
+		return this.delegate.submit(() -> call(snapshot, task));
+	}
+
+	@Override
+	public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+		return this.delegate.invokeAll(wrap(tasks));
+	}
+
+	@Override
+	public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+			throws InterruptedException {
+		return this.delegate.invokeAll(wrap(tasks), timeout, unit);
+	}
+
+	@Override
+	public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+		return this.delegate.invokeAny(wrap(tasks));
+	}
+
+	@Override
+	public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+			throws InterruptedException, ExecutionException, TimeoutException {
+		return this.delegate.invokeAny(wrap(tasks), timeout, unit);
+	}
+
+	@Override
+	public void shutdown() {
+		this.delegate.shutdown();
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		return this.delegate.shutdownNow();
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return this.delegate.isShutdown();
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return this.delegate.isTerminated();
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		return this.delegate.awaitTermination(timeout, unit);
+	}
+
+	/**
+	 * Sets the {@link SecurityContextHolderStrategy} to use. The default action is to use
+	 * the {@link SecurityContextHolderStrategy} stored in {@link SecurityContextHolder}.
+	 * @param securityContextHolderStrategy the {@link SecurityContextHolderStrategy} to
+	 * use. Cannot be null.
+	 */
+	public void setSecurityContextHolderStrategy(SecurityContextHolderStrategy securityContextHolderStrategy) {
+		Assert.notNull(securityContextHolderStrategy, "securityContextHolderStrategy cannot be null");
+		this.securityContextHolderStrategy = securityContextHolderStrategy;
+		this.lastSnapshot = null;
+	}
+
+	private <T> List<Callable<T>> wrap(Collection<? extends Callable<T>> tasks) {
+		Assert.notNull(tasks, "tasks cannot be null");
+		Supplier<SecurityContext> snapshot = snapshot().deferred;
+		List<Callable<T>> wrapped = new ArrayList<>(tasks.size());
+		for (Callable<T> task : tasks) {
+			Assert.notNull(task, "tasks cannot contain null");
+			wrapped.add(() -> call(snapshot, task));
+		}
+		return wrapped;
+	}
+
+	private Snapshot snapshot() {
+		return snapshot(this.securityContextHolderStrategy.getContext());
+	}
+
+	private Snapshot snapshot(SecurityContext context) {
+		Snapshot snapshot = this.lastSnapshot;
+		if (snapshot != null && snapshot.isSnapshotOf(context)) {
+			return snapshot;
+		}
+		snapshot = new Snapshot(context, this.securityContextHolderStrategy);
+		this.lastSnapshot = snapshot;
+		return snapshot;
+	}
+
+	private void run(Supplier<SecurityContext> snapshot, Runnable task) {
+		SecurityContextHolderStrategy strategy = this.securityContextHolderStrategy;
+		SecurityContext context = snapshot.get();
+		if (strategy instanceof ScopedValueSecurityContextHolderStrategy scoped) {
+			if (scoped.isScopeBound() && scoped.getContext() == context) {
+				task.run();
+			}
+			else {
+				scoped.runWhere(() -> context, task);
+			}
+			return;
+		}
+		SecurityContext original = strategy.getContext();
+		if (original == context) {
+			task.run();
+			return;
+		}
+		strategy.setDeferredContext(() -> context);
+		try {
+			task.run();
+		}
+		finally {
+			restore(strategy, original);
+		}
+	}
+
+	private <T> T call(Supplier<SecurityContext> snapshot, Callable<T> task) throws Exception {
+		SecurityContextHolderStrategy strategy = this.securityContextHolderStrategy;
+		if (strategy instanceof ScopedValueSecurityContextHolderStrategy) {
+			ScopedCall<T> call = new ScopedCall<>(task);
+			run(snapshot, call);
+			return call.get();
+		}
+		SecurityContext context = snapshot.get();
+		SecurityContext original = strategy.getContext();
+		if (original == context) {
+			return task.call();
+		}
+		strategy.setDeferredContext(() -> context);
+		try {
+			return task.call();
+		}
+		finally {
+			restore(strategy, original);
+		}
+	}
+
+	private static void restore(SecurityContextHolderStrategy strategy, SecurityContext original) {
+		if (original.getAuthentication() == null) {
+			strategy.clearContext();
+		}
+		else {
+			strategy.setContext(original);
+		}
+	}
+
+	private static ExecutorService newThreadPerTaskExecutor() {
+		Method method = ClassUtils.getMethodIfAvailable(Executors.class, "newVirtualThreadPerTaskExecutor");
+		Object executor = (method != null) ? ReflectionUtils.invokeMethod(method, null) : null;
+		if (executor instanceof ExecutorService executorService) {
+			return executorService;
+		}
+		return Executors.newCachedThreadPool();
+	}
+
+	/**
+	 * A scope for subtasks that run with the same {@link SecurityContext} and that
+	 * complete or fail together. If a subtask fails, the subtasks that have not yet
+	 * completed are cancelled. A {@link TaskScope} is meant to be used in a
+	 * try-with-resources statement by the thread that opened it:
+	 *
+	 * <pre>
+	 * try (TaskScope scope = executor.openScope()) {
+	 *     Future&lt;Profile&gt; profile = scope.fork(() -&gt; profiles.findProfile(id));
+	 *     Future&lt;List&lt;Order&gt;&gt; orders = scope.fork(() -&gt; orders.findOrders(id));
+	 *     scope.join();
+	 *     return new Dashboard(profile.get(), orders.get());
+	 * }
+	 * </pre>
+	 *
+	 * @since 7.0
+	 */
+	public final class TaskScope implements AutoCloseable {
+
+		private final Supplier<SecurityContext> snapshot;
+
+		private final Queue<Future<?>> subtasks = new ConcurrentLinkedQueue<>();
+
+		private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+		private volatile boolean closed;
+
+		private TaskScope(Supplier<SecurityContext> snapshot) {
+			this.snapshot = snapshot;
+		}
+
+		/**
+		 * Starts a subtask in a new thread
+		 * @param task the subtask. Cannot be null.
+		 * @return the {@link Future} of the subtask
+		 */
+		public <T> Future<T> fork(Callable<T> task) {
+			Assert.notNull(task, "task cannot be null");
+			Assert.state(!this.closed, "TaskScope is closed");
+			Future<T> subtask = VirtualThreadSecurityContextExecutorService.this.delegate.submit(() -> {
+				try {
+					return call(this.snapshot, task);
+				}
+				catch (Throwable ex) {
+					fail(ex);
+					throw ex;
+				}
+			});
+			this.subtasks.add(subtask);
+			if (this.failure.get() != null) {
+				subtask.cancel(true);
+			}
+			return subtask;
+		}
+
+		/**
+		 * Starts a subtask in a new thread
+		 * @param task the subtask. Cannot be null.
+		 * @return the {@link Future} of the subtask
+		 */
+		public Future<?> fork(Runnable task) {
+			Assert.notNull(task, "task cannot be null");
+			return fork(Executors.callable(task));
+		}
+
+		/**
+		 * Waits for all subtasks to complete
+		 * @throws InterruptedException if the current thread was interrupted while
+		 * waiting
+		 * @throws ExecutionException if a subtask failed, with the first failure as its
+		 * cause
+		 */
+		public void join() throws InterruptedException, ExecutionException {
+			for (Future<?> subtask : this.subtasks) {
+				try {
+					subtask.get();
+				}
+				catch (ExecutionException | CancellationException ex) {
+					if (this.failure.get() == null) {
+						throw ex;
+					}
+				}
+			}
+			Throwable failure = this.failure.get();
+			if (failure != null) {
+				throw new ExecutionException(failure);
+			}
+		}
+
+		/**
+		 * Closes this scope, cancelling any subtask that has not yet completed
+		 */
+		@Override
+		public void close() {
+			this.closed = true;
+			cancelAll();
+		}
+
+		private void fail(Throwable ex) {
+			if (this.failure.compareAndSet(null, ex)) {
+				cancelAll();
+			}
+		}
+
+		private void cancelAll() {
+			for (Future<?> subtask : this.subtasks) {
+				subtask.cancel(true);
+			}
+		}
+
+	}
+
+	/**
+	 * Supplies each task with either the read-only {@link SecurityContext} that is shared
+	 * among tasks or, for types of context that cannot be shared, a copy of its own,
+	 * together with the context that it was taken from
+	 */
+	private static final class Snapshot {
+
+		private final SecurityContext source;
+
+		private final @Nullable Authentication authentication;
+
+		private final @Nullable SecurityContext shared;
+
+		private final Supplier<SecurityContext> deferred;
+
+		private Snapshot(SecurityContext source, SecurityContextHolderStrategy strategy) {
+			this.source = source;
+			Authentication authentication = source.getAuthentication();
+			this.authentication = authentication;
+			if (source instanceof ReadOnlySecurityContext || source.getClass() == SecurityContextImpl.class) {
+				SecurityContext shared = (source instanceof ReadOnlySecurityContext) ? source
+						: (authentication != null) ? new ReadOnlySecurityContext(authentication)
+								: new ReadOnlySecurityContext();
+				this.shared = shared;
+				this.deferred = () -> shared;
+			}
+			else {
+				this.shared = null;
+				this.deferred = () -> copy(strategy, authentication);
+			}
+		}
+
+		private boolean isSnapshotOf(SecurityContext context) {
+			return (this.shared != null && context == this.shared)
+					|| (context == this.source && context.getAuthentication() == this.authentication);
+		}
+
+		private static SecurityContext copy(SecurityContextHolderStrategy strategy,
+				@Nullable Authentication authentication) {
+			SecurityContext copy = strategy.createEmptyContext();
+			if (authentication != null) {
+				copy.setAuthentication(authentication);
+			}
+			return copy;
+		}
+
+	}
+
+	/**
+	 * A {@link SecurityContextImpl} that rejects changes, so that tasks that share it
+	 * cannot affect each other
+	 */
+	private static final class ReadOnlySecurityContext extends SecurityContextImpl {
+
+		private static final long serialVersionUID = -5519464137458290721L;
+
+		private ReadOnlySecurityContext() {
+		}
+
+		private ReadOnlySecurityContext(Authentication authentication) {
+			super(authentication);
+		}
+
+		@Override
+		public void setAuthentication(@Nullable Authentication authentication) {
+			throw new UnsupportedOperationException(
+					"The SecurityContext is shared among tasks; set a new SecurityContext instead");
+		}
+
+	}
+
+	/**
+	 * Adapts a {@link Callable} to the {@link Runnable} of
+	 * {@link ScopedValueSecurityContextHolderStrategy#runWhere(Supplier, Runnable)}
+	 */
+	private static final class ScopedCall<T> implements Runnable {
+
+		private final Callable<T> task;
+
+		private @Nullable T result;
+
+		private @Nullable Exception failure;
+
+		private ScopedCall(Callable<T> task) {
+			this.task = task;
+		}
+
+		@Override
+		public void run() {
+			try {
+				this.result = this.task.call();
+			}
+			catch (Exception ex) {
+				this.failure = ex;
+			}
+		}
+
+		@SuppressWarnings("NullAway")
+		private T get() throws Exception {
+			if (this.failure != null) {
+				throw this.failure;
+			}
+			return this.result;
+		}
+
+	}
+
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.context;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.Supplier;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.util.Assert;
+
+/**
+ * A {@link SecurityContextHolderStrategy} that binds the {@link SecurityContext} to a
+ * scope, such as the processing of a request, instead of to a thread.
+ *
+ * <p>
+ * A scope is entered with {@link #runWhere(Supplier, Runnable)}. On a JVM that provides
+ * {@code java.lang.ScopedValue}, the scope is a {@code ScopedValue} binding. Looking up the
+ * context then does not touch the thread's {@link ThreadLocal} map, which virtual threads
+ * would otherwise have to allocate. Threads forked within the scope, for example by a
+ * {@code StructuredTaskScope}, see the context of the scope without any copying. On
+ * other JVMs, the scope is emulated with a {@link ThreadLocal} that is restored when the
+ * scope ends.
+ *
+ * <p>
+ * Within a scope, {@link #setContext(SecurityContext)} and {@link #clearContext()} change
+ * the context of that scope for the rest of it. Outside of a scope, and in threads forked
+ * from it, they fall back to a {@link ThreadLocal}, as
+ * {@link SecurityContextHolder#MODE_THREADLOCAL} does. A forked thread therefore never
+ * changes the context of its parent.
+ *
+ * @since 7.0
+ * @see SecurityContextHolder#MODE_SCOPED_VALUE
+ */
+public final class ScopedValueSecurityContextHolderStrategy implements SecurityContextHolderStrategy {
+
+	private static final ScopeBinding scopeBinding = ScopeBinding.create();
+
+	private static final ThreadLocal<Supplier<SecurityContext>> contextHolder = new ThreadLocal<>();
+
+	/**
+	 * Run the given operation in a scope that is bound to the given context. The previous
+	 * context is visible again when the operation completes.
+	 * @param deferredContext the {@link Supplier} of the context for the scope
+	 * @param runnable the operation to run
+	 */
+	public void runWhere(Supplier<SecurityContext> deferredContext, Runnable runnable) {
+		Assert.notNull(deferredContext, "Only non-null Supplier instances are permitted");
+		Assert.notNull(runnable, "runnable cannot be null");
+		scopeBinding.run(new Scope(notNull(deferredContext)), runnable);
+	}
+
+	/**
+	 * Whether the current thread runs in a scope that was entered with
+	 * {@link #runWhere(Supplier, Runnable)}, either directly or by being forked from it
+	 * @return {@code true} if a scope is bound
+	 */
+	public boolean isScopeBound() {
+		return scopeBinding.get() != null;
+	}
+
+	@Override
+	public void clearContext() {
+		Scope scope = ownScope();
+		if (scope != null) {
+			scope.context = null;
+			return;
+		}
+		contextHolder.remove();
+	}
+
+	@Override
+	public SecurityContext getContext() {
+		return getDeferredContext().get();
+	}
+
+	@Override
+	public Supplier<SecurityContext> getDeferredContext() {
+		Scope scope = scopeBinding.get();
+		if (scope != null && scope.owner == Thread.currentThread()) {
+			Supplier<SecurityContext> result = scope.context;
+			if (result == null) {
+				result = emptyContext();
+				scope.context = result;
+			}
+			return result;
+		}
+		Supplier<SecurityContext> result = contextHolder.get();
+		if (result != null) {
+			return result;
+		}
+		result = (scope != null) ? scope.context : null;
+		if (result != null) {
+			return result;
+		}
+		result = emptyContext();
+		contextHolder.set(result);
+		return result;
+	}
+
+	@Override
+	public void setContext(SecurityContext context) {
+		Assert.notNull(context, "Only non-null SecurityContext instances are permitted");
+		set(() -> context);
+	}
+
+	@Override
+	public void setDeferredContext(Supplier<SecurityContext> deferredContext) {
+		Assert.notNull(deferredContext, "Only non-null Supplier instances are permitted");
+		set(notNull(deferredContext));
+	}
+
+	@Override
+	public SecurityContext createEmptyContext() {
+		return new SecurityContextImpl();
+	}
+
+	private void set(Supplier<SecurityContext> context) {
+		Scope scope = ownScope();
+		if (scope != null) {
+			scope.context = context;
+			return;
+		}
+		contextHolder.set(context);
+	}
+
+	private @Nullable Scope ownScope() {
+		Scope scope = scopeBinding.get();
+		return (scope != null && scope.owner == Thread.currentThread()) ? scope : null;
+	}
+
+	private Supplier<SecurityContext> emptyContext() {
+		SecurityContext context = createEmptyContext();
+		return () -> context;
+	}
+
+	private static Supplier<SecurityContext> notNull(Supplier<SecurityContext> deferredContext) {
+		return () -> {
+			SecurityContext result = deferredContext.get();
+			Assert.notNull(result, "A Supplier<SecurityContext> returned null and is not allowed.");
+			return result;
+		};
+	}
+
+	/**
+	 * The context of a scope, which only the thread that entered the scope changes
+	 */
+	private static final class Scope {
+
+		private final Thread owner = Thread.currentThread();
+
+		private volatile @Nullable Supplier<SecurityContext> context;
+
+		private Scope(@Nullable Supplier<SecurityContext> context) {
+			this.context = context;
+		}
+
+	}
+
+	private interface ScopeBinding {
+
+		@Nullable Scope get();
+
+		void run(Scope scope, Runnable runnable);
+
+		static ScopeBinding create() {
+			try {
+				ScopeBinding binding = new ScopedValueScopeBinding();
+				binding.run(new Scope(null), () -> {
+				});
+				return binding;
+			}
+			catch (Throwable ex) {
+				// ScopedValue is not available or its preview is not enabled
+				return new ThreadLocalScopeBinding();
+			}
+		}
+
+	}
+
+	/**
+	 * Binds scopes with {@code java.lang.ScopedValue}, which is looked up reflectively so
+	 * that this class also runs on JVMs without it
+	 */
+	private static final class ScopedValueScopeBinding implements ScopeBinding {
+
+		private final MethodHandle isBound;
+
+		private final MethodHandle get;
+
+		private final MethodHandle where;
+
+		private final MethodHandle run;
+
+		private ScopedValueScopeBinding() throws Throwable {
+			Class<?> scopedValueClass = Class.forName("java.lang.ScopedValue");
+			Class<?> carrierClass = Class.forName("java.lang.ScopedValue$Carrier");
+			MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			Object scopedValue = lookup
+				.findStatic(scopedValueClass, "newInstance", MethodType.methodType(scopedValueClass))
+				.invoke();
+			this.isBound = lookup.findVirtual(scopedValueClass, "isBound", MethodType.methodType(boolean.class))
+				.bindTo(scopedValue);
+			this.get = lookup.findVirtual(scopedValueClass, "get", MethodType.methodType(Object.class))
+				.bindTo(scopedValue);
+			this.where = lookup
+				.findStatic(scopedValueClass, "where",
+						MethodType.methodType(carrierClass, scopedValueClass, Object.class))
+				.bindTo(scopedValue)
+				.asType(MethodType.methodType(Object.class, Object.class));
+			this.run = lookup.findVirtual(carrierClass, "run", MethodType.methodType(void.class, Runnable.class))
+				.asType(MethodType.methodType(void.class, Object.class, Runnable.class));
+		}
+
+		@Override
+		public @Nullable Scope get() {
+			try {
+				return ((boolean) this.isBound.invokeExact()) ? (Scope) (Object) this.get.invokeExact() : null;
+			}
+			catch (Throwable ex) {
+				throw new IllegalStateException(ex);
+			}
+		}
+
+		@Override
+		public void run(Scope scope, Runnable runnable) {
+			try {
+				Object carrier = (Object) this.where.invokeExact((Object) scope);
+				this.run.invokeExact(carrier, runnable);
+			}
+			catch (RuntimeException | Error ex) {
+				throw ex;
+			}
+			catch (Throwable ex) {
+				throw new IllegalStateException(ex);
+			}
+		}
+
+	}
+
+	private static final class ThreadLocalScopeBinding implements ScopeBinding {
+
+		private final ThreadLocal<Scope> scopes = new ThreadLocal<>();
+
+		@Override
+		public @Nullable Scope get() {
+			return this.scopes.get();
+		}
+
+		@Override
+		public void run(Scope scope, Runnable runnable) {
+			Scope previous = this.scopes.get();
+			this.scopes.set(scope);
+			try {
+				runnable.run();
+			}
+			finally {
+				if (previous != null) {
+					this.scopes.set(previous);
+				}
+				else {
+					this.scopes.remove();
+				}
+			}
+		}
+
+	}
+
+}
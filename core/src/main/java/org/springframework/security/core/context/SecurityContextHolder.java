@@ -33,7 +33,7 @@ import org.springframework.util.StringUtils;
  * <code>static</code> to facilitate ease of use in calling code.
  * <p>
  * To specify which strategy should be used, you must provide a mode setting. A mode
- * setting is one of the three valid <code>MODE_</code> settings defined as
+ * setting is one of the valid <code>MODE_</code> settings defined as
  * <code>static final</code> fields, or a fully qualified classname to a concrete
  * implementation of
  * {@link org.springframework.security.core.context.SecurityContextHolderStrategy} that
@@ -58,6 +58,13 @@ public class SecurityContextHolder {
 
 	public static final String MODE_GLOBAL = "MODE_GLOBAL";
 
+	/**
+	 * Binds the context to a scope instead of to a thread, see
+	 * {@link ScopedValueSecurityContextHolderStrategy}
+	 * @since 7.0
+	 */
+	public static final String MODE_SCOPED_VALUE = "MODE_SCOPED_VALUE";
+
 	private static final String MODE_PRE_INITIALIZED = "MODE_PRE_INITIALIZED";
 
 	public static final String SYSTEM_PROPERTY = "spring.security.strategy";
@@ -99,6 +106,10 @@ public class SecurityContextHolder {
 			strategy = new GlobalSecurityContextHolderStrategy();
 			return;
 		}
+		if (strategyName.equals(MODE_SCOPED_VALUE)) {
+			strategy = new ScopedValueSecurityContextHolderStrategy();
+			return;
+		}
 		// Try to load a custom strategy
 		try {
 			Class<?> clazz = Class.forName(strategyName);
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.session;
+
+import java.io.Serial;
+import java.time.Instant;
+
+import org.jspecify.annotations.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.util.Assert;
+
+/**
+ * A {@link ReactiveSessionRegistry} that stores sessions through a
+ * {@link JdbcSessionRegistry}, so that the sessions of a principal are known to every
+ * node of a cluster.
+ * <p>
+ * The blocking JDBC calls are published on a {@link Scheduler}, which is
+ * {@link Schedulers#boundedElastic()} by default. As with {@link JdbcSessionRegistry},
+ * {@link #updateLastAccessTime(String)} only records the time of the last access, which
+ * the {@link JdbcSessionRegistry} writes in batches, and {@link JdbcSessionRegistry} is
+ * responsible for deleting inactive sessions.
+ *
+ * @since 7.0
+ * @see JdbcSessionRegistry
+ */
+public final class JdbcReactiveSessionRegistry implements ReactiveSessionRegistry {
+
+	private final JdbcSessionRegistry sessionRegistry;
+
+	private Scheduler scheduler = Schedulers.boundedElastic();
+
+	/**
+	 * Constructs a {@code JdbcReactiveSessionRegistry}
+	 * @param sessionRegistry the {@link JdbcSessionRegistry} that stores the sessions
+	 */
+	public JdbcReactiveSessionRegistry(JdbcSessionRegistry sessionRegistry) {
+		Assert.notNull(sessionRegistry, "sessionRegistry cannot be null");
+		this.sessionRegistry = sessionRegistry;
+	}
+
+	@Override
+	public Flux<ReactiveSessionInformation> getAllSessions(Object principal) {
+		return Mono.fromCallable(() -> this.sessionRegistry.getAllSessions(principal, true))
+			.subscribeOn(this.scheduler)
+			.flatMapIterable((sessions) -> sessions)
+			.map(this::toReactiveSessionInformation);
+	}
+
+	@Override
+	public Mono<Void> saveSessionInformation(ReactiveSessionInformation information) {
+		return Mono
+			.<Void>fromRunnable(() -> this.sessionRegistry.registerNewSession(information.getSessionId(),
+					information.getPrincipal(), information.getLastAccessTime()))
+			.subscribeOn(this.scheduler);
+	}
+
+	@Override
+	public Mono<ReactiveSessionInformation> getSessionInformation(String sessionId) {
+		return Mono.fromCallable(() -> this.sessionRegistry.getSessionInformation(sessionId))
+			.subscribeOn(this.scheduler)
+			.map(this::toReactiveSessionInformation);
+	}
+
+	@Override
+	public Mono<ReactiveSessionInformation> removeSessionInformation(String sessionId) {
+		return getSessionInformation(sessionId).flatMap((information) -> Mono
+			.fromRunnable(() -> this.sessionRegistry.removeSessionInformation(sessionId))
+			.subscribeOn(this.scheduler)
+			.thenReturn(information));
+	}
+
+	@Override
+	public Mono<ReactiveSessionInformation> updateLastAccessTime(String sessionId) {
+		return getSessionInformation(sessionId)
+			.flatMap((information) -> information.refreshLastRequest().thenReturn(information));
+	}
+
+	/**
+	 * Set the {@link Scheduler} on which the blocking JDBC calls are published
+	 * @param scheduler the {@link Scheduler} to use
+	 */
+	public void setScheduler(Scheduler scheduler) {
+		Assert.notNull(scheduler, "scheduler cannot be null");
+		this.scheduler = scheduler;
+	}
+
+	private ReactiveSessionInformation toReactiveSessionInformation(SessionInformation information) {
+		return new JdbcReactiveSessionInformation(this, information);
+	}
+
+	/**
+	 * A {@link ReactiveSessionInformation} whose changes are written to the registry
+	 */
+	private static final class JdbcReactiveSessionInformation extends ReactiveSessionInformation {
+
+		@Serial
+		private static final long serialVersionUID = -3560181924788316537L;
+
+		private final transient @Nullable JdbcReactiveSessionRegistry registry;
+
+		private final boolean expiredInRegistry;
+
+		private JdbcReactiveSessionInformation(JdbcReactiveSessionRegistry registry, SessionInformation information) {
+			super(information.getPrincipal(), information.getSessionId(), information.getLastRequest().toInstant());
+			this.registry = registry;
+			this.expiredInRegistry = information.isExpired();
+		}
+
+		@Override
+		public boolean isExpired() {
+			return this.expiredInRegistry || super.isExpired();
+		}
+
+		@Override
+		public Mono<Void> invalidate() {
+			JdbcReactiveSessionRegistry registry = this.registry;
+			if (registry == null) {
+				return super.invalidate();
+			}
+			return super.invalidate()
+				.then(Mono.<Void>fromRunnable(() -> registry.sessionRegistry.expireSession(getSessionId()))
+					.subscribeOn(registry.scheduler));
+		}
+
+		@Override
+		public Mono<Void> refreshLastRequest() {
+			JdbcReactiveSessionRegistry registry = this.registry;
+			if (registry == null) {
+				return super.refreshLastRequest();
+			}
+			Instant now = registry.sessionRegistry.getClock().instant();
+			setLastAccessTime(now);
+			registry.sessionRegistry.refreshLastRequest(getSessionId(), now);
+			return Mono.empty();
+		}
+
+	}
+
+}
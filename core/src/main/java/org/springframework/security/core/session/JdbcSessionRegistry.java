@@ -0,0 +1,428 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.session;
+
+import java.io.Serial;
+import java.security.Principal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.log.LogMessage;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.util.Assert;
+
+/**
+ * A JDBC implementation of {@link SessionRegistry}, so that the sessions of a principal
+ * are known to every node of a cluster.
+ * <p>
+ * Principals are stored by name, as resolved by the
+ * {@link #setPrincipalNameResolver(Function) principalNameResolver}, and so
+ * {@link #getAllPrincipals()} and {@link SessionInformation#getPrincipal()} return
+ * principal names. Calling {@link SessionInformation#expireNow()} on a returned
+ * {@link SessionInformation} marks the session as expired in the database.
+ * <p>
+ * {@link #refreshLastRequest(String)} does not write to the database. Instead, the time
+ * of the last request of each session is kept in memory and written in a single batch
+ * every {@link #setFlushInterval(Duration) flushInterval}, or whenever
+ * {@link #flushLastRequests()} is called. Sessions that have been inactive for longer
+ * than {@link #setMaxInactiveInterval(Duration) maxInactiveInterval} are deleted every
+ * {@link #setCleanupInterval(Duration) cleanupInterval}, or whenever
+ * {@link #cleanupInactiveSessions()} is called. Both tasks are scheduled by
+ * {@link #afterPropertiesSet()}.
+ *
+ * <p>
+ * <b>NOTE:</b> This {@code JdbcSessionRegistry} depends on the table definition
+ * described in
+ * "classpath:org/springframework/security/core/session/jdbc/session-registry-schema.sql"
+ * and therefore MUST be defined in the database schema.
+ *
+ * @since 7.0
+ * @see JdbcReactiveSessionRegistry
+ */
+public final class JdbcSessionRegistry
+		implements SessionRegistry, ApplicationListener<AbstractSessionEvent>, InitializingBean, DisposableBean {
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private static final String TABLE_NAME = "session_registry";
+
+	// @formatter:off
+	private static final String COLUMN_NAMES = "session_id, "
+			+ "principal_name, "
+			+ "last_request, "
+			+ "expired";
+	// @formatter:on
+
+	private static final String INSERT_SESSION_SQL = "INSERT INTO " + TABLE_NAME + " (" + COLUMN_NAMES
+			+ ") VALUES (?, ?, ?, ?)";
+
+	private static final String SELECT_SESSION_SQL = "SELECT " + COLUMN_NAMES + " FROM " + TABLE_NAME
+			+ " WHERE session_id = ?";
+
+	private static final String SELECT_SESSIONS_BY_PRINCIPAL_SQL = "SELECT " + COLUMN_NAMES + " FROM " + TABLE_NAME
+			+ " WHERE principal_name = ?";
+
+	private static final String SELECT_PRINCIPALS_SQL = "SELECT DISTINCT principal_name FROM " + TABLE_NAME;
+
+	private static final String DELETE_SESSION_SQL = "DELETE FROM " + TABLE_NAME + " WHERE session_id = ?";
+
+	private static final String EXPIRE_SESSION_SQL = "UPDATE " + TABLE_NAME + " SET expired = ? WHERE session_id = ?";
+
+	private static final String UPDATE_SESSION_ID_SQL = "UPDATE " + TABLE_NAME
+			+ " SET session_id = ? WHERE session_id = ?";
+
+	private static final String UPDATE_LAST_REQUEST_SQL = "UPDATE " + TABLE_NAME
+			+ " SET last_request = ? WHERE session_id = ? AND last_request < ?";
+
+	private static final String DELETE_INACTIVE_SESSIONS_SQL = "DELETE FROM " + TABLE_NAME
+			+ " WHERE last_request < ?";
+
+	private static final int[] UPDATE_LAST_REQUEST_TYPES = { Types.TIMESTAMP, Types.VARCHAR, Types.TIMESTAMP };
+
+	private final JdbcOperations jdbcOperations;
+
+	private final Map<String, Instant> pendingLastRequests = new ConcurrentHashMap<>();
+
+	private final RowMapper<SessionInformation> sessionInformationRowMapper = new SessionInformationRowMapper();
+
+	private Function<Object, String> principalNameResolver = JdbcSessionRegistry::getPrincipalName;
+
+	private Duration flushInterval = Duration.ofSeconds(10);
+
+	private @Nullable Duration maxInactiveInterval = Duration.ofMinutes(30);
+
+	private Duration cleanupInterval = Duration.ofMinutes(5);
+
+	private Clock clock = Clock.systemUTC();
+
+	private @Nullable ThreadPoolTaskScheduler taskScheduler;
+
+	/**
+	 * Constructs a {@code JdbcSessionRegistry} using the provided parameters.
+	 * @param jdbcOperations the JDBC operations
+	 */
+	public JdbcSessionRegistry(JdbcOperations jdbcOperations) {
+		Assert.notNull(jdbcOperations, "jdbcOperations cannot be null");
+		this.jdbcOperations = jdbcOperations;
+	}
+
+	@Override
+	public List<Object> getAllPrincipals() {
+		return new ArrayList<>(this.jdbcOperations.queryForList(SELECT_PRINCIPALS_SQL, String.class));
+	}
+
+	@Override
+	public List<SessionInformation> getAllSessions(Object principal, boolean includeExpiredSessions) {
+		Assert.notNull(principal, "principal cannot be null");
+		String principalName = this.principalNameResolver.apply(principal);
+		List<SessionInformation> sessions = this.jdbcOperations.query(SELECT_SESSIONS_BY_PRINCIPAL_SQL,
+				this.sessionInformationRowMapper, principalName);
+		long now = this.clock.millis();
+		List<SessionInformation> list = new ArrayList<>(sessions.size());
+		for (SessionInformation session : sessions) {
+			if (isInactive(session, now)) {
+				continue;
+			}
+			if (includeExpiredSessions || !session.isExpired()) {
+				list.add(session);
+			}
+		}
+		return list;
+	}
+
+	@Override
+	public @Nullable SessionInformation getSessionInformation(String sessionId) {
+		Assert.hasText(sessionId, "SessionId required as per interface contract");
+		List<SessionInformation> sessions = this.jdbcOperations.query(SELECT_SESSION_SQL,
+				this.sessionInformationRowMapper, sessionId);
+		if (sessions.isEmpty() || isInactive(sessions.get(0), this.clock.millis())) {
+			return null;
+		}
+		return sessions.get(0);
+	}
+
+	@Override
+	public void onApplicationEvent(AbstractSessionEvent event) {
+		if (event instanceof SessionDestroyedEvent sessionDestroyedEvent) {
+			removeSessionInformation(sessionDestroyedEvent.getId());
+		}
+		else if (event instanceof SessionIdChangedEvent sessionIdChangedEvent) {
+			String oldSessionId = sessionIdChangedEvent.getOldSessionId();
+			String newSessionId = sessionIdChangedEvent.getNewSessionId();
+			this.jdbcOperations.update(UPDATE_SESSION_ID_SQL, newSessionId, oldSessionId);
+			Instant lastRequest = this.pendingLastRequests.remove(oldSessionId);
+			if (lastRequest != null) {
+				this.pendingLastRequests.put(newSessionId, lastRequest);
+			}
+		}
+	}
+
+	@Override
+	public void refreshLastRequest(String sessionId) {
+		refreshLastRequest(sessionId, this.clock.instant());
+	}
+
+	void refreshLastRequest(String sessionId, Instant lastRequest) {
+		Assert.hasText(sessionId, "SessionId required as per interface contract");
+		this.pendingLastRequests.put(sessionId, lastRequest);
+	}
+
+	@Override
+	public void registerNewSession(String sessionId, Object principal) {
+		registerNewSession(sessionId, principal, this.clock.instant());
+	}
+
+	void registerNewSession(String sessionId, Object principal, Instant lastRequest) {
+		Assert.hasText(sessionId, "SessionId required as per interface contract");
+		Assert.notNull(principal, "Principal required as per interface contract");
+		if (this.logger.isDebugEnabled()) {
+			this.logger.debug(LogMessage.format("Registering session %s, for principal %s", sessionId, principal));
+		}
+		removeSessionInformation(sessionId);
+		this.jdbcOperations.update(INSERT_SESSION_SQL, sessionId, this.principalNameResolver.apply(principal),
+				Timestamp.from(lastRequest), false);
+	}
+
+	@Override
+	public void removeSessionInformation(String sessionId) {
+		Assert.hasText(sessionId, "SessionId required as per interface contract");
+		this.pendingLastRequests.remove(sessionId);
+		this.jdbcOperations.update(DELETE_SESSION_SQL, sessionId);
+	}
+
+	void expireSession(String sessionId) {
+		this.jdbcOperations.update(EXPIRE_SESSION_SQL, true, sessionId);
+	}
+
+	/**
+	 * Writes the time of the last request of each session that was refreshed since the
+	 * previous flush, in a single batch.
+	 * @return the number of sessions whose time of last request was written
+	 */
+	public int flushLastRequests() {
+		List<Object[]> batch = new ArrayList<>();
+		for (Map.Entry<String, Instant> entry : this.pendingLastRequests.entrySet()) {
+			if (this.pendingLastRequests.remove(entry.getKey(), entry.getValue())) {
+				Timestamp lastRequest = Timestamp.from(entry.getValue());
+				batch.add(new Object[] { lastRequest, entry.getKey(), lastRequest });
+			}
+		}
+		if (!batch.isEmpty()) {
+			this.jdbcOperations.batchUpdate(UPDATE_LAST_REQUEST_SQL, batch, UPDATE_LAST_REQUEST_TYPES);
+			if (this.logger.isTraceEnabled()) {
+				this.logger.trace(LogMessage.format("Flushed last request of %d sessions", batch.size()));
+			}
+		}
+		return batch.size();
+	}
+
+	/**
+	 * Deletes every session that has been inactive for longer than
+	 * {@link #setMaxInactiveInterval(Duration) maxInactiveInterval}.
+	 * @return the number of deleted sessions
+	 */
+	public int cleanupInactiveSessions() {
+		Duration maxInactiveInterval = this.maxInactiveInterval;
+		if (maxInactiveInterval == null) {
+			return 0;
+		}
+		flushLastRequests();
+		Timestamp inactiveSince = Timestamp.from(this.clock.instant().minus(maxInactiveInterval));
+		int deletedCount = this.jdbcOperations.update(DELETE_INACTIVE_SESSIONS_SQL, inactiveSince);
+		if (this.logger.isDebugEnabled()) {
+			this.logger.debug("Cleaned up " + deletedCount + " inactive sessions");
+		}
+		return deletedCount;
+	}
+
+	private boolean isInactive(SessionInformation session, long now) {
+		Duration maxInactiveInterval = this.maxInactiveInterval;
+		return maxInactiveInterval != null
+				&& session.getLastRequest().getTime() + maxInactiveInterval.toMillis() < now;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+		taskScheduler.setThreadNamePrefix("spring-session-registry-");
+		taskScheduler.initialize();
+		taskScheduler.scheduleWithFixedDelay(this::flushLastRequests, this.flushInterval);
+		if (this.maxInactiveInterval != null) {
+			taskScheduler.scheduleWithFixedDelay(this::cleanupInactiveSessions, this.cleanupInterval);
+		}
+		this.taskScheduler = taskScheduler;
+	}
+
+	@Override
+	public void destroy() {
+		if (this.taskScheduler != null) {
+			this.taskScheduler.shutdown();
+			this.taskScheduler = null;
+		}
+		flushLastRequests();
+	}
+
+	/**
+	 * Sets the {@link Function} that resolves the name under which a principal's sessions
+	 * are stored. By default, the name of a {@link UserDetails},
+	 * {@link AuthenticatedPrincipal} or {@link Principal} is used, and the
+	 * {@link Object#toString()} of any other principal.
+	 * @param principalNameResolver the {@link Function} to use
+	 */
+	public void setPrincipalNameResolver(Function<Object, String> principalNameResolver) {
+		Assert.notNull(principalNameResolver, "principalNameResolver cannot be null");
+		this.principalNameResolver = principalNameResolver;
+	}
+
+	/**
+	 * Sets how often the time of the last request of refreshed sessions is written. The
+	 * default is 10 seconds.
+	 * @param flushInterval how often to write the time of last requests
+	 */
+	public void setFlushInterval(Duration flushInterval) {
+		Assert.notNull(flushInterval, "flushInterval cannot be null");
+		Assert.isTrue(!flushInterval.isNegative() && !flushInterval.isZero(), "flushInterval must be positive");
+		this.flushInterval = flushInterval;
+	}
+
+	/**
+	 * Sets how long a session may be inactive before it is deleted. The default is 30
+	 * minutes. A {@code null} value disables the deletion of inactive sessions.
+	 * @param maxInactiveInterval how long a session may be inactive, or {@code null}
+	 */
+	public void setMaxInactiveInterval(@Nullable Duration maxInactiveInterval) {
+		Assert.isTrue(maxInactiveInterval == null || !maxInactiveInterval.isNegative(),
+				"maxInactiveInterval cannot be negative");
+		this.maxInactiveInterval = maxInactiveInterval;
+	}
+
+	/**
+	 * Sets how often inactive sessions are deleted. The default is 5 minutes.
+	 * @param cleanupInterval how often to delete inactive sessions
+	 */
+	public void setCleanupInterval(Duration cleanupInterval) {
+		Assert.notNull(cleanupInterval, "cleanupInterval cannot be null");
+		Assert.isTrue(!cleanupInterval.isNegative() && !cleanupInterval.isZero(), "cleanupInterval must be positive");
+		this.cleanupInterval = cleanupInterval;
+	}
+
+	/**
+	 * Sets the {@link Clock} used for the time of last requests
+	 * @param clock the {@link Clock} to use
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	Clock getClock() {
+		return this.clock;
+	}
+
+	private static String getPrincipalName(Object principal) {
+		if (principal instanceof UserDetails userDetails) {
+			return userDetails.getUsername();
+		}
+		if (principal instanceof AuthenticatedPrincipal authenticatedPrincipal) {
+			return authenticatedPrincipal.getName();
+		}
+		if (principal instanceof Principal namedPrincipal) {
+			return namedPrincipal.getName();
+		}
+		return principal.toString();
+	}
+
+	/**
+	 * Maps a row to a {@link SessionInformation}, taking into account a time of last
+	 * request that has not been flushed yet
+	 */
+	private final class SessionInformationRowMapper implements RowMapper<SessionInformation> {
+
+		@Override
+		public SessionInformation mapRow(ResultSet rs, int rowNum) throws SQLException {
+			String sessionId = rs.getString("session_id");
+			Instant lastRequest = rs.getTimestamp("last_request").toInstant();
+			Instant pending = JdbcSessionRegistry.this.pendingLastRequests.get(sessionId);
+			if (pending != null && pending.isAfter(lastRequest)) {
+				lastRequest = pending;
+			}
+			return new JdbcSessionInformation(JdbcSessionRegistry.this, rs.getString("principal_name"), sessionId,
+					Date.from(lastRequest), rs.getBoolean("expired"));
+		}
+
+	}
+
+	/**
+	 * A {@link SessionInformation} whose changes are written to the registry
+	 */
+	private static final class JdbcSessionInformation extends SessionInformation {
+
+		@Serial
+		private static final long serialVersionUID = 7294157360244918251L;
+
+		private final transient @Nullable JdbcSessionRegistry registry;
+
+		private JdbcSessionInformation(JdbcSessionRegistry registry, Object principal, String sessionId,
+				Date lastRequest, boolean expired) {
+			super(principal, sessionId, lastRequest);
+			this.registry = registry;
+			if (expired) {
+				super.expireNow();
+			}
+		}
+
+		@Override
+		public void expireNow() {
+			super.expireNow();
+			if (this.registry != null) {
+				this.registry.expireSession(getSessionId());
+			}
+		}
+
+		@Override
+		public void refreshLastRequest() {
+			super.refreshLastRequest();
+			if (this.registry != null) {
+				this.registry.refreshLastRequest(getSessionId());
+			}
+		}
+
+	}
+
+}
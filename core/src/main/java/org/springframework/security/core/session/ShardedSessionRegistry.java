@@ -0,0 +1,301 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.session;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.log.LogMessage;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link SessionRegistry} that is intended for many concurrent sessions and that evicts
+ * sessions which have been inactive for longer than
+ * {@link #setMaxInactiveInterval(Duration) maxInactiveInterval} on its own.
+ * <p>
+ * The sessions of each principal are kept in one of several shards, chosen by the
+ * principal's hash code. Registering and removing a session updates the session and the
+ * principal's set of sessions atomically, while holding only the lock of that
+ * principal's shard, and without copying the principal's set of sessions as
+ * {@link SessionRegistryImpl} does.
+ * <p>
+ * Like {@link SessionRegistryImpl}, this class listens for {@link SessionDestroyedEvent}s
+ * and {@link SessionIdChangedEvent}s. A session whose destruction was never published,
+ * for example because no {@code HttpSessionEventPublisher} is registered, is evicted
+ * once it has been inactive for longer than {@code maxInactiveInterval}, which should
+ * therefore be at least the session timeout. Inactive sessions are not returned, and are
+ * swept from the registry at most once per
+ * {@link #setEvictionInterval(Duration) evictionInterval} when a session is registered,
+ * or whenever {@link #evictInactiveSessions()} is called.
+ *
+ * @since 7.0
+ * @see SessionRegistryImpl
+ */
+public final class ShardedSessionRegistry implements SessionRegistry, ApplicationListener<AbstractSessionEvent> {
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final Shard[] shards;
+
+	private final Map<String, SessionInformation> sessionIds = new ConcurrentHashMap<>();
+
+	private final AtomicLong nextEviction = new AtomicLong();
+
+	private @Nullable Duration maxInactiveInterval = Duration.ofMinutes(30);
+
+	private Duration evictionInterval = Duration.ofMinutes(1);
+
+	private Clock clock = Clock.systemUTC();
+
+	/**
+	 * Construct a {@link ShardedSessionRegistry} with a number of shards based on the
+	 * number of available processors
+	 */
+	public ShardedSessionRegistry() {
+		this(Runtime.getRuntime().availableProcessors() * 4);
+	}
+
+	/**
+	 * Construct a {@link ShardedSessionRegistry}
+	 * @param shards the number of shards, which is rounded up to a power of two
+	 */
+	public ShardedSessionRegistry(int shards) {
+		Assert.isTrue(shards > 0, "shards must be greater than 0");
+		int size = 1;
+		while (size < shards) {
+			size <<= 1;
+		}
+		this.shards = new Shard[size];
+		for (int i = 0; i < this.shards.length; i++) {
+			this.shards[i] = new Shard();
+		}
+	}
+
+	@Override
+	public List<Object> getAllPrincipals() {
+		List<Object> principals = new ArrayList<>();
+		for (Shard shard : this.shards) {
+			synchronized (shard) {
+				principals.addAll(shard.sessionIdsByPrincipal.keySet());
+			}
+		}
+		return principals;
+	}
+
+	@Override
+	public List<SessionInformation> getAllSessions(Object principal, boolean includeExpiredSessions) {
+		Shard shard = shard(principal);
+		String[] sessionIds;
+		synchronized (shard) {
+			Set<String> sessionsUsedByPrincipal = shard.sessionIdsByPrincipal.get(principal);
+			if (sessionsUsedByPrincipal == null) {
+				return Collections.emptyList();
+			}
+			sessionIds = sessionsUsedByPrincipal.toArray(new String[0]);
+		}
+		List<SessionInformation> list = new ArrayList<>(sessionIds.length);
+		for (String sessionId : sessionIds) {
+			SessionInformation sessionInformation = getSessionInformation(sessionId);
+			if (sessionInformation == null || !sessionInformation.getPrincipal().equals(principal)) {
+				continue;
+			}
+			if (includeExpiredSessions || !sessionInformation.isExpired()) {
+				list.add(sessionInformation);
+			}
+		}
+		return list;
+	}
+
+	@Override
+	public @Nullable SessionInformation getSessionInformation(String sessionId) {
+		Assert.hasText(sessionId, "SessionId required as per interface contract");
+		SessionInformation info = this.sessionIds.get(sessionId);
+		if (info == null) {
+			return null;
+		}
+		if (isInactive(info, this.clock.millis())) {
+			remove(info);
+			return null;
+		}
+		return info;
+	}
+
+	@Override
+	public void onApplicationEvent(AbstractSessionEvent event) {
+		if (event instanceof SessionDestroyedEvent sessionDestroyedEvent) {
+			removeSessionInformation(sessionDestroyedEvent.getId());
+		}
+		else if (event instanceof SessionIdChangedEvent sessionIdChangedEvent) {
+			SessionInformation info = this.sessionIds.get(sessionIdChangedEvent.getOldSessionId());
+			if (info != null) {
+				remove(info);
+				registerNewSession(sessionIdChangedEvent.getNewSessionId(), info.getPrincipal());
+			}
+		}
+	}
+
+	@Override
+	public void refreshLastRequest(String sessionId) {
+		Assert.hasText(sessionId, "SessionId required as per interface contract");
+		SessionInformation info = this.sessionIds.get(sessionId);
+		if (info != null) {
+			info.refreshLastRequest();
+		}
+	}
+
+	@Override
+	public void registerNewSession(String sessionId, Object principal) {
+		Assert.hasText(sessionId, "SessionId required as per interface contract");
+		Assert.notNull(principal, "Principal required as per interface contract");
+		long now = this.clock.millis();
+		evictInactiveSessionsIfDue(now);
+		SessionInformation existing = this.sessionIds.get(sessionId);
+		if (existing != null) {
+			remove(existing);
+		}
+		if (this.logger.isDebugEnabled()) {
+			this.logger.debug(LogMessage.format("Registering session %s, for principal %s", sessionId, principal));
+		}
+		SessionInformation info = new SessionInformation(principal, sessionId, new Date(now));
+		Shard shard = shard(principal);
+		synchronized (shard) {
+			this.sessionIds.put(sessionId, info);
+			shard.sessionIdsByPrincipal.computeIfAbsent(principal, (key) -> new HashSet<>()).add(sessionId);
+		}
+	}
+
+	@Override
+	public void removeSessionInformation(String sessionId) {
+		Assert.hasText(sessionId, "SessionId required as per interface contract");
+		SessionInformation info = this.sessionIds.get(sessionId);
+		if (info != null) {
+			remove(info);
+		}
+	}
+
+	/**
+	 * Removes every session that has been inactive for longer than
+	 * {@link #setMaxInactiveInterval(Duration) maxInactiveInterval}.
+	 * @return the number of removed sessions
+	 */
+	public int evictInactiveSessions() {
+		long now = this.clock.millis();
+		this.nextEviction.set(now + this.evictionInterval.toMillis());
+		int evicted = 0;
+		for (SessionInformation info : this.sessionIds.values()) {
+			if (isInactive(info, now) && remove(info)) {
+				evicted++;
+			}
+		}
+		if (evicted > 0 && this.logger.isDebugEnabled()) {
+			this.logger.debug(LogMessage.format("Evicted %d inactive sessions", evicted));
+		}
+		return evicted;
+	}
+
+	private void evictInactiveSessionsIfDue(long now) {
+		long next = this.nextEviction.get();
+		if (this.maxInactiveInterval != null && now >= next && this.nextEviction.compareAndSet(next, Long.MAX_VALUE)) {
+			evictInactiveSessions();
+		}
+	}
+
+	private boolean isInactive(SessionInformation info, long now) {
+		Duration maxInactiveInterval = this.maxInactiveInterval;
+		return maxInactiveInterval != null
+				&& info.getLastRequest().getTime() + maxInactiveInterval.toMillis() < now;
+	}
+
+	private boolean remove(SessionInformation info) {
+		Shard shard = shard(info.getPrincipal());
+		synchronized (shard) {
+			if (!this.sessionIds.remove(info.getSessionId(), info)) {
+				return false;
+			}
+			Set<String> sessionsUsedByPrincipal = shard.sessionIdsByPrincipal.get(info.getPrincipal());
+			if (sessionsUsedByPrincipal != null) {
+				sessionsUsedByPrincipal.remove(info.getSessionId());
+				if (sessionsUsedByPrincipal.isEmpty()) {
+					shard.sessionIdsByPrincipal.remove(info.getPrincipal());
+				}
+			}
+		}
+		if (this.logger.isTraceEnabled()) {
+			this.logger.trace(LogMessage.format("Removed session %s from set of registered sessions",
+					info.getSessionId()));
+		}
+		return true;
+	}
+
+	private Shard shard(Object principal) {
+		int hash = principal.hashCode();
+		return this.shards[(hash ^ (hash >>> 16)) & (this.shards.length - 1)];
+	}
+
+	/**
+	 * Sets how long a session may be inactive before it is evicted. The default is 30
+	 * minutes. A {@code null} value disables eviction.
+	 * @param maxInactiveInterval how long a session may be inactive, or {@code null}
+	 */
+	public void setMaxInactiveInterval(@Nullable Duration maxInactiveInterval) {
+		Assert.isTrue(maxInactiveInterval == null || !maxInactiveInterval.isNegative(),
+				"maxInactiveInterval cannot be negative");
+		this.maxInactiveInterval = maxInactiveInterval;
+	}
+
+	/**
+	 * Sets how often inactive sessions are swept from the registry when a session is
+	 * registered. The default is one minute.
+	 * @param evictionInterval how often inactive sessions are swept
+	 */
+	public void setEvictionInterval(Duration evictionInterval) {
+		Assert.notNull(evictionInterval, "evictionInterval cannot be null");
+		Assert.isTrue(!evictionInterval.isNegative(), "evictionInterval cannot be negative");
+		this.evictionInterval = evictionInterval;
+	}
+
+	/**
+	 * Sets the {@link Clock} used to decide whether a session is inactive
+	 * @param clock the {@link Clock} to use
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	private static final class Shard {
+
+		private final Map<Object, Set<String>> sessionIdsByPrincipal = new HashMap<>();
+
+	}
+
+}
@@ -16,11 +16,14 @@
 
 package org.springframework.security.access.expression.method;
 
+import java.io.Serializable;
+import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.aopalliance.intercept.MethodInvocation;
@@ -32,11 +35,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.security.access.PermissionEvaluator;
 import org.springframework.security.access.expression.SecurityExpressionRoot;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
+import org.springframework.security.access.intercept.method.MockMethodInvocation;
 import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.TestAuthentication;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.authorization.ExpressionAuthorizationDecision;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
@@ -161,6 +175,43 @@ public class DefaultMethodSecurityExpressionHandlerTests {
 		assertThat(list).containsExactly("1", "3");
 	}
 
+	@Test
+	public void filterWhenUsingParallelStreamThenFiltersEachElement() {
+		setupMocks();
+		Stream<Integer> stream = IntStream.range(0, 10000).boxed().parallel();
+		Expression expression = this.handler.getExpressionParser().parseExpression("filterObject % 2 == 0");
+		EvaluationContext context = this.handler.createEvaluationContext(this.authentication, this.methodInvocation);
+		Stream<Integer> filtered = (Stream<Integer>) this.handler.filter(stream, expression, context);
+		assertThat(filtered.toList()).hasSize(5000).allMatch((i) -> i % 2 == 0);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void filterWhenUsingStreamAndCustomizedRootObjectThenUsesRootObjectConfiguration() {
+		setupMocks();
+		Expression expression = this.handler.getExpressionParser()
+			.parseExpression("hasPermission(filterObject, 'read')");
+		EvaluationContext context = this.handler.createEvaluationContext(this.authentication, this.methodInvocation);
+		SecurityExpressionRoot root = (SecurityExpressionRoot) context.getRootObject().getValue();
+		root.setPermissionEvaluator(new EvenPermissionEvaluator());
+		Stream<Integer> filtered = (Stream<Integer>) this.handler.filter(Stream.of(1, 2, 3, 4), expression, context);
+		assertThat(filtered.toList()).containsExactly(2, 4);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void filterWhenUsingParallelStreamAndCustomizedRootObjectThenUsesRootObjectConfiguration() {
+		setupMocks();
+		Expression expression = this.handler.getExpressionParser()
+			.parseExpression("hasPermission(filterObject, 'read')");
+		EvaluationContext context = this.handler.createEvaluationContext(this.authentication, this.methodInvocation);
+		SecurityExpressionRoot root = (SecurityExpressionRoot) context.getRootObject().getValue();
+		root.setPermissionEvaluator(new EvenPermissionEvaluator());
+		Stream<Integer> stream = IntStream.range(0, 10000).boxed().parallel();
+		Stream<Integer> filtered = (Stream<Integer>) this.handler.filter(stream, expression, context);
+		assertThat(filtered.toList()).hasSize(5000).allMatch((i) -> i % 2 == 0);
+	}
+
 	@Test
 	public void filterStreamWhenClosedThenUpstreamGetsClosed() {
 		setupMocks();
@@ -187,6 +238,162 @@ public class DefaultMethodSecurityExpressionHandlerTests {
 		verify(mockAuthenticationSupplier).get();
 	}
 
+	@Test
+	public void createAuthorizationManagerWhenHasRoleThenPrecompiled() {
+		Expression expression = this.handler.getExpressionParser().parseExpression("hasRole('ADMIN')");
+		AuthorizationManager<Object> manager = this.handler.createAuthorizationManager(expression);
+		assertThat(manager).isNotNull();
+		AuthorizationResult result = manager.authorize(TestAuthentication::authenticatedAdmin, new Foo());
+		assertThat(result).isInstanceOf(ExpressionAuthorizationDecision.class);
+		assertThat(((ExpressionAuthorizationDecision) result).getExpression()).isSameAs(expression);
+		assertThat(result.isGranted()).isTrue();
+		result = manager.authorize(TestAuthentication::authenticatedUser, new Foo());
+		assertThat(result.isGranted()).isFalse();
+	}
+
+	@Test
+	public void createAuthorizationManagerWhenHasAnyAuthorityThenPrecompiled() {
+		Expression expression = this.handler.getExpressionParser()
+			.parseExpression("hasAnyAuthority('read', 'write', 'read')");
+		AuthorizationManager<Object> manager = this.handler.createAuthorizationManager(expression);
+		assertThat(manager).isNotNull();
+		assertThat(manager.authorize(() -> new TestingAuthenticationToken("user", "password", "write"), new Foo())
+			.isGranted()).isTrue();
+		assertThat(manager.authorize(() -> new TestingAuthenticationToken("user", "password", "delete"), new Foo())
+			.isGranted()).isFalse();
+	}
+
+	@Test
+	public void createAuthorizationManagerWhenCustomRolePrefixThenUses() {
+		this.handler.setDefaultRolePrefix("CUSTOM_");
+		Expression expression = this.handler.getExpressionParser().parseExpression("hasAnyRole('ADMIN', 'USER')");
+		AuthorizationManager<Object> manager = this.handler.createAuthorizationManager(expression);
+		assertThat(manager.authorize(() -> new TestingAuthenticationToken("user", "password", "CUSTOM_USER"), new Foo())
+			.isGranted()).isTrue();
+		assertThat(manager.authorize(() -> new TestingAuthenticationToken("user", "password", "ROLE_USER"), new Foo())
+			.isGranted()).isFalse();
+	}
+
+	@Test
+	public void createAuthorizationManagerWhenRoleHierarchyThenUses() {
+		this.handler.setRoleHierarchy(RoleHierarchyImpl.fromHierarchy("ROLE_ADMIN > ROLE_USER"));
+		Expression expression = this.handler.getExpressionParser().parseExpression("hasRole('USER')");
+		AuthorizationManager<Object> manager = this.handler.createAuthorizationManager(expression);
+		assertThat(manager.authorize(TestAuthentication::authenticatedAdmin, new Foo()).isGranted()).isTrue();
+	}
+
+	@Test
+	public void createAuthorizationManagerWhenIsAuthenticatedThenUsesTrustResolver() {
+		this.handler.setTrustResolver(this.trustResolver);
+		given(this.trustResolver.isAuthenticated(this.authentication)).willReturn(true);
+		Expression expression = this.handler.getExpressionParser().parseExpression("isAuthenticated()");
+		AuthorizationManager<Object> manager = this.handler.createAuthorizationManager(expression);
+		assertThat(manager.authorize(() -> this.authentication, new Foo()).isGranted()).isTrue();
+		verify(this.trustResolver).isAuthenticated(this.authentication);
+	}
+
+	@Test
+	public void createAuthorizationManagerWhenPermitAllOrDenyAllThenPrecompiled() {
+		AuthorizationManager<Object> permitAll = this.handler
+			.createAuthorizationManager(this.handler.getExpressionParser().parseExpression("permitAll"));
+		AuthorizationManager<Object> denyAll = this.handler
+			.createAuthorizationManager(this.handler.getExpressionParser().parseExpression("denyAll()"));
+		assertThat(permitAll.authorize(TestAuthentication::anonymousUser, new Foo()).isGranted()).isTrue();
+		assertThat(denyAll.authorize(TestAuthentication::authenticatedAdmin, new Foo()).isGranted()).isFalse();
+	}
+
+	@Test
+	public void createAuthorizationManagerWhenNotSimpleThenNull() {
+		for (String expression : List.of("hasRole('ADMIN') and hasRole('USER')", "hasRole(#role)",
+				"hasPermission(#foo, 'read')", "hasRole('ADMIN', 'USER')", "isAuthenticated('user')")) {
+			Expression parsed = this.handler.getExpressionParser().parseExpression(expression);
+			assertThat(this.handler.<Object>createAuthorizationManager(parsed)).as(expression).isNull();
+		}
+	}
+
+	@Test
+	public void createAuthorizationManagerWhenSubclassThenNull() {
+		DefaultMethodSecurityExpressionHandler handler = new DefaultMethodSecurityExpressionHandler() {
+		};
+		Expression expression = handler.getExpressionParser().parseExpression("hasRole('ADMIN')");
+		assertThat(handler.<Object>createAuthorizationManager(expression)).isNull();
+	}
+
+	@Test
+	public void setCompileExpressionsWhenTrueThenMixedCompilerMode() {
+		this.handler.setCompileExpressions(true);
+		assertThat(this.handler.getExpressionParser()).extracting("configuration")
+			.extracting("compilerMode")
+			.isEqualTo(SpelCompilerMode.MIXED);
+		this.handler.setCompileExpressions(false);
+		assertThat(this.handler.getExpressionParser()).extracting("configuration")
+			.extracting("compilerMode")
+			.isEqualTo(SpelCompilerMode.OFF);
+	}
+
+	@Test
+	public void setCompileExpressionsWhenFalseThenKeepsCustomParser() {
+		SpelExpressionParser parser = new SpelExpressionParser();
+		this.handler.setExpressionParser(parser);
+		this.handler.setCompileExpressions(false);
+		assertThat(this.handler.getExpressionParser()).isSameAs(parser);
+	}
+
+	@Test
+	public void setCompileExpressionsWhenTrueThenFalseThenRestoresCustomParser() {
+		SpelExpressionParser parser = new SpelExpressionParser();
+		this.handler.setExpressionParser(parser);
+		this.handler.setCompileExpressions(true);
+		assertThat(this.handler.getExpressionParser()).isNotSameAs(parser);
+		this.handler.setCompileExpressions(false);
+		assertThat(this.handler.getExpressionParser()).isSameAs(parser);
+	}
+
+	@Test
+	public void setCompileExpressionsWhenParserSetAfterwardsThenKeepsIt() {
+		this.handler.setCompileExpressions(true);
+		SpelExpressionParser parser = new SpelExpressionParser();
+		this.handler.setExpressionParser(parser);
+		this.handler.setCompileExpressions(false);
+		assertThat(this.handler.getExpressionParser()).isSameAs(parser);
+	}
+
+	@Test
+	public void createEvaluationContextWhenCompileExpressionsThenResolvesParameters() throws Exception {
+		this.handler.setCompileExpressions(true);
+		Expression expression = this.handler.getExpressionParser()
+			.parseExpression("#name == 'rob' and #a0 == #p0 and #values.length == 2");
+		MethodInvocation invocation = new MockMethodInvocation(new Bar(), Bar.class, "baz",
+				new Class[] { String.class, String[].class }, new Object[] { "rob", new String[] { "a", "b" } });
+		for (int i = 0; i < 200; i++) {
+			EvaluationContext context = this.handler.createEvaluationContext(() -> this.authentication, invocation);
+			assertThat(expression.getValue(context, Boolean.class)).isTrue();
+		}
+		invocation = new MockMethodInvocation(new Bar(), Bar.class, "baz", new Class[] { String.class, String[].class },
+				new Object[] { "josh", new String[] { "a", "b" } });
+		EvaluationContext context = this.handler.createEvaluationContext(() -> this.authentication, invocation);
+		assertThat(expression.getValue(context, Boolean.class)).isFalse();
+	}
+
+	@Test
+	public void createEvaluationContextWhenCompileExpressionsThenDiscoversParameterNamesOnce() throws Exception {
+		ParameterNameDiscoverer parameterNameDiscoverer = mock(ParameterNameDiscoverer.class);
+		given(parameterNameDiscoverer.getParameterNames(any(Method.class)))
+			.willReturn(new String[] { "name", "values" });
+		this.handler.setParameterNameDiscoverer(parameterNameDiscoverer);
+		this.handler.setCompileExpressions(true);
+		Expression expression = this.handler.getExpressionParser().parseExpression("#name");
+		MethodInvocation invocation = new MockMethodInvocation(new Bar(), Bar.class, "baz",
+				new Class[] { String.class, String[].class }, new Object[] { "rob", new String[0] });
+		for (int i = 0; i < 2; i++) {
+			EvaluationContext context = this.handler.createEvaluationContext(() -> this.authentication, invocation);
+			assertThat(expression.getValue(context)).isEqualTo("rob");
+			context = this.handler.createEvaluationContext(this.authentication, invocation);
+			assertThat(expression.getValue(context)).isEqualTo("rob");
+		}
+		verify(parameterNameDiscoverer).getParameterNames(any(Method.class));
+	}
+
 	static class Foo {
 
 		void bar() {
@@ -194,4 +401,27 @@ public class DefaultMethodSecurityExpressionHandlerTests {
 
 	}
 
+	public static class Bar {
+
+		public String baz(String name, String... values) {
+			return name;
+		}
+
+	}
+
+	private static final class EvenPermissionEvaluator implements PermissionEvaluator {
+
+		@Override
+		public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
+			return (targetDomainObject instanceof Integer i) && i % 2 == 0;
+		}
+
+		@Override
+		public boolean hasPermission(Authentication authentication, Serializable targetId, String targetType,
+				Object permission) {
+			return false;
+		}
+
+	}
+
 }
@@ -17,12 +17,14 @@
 package org.springframework.security.access.hierarchicalroles;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -310,4 +312,48 @@ public class RoleHierarchyImplTests {
 			.isThrownBy(() -> RoleHierarchyImpl.withDefaultRolePrefix().role("A").implies());
 	}
 
+	@Test
+	public void getReachableGrantedAuthoritiesWhenSameAuthoritiesThenCachedResult() {
+		RoleHierarchyImpl roleHierarchyImpl = RoleHierarchyImpl.fromHierarchy("ROLE_A > ROLE_B\nROLE_B > ROLE_C");
+		Collection<GrantedAuthority> first = roleHierarchyImpl
+			.getReachableGrantedAuthorities(AuthorityUtils.createAuthorityList("ROLE_A", "ROLE_0"));
+		Collection<GrantedAuthority> second = roleHierarchyImpl
+			.getReachableGrantedAuthorities(AuthorityUtils.createAuthorityList("ROLE_A", "ROLE_0"));
+		assertThat(second).isSameAs(first);
+		assertThat(AuthorityUtils.authorityListToSet(second)).containsExactlyInAnyOrder("ROLE_A", "ROLE_B", "ROLE_C",
+				"ROLE_0");
+	}
+
+	@Test
+	public void getReachableGrantedAuthoritiesThenUnmodifiable() {
+		RoleHierarchyImpl roleHierarchyImpl = RoleHierarchyImpl.fromHierarchy("ROLE_A > ROLE_B");
+		Collection<GrantedAuthority> authorities = roleHierarchyImpl
+			.getReachableGrantedAuthorities(AuthorityUtils.createAuthorityList("ROLE_A"));
+		assertThatExceptionOfType(UnsupportedOperationException.class)
+			.isThrownBy(() -> authorities.add(new SimpleGrantedAuthority("ROLE_C")));
+	}
+
+	@Test
+	public void getReachableGrantedAuthoritiesWhenAssignedAndReachableThenAssignedAuthority() {
+		List<GrantedAuthority> assigned = HierarchicalRolesTestHelper.createAuthorityList("ROLE_B", "ROLE_A");
+		RoleHierarchyImpl roleHierarchyImpl = RoleHierarchyImpl.fromHierarchy("ROLE_A > ROLE_B > ROLE_C");
+		Collection<GrantedAuthority> authorities = roleHierarchyImpl.getReachableGrantedAuthorities(assigned);
+		assertThat(authorities).hasSize(3).containsAll(assigned);
+	}
+
+	@Test
+	public void getReachableGrantedAuthoritiesWhenLargeHierarchyThenTransitiveRoles() {
+		StringBuilder hierarchy = new StringBuilder();
+		for (int i = 1; i < 600; i++) {
+			hierarchy.append("ROLE_").append((i - 1) / 2).append(" > ROLE_").append(i).append("\n");
+		}
+		RoleHierarchyImpl roleHierarchyImpl = RoleHierarchyImpl.fromHierarchy(hierarchy.toString());
+		assertThat(roleHierarchyImpl.getReachableGrantedAuthorities(AuthorityUtils.createAuthorityList("ROLE_0")))
+			.hasSize(600);
+		assertThat(roleHierarchyImpl.getReachableGrantedAuthorities(AuthorityUtils.createAuthorityList("ROLE_1")))
+			.extracting(GrantedAuthority::getAuthority)
+			.contains("ROLE_1", "ROLE_3", "ROLE_4", "ROLE_7", "ROLE_10", "ROLE_599")
+			.doesNotContain("ROLE_0", "ROLE_2", "ROLE_5");
+	}
+
 }
@@ -16,15 +16,21 @@
 
 package org.springframework.security.authentication;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import org.springframework.context.MessageSource;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.authority.AuthorityUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -34,6 +40,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -76,6 +83,95 @@ public class ProviderManagerTests {
 		assertThat(result.getCredentials()).isNotNull();
 	}
 
+	@Test
+	void authenticateWhenVerifiedCredentialsCachedThenSkipsProviders() {
+		AuthenticationProvider provider = mock(AuthenticationProvider.class);
+		given(provider.supports(any())).willReturn(true);
+		given(provider.authenticate(any())).willAnswer((invocation) -> UsernamePasswordAuthenticationToken
+			.authenticated("user", "password", AuthorityUtils.createAuthorityList("ROLE_USER")));
+		VerifiedCredentialsCache cache = new VerifiedCredentialsCache();
+		ProviderManager mgr = new ProviderManager(provider);
+		mgr.setVerifiedCredentialsCache(cache);
+		mgr.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "password"));
+		Authentication result = mgr
+			.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "password"));
+		assertThat(result.isAuthenticated()).isTrue();
+		assertThat(result.getName()).isEqualTo("user");
+		assertThat(result.getCredentials()).isNull();
+		verify(provider, times(1)).authenticate(any());
+		assertThat(cache.getHitCount()).isEqualTo(1);
+		mgr.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "other"));
+		verify(provider, times(2)).authenticate(any());
+	}
+
+	@Test
+	void authenticateWhenCredentialsNotErasedThenNotCached() {
+		AuthenticationProvider provider = mock(AuthenticationProvider.class);
+		given(provider.supports(any())).willReturn(true);
+		given(provider.authenticate(any())).willAnswer((invocation) -> UsernamePasswordAuthenticationToken
+			.authenticated("user", "password", AuthorityUtils.createAuthorityList("ROLE_USER")));
+		VerifiedCredentialsCache cache = new VerifiedCredentialsCache();
+		ProviderManager mgr = new ProviderManager(provider);
+		mgr.setEraseCredentialsAfterAuthentication(false);
+		mgr.setVerifiedCredentialsCache(cache);
+		mgr.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "password"));
+		mgr.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "password"));
+		verify(provider, times(2)).authenticate(any());
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	void authenticateWhenSameTypeAgainThenDoesNotAskProvidersAgain() {
+		AuthenticationProvider unsupported = mock(AuthenticationProvider.class);
+		AuthenticationProvider provider = createProviderWhichReturns(createAuthenticationToken());
+		ProviderManager mgr = new ProviderManager(unsupported, provider);
+		mgr.authenticate(createAuthenticationToken());
+		mgr.authenticate(createAuthenticationToken());
+		verify(unsupported).supports(TestingAuthenticationToken.class);
+		verify(provider).supports(TestingAuthenticationToken.class);
+		verify(provider, times(2)).authenticate(any());
+		verifyNoMoreInteractions(unsupported);
+	}
+
+	@Test
+	void authenticateWhenProviderAddedThenUsesAddedProvider() {
+		Authentication authReq = createAuthenticationToken();
+		ProviderManager mgr = new ProviderManager(new ArrayList<>(List.of(mock(AuthenticationProvider.class))));
+		assertThatExceptionOfType(ProviderNotFoundException.class).isThrownBy(() -> mgr.authenticate(authReq));
+		mgr.getProviders().add(createProviderWhichReturns(authReq));
+		assertThat(mgr.authenticate(authReq)).isSameAs(authReq);
+	}
+
+	@Test
+	void authenticateWhenProviderReplacedInGivenListThenUsesNewProvider() {
+		Authentication authReq = createAuthenticationToken();
+		List<AuthenticationProvider> providers = new ArrayList<>(List.of(mock(AuthenticationProvider.class)));
+		ProviderManager mgr = new ProviderManager(providers);
+		assertThatExceptionOfType(ProviderNotFoundException.class).isThrownBy(() -> mgr.authenticate(authReq));
+		providers.set(0, createProviderWhichReturns(authReq));
+		assertThat(mgr.authenticate(authReq)).isSameAs(authReq);
+	}
+
+	@Test
+	void authenticateWhenFlightRecorderEventEnabledThenRecords(@TempDir Path dir) throws Exception {
+		TestingAuthenticationToken token = new TestingAuthenticationToken("user", "password", "ROLE_USER");
+		ProviderManager mgr = makeProviderManager();
+		Path dump = dir.resolve("recording.jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable("org.springframework.security.Authentication");
+			recording.start();
+			mgr.authenticate(token);
+			recording.stop();
+			recording.dump(dump);
+		}
+		List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+		assertThat(events).singleElement().satisfies((event) -> {
+			assertThat(event.getString("authenticationManager")).isEqualTo(ProviderManager.class.getName());
+			assertThat(event.getString("authenticationType")).isEqualTo(TestingAuthenticationToken.class.getName());
+			assertThat(event.getBoolean("authenticated")).isTrue();
+		});
+	}
+
 	@Test
 	void authenticationSucceedsWithSupportedTokenAndReturnsExpectedObject() {
 		Authentication a = mock(Authentication.class);
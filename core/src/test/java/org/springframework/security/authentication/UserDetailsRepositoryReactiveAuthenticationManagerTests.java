@@ -29,6 +29,7 @@ import reactor.test.StepVerifier;
 import org.springframework.context.MessageSource;
 import org.springframework.security.authentication.password.CompromisedPasswordDecision;
 import org.springframework.security.authentication.password.CompromisedPasswordException;
+import org.springframework.security.authentication.password.PasswordEncoderSaturatedException;
 import org.springframework.security.authentication.password.ReactiveCompromisedPasswordChecker;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
@@ -149,6 +150,33 @@ public class UserDetailsRepositoryReactiveAuthenticationManagerTests {
 		verifyNoMoreInteractions(this.userDetailsPasswordService);
 	}
 
+	@Test
+	public void authenticateWhenPasswordServiceAndPasswordEncoderSaturatedThenNotUpdated() {
+		given(this.userDetailsService.findByUsername(any())).willReturn(Mono.just(this.user));
+		given(this.encoder.matches(any(), any())).willReturn(true);
+		given(this.encoder.upgradeEncoding(any())).willReturn(true);
+		given(this.encoder.encode(any())).willThrow(new PasswordEncoderSaturatedException("saturated"));
+		this.manager.setPasswordEncoder(this.encoder);
+		this.manager.setUserDetailsPasswordService(this.userDetailsPasswordService);
+		UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.unauthenticated(this.user,
+				this.user.getPassword());
+		Authentication result = this.manager.authenticate(token).block();
+		assertThat(result.isAuthenticated()).isTrue();
+		verifyNoMoreInteractions(this.userDetailsPasswordService);
+	}
+
+	@Test
+	public void authenticateWhenPasswordEncoderSaturatedThenPasswordEncoderSaturatedException() {
+		given(this.userDetailsService.findByUsername(any())).willReturn(Mono.just(this.user));
+		given(this.encoder.matches(any(), any())).willThrow(new PasswordEncoderSaturatedException("saturated"));
+		this.manager.setPasswordEncoder(this.encoder);
+		UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.unauthenticated(this.user,
+				this.user.getPassword());
+		StepVerifier.create(this.manager.authenticate(token))
+			.expectError(PasswordEncoderSaturatedException.class)
+			.verify();
+	}
+
 	@Test
 	public void authenticateWhenPostAuthenticationChecksFail() {
 		given(this.userDetailsService.findByUsername(any())).willReturn(Mono.just(this.user));
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authentication;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link VerifiedCredentialsCache}
+ */
+public class VerifiedCredentialsCacheTests {
+
+	private final VerifiedCredentialsCache cache = new VerifiedCredentialsCache();
+
+	@Test
+	void keyWhenSameCredentialsThenSameKey() {
+		String key = this.cache.key(request("user", "password"));
+		assertThat(key).isNotNull().doesNotContain("password");
+		assertThat(this.cache.key(request("user", "password"))).isEqualTo(key);
+		assertThat(this.cache.key(request("user", "other"))).isNotEqualTo(key);
+		assertThat(this.cache.key(request("use", "rpassword"))).isNotEqualTo(key);
+	}
+
+	@Test
+	void keyWhenDifferentCacheThenDifferentKey() {
+		assertThat(new VerifiedCredentialsCache().key(request("user", "password")))
+			.isNotEqualTo(this.cache.key(request("user", "password")));
+	}
+
+	@Test
+	void keyWhenNotUsernamePasswordThenNull() {
+		assertThat(this.cache.key(new TestingAuthenticationToken("user", "password"))).isNull();
+		assertThat(this.cache.key(request("user", ""))).isNull();
+		assertThat(this.cache.key(UsernamePasswordAuthenticationToken.unauthenticated("user", null))).isNull();
+	}
+
+	@Test
+	void getWhenCachedThenCopyWithRequestDetails() {
+		UsernamePasswordAuthenticationToken request = request("user", "password");
+		request.setDetails("details");
+		String key = this.cache.key(request);
+		Authentication result = authenticated("user");
+		this.cache.put(key, result);
+		Authentication cached = this.cache.get(key, request);
+		assertThat(cached).isNotSameAs(result);
+		assertThat(cached.isAuthenticated()).isTrue();
+		assertThat(cached.getPrincipal()).isEqualTo(result.getPrincipal());
+		assertThat(cached.getAuthorities()).isEqualTo(result.getAuthorities());
+		assertThat(cached.getCredentials()).isNull();
+		assertThat(cached.getDetails()).isEqualTo("details");
+		assertThat(this.cache.getHitCount()).isEqualTo(1);
+		assertThat(this.cache.getMissCount()).isZero();
+	}
+
+	@Test
+	void getWhenCachedThenNewTokenForEachRequest() {
+		UsernamePasswordAuthenticationToken first = request("user", "password");
+		first.setDetails("first");
+		UsernamePasswordAuthenticationToken second = request("user", "password");
+		second.setDetails("second");
+		String key = this.cache.key(first);
+		this.cache.put(key, authenticated("user"));
+		Authentication one = this.cache.get(key, first);
+		Authentication two = this.cache.get(key, second);
+		assertThat(one).isNotSameAs(two);
+		assertThat(one.getDetails()).isEqualTo("first");
+		assertThat(two.getDetails()).isEqualTo("second");
+	}
+
+	@Test
+	void putWhenNotUsernamePasswordTokenThenNotCached() {
+		String key = this.cache.key(request("user", "password"));
+		TestingAuthenticationToken result = new TestingAuthenticationToken("user", null, "ROLE_USER");
+		this.cache.put(key, result);
+		assertThat(this.cache.size()).isZero();
+	}
+
+	@Test
+	void getWhenNotCachedThenMiss() {
+		UsernamePasswordAuthenticationToken request = request("user", "password");
+		assertThat(this.cache.get(this.cache.key(request), request)).isNull();
+		assertThat(this.cache.getMissCount()).isEqualTo(1);
+	}
+
+	@Test
+	void putWhenCredentialsNotErasedThenNotCached() {
+		UsernamePasswordAuthenticationToken request = request("user", "password");
+		String key = this.cache.key(request);
+		UserDetails user = User.withUsername("user").password("{noop}password").roles("USER").build();
+		this.cache.put(key, UsernamePasswordAuthenticationToken.authenticated("user", "password",
+				AuthorityUtils.createAuthorityList("ROLE_USER")));
+		this.cache.put(key, UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()));
+		assertThat(this.cache.size()).isZero();
+	}
+
+	@Test
+	void getWhenExpiredThenMiss() {
+		Instant now = Instant.now();
+		this.cache.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		this.cache.setTimeToLive(Duration.ofSeconds(30));
+		UsernamePasswordAuthenticationToken request = request("user", "password");
+		String key = this.cache.key(request);
+		this.cache.put(key, authenticated("user"));
+		this.cache.setClock(Clock.fixed(now.plusSeconds(30), ZoneOffset.UTC));
+		assertThat(this.cache.get(key, request)).isNull();
+		assertThat(this.cache.size()).isZero();
+	}
+
+	@Test
+	void putWhenMaximumSizeThenEvictsLeastRecentlyUsed() {
+		this.cache.setMaximumSize(2);
+		String one = this.cache.key(request("one", "password"));
+		String two = this.cache.key(request("two", "password"));
+		String three = this.cache.key(request("three", "password"));
+		this.cache.put(one, authenticated("one"));
+		this.cache.put(two, authenticated("two"));
+		this.cache.get(one, request("one", "password"));
+		this.cache.put(three, authenticated("three"));
+		assertThat(this.cache.size()).isEqualTo(2);
+		assertThat(this.cache.get(one, request("one", "password"))).isNotNull();
+		assertThat(this.cache.get(two, request("two", "password"))).isNull();
+	}
+
+	@Test
+	void putWhenMaximumSizeLargerThanSampleThenEvictsLeastRecentlyUsed() {
+		this.cache.setMaximumSize(100);
+		String hot = this.cache.key(request("hot", "password"));
+		this.cache.put(hot, authenticated("hot"));
+		List<String> cold = new ArrayList<>();
+		for (int i = 0; i < 99; i++) {
+			String key = this.cache.key(request("cold" + i, "password"));
+			this.cache.put(key, authenticated("cold" + i));
+			cold.add(key);
+		}
+		for (int i = 0; i < 1000; i++) {
+			assertThat(this.cache.get(hot, request("hot", "password"))).isNotNull();
+			this.cache.put(this.cache.key(request("new" + i, "password")), authenticated("new" + i));
+		}
+		assertThat(this.cache.size()).isEqualTo(100);
+		assertThat(this.cache.get(hot, request("hot", "password"))).isNotNull();
+		assertThat(cold).noneMatch((key) -> this.cache.get(key, request("cold", "password")) != null);
+	}
+
+	@Test
+	void evictThenRemovesEntriesOfUser() {
+		String user = this.cache.key(request("user", "password"));
+		String other = this.cache.key(request("other", "password"));
+		this.cache.put(user, authenticated("user"));
+		this.cache.put(other, authenticated("other"));
+		this.cache.evict("user");
+		assertThat(this.cache.get(user, request("user", "password"))).isNull();
+		assertThat(this.cache.get(other, request("other", "password"))).isNotNull();
+	}
+
+	@Test
+	void evictOnPasswordChangeThenUpdatesAndEvicts() {
+		UserDetails user = User.withUsername("user").password("{noop}password").roles("USER").build();
+		UserDetailsPasswordService delegate = mock(UserDetailsPasswordService.class);
+		given(delegate.updatePassword(user, "{noop}changed")).willReturn(user);
+		String key = this.cache.key(request("user", "password"));
+		this.cache.put(key, authenticated("user"));
+		UserDetailsPasswordService passwordService = this.cache.evictOnPasswordChange(delegate);
+		assertThat(passwordService.updatePassword(user, "{noop}changed")).isSameAs(user);
+		verify(delegate).updatePassword(user, "{noop}changed");
+		assertThat(this.cache.size()).isZero();
+	}
+
+	@Test
+	void setTimeToLiveWhenZeroThenIllegalArgument() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.cache.setTimeToLive(Duration.ZERO));
+	}
+
+	@Test
+	void setMaximumSizeWhenZeroThenIllegalArgument() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.cache.setMaximumSize(0));
+	}
+
+	private static UsernamePasswordAuthenticationToken request(String username, String password) {
+		return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+	}
+
+	private static Authentication authenticated(String username) {
+		return UsernamePasswordAuthenticationToken.authenticated(username, null,
+				AuthorityUtils.createAuthorityList("ROLE_USER"));
+	}
+
+}
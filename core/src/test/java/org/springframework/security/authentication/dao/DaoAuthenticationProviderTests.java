@@ -36,6 +36,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.authentication.password.CompromisedPasswordChecker;
 import org.springframework.security.authentication.password.CompromisedPasswordDecision;
 import org.springframework.security.authentication.password.CompromisedPasswordException;
+import org.springframework.security.authentication.password.PasswordEncoderSaturatedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.AuthorityUtils;
@@ -309,6 +310,43 @@ public class DaoAuthenticationProviderTests {
 		verifyNoMoreInteractions(passwordManager);
 	}
 
+	@Test
+	public void authenticateWhenUpgradeAndPasswordEncoderSaturatedThenAuthenticatedWithoutUpdate() {
+		UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.unauthenticated("user",
+				"password");
+		PasswordEncoder encoder = mock(PasswordEncoder.class);
+		UserDetailsService userDetailsService = mock(UserDetailsService.class);
+		UserDetailsPasswordService passwordManager = mock(UserDetailsPasswordService.class);
+		DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+		provider.setPasswordEncoder(encoder);
+		provider.setUserDetailsPasswordService(passwordManager);
+		UserDetails user = PasswordEncodedUser.user();
+		given(encoder.matches(any(), any())).willReturn(true);
+		given(encoder.upgradeEncoding(any())).willReturn(true);
+		given(encoder.encode("password")).willThrow(new PasswordEncoderSaturatedException("saturated"));
+		given(userDetailsService.loadUserByUsername(any())).willReturn(user);
+		Authentication result = provider.authenticate(token);
+		assertThat(result.isAuthenticated()).isTrue();
+		verifyNoMoreInteractions(passwordManager);
+	}
+
+	@Test
+	public void authenticateWhenCachedUserAndPasswordEncoderSaturatedThenNotRetried() {
+		UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.unauthenticated("rod",
+				"koala");
+		PasswordEncoder encoder = mock(PasswordEncoder.class);
+		UserDetailsService userDetailsService = mock(UserDetailsService.class);
+		DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+		provider.setPasswordEncoder(encoder);
+		MockUserCache cache = new MockUserCache();
+		cache.putUserInCache(new User("rod", "koala", true, true, true, true, ROLES_12));
+		provider.setUserCache(cache);
+		given(encoder.matches(any(), any())).willThrow(new PasswordEncoderSaturatedException("saturated"));
+		assertThatExceptionOfType(PasswordEncoderSaturatedException.class)
+			.isThrownBy(() -> provider.authenticate(token));
+		verifyNoMoreInteractions(userDetailsService);
+	}
+
 	@Test
 	public void testDetectsNullBeingReturnedFromAuthenticationDao() {
 		UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.unauthenticated("rod", "koala");
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authentication.password;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link ConcurrencyLimitingPasswordEncoder}
+ */
+public class ConcurrencyLimitingPasswordEncoderTests {
+
+	private final PasswordEncoder delegate = mock(PasswordEncoder.class);
+
+	@Test
+	public void constructorWhenNullDelegateThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new ConcurrencyLimitingPasswordEncoder(null, 1));
+	}
+
+	@Test
+	public void constructorWhenNoConcurrencyThenIllegalArgumentException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new ConcurrencyLimitingPasswordEncoder(this.delegate, 0));
+	}
+
+	@Test
+	public void setMaxWaitWhenNegativeThenIllegalArgumentException() {
+		ConcurrencyLimitingPasswordEncoder encoder = new ConcurrencyLimitingPasswordEncoder(this.delegate, 1);
+		assertThatIllegalArgumentException().isThrownBy(() -> encoder.setMaxWait(Duration.ofSeconds(-1)));
+	}
+
+	@Test
+	public void encodeAndMatchesWhenPermitAvailableThenDelegates() {
+		given(this.delegate.encode("password")).willReturn("encoded");
+		given(this.delegate.matches("password", "encoded")).willReturn(true);
+		given(this.delegate.upgradeEncoding("encoded")).willReturn(true);
+		ConcurrencyLimitingPasswordEncoder encoder = new ConcurrencyLimitingPasswordEncoder(this.delegate, 1);
+		assertThat(encoder.encode("password")).isEqualTo("encoded");
+		assertThat(encoder.matches("password", "encoded")).isTrue();
+		assertThat(encoder.upgradeEncoding("encoded")).isTrue();
+		assertThat(encoder.getActiveCount()).isZero();
+	}
+
+	@Test
+	public void matchesWhenDelegateThrowsThenReleasesPermit() {
+		given(this.delegate.matches("password", "encoded")).willThrow(new IllegalStateException());
+		ConcurrencyLimitingPasswordEncoder encoder = new ConcurrencyLimitingPasswordEncoder(this.delegate, 1);
+		encoder.setMaxWait(Duration.ZERO);
+		assertThatExceptionOfType(IllegalStateException.class)
+			.isThrownBy(() -> encoder.matches("password", "encoded"));
+		assertThatExceptionOfType(IllegalStateException.class)
+			.isThrownBy(() -> encoder.matches("password", "encoded"));
+		assertThat(encoder.getActiveCount()).isZero();
+	}
+
+	@Test
+	public void matchesWhenSaturatedThenPasswordEncoderSaturatedException() throws Exception {
+		CountDownLatch hashing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		willAnswer((invocation) -> {
+			hashing.countDown();
+			return release.await(10, TimeUnit.SECONDS);
+		}).given(this.delegate).matches("slow", "encoded");
+		ConcurrencyLimitingPasswordEncoder encoder = new ConcurrencyLimitingPasswordEncoder(this.delegate, 1);
+		encoder.setMaxWait(Duration.ofMillis(10));
+		CompletableFuture<Boolean> slow = CompletableFuture.supplyAsync(() -> encoder.matches("slow", "encoded"));
+		assertThat(hashing.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(encoder.getActiveCount()).isEqualTo(1);
+		assertThatExceptionOfType(PasswordEncoderSaturatedException.class)
+			.isThrownBy(() -> encoder.matches("password", "encoded"));
+		assertThatExceptionOfType(PasswordEncoderSaturatedException.class)
+			.isThrownBy(() -> encoder.encode("password"));
+		release.countDown();
+		assertThat(slow.get(10, TimeUnit.SECONDS)).isTrue();
+		encoder.matches("password", "encoded");
+		verify(this.delegate).matches("password", "encoded");
+	}
+
+	@Test
+	public void matchesWhenPermitReleasedWhileWaitingThenDelegates() throws Exception {
+		CountDownLatch hashing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		willAnswer((invocation) -> {
+			hashing.countDown();
+			return release.await(10, TimeUnit.SECONDS);
+		}).given(this.delegate).matches("slow", "encoded");
+		given(this.delegate.matches("password", "encoded")).willReturn(true);
+		ConcurrencyLimitingPasswordEncoder encoder = new ConcurrencyLimitingPasswordEncoder(this.delegate, 1);
+		encoder.setMaxWait(Duration.ofSeconds(10));
+		CompletableFuture<Boolean> slow = CompletableFuture.supplyAsync(() -> encoder.matches("slow", "encoded"));
+		assertThat(hashing.await(10, TimeUnit.SECONDS)).isTrue();
+		CompletableFuture<Boolean> waiting = CompletableFuture
+			.supplyAsync(() -> encoder.matches("password", "encoded"));
+		while (encoder.getQueueLength() == 0) {
+			Thread.onSpinWait();
+		}
+		release.countDown();
+		assertThat(waiting.get(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(slow.get(10, TimeUnit.SECONDS)).isTrue();
+	}
+
+}
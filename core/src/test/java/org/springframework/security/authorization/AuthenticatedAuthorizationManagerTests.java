@@ -17,6 +17,7 @@
 package org.springframework.security.authorization;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.function.Supplier;
 
 import org.junit.jupiter.api.Test;
@@ -156,4 +157,15 @@ public class AuthenticatedAuthorizationManagerTests {
 		assertThat(manager.authorize(authentication, object).isGranted()).isFalse();
 	}
 
+	@Test
+	public void authorizeAllWhenAnonymousThenDeniedDecisionForEachObject() {
+		AuthenticatedAuthorizationManager<Object> manager = AuthenticatedAuthorizationManager.authenticated();
+		Supplier<Authentication> authentication = () -> new AnonymousAuthenticationToken("key", "principal",
+				AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+
+		List<AuthorizationResult> results = manager.authorizeAll(authentication, List.of("a", "b"));
+
+		assertThat(results).hasSize(2).extracting(AuthorizationResult::isGranted).containsOnly(false);
+	}
+
 }
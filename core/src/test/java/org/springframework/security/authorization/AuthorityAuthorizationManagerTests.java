@@ -17,6 +17,8 @@
 package org.springframework.security.authorization;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import org.junit.jupiter.api.Test;
@@ -271,4 +273,26 @@ public class AuthorityAuthorizationManagerTests {
 		AuthorityAuthorizationManager.hasAnyRole("", new String[] { "USER" });
 	}
 
+	@Test
+	public void authorizeAllWhenHasAuthorityThenAuthorizesOnce() {
+		AuthorityAuthorizationManager<Object> manager = AuthorityAuthorizationManager.hasAuthority("USER");
+		AtomicInteger resolved = new AtomicInteger();
+		Supplier<Authentication> authentication = () -> {
+			resolved.incrementAndGet();
+			return new TestingAuthenticationToken("user", "password", "USER");
+		};
+		List<AuthorizationResult> results = manager.authorizeAll(authentication, List.of("a", "b", "c"));
+		assertThat(results).hasSize(3).extracting(AuthorizationResult::isGranted).containsOnly(true);
+		assertThat(resolved).hasValue(1);
+	}
+
+	@Test
+	public void authorizeAllWhenEmptyThenDoesNotAuthorize() {
+		AuthorityAuthorizationManager<Object> manager = AuthorityAuthorizationManager.hasAuthority("USER");
+		Supplier<Authentication> authentication = () -> {
+			throw new IllegalStateException("should not be resolved");
+		};
+		assertThat(manager.authorizeAll(authentication, List.of())).isEmpty();
+	}
+
 }
@@ -31,11 +31,13 @@ import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.InstanceOfAssertFactories;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
@@ -323,6 +325,31 @@ public class AuthorizationAdvisorProxyFactoryTests {
 		verify(advisor, atLeastOnce()).getPointcut();
 	}
 
+	@Test
+	public void proxyWhenSameClassThenReusesProxyTemplate() {
+		AuthorizationAdvisorProxyFactory factory = AuthorizationAdvisorProxyFactory.withDefaults();
+		SecurityContextHolder.getContext().setAuthentication(this.user);
+		Flight one = proxy(factory, new Flight());
+		Flight two = proxy(factory, new Flight());
+		assertThatExceptionOfType(AccessDeniedException.class).isThrownBy(one::getAltitude);
+		assertThatExceptionOfType(AccessDeniedException.class).isThrownBy(two::getAltitude);
+		assertThat(factory).extracting("proxyTemplates").asInstanceOf(InstanceOfAssertFactories.MAP).hasSize(1);
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	public void setAdvisorsWhenAlreadyProxiedThenUsesNewAdvisors() throws Throwable {
+		AuthorizationAdvisor advisor = mock(AuthorizationAdvisor.class);
+		given(advisor.getAdvice()).willReturn(advisor);
+		given(advisor.getPointcut()).willReturn(Pointcut.TRUE);
+		AuthorizationAdvisorProxyFactory factory = AuthorizationAdvisorProxyFactory.withDefaults();
+		proxy(factory, new Flight());
+		factory.setAdvisors(advisor);
+		Flight flight = proxy(factory, this.flight);
+		flight.getAltitude();
+		verify(advisor).invoke(any());
+	}
+
 	@Test
 	public void setTargetVisitorThenUses() {
 		TargetVisitor visitor = mock(TargetVisitor.class);
@@ -340,6 +367,101 @@ public class AuthorizationAdvisorProxyFactoryTests {
 		assertThat(factory.proxy(35)).isEqualTo(35);
 	}
 
+	@Test
+	public void proxyWhenLazyCollectionsThenProxiesElementsWhenRead() {
+		SecurityContextHolder.getContext().setAuthentication(this.user);
+		AtomicInteger visited = new AtomicInteger();
+		TargetVisitor counting = (proxyFactory, target) -> {
+			visited.incrementAndGet();
+			return null;
+		};
+		AuthorizationAdvisorProxyFactory factory = AuthorizationAdvisorProxyFactory.withDefaults();
+		factory.setTargetVisitor(TargetVisitor.of(TargetVisitor.lazyCollections(), counting, TargetVisitor.defaults()));
+		List<Flight> flights = List.of(new Flight(), this.flight, new Flight());
+		List<Flight> secured = proxy(factory, flights);
+		assertThat(secured).hasSize(3);
+		assertThat(visited).hasValue(0);
+		Flight flight = secured.get(1);
+		assertThat(secured.get(1)).isSameAs(flight);
+		assertThat(visited).hasValue(1);
+		assertThatExceptionOfType(AccessDeniedException.class).isThrownBy(flight::getAltitude);
+		assertThat(secured.indexOf(flight)).isEqualTo(1);
+		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(secured::clear);
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	public void proxyWhenLazyCollectionsAndMutableListThenWritesThrough() {
+		SecurityContextHolder.getContext().setAuthentication(this.user);
+		AuthorizationAdvisorProxyFactory factory = AuthorizationAdvisorProxyFactory.withDefaults();
+		factory.setTargetVisitor(TargetVisitor.of(TargetVisitor.lazyCollections(), TargetVisitor.defaults()));
+		List<Flight> flights = new ArrayList<>(List.of(this.flight));
+		List<Flight> secured = proxy(factory, flights);
+		secured.forEach(
+				(flight) -> assertThatExceptionOfType(AccessDeniedException.class).isThrownBy(flight::getAltitude));
+		assertThat(flights.get(0)).isSameAs(this.flight);
+		secured.remove(secured.get(0));
+		assertThat(flights).isEmpty();
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	public void proxyWhenLazyCollectionsAndSetThenProxiesElementsWhenRead() {
+		SecurityContextHolder.getContext().setAuthentication(this.user);
+		AuthorizationAdvisorProxyFactory factory = AuthorizationAdvisorProxyFactory.withDefaults();
+		factory.setTargetVisitor(TargetVisitor.of(TargetVisitor.lazyCollections(), TargetVisitor.defaults()));
+		Set<Flight> flights = new HashSet<>(Set.of(this.flight));
+		Set<Flight> secured = proxy(factory, flights);
+		secured.forEach(
+				(flight) -> assertThatExceptionOfType(AccessDeniedException.class).isThrownBy(flight::getAltitude));
+		assertThat(secured.contains(secured.iterator().next())).isTrue();
+		secured.clear();
+		assertThat(flights).isEmpty();
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	public void proxyWhenLazyCollectionsAndSortedSetThenProxiesElementsWhenRead() {
+		SecurityContextHolder.getContext().setAuthentication(this.user);
+		AuthorizationAdvisorProxyFactory factory = AuthorizationAdvisorProxyFactory.withDefaults();
+		factory.setTargetVisitor(TargetVisitor.of(TargetVisitor.lazyCollections(), TargetVisitor.defaults()));
+		SortedSet<User> users = Collections.unmodifiableSortedSet(new TreeSet<>(Set.of(this.alan)));
+		SortedSet<User> secured = proxy(factory, users);
+		assertThatExceptionOfType(AccessDeniedException.class).isThrownBy(secured.first()::getFirstName);
+		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(secured::clear);
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	public void proxyWhenLazyCollectionsAndMapThenProxiesValuesWhenRead() {
+		SecurityContextHolder.getContext().setAuthentication(this.user);
+		AuthorizationAdvisorProxyFactory factory = AuthorizationAdvisorProxyFactory.withDefaults();
+		factory.setTargetVisitor(TargetVisitor.of(TargetVisitor.lazyCollections(), TargetVisitor.defaults()));
+		Map<String, User> users = new HashMap<>(Map.of(this.alan.getId(), this.alan));
+		Map<String, User> secured = proxy(factory, users);
+		assertThatExceptionOfType(AccessDeniedException.class)
+			.isThrownBy(secured.get(this.alan.getId())::getFirstName);
+		secured.forEach((id, u) -> assertThatExceptionOfType(AccessDeniedException.class).isThrownBy(u::getFirstName));
+		secured.clear();
+		assertThat(users).isEmpty();
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	public void proxyWhenLazyCollectionsAndSortedMapThenProxiesValuesWhenRead() {
+		SecurityContextHolder.getContext().setAuthentication(this.user);
+		AuthorizationAdvisorProxyFactory factory = AuthorizationAdvisorProxyFactory.withDefaults();
+		factory.setTargetVisitor(TargetVisitor.of(TargetVisitor.lazyCollections(), TargetVisitor.defaults()));
+		SortedMap<String, User> users = Collections
+			.unmodifiableSortedMap(new TreeMap<>(Map.of(this.alan.getId(), this.alan)));
+		SortedMap<String, User> secured = proxy(factory, users);
+		secured.forEach(
+				(id, user) -> assertThatExceptionOfType(AccessDeniedException.class).isThrownBy(user::getFirstName));
+		assertThat(secured.headMap(this.alan.getId())).isEmpty();
+		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(secured::clear);
+		SecurityContextHolder.clearContext();
+	}
+
 	@Test
 	public void serializeWhenAuthorizationProxyObjectThenOnlyIncludesProxiedProperties()
 			throws JsonProcessingException {
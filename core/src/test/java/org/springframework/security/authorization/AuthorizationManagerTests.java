@@ -16,12 +16,16 @@
 
 package org.springframework.security.authorization;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.Authentication;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 /**
@@ -59,4 +63,52 @@ public class AuthorizationManagerTests {
 			.withMessage("Access Denied");
 	}
 
+	@Test
+	public void authorizeAllWhenDefaultThenAuthorizesEachObject() {
+		AuthorizationManager<String> manager = (a, o) -> new AuthorizationDecision(o.startsWith("a"));
+		Authentication authentication = new TestingAuthenticationToken("user", "password", "ROLE_1");
+
+		List<AuthorizationResult> results = manager.authorizeAll(() -> authentication, List.of("a", "b", "ab"));
+
+		assertThat(results).extracting(AuthorizationResult::isGranted).containsExactly(true, false, true);
+	}
+
+	@Test
+	public void authorizeAllWhenDefaultThenResolvesAuthenticationOnce() {
+		AuthorizationManager<Object> manager = (a, o) -> new AuthorizationDecision(a.get().isAuthenticated());
+		Authentication authentication = new TestingAuthenticationToken("user", "password", "ROLE_1");
+		AtomicInteger resolved = new AtomicInteger();
+
+		List<AuthorizationResult> results = manager.authorizeAll(() -> {
+			resolved.incrementAndGet();
+			return authentication;
+		}, List.of(new Object(), new Object(), new Object()));
+
+		assertThat(results).hasSize(3);
+		assertThat(resolved).hasValue(1);
+	}
+
+	@Test
+	public void authorizeOnceWhenObjectsThenSameResultForEachObject() {
+		AtomicInteger authorized = new AtomicInteger();
+		AuthorizationManager<String> manager = (a, o) -> {
+			authorized.incrementAndGet();
+			return new AuthorizationDecision(o.startsWith("a"));
+		};
+		Authentication authentication = new TestingAuthenticationToken("user", "password", "ROLE_1");
+
+		List<AuthorizationResult> results = AuthorizationManager.authorizeOnce(manager, () -> authentication,
+				List.of("a", "b", "ab"));
+
+		assertThat(results).extracting(AuthorizationResult::isGranted).containsExactly(true, true, true);
+		assertThat(authorized).hasValue(1);
+	}
+
+	@Test
+	public void authorizeOnceWhenNoObjectsThenEmpty() {
+		AuthorizationManager<String> manager = (a, o) -> new AuthorizationDecision(true);
+
+		assertThat(AuthorizationManager.authorizeOnce(manager, () -> null, List.of())).isEmpty();
+	}
+
 }
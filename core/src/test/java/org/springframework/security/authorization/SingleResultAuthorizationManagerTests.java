@@ -16,6 +16,8 @@
 
 package org.springframework.security.authorization;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -74,4 +76,13 @@ public class SingleResultAuthorizationManagerTests {
 		assertThatIllegalArgumentException().isThrownBy(() -> new SingleResultAuthorizationManager<>(null));
 	}
 
+	@Test
+	void authorizeAllWhenPermitAllThenSameResultForEachObject() {
+		SingleResultAuthorizationManager<String> manager = SingleResultAuthorizationManager.permitAll();
+
+		List<AuthorizationResult> results = manager.authorizeAll(null, List.of("a", "b", "c"));
+
+		assertThat(results).hasSize(3).containsOnly(manager.authorize(null, "a"));
+	}
+
 }
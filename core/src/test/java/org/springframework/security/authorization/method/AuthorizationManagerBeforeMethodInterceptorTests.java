@@ -16,10 +16,16 @@
 
 package org.springframework.security.authorization.method;
 
+import java.nio.file.Path;
+import java.util.List;
 import java.util.function.Supplier;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.aopalliance.intercept.MethodInvocation;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import org.springframework.aop.Pointcut;
 import org.springframework.security.authentication.TestingAuthenticationToken;
@@ -36,6 +42,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.security.core.context.SecurityContextImpl;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.ArgumentMatchers.any;
@@ -76,6 +83,29 @@ public class AuthorizationManagerBeforeMethodInterceptorTests {
 		verify(mockAuthorizationManager).authorize(any(Supplier.class), eq(mockMethodInvocation));
 	}
 
+	@Test
+	public void beforeWhenFlightRecorderEventEnabledThenRecords(@TempDir Path dir) throws Throwable {
+		MethodInvocation invocation = mock(MethodInvocation.class);
+		AuthorizationManager<MethodInvocation> authorizationManager = (a, o) -> new AuthorizationDecision(false);
+		AuthorizationManagerBeforeMethodInterceptor advice = new AuthorizationManagerBeforeMethodInterceptor(
+				Pointcut.TRUE, authorizationManager);
+		Path dump = dir.resolve("recording.jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable("org.springframework.security.Authorization");
+			recording.start();
+			assertThatExceptionOfType(AuthorizationDeniedException.class).isThrownBy(() -> advice.invoke(invocation));
+			recording.stop();
+			recording.dump(dump);
+		}
+		List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+		assertThat(events).singleElement().satisfies((event) -> {
+			assertThat(event.getString("authorizationManager")).isEqualTo(authorizationManager.getClass().getName());
+			assertThat(event.getString("objectType")).isEqualTo(invocation.getClass().getName());
+			assertThat(event.getBoolean("granted")).isFalse();
+			assertThat(event.getBoolean("abstained")).isFalse();
+		});
+	}
+
 	@Test
 	public void beforeWhenMockSecurityContextHolderStrategyThenUses() throws Throwable {
 		Authentication authentication = new TestingAuthenticationToken("user", "password",
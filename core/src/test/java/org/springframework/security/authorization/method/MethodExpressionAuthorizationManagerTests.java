@@ -16,6 +16,9 @@
 
 package org.springframework.security.authorization.method;
 
+import java.util.List;
+
+import org.aopalliance.intercept.MethodInvocation;
 import org.junit.jupiter.api.Test;
 import org.junit.platform.commons.util.ReflectionUtils;
 
@@ -101,4 +104,27 @@ class MethodExpressionAuthorizationManagerTests {
 		assertThat(decision.isGranted()).isFalse();
 	}
 
+	@Test
+	void authorizeAllWhenExpressionHasRoleAdminConfiguredThenSameDecisionForEachInvocation() {
+		MethodExpressionAuthorizationManager manager = new MethodExpressionAuthorizationManager("hasRole('ADMIN')");
+		MethodInvocation invocation = new SimpleMethodInvocation(new Object(),
+				ReflectionUtils.getRequiredMethod(BusinessService.class, "someAdminMethod"));
+		List<AuthorizationResult> results = manager.authorizeAll(TestAuthentication::authenticatedAdmin,
+				List.of(invocation, invocation));
+		assertThat(results).hasSize(2).extracting(AuthorizationResult::isGranted).containsOnly(true);
+		assertThat(results.get(0)).isSameAs(results.get(1));
+	}
+
+	@Test
+	void authorizeAllWhenExpressionIsEvaluatedThenDecisionForEachInvocation() {
+		MethodExpressionAuthorizationManager manager = new MethodExpressionAuthorizationManager(
+				"hasRole('ADMIN') and authentication.name == 'admin'");
+		MethodInvocation invocation = new SimpleMethodInvocation(new Object(),
+				ReflectionUtils.getRequiredMethod(BusinessService.class, "someAdminMethod"));
+		List<AuthorizationResult> results = manager.authorizeAll(TestAuthentication::authenticatedAdmin,
+				List.of(invocation, invocation));
+		assertThat(results).hasSize(2).extracting(AuthorizationResult::isGranted).containsOnly(true);
+		assertThat(results.get(0)).isNotSameAs(results.get(1));
+	}
+
 }
@@ -18,6 +18,10 @@ package org.springframework.security.authorization.method;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
 
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.AfterEach;
@@ -164,6 +168,124 @@ public class PostFilterAuthorizationMethodInterceptorTests {
 		SecurityContextHolder.setContextHolderStrategy(saved);
 	}
 
+	@Test
+	public void setParallelThresholdWhenNotPositiveThenException() {
+		PostFilterAuthorizationMethodInterceptor advice = new PostFilterAuthorizationMethodInterceptor();
+		assertThatIllegalArgumentException().isThrownBy(() -> advice.setParallelThreshold(0))
+			.withMessage("parallelThreshold must be greater than 0");
+	}
+
+	@Test
+	public void setForkJoinPoolWhenNullThenException() {
+		PostFilterAuthorizationMethodInterceptor advice = new PostFilterAuthorizationMethodInterceptor();
+		assertThatIllegalArgumentException().isThrownBy(() -> advice.setForkJoinPool(null))
+			.withMessage("forkJoinPool cannot be null");
+	}
+
+	@Test
+	public void postFilterWhenCollectionAboveParallelThresholdThenFiltersInParallel() throws Throwable {
+		List<String> list = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			list.add((i % 2 == 0) ? "user" : "bob");
+		}
+		MockMethodInvocation invocation = new MockMethodInvocation(new TestClass(), TestClass.class,
+				"doSomethingListAuthentication", new Class[] { List.class }, new Object[] { list }) {
+			@Override
+			public Object proceed() {
+				return list;
+			}
+		};
+		PostFilterAuthorizationMethodInterceptor advice = new PostFilterAuthorizationMethodInterceptor();
+		ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+		advice.setForkJoinPool(forkJoinPool);
+		advice.setParallelThreshold(10);
+		Object result = advice.invoke(invocation);
+		assertThat(result).isSameAs(list);
+		assertThat(list).hasSize(500).containsOnly("user");
+		forkJoinPool.shutdown();
+	}
+
+	@Test
+	public void postFilterWhenImmutableCollectionAboveParallelThresholdThenReturnsFilteredCopy() throws Throwable {
+		List<String> list = List.of("user", "bob", "user", "bob");
+		MockMethodInvocation invocation = new MockMethodInvocation(new TestClass(), TestClass.class,
+				"doSomethingListAuthentication", new Class[] { List.class }, new Object[] { list }) {
+			@Override
+			public Object proceed() {
+				return list;
+			}
+		};
+		PostFilterAuthorizationMethodInterceptor advice = new PostFilterAuthorizationMethodInterceptor();
+		advice.setParallelThreshold(2);
+		Object result = advice.invoke(invocation);
+		assertThat(result).asInstanceOf(InstanceOfAssertFactories.LIST).containsExactly("user", "user");
+	}
+
+	@Test
+	public void postFilterWhenAboveParallelThresholdAndNoAuthenticationNeededThenFilters() throws Throwable {
+		SecurityContextHolder.clearContext();
+		List<String> list = new ArrayList<>(List.of("john", "bob", "john", "bob"));
+		MockMethodInvocation invocation = new MockMethodInvocation(new TestClass(), TestClass.class,
+				"doSomethingList", new Class[] { List.class }, new Object[] { list }) {
+			@Override
+			public Object proceed() {
+				return list;
+			}
+		};
+		PostFilterAuthorizationMethodInterceptor advice = new PostFilterAuthorizationMethodInterceptor();
+		advice.setParallelThreshold(2);
+		Object result = advice.invoke(invocation);
+		assertThat(result).isSameAs(list);
+		assertThat(list).containsExactly("john", "john");
+	}
+
+	@Test
+	public void postFilterWhenStreamThenFiltersWithSecurityContextOfInvocation() throws Throwable {
+		MockMethodInvocation invocation = new MockMethodInvocation(new TestClass(), TestClass.class,
+				"doSomethingStreamAuthentication", new Class[] { Stream.class },
+				new Object[] { Stream.of("user", "bob") }) {
+			@Override
+			public Object proceed() {
+				return Stream.of("user", "bob", "user");
+			}
+		};
+		PostFilterAuthorizationMethodInterceptor advice = new PostFilterAuthorizationMethodInterceptor();
+		Stream<?> result = (Stream<?>) advice.invoke(invocation);
+		SecurityContextHolder.clearContext();
+		assertThat(result.toList()).containsExactly("user", "user");
+	}
+
+	@Test
+	public void postFilterWhenExpressionDoesNotReferToFilterObjectThenFiltersList() throws Throwable {
+		List<String> list = new ArrayList<>(List.of("user", "bob"));
+		MockMethodInvocation invocation = new MockMethodInvocation(new TestClass(), TestClass.class,
+				"doSomethingListHasRoleAdmin", new Class[] { List.class }, new Object[] { list }) {
+			@Override
+			public Object proceed() {
+				return list;
+			}
+		};
+		PostFilterAuthorizationMethodInterceptor advice = new PostFilterAuthorizationMethodInterceptor();
+		Object result = advice.invoke(invocation);
+		assertThat(result).isSameAs(list);
+		assertThat(list).isEmpty();
+	}
+
+	@Test
+	public void postFilterWhenExpressionDoesNotReferToFilterObjectAndGrantedThenReturnsCollection() throws Throwable {
+		List<String> list = List.of("user", "bob");
+		MockMethodInvocation invocation = new MockMethodInvocation(new TestClass(), TestClass.class,
+				"doSomethingListHasRoleUser", new Class[] { List.class }, new Object[] { list }) {
+			@Override
+			public Object proceed() {
+				return list;
+			}
+		};
+		PostFilterAuthorizationMethodInterceptor advice = new PostFilterAuthorizationMethodInterceptor();
+		Object result = advice.invoke(invocation);
+		assertThat(result).isSameAs(list);
+	}
+
 	private SecurityContextHolderStrategy mockSecurityContextHolderStrategy(SecurityContextImpl securityContextImpl) {
 
 		SecurityContextHolderStrategy strategy = mock(SecurityContextHolderStrategy.class);
@@ -188,6 +310,31 @@ public class PostFilterAuthorizationMethodInterceptorTests {
 			return array;
 		}
 
+		@PostFilter("filterObject == 'john'")
+		public List<String> doSomethingList(List<String> list) {
+			return list;
+		}
+
+		@PostFilter("filterObject == authentication.name")
+		public List<String> doSomethingListAuthentication(List<String> list) {
+			return list;
+		}
+
+		@PostFilter("filterObject == authentication.name")
+		public Stream<String> doSomethingStreamAuthentication(Stream<String> stream) {
+			return stream;
+		}
+
+		@PostFilter("hasRole('ADMIN')")
+		public List<String> doSomethingListHasRoleAdmin(List<String> list) {
+			return list;
+		}
+
+		@PostFilter("hasRole('USER')")
+		public List<String> doSomethingListHasRoleUser(List<String> list) {
+			return list;
+		}
+
 		@Override
 		public void inheritedAnnotations() {
 
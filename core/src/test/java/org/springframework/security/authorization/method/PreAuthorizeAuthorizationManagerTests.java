@@ -18,6 +18,8 @@ package org.springframework.security.authorization.method;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import org.aopalliance.intercept.MethodInvocation;
@@ -116,6 +118,33 @@ public class PreAuthorizeAuthorizationManagerTests {
 		assertThat(decision.isGranted()).isFalse();
 	}
 
+	@Test
+	public void authorizeAllWhenManyInvocationsThenResolvesAuthenticationOnce() throws Exception {
+		AtomicInteger resolved = new AtomicInteger();
+		Supplier<Authentication> authentication = () -> {
+			resolved.incrementAndGet();
+			return new TestingAuthenticationToken("user", "password", "ROLE_USER");
+		};
+		MockMethodInvocation securedAdmin = new MockMethodInvocation(new ClassLevelAnnotations(),
+				ClassLevelAnnotations.class, "securedAdmin");
+		MockMethodInvocation securedUser = new MockMethodInvocation(new ClassLevelAnnotations(),
+				ClassLevelAnnotations.class, "securedUser");
+		MockMethodInvocation doSomethingString = new MockMethodInvocation(new TestClass(), TestClass.class,
+				"doSomethingString", new Class[] { String.class }, new Object[] { "grant" });
+		MockMethodInvocation doSomething = new MockMethodInvocation(new TestClass(), TestClass.class, "doSomething",
+				new Class[] {}, new Object[] {});
+		PreAuthorizeAuthorizationManager manager = new PreAuthorizeAuthorizationManager();
+		List<AuthorizationResult> results = manager.authorizeAll(authentication,
+				List.of(securedAdmin, securedUser, securedAdmin, doSomethingString, doSomething));
+		assertThat(results).hasSize(5);
+		assertThat(results.get(0).isGranted()).isFalse();
+		assertThat(results.get(1).isGranted()).isTrue();
+		assertThat(results.get(2)).isSameAs(results.get(0));
+		assertThat(results.get(3).isGranted()).isTrue();
+		assertThat(results.get(4)).isNull();
+		assertThat(resolved).hasValue(1);
+	}
+
 	@Test
 	public void checkInheritedAnnotationsWhenConflictingThenAnnotationConfigurationException() throws Exception {
 		Supplier<Authentication> authentication = () -> new TestingAuthenticationToken("user", "password", "ROLE_USER");
@@ -150,6 +150,18 @@ public class PreFilterAuthorizationMethodInterceptorTests {
 		assertThat(list.get(0)).isEqualTo("john");
 	}
 
+	@Test
+	public void invokeWhenExpressionDoesNotReferToFilterObjectThenFiltersList() throws Throwable {
+		List<String> list = new ArrayList<>();
+		list.add("john");
+		list.add("bob");
+		MockMethodInvocation methodInvocation = new MockMethodInvocation(new TestClass(), TestClass.class,
+				"doSomethingListHasRoleAdmin", new Class[] { List.class }, new Object[] { list });
+		PreFilterAuthorizationMethodInterceptor advice = new PreFilterAuthorizationMethodInterceptor();
+		advice.invoke(methodInvocation);
+		assertThat(list).isEmpty();
+	}
+
 	@Test
 	public void findFilterTargetWhenNameNotProvidedAndSingleArgArrayThenException() throws Exception {
 		MockMethodInvocation methodInvocation = new MockMethodInvocation(new TestClass(), TestClass.class,
@@ -255,6 +267,11 @@ public class PreFilterAuthorizationMethodInterceptorTests {
 			return list;
 		}
 
+		@PreFilter("hasRole('ADMIN')")
+		public List<String> doSomethingListHasRoleAdmin(List<String> list) {
+			return list;
+		}
+
 		@Override
 		public void inheritedAnnotations() {
 
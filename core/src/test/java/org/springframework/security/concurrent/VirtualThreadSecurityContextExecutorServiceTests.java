@@ -0,0 +1,221 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.support.ExecutorServiceAdapter;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.MockSecurityContextHolderStrategy;
+import org.springframework.security.core.context.ScopedValueSecurityContextHolderStrategy;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link VirtualThreadSecurityContextExecutorService}
+ */
+public class VirtualThreadSecurityContextExecutorServiceTests {
+
+	private final Authentication authentication = new TestingAuthenticationToken("user", "password", "ROLE_USER");
+
+	private VirtualThreadSecurityContextExecutorService executor;
+
+	@BeforeEach
+	public void setUp() {
+		SecurityContextHolder.setContext(new SecurityContextImpl(this.authentication));
+		this.executor = new VirtualThreadSecurityContextExecutorService();
+	}
+
+	@AfterEach
+	public void cleanup() {
+		this.executor.shutdownNow();
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	public void constructorWhenNullDelegateThenException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new VirtualThreadSecurityContextExecutorService(null));
+	}
+
+	@Test
+	public void submitWhenCallableThenRunsWithCurrentContext() throws Exception {
+		Authentication result = this.executor.submit(() -> SecurityContextHolder.getContext().getAuthentication())
+			.get();
+		assertThat(result).isSameAs(this.authentication);
+	}
+
+	@Test
+	public void submitWhenTaskChangesAuthenticationThenException() {
+		Future<?> future = this.executor.submit(() -> SecurityContextHolder.getContext().setAuthentication(null));
+		assertThatExceptionOfType(ExecutionException.class).isThrownBy(future::get)
+			.withCauseInstanceOf(UnsupportedOperationException.class);
+		assertThat(SecurityContextHolder.getContext().getAuthentication()).isSameAs(this.authentication);
+	}
+
+	@Test
+	public void invokeAllWhenManyTasksThenShareOneContext() throws Exception {
+		Set<SecurityContext> contexts = ConcurrentHashMap.newKeySet();
+		List<Callable<Object>> tasks = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			tasks.add(() -> contexts.add(SecurityContextHolder.getContext()));
+		}
+		for (Future<Object> future : this.executor.invokeAll(tasks)) {
+			future.get();
+		}
+		assertThat(contexts).hasSize(1);
+		assertThat(contexts.iterator().next().getAuthentication()).isSameAs(this.authentication);
+	}
+
+	@Test
+	public void submitWhenSameContextThenSharesContext() throws Exception {
+		SecurityContext first = this.executor.submit(SecurityContextHolder::getContext).get();
+		SecurityContext second = this.executor.submit(SecurityContextHolder::getContext).get();
+		assertThat(second).isSameAs(first);
+	}
+
+	@Test
+	public void submitWhenContextChangedThenRunsWithNewContext() throws Exception {
+		SecurityContext first = this.executor.submit(SecurityContextHolder::getContext).get();
+		Authentication authentication = new TestingAuthenticationToken("admin", "password", "ROLE_ADMIN");
+		SecurityContextHolder.getContext().setAuthentication(authentication);
+		SecurityContext second = this.executor.submit(SecurityContextHolder::getContext).get();
+		assertThat(second).isNotSameAs(first);
+		assertThat(second.getAuthentication()).isSameAs(authentication);
+	}
+
+	@Test
+	public void submitWhenCustomContextThenEachTaskGetsOwnCopy() throws Exception {
+		SecurityContext custom = new SecurityContextImpl(this.authentication) {
+		};
+		SecurityContextHolder.setContext(custom);
+		Future<SecurityContext> first = this.executor.submit(() -> {
+			SecurityContext context = SecurityContextHolder.getContext();
+			context.setAuthentication(new TestingAuthenticationToken("admin", "password", "ROLE_ADMIN"));
+			return context;
+		});
+		SecurityContext changed = first.get();
+		SecurityContext second = this.executor.submit(SecurityContextHolder::getContext).get();
+		assertThat(changed).isNotSameAs(custom).isNotSameAs(second);
+		assertThat(second.getAuthentication()).isSameAs(this.authentication);
+		assertThat(custom.getAuthentication()).isSameAs(this.authentication);
+	}
+
+	@Test
+	public void forkWhenCompleteThenRestoresOriginalContext() throws Exception {
+		SecurityContext original = SecurityContextHolder.getContext();
+		VirtualThreadSecurityContextExecutorService inline = new VirtualThreadSecurityContextExecutorService(
+				new ExecutorServiceAdapter(new SyncTaskExecutor()));
+		SecurityContext context = new SecurityContextImpl(
+				new TestingAuthenticationToken("admin", "password", "ROLE_ADMIN"));
+		try (VirtualThreadSecurityContextExecutorService.TaskScope scope = inline.openScope(context)) {
+			Authentication result = scope.fork(() -> SecurityContextHolder.getContext().getAuthentication()).get();
+			assertThat(result).isSameAs(context.getAuthentication());
+		}
+		assertThat(SecurityContextHolder.getContext()).isSameAs(original);
+	}
+
+	@Test
+	public void submitWhenThreadHoldsSameContextThenDoesNotSetContext() throws Exception {
+		SecurityContextHolderStrategy strategy = spy(new MockSecurityContextHolderStrategy());
+		strategy.setContext(new SecurityContextImpl(this.authentication));
+		VirtualThreadSecurityContextExecutorService inline = new VirtualThreadSecurityContextExecutorService(
+				new ExecutorServiceAdapter(new SyncTaskExecutor()));
+		inline.setSecurityContextHolderStrategy(strategy);
+		Callable<Authentication> nested = () -> strategy.getContext().getAuthentication();
+		Authentication result = inline.submit(() -> inline.submit(nested).get()).get();
+		assertThat(result).isSameAs(this.authentication);
+		verify(strategy, times(1)).setDeferredContext(any());
+	}
+
+	@Test
+	public void submitWhenScopedValueStrategyThenRunsInScope() throws Exception {
+		ScopedValueSecurityContextHolderStrategy strategy = new ScopedValueSecurityContextHolderStrategy();
+		strategy.setContext(new SecurityContextImpl(this.authentication));
+		this.executor.setSecurityContextHolderStrategy(strategy);
+		boolean scopeBound = this.executor.submit(strategy::isScopeBound).get();
+		Authentication result = this.executor.submit(() -> strategy.getContext().getAuthentication()).get();
+		assertThat(scopeBound).isTrue();
+		assertThat(result).isSameAs(this.authentication);
+		assertThat(strategy.isScopeBound()).isFalse();
+		strategy.clearContext();
+	}
+
+	@Test
+	public void joinWhenSubtasksCompleteThenReturns() throws Exception {
+		try (VirtualThreadSecurityContextExecutorService.TaskScope scope = this.executor.openScope()) {
+			Future<Authentication> first = scope.fork(() -> SecurityContextHolder.getContext().getAuthentication());
+			Future<Authentication> second = scope.fork(() -> SecurityContextHolder.getContext().getAuthentication());
+			scope.join();
+			assertThat(first.get()).isSameAs(this.authentication);
+			assertThat(second.get()).isSameAs(this.authentication);
+		}
+	}
+
+	@Test
+	public void joinWhenSubtaskFailsThenCancelsOtherSubtasks() {
+		CountDownLatch latch = new CountDownLatch(1);
+		try (VirtualThreadSecurityContextExecutorService.TaskScope scope = this.executor.openScope()) {
+			Future<?> blocked = scope.fork(() -> {
+				latch.await();
+				return null;
+			});
+			scope.fork(() -> {
+				throw new IllegalStateException("failed");
+			});
+			assertThatExceptionOfType(ExecutionException.class).isThrownBy(scope::join)
+				.withCauseInstanceOf(IllegalStateException.class);
+			assertThat(blocked.isCancelled()).isTrue();
+		}
+	}
+
+	@Test
+	public void forkWhenClosedThenException() {
+		VirtualThreadSecurityContextExecutorService.TaskScope scope = this.executor.openScope();
+		scope.close();
+		assertThatIllegalStateException().isThrownBy(() -> scope.fork(() -> null));
+	}
+
+	@Test
+	public void setSecurityContextHolderStrategyWhenNullThenException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.executor.setSecurityContextHolderStrategy(null));
+	}
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.context;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.core.Authentication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class ScopedValueSecurityContextHolderStrategyTests {
+
+	ScopedValueSecurityContextHolderStrategy strategy = new ScopedValueSecurityContextHolderStrategy();
+
+	@AfterEach
+	void clearContext() {
+		this.strategy.clearContext();
+	}
+
+	@Test
+	void deferredNotInvoked() {
+		Supplier<SecurityContext> deferredContext = mock(Supplier.class);
+		this.strategy.setDeferredContext(deferredContext);
+		this.strategy.runWhere(deferredContext, () -> {
+		});
+		verifyNoInteractions(deferredContext);
+	}
+
+	@Test
+	void contextWhenNotInScopeThenThreadLocal() {
+		SecurityContext context = new SecurityContextImpl(mock(Authentication.class));
+		this.strategy.setContext(context);
+		assertThat(this.strategy.isScopeBound()).isFalse();
+		assertThat(this.strategy.getContext()).isEqualTo(context);
+		assertThat(this.strategy.getDeferredContext().get()).isEqualTo(context);
+		this.strategy.clearContext();
+		assertThat(this.strategy.getContext().getAuthentication()).isNull();
+	}
+
+	@Test
+	void runWhereThenContextBoundToScope() {
+		SecurityContext outer = new SecurityContextImpl(mock(Authentication.class));
+		SecurityContext scoped = new SecurityContextImpl(mock(Authentication.class));
+		this.strategy.setContext(outer);
+		this.strategy.runWhere(() -> scoped, () -> {
+			assertThat(this.strategy.isScopeBound()).isTrue();
+			assertThat(this.strategy.getContext()).isEqualTo(scoped);
+		});
+		assertThat(this.strategy.isScopeBound()).isFalse();
+		assertThat(this.strategy.getContext()).isEqualTo(outer);
+	}
+
+	@Test
+	void setContextWhenInScopeThenChangesOnlyScope() {
+		SecurityContext outer = new SecurityContextImpl(mock(Authentication.class));
+		SecurityContext changed = new SecurityContextImpl(mock(Authentication.class));
+		this.strategy.setContext(outer);
+		this.strategy.runWhere(SecurityContextImpl::new, () -> {
+			this.strategy.setContext(changed);
+			assertThat(this.strategy.getContext()).isEqualTo(changed);
+			this.strategy.clearContext();
+			assertThat(this.strategy.getContext().getAuthentication()).isNull();
+			assertThat(this.strategy.getContext()).isSameAs(this.strategy.getContext());
+		});
+		assertThat(this.strategy.getContext()).isEqualTo(outer);
+	}
+
+	@Test
+	void runWhereWhenNestedThenRestoresEnclosingScope() {
+		SecurityContext first = new SecurityContextImpl(mock(Authentication.class));
+		SecurityContext second = new SecurityContextImpl(mock(Authentication.class));
+		this.strategy.runWhere(() -> first, () -> {
+			this.strategy.runWhere(() -> second, () -> assertThat(this.strategy.getContext()).isEqualTo(second));
+			assertThat(this.strategy.getContext()).isEqualTo(first);
+		});
+	}
+
+	@Test
+	void runWhereWhenOperationThrowsThenScopeEnds() {
+		assertThatExceptionOfType(IllegalStateException.class)
+			.isThrownBy(() -> this.strategy.runWhere(SecurityContextImpl::new, () -> {
+				throw new IllegalStateException();
+			}));
+		assertThat(this.strategy.isScopeBound()).isFalse();
+	}
+
+	@Test
+	void setContextWhenOtherThreadThenDoesNotChangeScope() throws Exception {
+		SecurityContext scoped = new SecurityContextImpl(mock(Authentication.class));
+		SecurityContext other = new SecurityContextImpl(mock(Authentication.class));
+		AtomicReference<SecurityContext> seen = new AtomicReference<>();
+		this.strategy.runWhere(() -> scoped, () -> {
+			Thread thread = new Thread(() -> {
+				this.strategy.setContext(other);
+				seen.set(this.strategy.getContext());
+				this.strategy.clearContext();
+			});
+			thread.start();
+			try {
+				thread.join();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			assertThat(this.strategy.getContext()).isEqualTo(scoped);
+		});
+		assertThat(seen.get()).isEqualTo(other);
+	}
+
+	@Test
+	void deferredContextValidates() {
+		this.strategy.runWhere(() -> null, () -> {
+			Supplier<SecurityContext> deferredContext = this.strategy.getDeferredContext();
+			assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(deferredContext::get);
+		});
+	}
+
+	@Test
+	void contextValidates() {
+		assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> this.strategy.setContext(null));
+	}
+
+	@Test
+	void securityContextHolderWhenScopedValueModeThenUsesStrategy() {
+		SecurityContextHolderStrategy original = SecurityContextHolder.getContextHolderStrategy();
+		try {
+			SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_SCOPED_VALUE);
+			assertThat(SecurityContextHolder.getContextHolderStrategy())
+				.isInstanceOf(ScopedValueSecurityContextHolderStrategy.class);
+		}
+		finally {
+			SecurityContextHolder.setContextHolderStrategy(original);
+		}
+	}
+
+}
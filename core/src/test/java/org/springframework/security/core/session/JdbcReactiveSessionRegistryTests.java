@@ -0,0 +1,133 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.session;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link JdbcReactiveSessionRegistry}
+ */
+class JdbcReactiveSessionRegistryTests {
+
+	private static final String SESSION_REGISTRY_SQL_RESOURCE = "org/springframework/security/core/session/jdbc/session-registry-schema.sql";
+
+	private EmbeddedDatabase db;
+
+	private JdbcSessionRegistry jdbcSessionRegistry;
+
+	private JdbcReactiveSessionRegistry sessionRegistry;
+
+	@BeforeEach
+	void setUp() {
+		// @formatter:off
+		this.db = new EmbeddedDatabaseBuilder()
+				.generateUniqueName(true)
+				.setType(EmbeddedDatabaseType.HSQL)
+				.setScriptEncoding("UTF-8")
+				.addScript(SESSION_REGISTRY_SQL_RESOURCE)
+				.build();
+		// @formatter:on
+		this.jdbcSessionRegistry = new JdbcSessionRegistry(new JdbcTemplate(this.db));
+		this.sessionRegistry = new JdbcReactiveSessionRegistry(this.jdbcSessionRegistry);
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.jdbcSessionRegistry.destroy();
+		this.db.shutdown();
+	}
+
+	@Test
+	void constructorWhenSessionRegistryIsNullThenThrowIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new JdbcReactiveSessionRegistry(null));
+	}
+
+	@Test
+	void saveSessionInformationThenSessionIsStored() {
+		Instant lastAccessTime = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+		ReactiveSessionInformation information = new ReactiveSessionInformation("principal", "1234", lastAccessTime);
+		StepVerifier.create(this.sessionRegistry.saveSessionInformation(information)).verifyComplete();
+		StepVerifier.create(this.sessionRegistry.getSessionInformation("1234"))
+			.assertNext((session) -> {
+				assertThat(session.getPrincipal()).isEqualTo("principal");
+				assertThat(session.getLastAccessTime()).isEqualTo(lastAccessTime);
+			})
+			.verifyComplete();
+		StepVerifier.create(this.sessionRegistry.getAllSessions("principal"))
+			.assertNext((session) -> assertThat(session.getSessionId()).isEqualTo("1234"))
+			.verifyComplete();
+	}
+
+	@Test
+	void invalidateThenSessionIsExpired() {
+		this.jdbcSessionRegistry.registerNewSession("1234", "principal");
+		StepVerifier
+			.create(this.sessionRegistry.getSessionInformation("1234").flatMap(ReactiveSessionInformation::invalidate))
+			.verifyComplete();
+		assertThat(this.jdbcSessionRegistry.getSessionInformation("1234").isExpired()).isTrue();
+		StepVerifier.create(this.sessionRegistry.getSessionInformation("1234"))
+			.assertNext((session) -> assertThat(session.isExpired()).isTrue())
+			.verifyComplete();
+	}
+
+	@Test
+	void updateLastAccessTimeThenWrittenWhenFlushed() {
+		this.jdbcSessionRegistry.registerNewSession("1234", "principal");
+		StepVerifier.create(this.sessionRegistry.updateLastAccessTime("1234"))
+			.assertNext((session) -> assertThat(session.getSessionId()).isEqualTo("1234"))
+			.verifyComplete();
+		assertThat(this.jdbcSessionRegistry.flushLastRequests()).isEqualTo(1);
+	}
+
+	@Test
+	void updateLastAccessTimeWhenClockSetThenUsesClock() {
+		Instant now = Instant.parse("2020-01-01T00:00:00Z");
+		this.jdbcSessionRegistry.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		this.jdbcSessionRegistry.registerNewSession("1234", "principal");
+		StepVerifier.create(this.sessionRegistry.updateLastAccessTime("1234"))
+			.assertNext((session) -> assertThat(session.getLastAccessTime()).isEqualTo(now))
+			.verifyComplete();
+		assertThat(this.jdbcSessionRegistry.flushLastRequests()).isEqualTo(1);
+		assertThat(this.jdbcSessionRegistry.getSessionInformation("1234").getLastRequest().toInstant()).isEqualTo(now);
+	}
+
+	@Test
+	void removeSessionInformationThenSessionRemoved() {
+		this.jdbcSessionRegistry.registerNewSession("1234", "principal");
+		StepVerifier.create(this.sessionRegistry.removeSessionInformation("1234"))
+			.assertNext((session) -> assertThat(session.getSessionId()).isEqualTo("1234"))
+			.verifyComplete();
+		StepVerifier.create(this.sessionRegistry.getSessionInformation("1234")).verifyComplete();
+	}
+
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.session;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.userdetails.PasswordEncodedUser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link JdbcSessionRegistry}
+ */
+class JdbcSessionRegistryTests {
+
+	private static final String SESSION_REGISTRY_SQL_RESOURCE = "org/springframework/security/core/session/jdbc/session-registry-schema.sql";
+
+	private final Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+	private EmbeddedDatabase db;
+
+	private JdbcOperations jdbcOperations;
+
+	private JdbcSessionRegistry sessionRegistry;
+
+	@BeforeEach
+	void setUp() {
+		this.db = createDb();
+		this.jdbcOperations = new JdbcTemplate(this.db);
+		this.sessionRegistry = new JdbcSessionRegistry(this.jdbcOperations);
+		this.sessionRegistry.setClock(Clock.fixed(this.now, ZoneOffset.UTC));
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.sessionRegistry.destroy();
+		this.db.shutdown();
+	}
+
+	private static EmbeddedDatabase createDb() {
+		// @formatter:off
+		return new EmbeddedDatabaseBuilder()
+				.generateUniqueName(true)
+				.setType(EmbeddedDatabaseType.HSQL)
+				.setScriptEncoding("UTF-8")
+				.addScript(SESSION_REGISTRY_SQL_RESOURCE)
+				.build();
+		// @formatter:on
+	}
+
+	@Test
+	void constructorWhenJdbcOperationsIsNullThenThrowIllegalArgumentException() {
+		// @formatter:off
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> new JdbcSessionRegistry(null))
+				.withMessage("jdbcOperations cannot be null");
+		// @formatter:on
+	}
+
+	@Test
+	void registerNewSessionThenSessionIsStoredByPrincipalName() {
+		this.sessionRegistry.registerNewSession("1234", PasswordEncodedUser.user());
+		SessionInformation info = this.sessionRegistry.getSessionInformation("1234");
+		assertThat(info.getPrincipal()).isEqualTo("user");
+		assertThat(info.getLastRequest().toInstant()).isEqualTo(this.now);
+		assertThat(info.isExpired()).isFalse();
+		assertThat(this.sessionRegistry.getAllPrincipals()).containsExactly("user");
+		assertThat(this.sessionRegistry.getAllSessions(PasswordEncodedUser.user(), false))
+			.extracting(SessionInformation::getSessionId)
+			.containsExactly("1234");
+	}
+
+	@Test
+	void registerNewSessionWhenSessionIdExistsThenReplacesSession() {
+		this.sessionRegistry.registerNewSession("1234", "principal");
+		this.sessionRegistry.registerNewSession("1234", "other");
+		assertThat(this.sessionRegistry.getAllPrincipals()).containsExactly("other");
+	}
+
+	@Test
+	void expireNowThenSessionIsExpiredForEveryNode() {
+		this.sessionRegistry.registerNewSession("1234", "principal");
+		this.sessionRegistry.registerNewSession("5678", "principal");
+		this.sessionRegistry.getSessionInformation("1234").expireNow();
+		JdbcSessionRegistry otherNode = new JdbcSessionRegistry(this.jdbcOperations);
+		assertThat(otherNode.getSessionInformation("1234").isExpired()).isTrue();
+		assertThat(otherNode.getAllSessions("principal", false)).extracting(SessionInformation::getSessionId)
+			.containsExactly("5678");
+		assertThat(otherNode.getAllSessions("principal", true)).hasSize(2);
+	}
+
+	@Test
+	void refreshLastRequestThenWrittenOnlyWhenFlushed() {
+		this.sessionRegistry.registerNewSession("1234", "principal");
+		Instant later = this.now.plusSeconds(5);
+		this.sessionRegistry.setClock(Clock.fixed(later, ZoneOffset.UTC));
+		this.sessionRegistry.refreshLastRequest("1234");
+		this.sessionRegistry.refreshLastRequest("1234");
+		assertThat(this.sessionRegistry.getSessionInformation("1234").getLastRequest().toInstant()).isEqualTo(later);
+		JdbcSessionRegistry otherNode = new JdbcSessionRegistry(this.jdbcOperations);
+		assertThat(otherNode.getSessionInformation("1234").getLastRequest().toInstant()).isEqualTo(this.now);
+		assertThat(this.sessionRegistry.flushLastRequests()).isEqualTo(1);
+		assertThat(otherNode.getSessionInformation("1234").getLastRequest().toInstant()).isEqualTo(later);
+		assertThat(this.sessionRegistry.flushLastRequests()).isZero();
+	}
+
+	@Test
+	void removeSessionInformationThenSessionRemoved() {
+		this.sessionRegistry.registerNewSession("1234", "principal");
+		this.sessionRegistry.refreshLastRequest("1234");
+		this.sessionRegistry.removeSessionInformation("1234");
+		assertThat(this.sessionRegistry.getSessionInformation("1234")).isNull();
+		assertThat(this.sessionRegistry.getAllPrincipals()).isEmpty();
+		assertThat(this.sessionRegistry.flushLastRequests()).isZero();
+	}
+
+	@Test
+	void onApplicationEventWhenSessionDestroyedThenSessionRemoved() {
+		this.sessionRegistry.registerNewSession("1234", "principal");
+		this.sessionRegistry.onApplicationEvent(new SessionDestroyedEvent("") {
+			@Override
+			public String getId() {
+				return "1234";
+			}
+
+			@Override
+			public List<SecurityContext> getSecurityContexts() {
+				return null;
+			}
+		});
+		assertThat(this.sessionRegistry.getSessionInformation("1234")).isNull();
+	}
+
+	@Test
+	void onApplicationEventWhenSessionIdChangedThenSessionMoved() {
+		this.sessionRegistry.registerNewSession("1234", "principal");
+		this.sessionRegistry.onApplicationEvent(new SessionIdChangedEvent("") {
+			@Override
+			public String getOldSessionId() {
+				return "1234";
+			}
+
+			@Override
+			public String getNewSessionId() {
+				return "5678";
+			}
+		});
+		assertThat(this.sessionRegistry.getSessionInformation("1234")).isNull();
+		assertThat(this.sessionRegistry.getSessionInformation("5678").getPrincipal()).isEqualTo("principal");
+	}
+
+	@Test
+	void cleanupInactiveSessionsThenInactiveSessionsDeleted() {
+		this.sessionRegistry.registerNewSession("1234", "principal");
+		this.sessionRegistry.registerNewSession("5678", "principal");
+		Instant later = this.now.plus(Duration.ofMinutes(20));
+		this.sessionRegistry.setClock(Clock.fixed(later, ZoneOffset.UTC));
+		this.sessionRegistry.refreshLastRequest("5678");
+		this.sessionRegistry.setClock(Clock.fixed(this.now.plus(Duration.ofMinutes(31)), ZoneOffset.UTC));
+		assertThat(this.sessionRegistry.getSessionInformation("1234")).isNull();
+		assertThat(this.sessionRegistry.cleanupInactiveSessions()).isEqualTo(1);
+		assertThat(this.sessionRegistry.getSessionInformation("5678").getLastRequest().toInstant()).isEqualTo(later);
+	}
+
+}
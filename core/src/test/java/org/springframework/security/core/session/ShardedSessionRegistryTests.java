@@ -0,0 +1,206 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.session;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.core.context.SecurityContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link ShardedSessionRegistry}
+ */
+public class ShardedSessionRegistryTests {
+
+	private final ShardedSessionRegistry sessionRegistry = new ShardedSessionRegistry();
+
+	@Test
+	public void constructorWhenNoShardsThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new ShardedSessionRegistry(0));
+	}
+
+	@Test
+	public void registerNewSessionThenSessionIsRegistered() {
+		this.sessionRegistry.registerNewSession("1234", "principal");
+		SessionInformation info = this.sessionRegistry.getSessionInformation("1234");
+		assertThat(info.getPrincipal()).isEqualTo("principal");
+		assertThat(this.sessionRegistry.getAllPrincipals()).containsExactly("principal");
+		assertThat(this.sessionRegistry.getAllSessions("principal", false)).containsExactly(info);
+	}
+
+	@Test
+	public void registerNewSessionWhenSessionIdExistsThenReplacesSession() {
+		this.sessionRegistry.registerNewSession("1234", "principal");
+		this.sessionRegistry.registerNewSession("1234", "other");
+		assertThat(this.sessionRegistry.getAllSessions("principal", true)).isEmpty();
+		assertThat(this.sessionRegistry.getAllPrincipals()).containsExactly("other");
+		assertThat(this.sessionRegistry.getSessionInformation("1234").getPrincipal()).isEqualTo("other");
+	}
+
+	@Test
+	public void getAllSessionsWhenExpiredThenIncludedOnlyWhenRequested() {
+		this.sessionRegistry.registerNewSession("1234", "principal");
+		this.sessionRegistry.registerNewSession("5678", "principal");
+		this.sessionRegistry.getSessionInformation("1234").expireNow();
+		assertThat(this.sessionRegistry.getAllSessions("principal", false)).extracting(SessionInformation::getSessionId)
+			.containsExactly("5678");
+		assertThat(this.sessionRegistry.getAllSessions("principal", true)).hasSize(2);
+	}
+
+	@Test
+	public void removeSessionInformationWhenLastSessionThenPrincipalRemoved() {
+		this.sessionRegistry.registerNewSession("1234", "principal");
+		this.sessionRegistry.removeSessionInformation("1234");
+		assertThat(this.sessionRegistry.getSessionInformation("1234")).isNull();
+		assertThat(this.sessionRegistry.getAllPrincipals()).isEmpty();
+	}
+
+	@Test
+	public void onApplicationEventWhenSessionDestroyedThenSessionRemoved() {
+		this.sessionRegistry.registerNewSession("1234", "principal");
+		this.sessionRegistry.onApplicationEvent(new SessionDestroyedEvent("") {
+			@Override
+			public String getId() {
+				return "1234";
+			}
+
+			@Override
+			public List<SecurityContext> getSecurityContexts() {
+				return null;
+			}
+		});
+		assertThat(this.sessionRegistry.getSessionInformation("1234")).isNull();
+	}
+
+	@Test
+	public void onApplicationEventWhenSessionIdChangedThenSessionMoved() {
+		this.sessionRegistry.registerNewSession("1234", "principal");
+		this.sessionRegistry.onApplicationEvent(new SessionIdChangedEvent("") {
+			@Override
+			public String getOldSessionId() {
+				return "1234";
+			}
+
+			@Override
+			public String getNewSessionId() {
+				return "5678";
+			}
+		});
+		assertThat(this.sessionRegistry.getSessionInformation("1234")).isNull();
+		assertThat(this.sessionRegistry.getSessionInformation("5678").getPrincipal()).isEqualTo("principal");
+	}
+
+	@Test
+	public void getSessionInformationWhenInactiveThenEvicted() {
+		Instant now = Instant.now();
+		this.sessionRegistry.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		this.sessionRegistry.registerNewSession("1234", "principal");
+		this.sessionRegistry.setClock(Clock.fixed(now.plus(Duration.ofMinutes(31)), ZoneOffset.UTC));
+		assertThat(this.sessionRegistry.getSessionInformation("1234")).isNull();
+		assertThat(this.sessionRegistry.getAllPrincipals()).isEmpty();
+	}
+
+	@Test
+	public void getSessionInformationWhenMaxInactiveIntervalNullThenNotEvicted() {
+		Instant now = Instant.now();
+		this.sessionRegistry.setMaxInactiveInterval(null);
+		this.sessionRegistry.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		this.sessionRegistry.registerNewSession("1234", "principal");
+		this.sessionRegistry.setClock(Clock.fixed(now.plus(Duration.ofDays(1)), ZoneOffset.UTC));
+		assertThat(this.sessionRegistry.getSessionInformation("1234")).isNotNull();
+	}
+
+	@Test
+	public void registerNewSessionWhenEvictionDueThenInactiveSessionsEvicted() {
+		Instant now = Instant.now();
+		this.sessionRegistry.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		this.sessionRegistry.registerNewSession("1234", "principal");
+		this.sessionRegistry.setClock(Clock.fixed(now.plus(Duration.ofMinutes(31)), ZoneOffset.UTC));
+		this.sessionRegistry.registerNewSession("5678", "other");
+		assertThat(this.sessionRegistry.getAllPrincipals()).containsExactly("other");
+	}
+
+	@Test
+	public void evictInactiveSessionsThenReturnsEvictedCount() {
+		Instant now = Instant.now();
+		this.sessionRegistry.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		this.sessionRegistry.registerNewSession("1234", "principal");
+		this.sessionRegistry.registerNewSession("5678", "principal");
+		this.sessionRegistry.setClock(Clock.fixed(now.plus(Duration.ofMinutes(31)), ZoneOffset.UTC));
+		assertThat(this.sessionRegistry.evictInactiveSessions()).isEqualTo(2);
+		assertThat(this.sessionRegistry.getAllPrincipals()).isEmpty();
+	}
+
+	@Test
+	public void registerAndRemoveWhenConcurrentThenConsistent() throws Exception {
+		ShardedSessionRegistry sessionRegistry = new ShardedSessionRegistry(4);
+		int threads = 8;
+		int sessionsPerThread = 2000;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				int thread = t;
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < sessionsPerThread; i++) {
+						String principal = "user" + (i % 10);
+						String sessionId = thread + "-" + i;
+						sessionRegistry.registerNewSession(sessionId, principal);
+						sessionRegistry.getAllSessions(principal, false);
+						if (i % 2 == 0) {
+							sessionRegistry.removeSessionInformation(sessionId);
+						}
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		int sessions = 0;
+		for (Object principal : sessionRegistry.getAllPrincipals()) {
+			for (SessionInformation info : sessionRegistry.getAllSessions(principal, true)) {
+				assertThat(info.getPrincipal()).isEqualTo(principal);
+				sessions++;
+			}
+		}
+		assertThat(sessions).isEqualTo(threads * sessionsPerThread / 2);
+		assertThat(sessionRegistry.getAllPrincipals()).hasSize(10);
+	}
+
+}
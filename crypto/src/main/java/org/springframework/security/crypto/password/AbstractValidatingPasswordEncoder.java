@@ -36,7 +36,11 @@ public abstract class AbstractValidatingPasswordEncoder implements PasswordEncod
 				|| encodedPassword.length() == 0) {
 			return false;
 		}
-		return matchesNonNull(rawPassword.toString(), encodedPassword);
+		PasswordMatchJfrEvent event = new PasswordMatchJfrEvent();
+		event.begin();
+		boolean matched = matchesNonNull(rawPassword.toString(), encodedPassword);
+		event.record(this, matched);
+		return matched;
 	}
 
 	protected abstract boolean matchesNonNull(String rawPassword, String encodedPassword);
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.crypto.password;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A Java Flight Recorder event for {@link PasswordEncoder#matches}. It is disabled by
+ * default and can be enabled in a recording's settings.
+ *
+ * @since 7.0
+ */
+@Name("org.springframework.security.PasswordMatch")
+@Label("Password Match")
+@Description("A PasswordEncoder compared a raw password with an encoded password")
+@Category({ "Spring Security", "Crypto" })
+@Enabled(false)
+@StackTrace(false)
+final class PasswordMatchJfrEvent extends Event {
+
+	@Label("Password Encoder")
+	@Nullable String passwordEncoder;
+
+	@Label("Matched")
+	boolean matched;
+
+	void record(PasswordEncoder passwordEncoder, boolean matched) {
+		if (shouldCommit()) {
+			this.passwordEncoder = passwordEncoder.getClass().getName();
+			this.matched = matched;
+			commit();
+		}
+	}
+
+}
@@ -16,7 +16,17 @@
 
 package org.springframework.security.crypto.password;
 
+import java.nio.file.Path;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 /**
  * Test {@link AbstractValidatingPasswordEncoder}.
@@ -40,4 +50,32 @@ class AbstractValidatingPasswordEncoderTests extends AbstractPasswordEncoderVali
 		});
 	}
 
+	@Test
+	void matchesWhenFlightRecorderEventEnabledThenRecords(@TempDir Path dir) throws Exception {
+		PasswordEncoder encoder = new AbstractValidatingPasswordEncoder() {
+			@Override
+			protected String encodeNonNullPassword(String rawPassword) {
+				return rawPassword;
+			}
+
+			@Override
+			protected boolean matchesNonNull(String rawPassword, String encodedPassword) {
+				return rawPassword.equals(encodedPassword);
+			}
+		};
+		Path dump = dir.resolve("recording.jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable("org.springframework.security.PasswordMatch");
+			recording.start();
+			assertThat(encoder.matches("password", "password")).isTrue();
+			recording.stop();
+			recording.dump(dump);
+		}
+		List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+		assertThat(events).singleElement().satisfies((event) -> {
+			assertThat(event.getString("passwordEncoder")).isEqualTo(encoder.getClass().getName());
+			assertThat(event.getBoolean("matched")).isTrue();
+		});
+	}
+
 }
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.util.Assert;
+
+/**
+ * Aggregated timings of the filters in a security filter chain, keyed by the simple class
+ * name of each filter.
+ *
+ * <p>
+ * Each {@link FilterTiming} is registered once, the first time that its filter is
+ * invoked, and from then on is updated without locking or allocating. Durations are
+ * counted into a histogram of exponentially growing buckets, from under a microsecond to
+ * several seconds, so that percentiles can be approximated at the cost of one atomic
+ * increment per recorded duration.
+ *
+ * @since 7.0
+ * @see MetricsFilterChainDecorator
+ * @see org.springframework.security.web.server.MetricsWebFilterChainDecorator
+ */
+public final class FilterChainMetrics {
+
+	private static final int BUCKETS = 24;
+
+	private static final int MIN_BUCKET_SHIFT = 10;
+
+	private final ConcurrentMap<String, FilterTiming> timings = new ConcurrentHashMap<>();
+
+	/**
+	 * Get the {@link FilterTiming} with the given name, registering it if needed
+	 * @param name the filter name
+	 * @return the {@link FilterTiming}
+	 */
+	public FilterTiming timing(String name) {
+		Assert.hasText(name, "name cannot be empty");
+		return this.timings.computeIfAbsent(name, FilterTiming::new);
+	}
+
+	/**
+	 * Get every registered {@link FilterTiming}
+	 * @return the registered timings, keyed by filter name
+	 */
+	public Map<String, FilterTiming> getTimings() {
+		return Collections.unmodifiableMap(this.timings);
+	}
+
+	/**
+	 * The aggregated timings of a single filter. A filter's time excludes the time spent
+	 * in the rest of the chain that it invokes.
+	 */
+	public static final class FilterTiming {
+
+		private final String name;
+
+		private final LongAdder count = new LongAdder();
+
+		private final LongAdder totalNanos = new LongAdder();
+
+		private final AtomicLong maxNanos = new AtomicLong();
+
+		private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+		private FilterTiming(String name) {
+			this.name = name;
+		}
+
+		/**
+		 * Record a single invocation of the filter
+		 * @param nanos the time that the invocation took, in nanoseconds
+		 */
+		public void record(long nanos) {
+			long duration = Math.max(nanos, 0);
+			this.count.increment();
+			this.totalNanos.add(duration);
+			if (duration > this.maxNanos.get()) {
+				this.maxNanos.accumulateAndGet(duration, Math::max);
+			}
+			this.buckets.incrementAndGet(bucket(duration));
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		/**
+		 * Get the number of recorded invocations
+		 * @return the number of recorded invocations
+		 */
+		public long getCount() {
+			return this.count.sum();
+		}
+
+		/**
+		 * Get the total time of the recorded invocations
+		 * @param unit the unit to express the time in
+		 * @return the total time
+		 */
+		public double getTotalTime(TimeUnit unit) {
+			return toUnit(this.totalNanos.sum(), unit);
+		}
+
+		/**
+		 * Get the longest recorded invocation
+		 * @param unit the unit to express the time in
+		 * @return the longest time
+		 */
+		public double getMax(TimeUnit unit) {
+			return toUnit(this.maxNanos.get(), unit);
+		}
+
+		/**
+		 * Get the mean time of the recorded invocations
+		 * @param unit the unit to express the time in
+		 * @return the mean time, or {@code 0} if nothing was recorded
+		 */
+		public double getMean(TimeUnit unit) {
+			long count = this.count.sum();
+			return (count != 0) ? getTotalTime(unit) / count : 0;
+		}
+
+		/**
+		 * Approximate a percentile of the recorded invocations by the upper bound of the
+		 * histogram bucket that contains it
+		 * @param percentile the percentile, between {@code 0} and {@code 1}
+		 * @param unit the unit to express the time in
+		 * @return the approximated percentile, or {@code 0} if nothing was recorded
+		 */
+		public double getPercentile(double percentile, TimeUnit unit) {
+			Assert.isTrue(percentile >= 0 && percentile <= 1, "percentile must be between 0 and 1");
+			long[] counts = new long[BUCKETS];
+			long total = 0;
+			for (int i = 0; i < BUCKETS; i++) {
+				counts[i] = this.buckets.get(i);
+				total += counts[i];
+			}
+			if (total == 0) {
+				return 0;
+			}
+			long rank = (long) Math.ceil(percentile * total);
+			long seen = 0;
+			for (int i = 0; i < BUCKETS - 1; i++) {
+				seen += counts[i];
+				if (seen >= rank && seen > 0) {
+					return toUnit(Math.min(upperBound(i), this.maxNanos.get()), unit);
+				}
+			}
+			return getMax(unit);
+		}
+
+		/**
+		 * Get the histogram of the recorded invocations. The last bucket counts every
+		 * invocation that exceeded the previous bucket.
+		 * @return the number of invocations, keyed by the exclusive upper bound of their
+		 * bucket
+		 */
+		public Map<Duration, Long> getHistogram() {
+			Map<Duration, Long> histogram = new LinkedHashMap<>();
+			for (int i = 0; i < BUCKETS; i++) {
+				Duration bound = (i < BUCKETS - 1) ? Duration.ofNanos(upperBound(i)) : ChronoUnit.FOREVER.getDuration();
+				histogram.put(bound, this.buckets.get(i));
+			}
+			return histogram;
+		}
+
+		private static int bucket(long nanos) {
+			int bucket = 64 - Long.numberOfLeadingZeros(nanos >>> MIN_BUCKET_SHIFT);
+			return Math.min(bucket, BUCKETS - 1);
+		}
+
+		private static long upperBound(int bucket) {
+			return 1L << (bucket + MIN_BUCKET_SHIFT);
+		}
+
+		private static double toUnit(long nanos, TimeUnit unit) {
+			return (double) nanos / TimeUnit.NANOSECONDS.convert(1, unit);
+		}
+
+	}
+
+}
@@ -17,7 +17,9 @@
 package org.springframework.security.web;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 
@@ -32,6 +34,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.core.log.LogMessage;
+import org.springframework.http.server.RequestPath;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.security.web.access.PathPatternRequestTransformer;
@@ -41,12 +44,17 @@ import org.springframework.security.web.firewall.HttpStatusRequestRejectedHandle
 import org.springframework.security.web.firewall.RequestRejectedException;
 import org.springframework.security.web.firewall.RequestRejectedHandler;
 import org.springframework.security.web.firewall.StrictHttpFirewall;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.PathPrefixIndex;
 import org.springframework.security.web.util.ThrowableAnalyzer;
 import org.springframework.security.web.util.UrlUtils;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
 import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.util.Assert;
 import org.springframework.web.filter.DelegatingFilterProxy;
 import org.springframework.web.filter.GenericFilterBean;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPattern;
 
 /**
  * Delegates {@code Filter} requests to a list of Spring-managed filter beans. As of
@@ -97,6 +105,10 @@ import org.springframework.web.filter.GenericFilterBean;
  * entered against the respective entry. The {@code FilterChainProxy} will not iterate
  * through the remainder of the map entries to locate additional {@code Filter}s.
  * <p>
+ * Applications with many filter chains can call {@link #setIndexFilterChains(boolean)}
+ * so that chains which cannot match the request's path are skipped without being
+ * evaluated. The first matching chain is still the one that is used.
+ * <p>
  * {@code FilterChainProxy} respects normal handling of {@code Filter}s that elect not to
  * call
  * {@link jakarta.servlet.Filter#doFilter(jakarta.servlet.ServletRequest, jakarta.servlet.ServletResponse, jakarta.servlet.FilterChain)}
@@ -163,6 +175,10 @@ public class FilterChainProxy extends GenericFilterBean {
 
 	private FilterChainDecorator filterChainDecorator = new VirtualFilterChainDecorator();
 
+	private SecurityFilterChain[] indexedFilterChains;
+
+	private PathPrefixIndex filterChainIndex;
+
 	public FilterChainProxy() {
 	}
 
@@ -211,7 +227,10 @@ public class FilterChainProxy extends GenericFilterBean {
 			throws IOException, ServletException {
 		FirewalledRequest firewallRequest = this.firewall.getFirewalledRequest((HttpServletRequest) request);
 		HttpServletResponse firewallResponse = this.firewall.getFirewalledResponse((HttpServletResponse) response);
+		FilterChainSelectionJfrEvent selection = new FilterChainSelectionJfrEvent();
+		selection.begin();
 		List<Filter> filters = getFilters(firewallRequest);
+		selection.record(firewallRequest, filters);
 		if (filters == null || filters.isEmpty()) {
 			if (logger.isTraceEnabled()) {
 				logger.trace(LogMessage.of(() -> "No security for " + requestLine(firewallRequest)));
@@ -240,6 +259,9 @@ public class FilterChainProxy extends GenericFilterBean {
 	 * @return an ordered array of Filters defining the filter chain
 	 */
 	private List<Filter> getFilters(HttpServletRequest request) {
+		if (this.filterChainIndex != null) {
+			return getIndexedFilters(request);
+		}
 		int count = 0;
 		for (SecurityFilterChain chain : this.filterChains) {
 			if (logger.isTraceEnabled()) {
@@ -253,6 +275,31 @@ public class FilterChainProxy extends GenericFilterBean {
 		return null;
 	}
 
+	private List<Filter> getIndexedFilters(HttpServletRequest request) {
+		boolean parsed = ServletRequestPathUtils.hasParsedRequestPath(request);
+		RequestPath path = parsed ? ServletRequestPathUtils.getParsedRequestPath(request)
+				: ServletRequestPathUtils.parseAndCache(request);
+		try {
+			BitSet candidates = this.filterChainIndex.candidates(path.pathWithinApplication());
+			for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+				SecurityFilterChain chain = this.indexedFilterChains[i];
+				if (logger.isTraceEnabled()) {
+					logger.trace(LogMessage.format("Trying to match request against %s (%d/%d)", chain, i + 1,
+							this.indexedFilterChains.length));
+				}
+				if (chain.matches(request)) {
+					return chain.getFilters();
+				}
+			}
+			return null;
+		}
+		finally {
+			if (!parsed) {
+				ServletRequestPathUtils.clearParsedRequestPath(request);
+			}
+		}
+	}
+
 	/**
 	 * Convenience method, mainly for testing.
 	 * @param url the URL
@@ -272,6 +319,60 @@ public class FilterChainProxy extends GenericFilterBean {
 		return Collections.unmodifiableList(this.filterChains);
 	}
 
+	/**
+	 * Whether to index the {@link SecurityFilterChain}s by the literal path prefix of
+	 * their request matchers. Defaults to {@code false}.
+	 *
+	 * <p>
+	 * When enabled, a {@link DefaultSecurityFilterChain} whose request matcher is a
+	 * {@link PathPatternRequestMatcher}, or an {@link OrRequestMatcher} composed only of
+	 * them, is only evaluated for requests whose path starts with the literal segments
+	 * of one of its patterns. Any other chain is evaluated for every request. Candidate
+	 * chains are still evaluated in their configured order, so the first matching chain
+	 * is the one that is used, just as when indexing is disabled.
+	 * @param indexFilterChains whether to index the filter chains
+	 * @since 7.0
+	 */
+	public void setIndexFilterChains(boolean indexFilterChains) {
+		if (!indexFilterChains) {
+			this.indexedFilterChains = null;
+			this.filterChainIndex = null;
+			return;
+		}
+		Assert.notNull(this.filterChains, "filterChains cannot be null");
+		PathPrefixIndex.Builder index = PathPrefixIndex.builder();
+		for (SecurityFilterChain chain : this.filterChains) {
+			List<PathPattern> patterns = (chain instanceof DefaultSecurityFilterChain defaultChain)
+					? pathPatterns(defaultChain.getRequestMatcher()) : null;
+			if (patterns != null) {
+				index.patterns(patterns);
+			}
+			else {
+				index.unindexed();
+			}
+		}
+		this.indexedFilterChains = this.filterChains.toArray(new SecurityFilterChain[0]);
+		this.filterChainIndex = index.build();
+	}
+
+	private static List<PathPattern> pathPatterns(RequestMatcher requestMatcher) {
+		if (requestMatcher instanceof PathPatternRequestMatcher pathPattern) {
+			return List.of(pathPattern.getPattern());
+		}
+		if (!(requestMatcher instanceof OrRequestMatcher or)) {
+			return null;
+		}
+		List<PathPattern> patterns = new ArrayList<>();
+		for (RequestMatcher delegate : or.getRequestMatchers()) {
+			List<PathPattern> delegatePatterns = pathPatterns(delegate);
+			if (delegatePatterns == null) {
+				return null;
+			}
+			patterns.addAll(delegatePatterns);
+		}
+		return patterns;
+	}
+
 	/**
 	 * Sets the {@link SecurityContextHolderStrategy} to use. The default action is to use
 	 * the {@link SecurityContextHolderStrategy} stored in {@link SecurityContextHolder}.
@@ -369,12 +470,20 @@ public class FilterChainProxy extends GenericFilterBean {
 				return;
 			}
 			this.currentPosition++;
-			Filter nextFilter = this.additionalFilters.get(this.currentPosition - 1);
+			int position = this.currentPosition;
+			Filter nextFilter = this.additionalFilters.get(position - 1);
 			if (logger.isTraceEnabled()) {
 				String name = nextFilter.getClass().getSimpleName();
-				logger.trace(LogMessage.format("Invoking %s (%d/%d)", name, this.currentPosition, this.size));
+				logger.trace(LogMessage.format("Invoking %s (%d/%d)", name, position, this.size));
+			}
+			FilterInvocationJfrEvent event = new FilterInvocationJfrEvent();
+			event.begin();
+			try {
+				nextFilter.doFilter(request, response, this);
+			}
+			finally {
+				event.record(nextFilter, position, this.size);
 			}
-			nextFilter.doFilter(request, response, this);
 		}
 
 	}
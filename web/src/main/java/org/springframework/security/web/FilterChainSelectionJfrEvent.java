@@ -0,0 +1,64 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web;
+
+import java.util.List;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletRequest;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event for the selection of a {@link SecurityFilterChain} by
+ * {@link FilterChainProxy}. It is disabled by default and can be enabled in a recording's
+ * settings.
+ *
+ * @since 7.0
+ */
+@Name("org.springframework.security.FilterChainSelection")
+@Label("Filter Chain Selection")
+@Description("FilterChainProxy selected the SecurityFilterChain for a request")
+@Category({ "Spring Security", "Web" })
+@Enabled(false)
+@StackTrace(false)
+final class FilterChainSelectionJfrEvent extends Event {
+
+	@Label("Request URI")
+	String requestUri;
+
+	@Label("Secured")
+	boolean secured;
+
+	@Label("Filter Count")
+	int filterCount;
+
+	void record(HttpServletRequest request, List<Filter> filters) {
+		if (shouldCommit()) {
+			this.requestUri = request.getRequestURI();
+			this.secured = filters != null && !filters.isEmpty();
+			this.filterCount = (filters != null) ? filters.size() : 0;
+			commit();
+		}
+	}
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web;
+
+import jakarta.servlet.Filter;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event for the invocation of a filter in a
+ * {@link SecurityFilterChain}. Its duration includes the rest of the chain that the filter
+ * invokes. It is disabled by default and can be enabled in a recording's settings.
+ *
+ * @since 7.0
+ */
+@Name("org.springframework.security.FilterInvocation")
+@Label("Security Filter Invocation")
+@Description("A filter of a SecurityFilterChain was invoked")
+@Category({ "Spring Security", "Web" })
+@Enabled(false)
+@StackTrace(false)
+final class FilterInvocationJfrEvent extends Event {
+
+	@Label("Filter")
+	String filter;
+
+	@Label("Position")
+	int position;
+
+	@Label("Chain Size")
+	int chainSize;
+
+	void record(Filter filter, int position, int chainSize) {
+		if (shouldCommit()) {
+			this.filter = filter.getClass().getName();
+			this.position = position;
+			this.chainSize = chainSize;
+			commit();
+		}
+	}
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+
+import org.springframework.security.web.FilterChainMetrics.FilterTiming;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * A {@link org.springframework.security.web.FilterChainProxy.FilterChainDecorator} that
+ * records the time spent in each filter into pre-registered {@link FilterChainMetrics}
+ * instead of creating observations for every request.
+ *
+ * <p>
+ * Optionally, a fraction of the requests can be sampled when they enter the chain and
+ * fully observed by an {@link ObservationFilterChainDecorator}. Sampled requests are
+ * recorded by their observations and not by the {@link FilterChainMetrics}.
+ *
+ * @since 7.0
+ * @see ObservationFilterChainDecorator
+ */
+public final class MetricsFilterChainDecorator implements FilterChainProxy.FilterChainDecorator {
+
+	private final FilterChainMetrics metrics = new FilterChainMetrics();
+
+	private final ConcurrentMap<Filter, FilterTiming> timings = new ConcurrentHashMap<>();
+
+	private final ObservationFilterChainDecorator observations;
+
+	private final double observationSampleRate;
+
+	/**
+	 * Construct a {@link MetricsFilterChainDecorator} that does not observe any request
+	 */
+	public MetricsFilterChainDecorator() {
+		this(ObservationRegistry.NOOP, 0);
+	}
+
+	/**
+	 * Construct a {@link MetricsFilterChainDecorator} that fully observes the given
+	 * fraction of requests
+	 * @param registry the {@link ObservationRegistry} for sampled requests
+	 * @param observationSampleRate the fraction of requests to observe, between {@code 0}
+	 * and {@code 1}
+	 */
+	public MetricsFilterChainDecorator(ObservationRegistry registry, double observationSampleRate) {
+		Assert.notNull(registry, "registry cannot be null");
+		Assert.isTrue(observationSampleRate >= 0 && observationSampleRate <= 1,
+				"observationSampleRate must be between 0 and 1");
+		this.observations = new ObservationFilterChainDecorator(registry);
+		this.observationSampleRate = observationSampleRate;
+	}
+
+	/**
+	 * Get the {@link FilterChainMetrics} that this decorator records into
+	 * @return the {@link FilterChainMetrics}
+	 */
+	public FilterChainMetrics getMetrics() {
+		return this.metrics;
+	}
+
+	@Override
+	public FilterChain decorate(FilterChain original) {
+		return sample() ? this.observations.decorate(original) : original;
+	}
+
+	@Override
+	public FilterChain decorate(FilterChain original, List<Filter> filters) {
+		if (sample()) {
+			return this.observations.decorate(original, filters);
+		}
+		return new TimedFilterChain(original, filters, this.timings, this.metrics);
+	}
+
+	private boolean sample() {
+		return this.observationSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < this.observationSampleRate;
+	}
+
+	private static final class TimedFilterChain implements FilterChain {
+
+		private final FilterChain originalChain;
+
+		private final List<Filter> additionalFilters;
+
+		private final ConcurrentMap<Filter, FilterTiming> timings;
+
+		private final FilterChainMetrics metrics;
+
+		private int currentPosition = 0;
+
+		private long downstreamNanos;
+
+		private TimedFilterChain(FilterChain chain, List<Filter> additionalFilters,
+				ConcurrentMap<Filter, FilterTiming> timings, FilterChainMetrics metrics) {
+			this.originalChain = chain;
+			this.additionalFilters = additionalFilters;
+			this.timings = timings;
+			this.metrics = metrics;
+		}
+
+		@Override
+		public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+			long start = System.nanoTime();
+			if (this.currentPosition == this.additionalFilters.size()) {
+				try {
+					this.originalChain.doFilter(request, response);
+				}
+				finally {
+					this.downstreamNanos = System.nanoTime() - start;
+				}
+				return;
+			}
+			Filter nextFilter = this.additionalFilters.get(this.currentPosition++);
+			FilterTiming timing = this.timings.computeIfAbsent(nextFilter, this::register);
+			this.downstreamNanos = 0;
+			try {
+				nextFilter.doFilter(request, response, this);
+			}
+			finally {
+				long elapsed = System.nanoTime() - start;
+				timing.record(elapsed - this.downstreamNanos);
+				this.downstreamNanos = elapsed;
+			}
+		}
+
+		private FilterTiming register(Filter filter) {
+			String name = filter.getClass().getSimpleName();
+			return this.metrics.timing(StringUtils.hasText(name) ? name : filter.getClass().getName());
+		}
+
+	}
+
+}
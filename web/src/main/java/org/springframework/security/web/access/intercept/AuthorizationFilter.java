@@ -31,6 +31,7 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.authorization.AuthorizationDeniedException;
 import org.springframework.security.authorization.AuthorizationEventPublisher;
+import org.springframework.security.authorization.AuthorizationJfrEvent;
 import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.authorization.AuthorizationResult;
 import org.springframework.security.authorization.event.AuthorizationDeniedEvent;
@@ -92,7 +93,10 @@ public class AuthorizationFilter extends GenericFilterBean {
 		String alreadyFilteredAttributeName = getAlreadyFilteredAttributeName();
 		request.setAttribute(alreadyFilteredAttributeName, Boolean.TRUE);
 		try {
+			AuthorizationJfrEvent event = new AuthorizationJfrEvent();
+			event.begin();
 			AuthorizationResult result = this.authorizationManager.authorize(this::getAuthentication, request);
+			event.record(this.authorizationManager, request, result);
 			this.eventPublisher.publishAuthorizationEvent(this::getAuthentication, request, result);
 			if (result != null && !result.isGranted()) {
 				throw new AuthorizationDeniedException("Access Denied", result);
@@ -17,6 +17,7 @@
 package org.springframework.security.web.access.intercept;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -26,6 +27,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.core.log.LogMessage;
+import org.springframework.http.server.RequestPath;
 import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
 import org.springframework.security.authorization.AuthorityAuthorizationManager;
 import org.springframework.security.authorization.AuthorizationDecision;
@@ -33,17 +35,29 @@ import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.authorization.AuthorizationResult;
 import org.springframework.security.authorization.SingleResultAuthorizationManager;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.PathPrefixIndex;
 import org.springframework.security.web.util.UrlUtils;
 import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
 import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.security.web.util.matcher.RequestMatcher.MatchResult;
 import org.springframework.security.web.util.matcher.RequestMatcherEntry;
 import org.springframework.util.Assert;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPattern;
 
 /**
  * An {@link AuthorizationManager} which delegates to a specific
  * {@link AuthorizationManager} based on a {@link RequestMatcher} evaluation.
  *
+ * <p>
+ * Mappings are evaluated in the order they were added, and the first matching
+ * {@link RequestMatcher} decides which {@link AuthorizationManager} is used. When
+ * {@link Builder#indexRequestMatchers(boolean)} is enabled, mappings are indexed by HTTP
+ * method and the literal path segments of their {@link PathPatternRequestMatcher}s so
+ * that mappings which cannot match a given request are not evaluated.
+ *
  * @author Evgeniy Cheban
  * @author Parikshit Dutta
  * @since 5.5
@@ -56,10 +70,23 @@ public final class RequestMatcherDelegatingAuthorizationManager implements Autho
 
 	private final List<RequestMatcherEntry<AuthorizationManager<RequestAuthorizationContext>>> mappings;
 
+	private final List<RequestMatcherEntry<AuthorizationManager<RequestAuthorizationContext>>> indexedMappings;
+
+	private final PathPrefixIndex index;
+
 	private RequestMatcherDelegatingAuthorizationManager(
-			List<RequestMatcherEntry<AuthorizationManager<RequestAuthorizationContext>>> mappings) {
+			List<RequestMatcherEntry<AuthorizationManager<RequestAuthorizationContext>>> mappings,
+			boolean indexRequestMatchers) {
 		Assert.notEmpty(mappings, "mappings cannot be empty");
 		this.mappings = mappings;
+		if (indexRequestMatchers) {
+			this.indexedMappings = List.copyOf(mappings);
+			this.index = index(this.indexedMappings);
+		}
+		else {
+			this.indexedMappings = null;
+			this.index = null;
+		}
 	}
 
 	@Override
@@ -67,26 +94,100 @@ public final class RequestMatcherDelegatingAuthorizationManager implements Autho
 		if (this.logger.isTraceEnabled()) {
 			this.logger.trace(LogMessage.format("Authorizing %s", requestLine(request)));
 		}
+		if (this.index != null) {
+			return authorizeIndexed(authentication, request);
+		}
 		for (RequestMatcherEntry<AuthorizationManager<RequestAuthorizationContext>> mapping : this.mappings) {
+			AuthorizationResult result = authorize(authentication, request, mapping);
+			if (result != null) {
+				return result;
+			}
+		}
+		return deny();
+	}
 
-			RequestMatcher matcher = mapping.getRequestMatcher();
-			MatchResult matchResult = matcher.matcher(request);
-			if (matchResult.isMatch()) {
-				AuthorizationManager<RequestAuthorizationContext> manager = mapping.getEntry();
-				if (this.logger.isTraceEnabled()) {
-					this.logger.trace(
-							LogMessage.format("Checking authorization on %s using %s", requestLine(request), manager));
+	private AuthorizationResult authorizeIndexed(Supplier<Authentication> authentication,
+			HttpServletRequest request) {
+		boolean parsed = ServletRequestPathUtils.hasParsedRequestPath(request);
+		RequestPath path = parsed ? ServletRequestPathUtils.getParsedRequestPath(request)
+				: ServletRequestPathUtils.parseAndCache(request);
+		try {
+			BitSet candidates = this.index.candidates(request.getMethod(), path.pathWithinApplication());
+			for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+				AuthorizationResult result = authorize(authentication, request, this.indexedMappings.get(i));
+				if (result != null) {
+					return result;
 				}
-				return manager.authorize(authentication,
-						new RequestAuthorizationContext(request, matchResult.getVariables()));
 			}
+			return deny();
 		}
+		finally {
+			if (!parsed) {
+				ServletRequestPathUtils.clearParsedRequestPath(request);
+			}
+		}
+	}
+
+	private AuthorizationResult authorize(Supplier<Authentication> authentication, HttpServletRequest request,
+			RequestMatcherEntry<AuthorizationManager<RequestAuthorizationContext>> mapping) {
+		RequestMatcher matcher = mapping.getRequestMatcher();
+		MatchResult matchResult = matcher.matcher(request);
+		if (!matchResult.isMatch()) {
+			return null;
+		}
+		AuthorizationManager<RequestAuthorizationContext> manager = mapping.getEntry();
+		if (this.logger.isTraceEnabled()) {
+			this.logger
+				.trace(LogMessage.format("Checking authorization on %s using %s", requestLine(request), manager));
+		}
+		return manager.authorize(authentication, new RequestAuthorizationContext(request, matchResult.getVariables()));
+	}
+
+	private AuthorizationResult deny() {
 		if (this.logger.isTraceEnabled()) {
 			this.logger.trace(LogMessage.of(() -> "Denying request since did not find matching RequestMatcher"));
 		}
 		return DENY;
 	}
 
+	private static PathPrefixIndex index(
+			List<RequestMatcherEntry<AuthorizationManager<RequestAuthorizationContext>>> mappings) {
+		PathPrefixIndex.Builder index = PathPrefixIndex.builder();
+		for (RequestMatcherEntry<AuthorizationManager<RequestAuthorizationContext>> mapping : mappings) {
+			RequestMatcher matcher = mapping.getRequestMatcher();
+			if (matcher instanceof PathPatternRequestMatcher pathPattern) {
+				index.pattern(pathPattern.getMethod(), pathPattern.getPattern());
+				continue;
+			}
+			List<PathPattern> patterns = pathPatterns(matcher);
+			if (patterns != null) {
+				index.patterns(patterns);
+			}
+			else {
+				index.unindexed();
+			}
+		}
+		return index.build();
+	}
+
+	private static List<PathPattern> pathPatterns(RequestMatcher matcher) {
+		if (matcher instanceof PathPatternRequestMatcher pathPattern) {
+			return List.of(pathPattern.getPattern());
+		}
+		if (!(matcher instanceof OrRequestMatcher or)) {
+			return null;
+		}
+		List<PathPattern> patterns = new ArrayList<>();
+		for (RequestMatcher delegate : or.getRequestMatchers()) {
+			List<PathPattern> delegatePatterns = pathPatterns(delegate);
+			if (delegatePatterns == null) {
+				return null;
+			}
+			patterns.addAll(delegatePatterns);
+		}
+		return patterns;
+	}
+
 	private static String requestLine(HttpServletRequest request) {
 		return request.getMethod() + " " + UrlUtils.buildRequestUrl(request);
 	}
@@ -106,6 +207,8 @@ public final class RequestMatcherDelegatingAuthorizationManager implements Autho
 
 		private boolean anyRequestConfigured;
 
+		private boolean indexRequestMatchers;
+
 		private final List<RequestMatcherEntry<AuthorizationManager<RequestAuthorizationContext>>> mappings = new ArrayList<>();
 
 		/**
@@ -160,12 +263,30 @@ public final class RequestMatcherDelegatingAuthorizationManager implements Autho
 			return new AuthorizedUrl(matchers);
 		}
 
+		/**
+		 * Whether to index the mappings by HTTP method and by the literal path segments of
+		 * their {@link PathPatternRequestMatcher}s. Defaults to {@code false}.
+		 *
+		 * <p>
+		 * When enabled, only the mappings that can match a given request's method and path
+		 * are evaluated. Mappings that use any other kind of {@link RequestMatcher} are
+		 * always evaluated. In both cases, mappings are evaluated in the order they were
+		 * added and the first match wins.
+		 * @param indexRequestMatchers whether to index the mappings
+		 * @return the {@link Builder} for further customizations
+		 * @since 7.0
+		 */
+		public Builder indexRequestMatchers(boolean indexRequestMatchers) {
+			this.indexRequestMatchers = indexRequestMatchers;
+			return this;
+		}
+
 		/**
 		 * Creates a {@link RequestMatcherDelegatingAuthorizationManager} instance.
 		 * @return the {@link RequestMatcherDelegatingAuthorizationManager} instance
 		 */
 		public RequestMatcherDelegatingAuthorizationManager build() {
-			return new RequestMatcherDelegatingAuthorizationManager(this.mappings);
+			return new RequestMatcherDelegatingAuthorizationManager(this.mappings, this.indexRequestMatchers);
 		}
 
 		/**
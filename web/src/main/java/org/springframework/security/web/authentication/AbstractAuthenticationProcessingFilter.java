@@ -151,6 +151,9 @@ public abstract class AbstractAuthenticationProcessingFilter extends GenericFilt
 
 	private SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
 
+	private AuthenticationThrottle authenticationThrottle;
+
+
 	/**
 	 * @param defaultFilterProcessesUrl the default value for <tt>filterProcessesUrl</tt>.
 	 */
@@ -237,6 +240,10 @@ public abstract class AbstractAuthenticationProcessingFilter extends GenericFilt
 			return;
 		}
 		try {
+			if (this.authenticationThrottle != null
+					&& this.authenticationThrottle.isThrottled(null, request.getRemoteAddr())) {
+				throw throttled();
+			}
 			Authentication authenticationResult = attemptAuthentication(request, response);
 			if (authenticationResult == null) {
 				if (this.continueChainWhenNoAuthenticationResult) {
@@ -311,7 +318,8 @@ public abstract class AbstractAuthenticationProcessingFilter extends GenericFilt
 		if (authentication == null) {
 			return null;
 		}
-		Authentication result = this.authenticationManager.authenticate(authentication);
+		checkAuthenticationThrottle(authentication);
+		Authentication result = getAuthenticationManager().authenticate(authentication);
 		if (result == null) {
 			throw new ServletException("AuthenticationManager should not return null Authentication object.");
 		}
@@ -387,6 +395,29 @@ public abstract class AbstractAuthenticationProcessingFilter extends GenericFilt
 		return this.authenticationManager;
 	}
 
+	/**
+	 * Rejects the given authentication request if the
+	 * {@link #setAuthenticationThrottle(AuthenticationThrottle) throttle} has seen too
+	 * many recent failures for its username. Implementations of
+	 * {@link #attemptAuthentication(HttpServletRequest, HttpServletResponse)} that
+	 * authenticate a username should call this before invoking the
+	 * {@link AuthenticationManager}.
+	 * @param authentication the authentication request
+	 * @throws AuthenticationThrottledException if the username is throttled
+	 * @since 7.0
+	 */
+	protected void checkAuthenticationThrottle(Authentication authentication) throws AuthenticationThrottledException {
+		if (this.authenticationThrottle != null && this.authenticationThrottle.isThrottled(authentication)) {
+			throw throttled();
+		}
+	}
+
+	private AuthenticationThrottledException throttled() {
+		this.logger.debug("Rejected authentication request since it has too many recent failures");
+		return new AuthenticationThrottledException(this.messages.getMessage(
+				"AbstractAuthenticationProcessingFilter.throttled", "Too many failed authentication attempts"));
+	}
+
 	public void setAuthenticationManager(AuthenticationManager authenticationManager) {
 		this.authenticationManager = authenticationManager;
 	}
@@ -496,6 +527,26 @@ public abstract class AbstractAuthenticationProcessingFilter extends GenericFilt
 		this.securityContextHolderStrategy = securityContextHolderStrategy;
 	}
 
+	/**
+	 * Sets the {@link AuthenticationThrottle} to consult before each authentication
+	 * attempt. A request whose client address or username has too many recent failures is
+	 * rejected with an {@link AuthenticationThrottledException}, without invoking the
+	 * {@link AuthenticationManager}. The client address is checked before
+	 * {@link #attemptAuthentication(HttpServletRequest, HttpServletResponse)}, and the
+	 * username is checked by {@link #checkAuthenticationThrottle(Authentication)}, which
+	 * the default implementation and {@link UsernamePasswordAuthenticationFilter} call.
+	 * The throttle counts failures from
+	 * {@link org.springframework.security.authentication.event.AuthenticationFailureBadCredentialsEvent}s,
+	 * so it should also be registered as an application listener. The default is not to
+	 * throttle.
+	 * @param authenticationThrottle the {@link AuthenticationThrottle} to use
+	 * @since 7.0
+	 */
+	public void setAuthenticationThrottle(AuthenticationThrottle authenticationThrottle) {
+		Assert.notNull(authenticationThrottle, "authenticationThrottle cannot be null");
+		this.authenticationThrottle = authenticationThrottle;
+	}
+
 	protected AuthenticationSuccessHandler getSuccessHandler() {
 		return this.successHandler;
 	}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.authentication;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.lang.Nullable;
+import org.springframework.security.authentication.event.AuthenticationFailureBadCredentialsEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.util.Assert;
+
+/**
+ * Counts failed authentication attempts per username and per client address over a
+ * sliding window, so that login filters can reject further attempts for either before
+ * they reach the {@link org.springframework.security.authentication.AuthenticationManager}.
+ *
+ * <p>
+ * Failures are recorded from {@link AuthenticationFailureBadCredentialsEvent}s, such as
+ * those published by
+ * {@link org.springframework.security.authentication.DefaultAuthenticationEventPublisher},
+ * when this throttle is registered as an {@link ApplicationListener}, for example by
+ * publishing it as a bean. The client address is taken from
+ * {@link WebAuthenticationDetails}. They can also be recorded directly with
+ * {@link #recordFailure(String, String)}.
+ *
+ * <p>
+ * The counters are a fixed-size count-min sketch, so memory use does not depend on how
+ * many usernames or addresses are seen, and recording and checking never lock. Each
+ * counter keeps the failures of the current and the previous window, and the previous
+ * window is weighted by how much of it still overlaps the sliding window. A count can be
+ * overestimated when many keys share counters, but it is never underestimated. A
+ * successful authentication does not reset the count, which instead decays as the
+ * window slides.
+ *
+ * @since 7.0
+ * @see AbstractAuthenticationProcessingFilter
+ * @see org.springframework.security.web.server.authentication.AuthenticationWebFilter
+ */
+public final class AuthenticationThrottle implements ApplicationListener<AuthenticationFailureBadCredentialsEvent> {
+
+	private static final int DEFAULT_COUNTERS = 1 << 14;
+
+	private static final int ROWS = 2;
+
+	private final int maxFailures;
+
+	private final long windowMillis;
+
+	private final int width;
+
+	private final AtomicLongArray counters;
+
+	private final int[] seeds = new int[ROWS * 2];
+
+	private Clock clock = Clock.systemUTC();
+
+	/**
+	 * Construct an {@link AuthenticationThrottle}
+	 * @param maxFailures the number of failures within the window after which a username
+	 * or client address is throttled
+	 * @param window the length of the sliding window
+	 */
+	public AuthenticationThrottle(int maxFailures, Duration window) {
+		this(maxFailures, window, DEFAULT_COUNTERS);
+	}
+
+	/**
+	 * Construct an {@link AuthenticationThrottle}
+	 * @param maxFailures the number of failures within the window after which a username
+	 * or client address is throttled
+	 * @param window the length of the sliding window
+	 * @param counters the number of counters for each hash function, rounded up to a power
+	 * of two. More counters use more memory and overestimate less often.
+	 */
+	public AuthenticationThrottle(int maxFailures, Duration window, int counters) {
+		Assert.isTrue(maxFailures > 0, "maxFailures must be greater than 0");
+		Assert.notNull(window, "window cannot be null");
+		Assert.isTrue(window.toMillis() > 0, "window must be at least one millisecond");
+		Assert.isTrue(counters > 0 && counters <= (1 << 24), "counters must be between 1 and 16777216");
+		this.maxFailures = maxFailures;
+		this.windowMillis = window.toMillis();
+		this.width = (counters > 1) ? Integer.highestOneBit(counters - 1) << 1 : 1;
+		this.counters = new AtomicLongArray(ROWS * this.width * 2);
+		SecureRandom random = new SecureRandom();
+		for (int i = 0; i < this.seeds.length; i++) {
+			this.seeds[i] = random.nextInt();
+		}
+	}
+
+	@Override
+	public void onApplicationEvent(AuthenticationFailureBadCredentialsEvent event) {
+		Authentication authentication = event.getAuthentication();
+		recordFailure(authentication.getName(), clientAddress(authentication));
+	}
+
+	/**
+	 * Whether the username or the client address of this authentication request has too
+	 * many recent failures. The client address is read from {@link WebAuthenticationDetails}.
+	 * @param authentication the authentication request
+	 * @return {@code true} if the request should be rejected
+	 */
+	public boolean isThrottled(Authentication authentication) {
+		return isThrottled(authentication.getName(), clientAddress(authentication));
+	}
+
+	/**
+	 * Whether the username or the client address has too many recent failures
+	 * @param username the username, may be {@code null}
+	 * @param clientAddress the client address, may be {@code null}
+	 * @return {@code true} if the request should be rejected
+	 */
+	public boolean isThrottled(@Nullable String username, @Nullable String clientAddress) {
+		long now = this.clock.millis();
+		long window = now / this.windowMillis;
+		double overlap = 1.0 - (double) (now % this.windowMillis) / this.windowMillis;
+		return isThrottled(username, 0, window, overlap) || isThrottled(clientAddress, ROWS, window, overlap);
+	}
+
+	/**
+	 * Record a failed authentication attempt for the username and the client address
+	 * @param username the username, may be {@code null}
+	 * @param clientAddress the client address, may be {@code null}
+	 */
+	public void recordFailure(@Nullable String username, @Nullable String clientAddress) {
+		long window = this.clock.millis() / this.windowMillis;
+		recordFailure(username, 0, window);
+		recordFailure(clientAddress, ROWS, window);
+	}
+
+	/**
+	 * Use this {@link Clock} to determine the current window
+	 * @param clock the {@link Clock} to use
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	private boolean isThrottled(@Nullable String key, int seedOffset, long window, double overlap) {
+		if (key == null || key.isEmpty()) {
+			return false;
+		}
+		int hash = key.hashCode();
+		double estimate = Double.MAX_VALUE;
+		for (int row = 0; row < ROWS; row++) {
+			int slot = slot(row, hash, this.seeds[seedOffset + row]);
+			double count = count(slot, window) + count(slot, window - 1) * overlap;
+			estimate = Math.min(estimate, count);
+		}
+		return estimate >= this.maxFailures;
+	}
+
+	private void recordFailure(@Nullable String key, int seedOffset, long window) {
+		if (key == null || key.isEmpty()) {
+			return;
+		}
+		int hash = key.hashCode();
+		for (int row = 0; row < ROWS; row++) {
+			increment(slot(row, hash, this.seeds[seedOffset + row]), window);
+		}
+	}
+
+	/**
+	 * Each counter has two slots, one for windows with an even and one for windows with
+	 * an odd index, so that the previous window is kept while the current one fills.
+	 */
+	private int slot(int row, int hash, int seed) {
+		int h = (hash ^ seed) * 0x9E3779B9;
+		h ^= h >>> 16;
+		return (row * this.width + (h & (this.width - 1))) << 1;
+	}
+
+	private int count(int slot, long window) {
+		long value = this.counters.get(slot + (int) (window & 1));
+		return ((int) (value >>> 32) == (int) window) ? (int) value : 0;
+	}
+
+	private void increment(int slot, long window) {
+		int index = slot + (int) (window & 1);
+		while (true) {
+			long value = this.counters.get(index);
+			boolean current = (int) (value >>> 32) == (int) window;
+			if (current && (int) value == Integer.MAX_VALUE) {
+				return;
+			}
+			long next = current ? value + 1 : ((window << 32) | 1);
+			if (this.counters.compareAndSet(index, value, next)) {
+				return;
+			}
+		}
+	}
+
+	@Nullable
+	private static String clientAddress(Authentication authentication) {
+		if (authentication.getDetails() instanceof WebAuthenticationDetails details) {
+			return details.getRemoteAddress();
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.authentication;
+
+import java.io.Serial;
+
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * Thrown if an authentication request is rejected because its username or client address
+ * has too many recent failed attempts.
+ *
+ * @since 7.0
+ * @see AuthenticationThrottle
+ */
+public class AuthenticationThrottledException extends AuthenticationException {
+
+	@Serial
+	private static final long serialVersionUID = -4218803593174420136L;
+
+	public AuthenticationThrottledException(String message) {
+		super(message);
+	}
+
+}
@@ -84,6 +84,7 @@ public class UsernamePasswordAuthenticationFilter extends AbstractAuthentication
 				password);
 		// Allow subclasses to set the "details" property
 		setDetails(request, authRequest);
+		checkAuthenticationThrottle(authRequest);
 		return this.getAuthenticationManager().authenticate(authRequest);
 	}
 
@@ -16,6 +16,7 @@
 
 package org.springframework.security.web.context;
 
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
 import jakarta.servlet.AsyncContext;
@@ -39,6 +40,7 @@ import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
 import org.springframework.web.util.WebUtils;
 
 /**
@@ -79,6 +81,16 @@ import org.springframework.web.util.WebUtils;
  * need to conserve server memory and ensure all classes using the
  * {@code SecurityContextHolder} are designed to have no persistence of the
  * {@code SecurityContext} between web requests.
+ * <p>
+ * When the session is backed by an external store, every call to
+ * {@link HttpSession#setAttribute(String, Object)} can result in the context being
+ * serialized and written to that store. Setting
+ * {@link #setSkipUnchangedContextWrites(boolean) skipUnchangedContextWrites} to
+ * {@code true} makes this class remember the state of the context that it read from the
+ * session and skip writing it back when neither the context nor its
+ * {@code Authentication} has changed since. The number of skipped and performed writes
+ * is available from {@link #getSkippedContextWrites()} and
+ * {@link #getPerformedContextWrites()}.
  *
  * @author Luke Taylor
  * @since 3.0
@@ -109,6 +121,14 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 
 	private AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
 
+	private boolean skipUnchangedContextWrites = false;
+
+	private String loadedContextAttributeName = loadedContextAttributeName(SPRING_SECURITY_CONTEXT_KEY);
+
+	private final LongAdder skippedContextWrites = new LongAdder();
+
+	private final LongAdder performedContextWrites = new LongAdder();
+
 	/**
 	 * Gets the security context for the current request (if available) and returns it.
 	 * <p>
@@ -123,7 +143,7 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 		HttpServletRequest request = requestResponseHolder.getRequest();
 		HttpServletResponse response = requestResponseHolder.getResponse();
 		HttpSession httpSession = request.getSession(false);
-		SecurityContext context = readSecurityContextFromSession(httpSession);
+		SecurityContext context = readSecurityContextFromSession(request, httpSession);
 		if (context == null) {
 			context = generateNewContext();
 			if (this.logger.isTraceEnabled()) {
@@ -142,7 +162,7 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 
 	@Override
 	public DeferredSecurityContext loadDeferredContext(HttpServletRequest request) {
-		Supplier<SecurityContext> supplier = () -> readSecurityContextFromSession(request.getSession(false));
+		Supplier<SecurityContext> supplier = () -> readSecurityContextFromSession(request, request.getSession(false));
 		return new SupplierDeferredSecurityContext(supplier, this.securityContextHolderStrategy);
 	}
 
@@ -169,13 +189,23 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 		else {
 			boolean createSession = this.allowSessionCreation;
 			HttpSession session = request.getSession(createSession);
+			if (isUnchangedInSession(context, request, session)) {
+				this.skippedContextWrites.increment();
+				if (this.logger.isTraceEnabled()) {
+					this.logger.trace(LogMessage.format("Did not store unchanged %s to HttpSession [%s]", context,
+							session));
+				}
+				return;
+			}
 			setContextInSession(context, session);
+			rememberLoadedContext(request, context);
 		}
 	}
 
 	private void setContextInSession(SecurityContext context, HttpSession session) {
 		if (session != null) {
 			session.setAttribute(this.springSecurityContextKey, context);
+			this.performedContextWrites.increment();
 			if (this.logger.isDebugEnabled()) {
 				this.logger.debug(LogMessage.format("Stored %s to HttpSession [%s]", context, session));
 			}
@@ -200,6 +230,33 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 		return session.getAttribute(this.springSecurityContextKey) != null;
 	}
 
+	private SecurityContext readSecurityContextFromSession(HttpServletRequest request, HttpSession httpSession) {
+		SecurityContext context = readSecurityContextFromSession(httpSession);
+		rememberLoadedContext(request, context);
+		return context;
+	}
+
+	private void rememberLoadedContext(HttpServletRequest request, SecurityContext context) {
+		if (this.skipUnchangedContextWrites && context != null) {
+			request.setAttribute(this.loadedContextAttributeName, new LoadedContext(context));
+		}
+	}
+
+	private boolean isUnchangedInSession(SecurityContext context, HttpServletRequest request, HttpSession session) {
+		if (!isUnchanged(context, request) || session == null) {
+			return false;
+		}
+		return session.getAttribute(this.springSecurityContextKey) == context;
+	}
+
+	private boolean isUnchanged(SecurityContext context, HttpServletRequest request) {
+		if (!this.skipUnchangedContextWrites) {
+			return false;
+		}
+		Object loaded = request.getAttribute(this.loadedContextAttributeName);
+		return loaded instanceof LoadedContext loadedContext && loadedContext.matches(context);
+	}
+
 	/**
 	 * @param httpSession the session obtained from the request.
 	 */
@@ -282,6 +339,54 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 	public void setSpringSecurityContextKey(String springSecurityContextKey) {
 		Assert.hasText(springSecurityContextKey, "springSecurityContextKey cannot be empty");
 		this.springSecurityContextKey = springSecurityContextKey;
+		this.loadedContextAttributeName = loadedContextAttributeName(springSecurityContextKey);
+	}
+
+	/**
+	 * Whether to skip writing the {@code SecurityContext} to the session when it has not
+	 * changed since it was read from the session during the same request. Off by
+	 * default.
+	 * <p>
+	 * When enabled, the context read from the session is remembered together with its
+	 * {@link Authentication}, the {@link Authentication#hashCode() hash code} of that
+	 * {@link Authentication} and whether it is authenticated. A write is skipped only if
+	 * the context being saved is the same instance that is still stored in the session
+	 * and none of those values changed. {@link Authentication} implementations that are
+	 * mutated in place are expected to reflect that state in their hash code, as
+	 * {@link org.springframework.security.authentication.AbstractAuthenticationToken}
+	 * does.
+	 * @param skipUnchangedContextWrites {@code true} to skip writes of an unchanged
+	 * context
+	 * @since 7.0
+	 */
+	public void setSkipUnchangedContextWrites(boolean skipUnchangedContextWrites) {
+		this.skipUnchangedContextWrites = skipUnchangedContextWrites;
+	}
+
+	/**
+	 * Returns the number of times that an unchanged {@code SecurityContext} was not
+	 * written to the session.
+	 * @return the number of skipped writes
+	 * @since 7.0
+	 * @see #setSkipUnchangedContextWrites(boolean)
+	 */
+	public long getSkippedContextWrites() {
+		return this.skippedContextWrites.sum();
+	}
+
+	/**
+	 * Returns the number of times that a {@code SecurityContext} was written to the
+	 * session.
+	 * @return the number of performed writes
+	 * @since 7.0
+	 * @see #setSkipUnchangedContextWrites(boolean)
+	 */
+	public long getPerformedContextWrites() {
+		return this.performedContextWrites.sum();
+	}
+
+	private static String loadedContextAttributeName(String springSecurityContextKey) {
+		return HttpSessionSecurityContextRepository.class.getName() + ".LOADED_" + springSecurityContextKey;
 	}
 
 	/**
@@ -434,6 +539,9 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 		}
 
 		private boolean contextChanged(SecurityContext context) {
+			if (HttpSessionSecurityContextRepository.this.skipUnchangedContextWrites) {
+				return !HttpSessionSecurityContextRepository.this.isUnchanged(context, this.request);
+			}
 			return this.isSaveContextInvoked || context != this.contextBeforeExecution
 					|| context.getAuthentication() != this.authBeforeExecution;
 		}
@@ -476,4 +584,40 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 
 	}
 
+	/**
+	 * The state of a {@code SecurityContext} when it was read from, or last written to,
+	 * the session.
+	 */
+	private static final class LoadedContext {
+
+		private final SecurityContext context;
+
+		private final Authentication authentication;
+
+		private final int authenticationHashCode;
+
+		private final boolean authenticated;
+
+		private LoadedContext(SecurityContext context) {
+			this.context = context;
+			this.authentication = context.getAuthentication();
+			this.authenticationHashCode = ObjectUtils.nullSafeHashCode(this.authentication);
+			this.authenticated = this.authentication != null && this.authentication.isAuthenticated();
+		}
+
+		private boolean matches(SecurityContext context) {
+			if (context != this.context) {
+				return false;
+			}
+			Authentication authentication = context.getAuthentication();
+			if (authentication != this.authentication) {
+				return false;
+			}
+			boolean authenticated = authentication != null && authentication.isAuthenticated();
+			return authenticated == this.authenticated
+					&& ObjectUtils.nullSafeHashCode(authentication) == this.authenticationHashCode;
+		}
+
+	}
+
 }
@@ -26,6 +26,7 @@ import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import org.springframework.security.core.context.ScopedValueSecurityContextHolderStrategy;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextHolderStrategy;
@@ -40,6 +41,10 @@ import org.springframework.web.filter.GenericFilterBean;
  * must be explicitly invoked to save the {@link SecurityContext}. This improves the
  * efficiency and provides better flexibility by allowing different authentication
  * mechanisms to choose individually if authentication should be persisted.
+ * <p>
+ * If the {@link SecurityContextHolderStrategy} is a
+ * {@link ScopedValueSecurityContextHolderStrategy}, the {@link SecurityContext} is bound to
+ * a scope around the rest of the filter chain instead of being set on the thread.
  *
  * @author Rob Winch
  * @author Marcus da Coregio
@@ -78,8 +83,13 @@ public class SecurityContextHolderFilter extends GenericFilterBean {
 		request.setAttribute(FILTER_APPLIED, Boolean.TRUE);
 		Supplier<SecurityContext> deferredContext = this.securityContextRepository.loadDeferredContext(request);
 		try {
-			this.securityContextHolderStrategy.setDeferredContext(deferredContext);
-			chain.doFilter(request, response);
+			if (this.securityContextHolderStrategy instanceof ScopedValueSecurityContextHolderStrategy scoped) {
+				doFilterInScope(scoped, deferredContext, request, response, chain);
+			}
+			else {
+				this.securityContextHolderStrategy.setDeferredContext(deferredContext);
+				chain.doFilter(request, response);
+			}
 		}
 		finally {
 			this.securityContextHolderStrategy.clearContext();
@@ -87,6 +97,26 @@ public class SecurityContextHolderFilter extends GenericFilterBean {
 		}
 	}
 
+	private static void doFilterInScope(ScopedValueSecurityContextHolderStrategy strategy,
+			Supplier<SecurityContext> deferredContext, HttpServletRequest request, HttpServletResponse response,
+			FilterChain chain) throws ServletException, IOException {
+		Exception[] failure = new Exception[1];
+		strategy.runWhere(deferredContext, () -> {
+			try {
+				chain.doFilter(request, response);
+			}
+			catch (ServletException | IOException ex) {
+				failure[0] = ex;
+			}
+		});
+		if (failure[0] instanceof ServletException ex) {
+			throw ex;
+		}
+		if (failure[0] instanceof IOException ex) {
+			throw ex;
+		}
+	}
+
 	/**
 	 * Sets the {@link SecurityContextHolderStrategy} to use. The default action is to use
 	 * the {@link SecurityContextHolderStrategy} stored in {@link SecurityContextHolder}.
@@ -0,0 +1,375 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.csrf;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.function.Function;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.log.LogMessage;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.crypto.codec.Utf8;
+import org.springframework.security.crypto.keygen.BytesKeyGenerator;
+import org.springframework.security.crypto.keygen.KeyGenerators;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.WebUtils;
+
+/**
+ * A {@link CsrfTokenRepository} that stores nothing. Each {@link CsrfToken} is the time
+ * that it was issued together with an HMAC, computed with a {@link SecretKey}, over that
+ * time and a binding to the current user. A token is verified by recomputing the HMAC,
+ * so neither an {@link HttpSession} nor any other server-side state is needed, which
+ * suits horizontally scaled applications.
+ *
+ * <p>
+ * By default, a token is bound to the name of the authenticated principal or, for
+ * unauthenticated requests, to the {@link HttpServletRequest#getRequestedSessionId()
+ * requested session id}, without accessing the session. This can be customized with
+ * {@link #setBindingResolver(Function)}. When there is nothing to bind a token to, a
+ * random nonce is generated together with the token and is written to an
+ * {@code HttpOnly} cookie by {@link #saveToken}, so that a token is never valid for
+ * another client. A request carrying a token but neither a binding nor that cookie is
+ * treated as carrying no expected token. A token is valid for an hour by default.
+ *
+ * <p>
+ * To verify a request's token, this repository resolves it with a
+ * {@link CsrfTokenRequestResolver}, which must match the {@link CsrfTokenRequestHandler}
+ * given to {@link CsrfFilter}. The default is {@link XorCsrfTokenRequestAttributeHandler}.
+ * As with any {@link CsrfTokenRepository}, {@link CsrfFilter} only loads or generates a
+ * token when it is used, so requests that never touch the token do no work.
+ *
+ * <p>
+ * Since no state is kept on the server, a token cannot be revoked other than by it
+ * expiring or its binding changing.
+ *
+ * @since 7.0
+ * @see HttpSessionCsrfTokenRepository
+ * @see CookieCsrfTokenRepository
+ */
+public final class HmacCsrfTokenRepository implements CsrfTokenRepository {
+
+	private static final String DEFAULT_CSRF_PARAMETER_NAME = "_csrf";
+
+	private static final String DEFAULT_CSRF_HEADER_NAME = "X-CSRF-TOKEN";
+
+	private static final String DEFAULT_NONCE_COOKIE_NAME = "CSRF-NONCE";
+
+	private static final String NONCE_ATTRIBUTE_NAME = HmacCsrfTokenRepository.class.getName().concat(".NONCE");
+
+	private static final Duration CLOCK_SKEW = Duration.ofMinutes(1);
+
+	private static final BytesKeyGenerator NONCE_GENERATOR = KeyGenerators.secureRandom(32);
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final SecretKey secretKey;
+
+	private final Mac mac;
+
+	private final int tokenLength;
+
+	private final String tokenTemplate;
+
+	private String parameterName = DEFAULT_CSRF_PARAMETER_NAME;
+
+	private String headerName = DEFAULT_CSRF_HEADER_NAME;
+
+	private String nonceCookieName = DEFAULT_NONCE_COOKIE_NAME;
+
+	private Duration tokenValidity = Duration.ofHours(1);
+
+	private Clock clock = Clock.systemUTC();
+
+	private CsrfTokenRequestResolver requestResolver = new XorCsrfTokenRequestAttributeHandler();
+
+	private Function<HttpServletRequest, String> bindingResolver = this::resolveBinding;
+
+	private SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder
+		.getContextHolderStrategy();
+
+	private AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
+	/**
+	 * Creates a new instance
+	 * @param secretKey the key to compute the HMAC with, whose algorithm is an HMAC
+	 * algorithm, such as {@code HmacSHA256}. It must be shared by all instances of the
+	 * application.
+	 */
+	public HmacCsrfTokenRepository(SecretKey secretKey) {
+		Assert.notNull(secretKey, "secretKey cannot be null");
+		this.secretKey = secretKey;
+		this.mac = createMac();
+		this.tokenLength = Long.BYTES + this.mac.getMacLength();
+		this.tokenTemplate = encode(new byte[this.tokenLength]);
+	}
+
+	@Override
+	public CsrfToken generateToken(HttpServletRequest request) {
+		String binding = binding(request);
+		if (binding == null) {
+			String nonce = encode(NONCE_GENERATOR.generateKey());
+			request.setAttribute(NONCE_ATTRIBUTE_NAME, nonce);
+			binding = "nonce:" + nonce;
+		}
+		return new DefaultCsrfToken(this.headerName, this.parameterName, createToken(binding, this.clock.instant()));
+	}
+
+	/**
+	 * Writes the nonce cookie if the token was bound to a newly generated nonce.
+	 * Otherwise, does nothing, since tokens are verified without any server-side state.
+	 */
+	@Override
+	public void saveToken(CsrfToken token, HttpServletRequest request, HttpServletResponse response) {
+		String nonce = (String) request.getAttribute(NONCE_ATTRIBUTE_NAME);
+		if (token == null || nonce == null) {
+			return;
+		}
+		String contextPath = request.getContextPath();
+		ResponseCookie cookie = ResponseCookie.from(this.nonceCookieName, nonce)
+			.httpOnly(true)
+			.secure(request.isSecure())
+			.path(StringUtils.hasLength(contextPath) ? contextPath : "/")
+			.sameSite("Lax")
+			.build();
+		response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+	}
+
+	/**
+	 * Loads the token that the request carries if it is valid for the request's binding.
+	 * Otherwise, if the request carries a token, generates a new one so that the request
+	 * is rejected as carrying an invalid token.
+	 * @param request the {@link HttpServletRequest} to use
+	 * @return the {@link CsrfToken} or null if the request carries none or there is
+	 * nothing to bind it to
+	 */
+	@Override
+	public CsrfToken loadToken(HttpServletRequest request) {
+		CsrfToken template = new DefaultCsrfToken(this.headerName, this.parameterName, this.tokenTemplate);
+		String actualToken = this.requestResolver.resolveCsrfTokenValue(request, template);
+		if (actualToken == null) {
+			return null;
+		}
+		String binding = binding(request);
+		if (binding == null) {
+			this.logger.trace("Did not load the request's CSRF token since there is nothing to bind it to");
+			return null;
+		}
+		if (isValid(actualToken, binding)) {
+			return new DefaultCsrfToken(this.headerName, this.parameterName, actualToken);
+		}
+		this.logger.trace("Generating a new CSRF token since the request's token is invalid or expired");
+		return new DefaultCsrfToken(this.headerName, this.parameterName, createToken(binding, this.clock.instant()));
+	}
+
+	/**
+	 * Sets the {@link HttpServletRequest} parameter name that the {@link CsrfToken} is
+	 * expected to appear on
+	 * @param parameterName the new parameter name to use
+	 */
+	public void setParameterName(String parameterName) {
+		Assert.hasLength(parameterName, "parameterName cannot be null or empty");
+		this.parameterName = parameterName;
+	}
+
+	/**
+	 * Sets the header name that the {@link CsrfToken} is expected to appear on
+	 * @param headerName the new header name to use
+	 */
+	public void setHeaderName(String headerName) {
+		Assert.hasLength(headerName, "headerName cannot be null or empty");
+		this.headerName = headerName;
+	}
+
+	/**
+	 * Sets the name of the cookie that carries the nonce a token is bound to when there
+	 * is nothing else to bind it to. Default is {@code CSRF-NONCE}.
+	 * @param nonceCookieName the name of the cookie
+	 */
+	public void setNonceCookieName(String nonceCookieName) {
+		Assert.hasLength(nonceCookieName, "nonceCookieName cannot be null or empty");
+		this.nonceCookieName = nonceCookieName;
+	}
+
+	/**
+	 * Sets how long a token is valid after it was issued. Default is one hour.
+	 * @param tokenValidity the validity to use
+	 */
+	public void setTokenValidity(Duration tokenValidity) {
+		Assert.notNull(tokenValidity, "tokenValidity cannot be null");
+		Assert.isTrue(!tokenValidity.isNegative() && !tokenValidity.isZero(), "tokenValidity must be positive");
+		this.tokenValidity = tokenValidity;
+	}
+
+	/**
+	 * Sets the {@link Clock} used when issuing and verifying tokens
+	 * @param clock the clock
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	/**
+	 * Sets the {@link CsrfTokenRequestResolver} used to resolve the token that a request
+	 * carries. This must match the {@link CsrfTokenRequestHandler} given to
+	 * {@link CsrfFilter}. Default is {@link XorCsrfTokenRequestAttributeHandler}.
+	 * @param requestResolver the {@link CsrfTokenRequestResolver} to use
+	 */
+	public void setRequestResolver(CsrfTokenRequestResolver requestResolver) {
+		Assert.notNull(requestResolver, "requestResolver cannot be null");
+		this.requestResolver = requestResolver;
+	}
+
+	/**
+	 * Sets the function that resolves the value a token is bound to. The function must
+	 * not create an {@link HttpSession}, or the repository is no longer stateless.
+	 * Default is the name of the authenticated principal or, for unauthenticated
+	 * requests, the requested session id.
+	 * @param bindingResolver the function to use, which returns {@code null} if there is
+	 * nothing to bind a token to, in which case the token is bound to a nonce cookie
+	 */
+	public void setBindingResolver(Function<HttpServletRequest, String> bindingResolver) {
+		Assert.notNull(bindingResolver, "bindingResolver cannot be null");
+		this.bindingResolver = bindingResolver;
+	}
+
+	/**
+	 * Sets the {@link SecurityContextHolderStrategy} to use. The default action is to use
+	 * the {@link SecurityContextHolderStrategy} stored in {@link SecurityContextHolder}.
+	 */
+	public void setSecurityContextHolderStrategy(SecurityContextHolderStrategy securityContextHolderStrategy) {
+		Assert.notNull(securityContextHolderStrategy, "securityContextHolderStrategy cannot be null");
+		this.securityContextHolderStrategy = securityContextHolderStrategy;
+	}
+
+	/**
+	 * Sets the {@link AuthenticationTrustResolver} used to tell whether the current
+	 * user is authenticated. Default is {@link AuthenticationTrustResolverImpl}.
+	 * @param trustResolver the {@link AuthenticationTrustResolver} to use
+	 */
+	public void setTrustResolver(AuthenticationTrustResolver trustResolver) {
+		Assert.notNull(trustResolver, "trustResolver cannot be null");
+		this.trustResolver = trustResolver;
+	}
+
+	private String binding(HttpServletRequest request) {
+		String binding = this.bindingResolver.apply(request);
+		if (binding != null) {
+			return binding;
+		}
+		Cookie nonce = WebUtils.getCookie(request, this.nonceCookieName);
+		return (nonce != null && StringUtils.hasText(nonce.getValue())) ? "nonce:" + nonce.getValue() : null;
+	}
+
+	private String resolveBinding(HttpServletRequest request) {
+		Authentication authentication = this.securityContextHolderStrategy.getContext().getAuthentication();
+		if (this.trustResolver.isAuthenticated(authentication)) {
+			return "principal:" + authentication.getName();
+		}
+		String sessionId = request.getRequestedSessionId();
+		return (sessionId != null) ? "session:" + sessionId : null;
+	}
+
+	private String createToken(String binding, Instant issuedAt) {
+		ByteBuffer token = ByteBuffer.allocate(this.tokenLength);
+		token.putLong(issuedAt.toEpochMilli());
+		token.put(sign(binding, issuedAt.toEpochMilli()));
+		return encode(token.array());
+	}
+
+	private boolean isValid(String actualToken, String binding) {
+		byte[] token;
+		try {
+			token = Base64.getUrlDecoder().decode(actualToken);
+		}
+		catch (IllegalArgumentException ex) {
+			return false;
+		}
+		if (token.length != this.tokenLength) {
+			return false;
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(token);
+		long issuedAt = buffer.getLong();
+		byte[] signature = new byte[buffer.remaining()];
+		buffer.get(signature);
+		if (!MessageDigest.isEqual(signature, sign(binding, issuedAt))) {
+			return false;
+		}
+		Instant now = this.clock.instant();
+		Instant issued = Instant.ofEpochMilli(issuedAt);
+		if (issued.isAfter(now.plus(CLOCK_SKEW)) || now.isAfter(issued.plus(this.tokenValidity))) {
+			this.logger
+				.debug(LogMessage.format("Rejecting CSRF token issued at %s since it is not currently valid", issued));
+			return false;
+		}
+		return true;
+	}
+
+	private byte[] sign(String binding, long issuedAt) {
+		Mac mac = mac();
+		mac.update(ByteBuffer.allocate(Long.BYTES).putLong(issuedAt).array());
+		mac.update(Utf8.encode(binding));
+		return mac.doFinal();
+	}
+
+	private Mac mac() {
+		try {
+			return (Mac) this.mac.clone();
+		}
+		catch (CloneNotSupportedException ex) {
+			return createMac();
+		}
+	}
+
+	private Mac createMac() {
+		try {
+			Mac mac = Mac.getInstance(this.secretKey.getAlgorithm());
+			mac.init(this.secretKey);
+			return mac;
+		}
+		catch (GeneralSecurityException ex) {
+			throw new IllegalArgumentException("Unable to compute an HMAC with the given secretKey", ex);
+		}
+	}
+
+	private static String encode(byte[] bytes) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+	}
+
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.firewall;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * A mutable set of strings that are not allowed in a URL component, which can also
+ * {@link #scan(String) scan} a component against those strings.
+ *
+ * <p>
+ * The strings are compiled into a lookup table, indexed by their first character, the
+ * first time that a component is scanned after the set was modified. A scan then walks
+ * the component exactly once, checking at each position only the strings that start with
+ * the character at that position. The same pass also checks whether the component is
+ * normalized and whether it contains only printable ASCII characters, so that a firewall
+ * needs only a single pass over each URL component.
+ *
+ * <p>
+ * Scanning does not allocate. As with the {@link HashSet} that it wraps, modifying the
+ * set is not thread-safe and is expected to happen only during configuration.
+ *
+ * @since 7.0
+ * @see StrictHttpFirewall
+ * @see org.springframework.security.web.server.firewall.StrictServerWebExchangeFirewall
+ */
+public final class UrlBlocklist extends AbstractSet<String> {
+
+	/**
+	 * Indicates that the scanned value contains a string from this blocklist
+	 */
+	public static final int BLOCKLISTED = 1;
+
+	/**
+	 * Indicates that the scanned value contains a {@code .} or {@code ..} path segment
+	 */
+	public static final int NOT_NORMALIZED = 1 << 1;
+
+	/**
+	 * Indicates that the scanned value contains a character that is not printable ASCII
+	 */
+	public static final int NOT_PRINTABLE_ASCII = 1 << 2;
+
+	private static final int ASCII = 128;
+
+	private final Set<String> values = new HashSet<>();
+
+	private volatile Table table;
+
+	/**
+	 * Create an empty {@link UrlBlocklist}
+	 */
+	public UrlBlocklist() {
+	}
+
+	/**
+	 * Create a {@link UrlBlocklist} containing the given strings
+	 * @param values the strings to block
+	 */
+	public UrlBlocklist(Collection<String> values) {
+		this.values.addAll(values);
+	}
+
+	/**
+	 * Scan the given URL component in a single pass.
+	 * @param value the URL component to scan, may be {@code null}
+	 * @return a combination of {@link #BLOCKLISTED}, {@link #NOT_NORMALIZED} and
+	 * {@link #NOT_PRINTABLE_ASCII}, or {@code 0} if the value passes every check
+	 */
+	public int scan(@Nullable String value) {
+		if (value == null) {
+			return 0;
+		}
+		Table table = table();
+		int flags = table.blocksEverything ? BLOCKLISTED : 0;
+		int length = value.length();
+		int segmentStart = 0;
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if (c < ' ' || c > '~') {
+				flags |= NOT_PRINTABLE_ASCII;
+			}
+			if (c == '/') {
+				if (isDotSegment(value, segmentStart, i)) {
+					flags |= NOT_NORMALIZED;
+				}
+				segmentStart = i + 1;
+			}
+			if ((flags & BLOCKLISTED) == 0 && table.startsWithAny(value, i, c)) {
+				flags |= BLOCKLISTED;
+			}
+		}
+		if (isDotSegment(value, segmentStart, length)) {
+			flags |= NOT_NORMALIZED;
+		}
+		return flags;
+	}
+
+	/**
+	 * Find a string from this blocklist that the given value contains. This is intended
+	 * for describing a rejection after {@link #scan(String)} reported
+	 * {@link #BLOCKLISTED}.
+	 * @param value the value to search, may be {@code null}
+	 * @return a contained blocklisted string, or {@code null} if there is none
+	 */
+	@Nullable
+	public String findBlocklisted(@Nullable String value) {
+		if (value == null) {
+			return null;
+		}
+		for (String blocklisted : this.values) {
+			if (value.contains(blocklisted)) {
+				return blocklisted;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public boolean add(String value) {
+		boolean added = this.values.add(value);
+		if (added) {
+			this.table = null;
+		}
+		return added;
+	}
+
+	@Override
+	public boolean remove(Object value) {
+		boolean removed = this.values.remove(value);
+		if (removed) {
+			this.table = null;
+		}
+		return removed;
+	}
+
+	@Override
+	public void clear() {
+		this.values.clear();
+		this.table = null;
+	}
+
+	@Override
+	public boolean contains(Object value) {
+		return this.values.contains(value);
+	}
+
+	@Override
+	public int size() {
+		return this.values.size();
+	}
+
+	@Override
+	public Iterator<String> iterator() {
+		Iterator<String> delegate = this.values.iterator();
+		return new Iterator<>() {
+
+			@Override
+			public boolean hasNext() {
+				return delegate.hasNext();
+			}
+
+			@Override
+			public String next() {
+				return delegate.next();
+			}
+
+			@Override
+			public void remove() {
+				delegate.remove();
+				UrlBlocklist.this.table = null;
+			}
+
+		};
+	}
+
+	private Table table() {
+		Table table = this.table;
+		if (table == null) {
+			table = new Table(this.values);
+			this.table = table;
+		}
+		return table;
+	}
+
+	private static boolean isDotSegment(String value, int start, int end) {
+		int length = end - start;
+		if (length == 1) {
+			return value.charAt(start) == '.';
+		}
+		return length == 2 && value.charAt(start) == '.' && value.charAt(start + 1) == '.';
+	}
+
+	/**
+	 * The blocklisted strings, indexed by their first character
+	 */
+	private static final class Table {
+
+		private final String[][] ascii = new String[ASCII][];
+
+		private final char[] otherFirstChars;
+
+		private final String[][] other;
+
+		private final boolean blocksEverything;
+
+		private Table(Set<String> values) {
+			boolean blocksEverything = false;
+			List<Character> otherFirstChars = new ArrayList<>();
+			List<String[]> other = new ArrayList<>();
+			for (String value : values) {
+				if (value.isEmpty()) {
+					blocksEverything = true;
+					continue;
+				}
+				char first = value.charAt(0);
+				if (first < ASCII) {
+					this.ascii[first] = append(this.ascii[first], value);
+					continue;
+				}
+				int index = otherFirstChars.indexOf(first);
+				if (index == -1) {
+					otherFirstChars.add(first);
+					other.add(new String[] { value });
+				}
+				else {
+					other.set(index, append(other.get(index), value));
+				}
+			}
+			this.otherFirstChars = new char[otherFirstChars.size()];
+			for (int i = 0; i < this.otherFirstChars.length; i++) {
+				this.otherFirstChars[i] = otherFirstChars.get(i);
+			}
+			this.other = other.toArray(new String[0][]);
+			this.blocksEverything = blocksEverything;
+		}
+
+		private boolean startsWithAny(String value, int offset, char c) {
+			String[] candidates = candidates(c);
+			if (candidates == null) {
+				return false;
+			}
+			for (String candidate : candidates) {
+				if (value.startsWith(candidate, offset)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private String[] candidates(char c) {
+			if (c < ASCII) {
+				return this.ascii[c];
+			}
+			for (int i = 0; i < this.otherFirstChars.length; i++) {
+				if (this.otherFirstChars[i] == c) {
+					return this.other[i];
+				}
+			}
+			return null;
+		}
+
+		private static String[] append(String[] values, String value) {
+			if (values == null) {
+				return new String[] { value };
+			}
+			String[] appended = Arrays.copyOf(values, values.length + 1);
+			appended[values.length] = value;
+			return appended;
+		}
+
+	}
+
+}
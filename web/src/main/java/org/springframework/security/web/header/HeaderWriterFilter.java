@@ -28,6 +28,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
 import jakarta.servlet.http.HttpServletResponse;
 
+import org.springframework.security.web.header.writers.CompositeHeaderWriter;
 import org.springframework.security.web.util.OnCommittedResponseWrapper;
 import org.springframework.util.Assert;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -37,6 +38,11 @@ import org.springframework.web.filter.OncePerRequestFilter;
  * certain headers which enable browser protection. Like X-Frame-Options, X-XSS-Protection
  * and X-Content-Type-Options.
  *
+ * <p>
+ * The headers of consecutive {@link PrecomputableHeaderWriter}s are gathered into a
+ * single block once, as described in {@link CompositeHeaderWriter}, so that only dynamic
+ * {@link HeaderWriter}s are invoked per request.
+ *
  * @author Marten Deinum
  * @author Josh Cummings
  * @author Ankur Pathak
@@ -48,7 +54,7 @@ public class HeaderWriterFilter extends OncePerRequestFilter {
 	 * The {@link HeaderWriter} to write headers to the response.
 	 * {@see CompositeHeaderWriter}
 	 */
-	private final List<HeaderWriter> headerWriters;
+	private final CompositeHeaderWriter headerWriter;
 
 	/**
 	 * Indicates whether to write the headers at the beginning of the request.
@@ -62,7 +68,7 @@ public class HeaderWriterFilter extends OncePerRequestFilter {
 	 */
 	public HeaderWriterFilter(List<HeaderWriter> headerWriters) {
 		Assert.notEmpty(headerWriters, "headerWriters cannot be null or empty");
-		this.headerWriters = headerWriters;
+		this.headerWriter = new CompositeHeaderWriter(headerWriters);
 	}
 
 	@Override
@@ -95,9 +101,7 @@ public class HeaderWriterFilter extends OncePerRequestFilter {
 	}
 
 	void writeHeaders(HttpServletRequest request, HttpServletResponse response) {
-		for (HeaderWriter writer : this.headerWriters) {
-			writer.writeHeaders(request, response);
-		}
+		this.headerWriter.writeHeaders(request, response);
 	}
 
 	/**
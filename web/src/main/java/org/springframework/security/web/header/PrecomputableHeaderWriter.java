@@ -0,0 +1,63 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.header;
+
+import java.util.List;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * A {@link HeaderWriter} whose headers depend on nothing but whether the request is
+ * secure. This allows {@link HeaderWriterFilter} and
+ * {@link org.springframework.security.web.header.writers.CompositeHeaderWriter} to
+ * gather the headers of consecutive writers into one block, once, and to apply that
+ * block to each response in a single pass instead of invoking each writer.
+ *
+ * <p>
+ * Implementations promise that {@link #writeHeaders} does nothing more than add each of
+ * the {@link #getStaticHeaders(boolean) static headers} whose name the response does not
+ * already contain. Implementations that can be reconfigured change their
+ * {@link #getStaticHeadersVersion() version} whenever their static headers change.
+ *
+ * @since 7.0
+ * @see HeaderWriterFilter
+ */
+public interface PrecomputableHeaderWriter extends HeaderWriter {
+
+	/**
+	 * Return the headers that this writer writes to every response.
+	 * @param secure whether the request is {@link HttpServletRequest#isSecure() secure}
+	 * @return the headers to write, possibly empty, or {@code null} if the headers
+	 * currently depend on more than whether the request is secure
+	 */
+	@Nullable
+	List<Header> getStaticHeaders(boolean secure);
+
+	/**
+	 * Return a number that changes whenever this writer is reconfigured in a way that
+	 * changes its {@link #getStaticHeaders(boolean) static headers}, so that headers that
+	 * were gathered earlier can be gathered again. The default is {@code 0}, suitable for
+	 * writers that cannot be reconfigured.
+	 * @return the version of the static headers
+	 */
+	default int getStaticHeadersVersion() {
+		return 0;
+	}
+
+}
@@ -16,17 +16,32 @@
 
 package org.springframework.security.web.header.writers;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import org.springframework.security.web.header.Header;
 import org.springframework.security.web.header.HeaderWriter;
+import org.springframework.security.web.header.PrecomputableHeaderWriter;
 import org.springframework.util.Assert;
 
 /**
  * A {@link HeaderWriter} that delegates to several other {@link HeaderWriter}s.
  *
+ * <p>
+ * The headers of consecutive {@link PrecomputableHeaderWriter}s are gathered into a
+ * single block the first time that headers are written for a secure or an insecure
+ * request. That block is then applied to each response in one pass, and only the
+ * remaining, dynamic, {@link HeaderWriter}s are invoked per request. The block is
+ * gathered again once any of those writers reports a new
+ * {@link PrecomputableHeaderWriter#getStaticHeadersVersion() version}. The headers that
+ * are written and their precedence are the same as invoking each writer in order.
+ *
  * @author Ankur Pathak
  * @since 5.2
  */
@@ -34,6 +49,12 @@ public class CompositeHeaderWriter implements HeaderWriter {
 
 	private final List<HeaderWriter> headerWriters;
 
+	private final PrecomputableHeaderWriter[] precomputableHeaderWriters;
+
+	private volatile Precomputed secureHeaderWriters;
+
+	private volatile Precomputed insecureHeaderWriters;
+
 	/**
 	 * Creates a new instance.
 	 * @param headerWriters the {@link HeaderWriter} instances to write out headers to the
@@ -42,11 +63,126 @@ public class CompositeHeaderWriter implements HeaderWriter {
 	public CompositeHeaderWriter(List<HeaderWriter> headerWriters) {
 		Assert.notEmpty(headerWriters, "headerWriters cannot be empty");
 		this.headerWriters = headerWriters;
+		this.precomputableHeaderWriters = headerWriters.stream()
+			.filter(PrecomputableHeaderWriter.class::isInstance)
+			.map(PrecomputableHeaderWriter.class::cast)
+			.toArray(PrecomputableHeaderWriter[]::new);
 	}
 
 	@Override
 	public void writeHeaders(HttpServletRequest request, HttpServletResponse response) {
-		this.headerWriters.forEach((headerWriter) -> headerWriter.writeHeaders(request, response));
+		for (HeaderWriter headerWriter : getHeaderWriters(request.isSecure())) {
+			headerWriter.writeHeaders(request, response);
+		}
+	}
+
+	private List<HeaderWriter> getHeaderWriters(boolean secure) {
+		Precomputed precomputed = secure ? this.secureHeaderWriters : this.insecureHeaderWriters;
+		if (precomputed != null && precomputed.isCurrent(this.precomputableHeaderWriters)) {
+			return precomputed.headerWriters;
+		}
+		// read the versions first so that a concurrent change is picked up next time
+		int[] versions = versions(this.precomputableHeaderWriters);
+		precomputed = new Precomputed(precompute(secure), versions);
+		if (secure) {
+			this.secureHeaderWriters = precomputed;
+		}
+		else {
+			this.insecureHeaderWriters = precomputed;
+		}
+		return precomputed.headerWriters;
+	}
+
+	private static int[] versions(PrecomputableHeaderWriter[] headerWriters) {
+		int[] versions = new int[headerWriters.length];
+		for (int i = 0; i < headerWriters.length; i++) {
+			versions[i] = headerWriters[i].getStaticHeadersVersion();
+		}
+		return versions;
+	}
+
+	private List<HeaderWriter> precompute(boolean secure) {
+		List<HeaderWriter> headerWriters = new ArrayList<>();
+		Map<String, Header> block = new LinkedHashMap<>();
+		for (HeaderWriter headerWriter : this.headerWriters) {
+			List<Header> headers = (headerWriter instanceof PrecomputableHeaderWriter precomputable)
+					? precomputable.getStaticHeaders(secure) : null;
+			if (headers == null) {
+				addBlock(headerWriters, block);
+				headerWriters.add(headerWriter);
+				continue;
+			}
+			for (Header header : headers) {
+				// a later writer would find the header already written and skip it
+				block.putIfAbsent(header.getName().toLowerCase(Locale.ROOT), header);
+			}
+		}
+		addBlock(headerWriters, block);
+		return List.copyOf(headerWriters);
+	}
+
+	private static void addBlock(List<HeaderWriter> headerWriters, Map<String, Header> block) {
+		if (block.isEmpty()) {
+			return;
+		}
+		headerWriters.add(new HeaderBlockWriter(block.values().toArray(new Header[0])));
+		block.clear();
+	}
+
+	/**
+	 * The writers to invoke, along with the versions of the static headers they were
+	 * gathered from
+	 */
+	private static final class Precomputed {
+
+		private final List<HeaderWriter> headerWriters;
+
+		private final int[] versions;
+
+		private Precomputed(List<HeaderWriter> headerWriters, int[] versions) {
+			this.headerWriters = headerWriters;
+			this.versions = versions;
+		}
+
+		private boolean isCurrent(PrecomputableHeaderWriter[] headerWriters) {
+			for (int i = 0; i < headerWriters.length; i++) {
+				if (headerWriters[i].getStaticHeadersVersion() != this.versions[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+	}
+
+	/**
+	 * Writes a precomputed block of headers, skipping any header whose name the response
+	 * already contains
+	 */
+	private static final class HeaderBlockWriter implements HeaderWriter {
+
+		private final Header[] headers;
+
+		private HeaderBlockWriter(Header[] headers) {
+			this.headers = headers;
+		}
+
+		@Override
+		public void writeHeaders(HttpServletRequest request, HttpServletResponse response) {
+			for (Header header : this.headers) {
+				if (!response.containsHeader(header.getName())) {
+					for (String value : header.getValues()) {
+						response.addHeader(header.getName(), value);
+					}
+				}
+			}
+		}
+
+		@Override
+		public String toString() {
+			return getClass().getSimpleName() + " " + List.of(this.headers);
+		}
+
 	}
 
 }
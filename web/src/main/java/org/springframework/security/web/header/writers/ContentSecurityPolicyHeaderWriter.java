@@ -16,10 +16,14 @@
 
 package org.springframework.security.web.header.writers;
 
+import java.util.List;
+
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import org.springframework.security.web.header.Header;
 import org.springframework.security.web.header.HeaderWriter;
+import org.springframework.security.web.header.PrecomputableHeaderWriter;
 import org.springframework.util.Assert;
 
 /**
@@ -81,7 +85,7 @@ import org.springframework.util.Assert;
  * @author Ankur Pathak
  * @since 4.1
  */
-public final class ContentSecurityPolicyHeaderWriter implements HeaderWriter {
+public final class ContentSecurityPolicyHeaderWriter implements PrecomputableHeaderWriter {
 
 	private static final String CONTENT_SECURITY_POLICY_HEADER = "Content-Security-Policy";
 
@@ -93,6 +97,8 @@ public final class ContentSecurityPolicyHeaderWriter implements HeaderWriter {
 
 	private boolean reportOnly;
 
+	private volatile int staticHeadersVersion;
+
 	/**
 	 * Creates a new instance. Default value: default-src 'self'
 	 */
@@ -124,6 +130,18 @@ public final class ContentSecurityPolicyHeaderWriter implements HeaderWriter {
 		}
 	}
 
+	@Override
+	public List<Header> getStaticHeaders(boolean secure) {
+		String headerName = (!this.reportOnly) ? CONTENT_SECURITY_POLICY_HEADER
+				: CONTENT_SECURITY_POLICY_REPORT_ONLY_HEADER;
+		return List.of(new Header(headerName, this.policyDirectives));
+	}
+
+	@Override
+	public int getStaticHeadersVersion() {
+		return this.staticHeadersVersion;
+	}
+
 	/**
 	 * Sets the security policy directive(s) to be used in the response header.
 	 * @param policyDirectives the security policy directive(s)
@@ -132,6 +150,7 @@ public final class ContentSecurityPolicyHeaderWriter implements HeaderWriter {
 	public void setPolicyDirectives(String policyDirectives) {
 		Assert.hasLength(policyDirectives, "policyDirectives cannot be null or empty");
 		this.policyDirectives = policyDirectives;
+		this.staticHeadersVersion++;
 	}
 
 	/**
@@ -141,6 +160,7 @@ public final class ContentSecurityPolicyHeaderWriter implements HeaderWriter {
 	 */
 	public void setReportOnly(boolean reportOnly) {
 		this.reportOnly = reportOnly;
+		this.staticHeadersVersion++;
 	}
 
 	@Override
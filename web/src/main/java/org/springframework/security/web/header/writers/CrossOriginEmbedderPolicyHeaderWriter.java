@@ -16,10 +16,13 @@
 
 package org.springframework.security.web.header.writers;
 
+import java.util.List;
+
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
-import org.springframework.security.web.header.HeaderWriter;
+import org.springframework.security.web.header.Header;
+import org.springframework.security.web.header.PrecomputableHeaderWriter;
 import org.springframework.util.Assert;
 
 /**
@@ -31,12 +34,14 @@ import org.springframework.util.Assert;
  * "https://developer.mozilla.org/en-US/docs/Web/HTTP/Headers/Cross-Origin-Embedder-Policy">
  * Cross-Origin-Embedder-Policy</a>
  */
-public final class CrossOriginEmbedderPolicyHeaderWriter implements HeaderWriter {
+public final class CrossOriginEmbedderPolicyHeaderWriter implements PrecomputableHeaderWriter {
 
 	private static final String EMBEDDER_POLICY = "Cross-Origin-Embedder-Policy";
 
 	private CrossOriginEmbedderPolicy policy;
 
+	private volatile int staticHeadersVersion;
+
 	/**
 	 * Sets the {@link CrossOriginEmbedderPolicy} value to be used in the
 	 * {@code Cross-Origin-Embedder-Policy} header
@@ -45,6 +50,7 @@ public final class CrossOriginEmbedderPolicyHeaderWriter implements HeaderWriter
 	public void setPolicy(CrossOriginEmbedderPolicy embedderPolicy) {
 		Assert.notNull(embedderPolicy, "embedderPolicy cannot be null");
 		this.policy = embedderPolicy;
+		this.staticHeadersVersion++;
 	}
 
 	@Override
@@ -54,6 +60,16 @@ public final class CrossOriginEmbedderPolicyHeaderWriter implements HeaderWriter
 		}
 	}
 
+	@Override
+	public List<Header> getStaticHeaders(boolean secure) {
+		return (this.policy != null) ? List.of(new Header(EMBEDDER_POLICY, this.policy.getPolicy())) : List.of();
+	}
+
+	@Override
+	public int getStaticHeadersVersion() {
+		return this.staticHeadersVersion;
+	}
+
 	public enum CrossOriginEmbedderPolicy {
 
 		UNSAFE_NONE("unsafe-none"),
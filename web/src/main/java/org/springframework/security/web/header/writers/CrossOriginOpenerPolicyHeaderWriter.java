@@ -16,10 +16,13 @@
 
 package org.springframework.security.web.header.writers;
 
+import java.util.List;
+
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
-import org.springframework.security.web.header.HeaderWriter;
+import org.springframework.security.web.header.Header;
+import org.springframework.security.web.header.PrecomputableHeaderWriter;
 import org.springframework.util.Assert;
 
 /**
@@ -31,12 +34,14 @@ import org.springframework.util.Assert;
  * "https://developer.mozilla.org/en-US/docs/Web/HTTP/Headers/Cross-Origin-Opener-Policy">
  * Cross-Origin-Opener-Policy</a>
  */
-public final class CrossOriginOpenerPolicyHeaderWriter implements HeaderWriter {
+public final class CrossOriginOpenerPolicyHeaderWriter implements PrecomputableHeaderWriter {
 
 	private static final String OPENER_POLICY = "Cross-Origin-Opener-Policy";
 
 	private CrossOriginOpenerPolicy policy;
 
+	private volatile int staticHeadersVersion;
+
 	/**
 	 * Sets the {@link CrossOriginOpenerPolicy} value to be used in the
 	 * {@code Cross-Origin-Opener-Policy} header
@@ -45,6 +50,7 @@ public final class CrossOriginOpenerPolicyHeaderWriter implements HeaderWriter {
 	public void setPolicy(CrossOriginOpenerPolicy openerPolicy) {
 		Assert.notNull(openerPolicy, "openerPolicy cannot be null");
 		this.policy = openerPolicy;
+		this.staticHeadersVersion++;
 	}
 
 	@Override
@@ -54,6 +60,16 @@ public final class CrossOriginOpenerPolicyHeaderWriter implements HeaderWriter {
 		}
 	}
 
+	@Override
+	public List<Header> getStaticHeaders(boolean secure) {
+		return (this.policy != null) ? List.of(new Header(OPENER_POLICY, this.policy.getPolicy())) : List.of();
+	}
+
+	@Override
+	public int getStaticHeadersVersion() {
+		return this.staticHeadersVersion;
+	}
+
 	public enum CrossOriginOpenerPolicy {
 
 		UNSAFE_NONE("unsafe-none"),
@@ -16,10 +16,13 @@
 
 package org.springframework.security.web.header.writers;
 
+import java.util.List;
+
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
-import org.springframework.security.web.header.HeaderWriter;
+import org.springframework.security.web.header.Header;
+import org.springframework.security.web.header.PrecomputableHeaderWriter;
 import org.springframework.util.Assert;
 
 /**
@@ -31,12 +34,14 @@ import org.springframework.util.Assert;
  * "https://developer.mozilla.org/en-US/docs/Web/HTTP/Headers/Cross-Origin-Resource-Policy">
  * Cross-Origin-Resource-Policy</a>
  */
-public final class CrossOriginResourcePolicyHeaderWriter implements HeaderWriter {
+public final class CrossOriginResourcePolicyHeaderWriter implements PrecomputableHeaderWriter {
 
 	private static final String RESOURCE_POLICY = "Cross-Origin-Resource-Policy";
 
 	private CrossOriginResourcePolicy policy;
 
+	private volatile int staticHeadersVersion;
+
 	/**
 	 * Sets the {@link CrossOriginResourcePolicy} value to be used in the
 	 * {@code Cross-Origin-Resource-Policy} header
@@ -45,6 +50,7 @@ public final class CrossOriginResourcePolicyHeaderWriter implements HeaderWriter
 	public void setPolicy(CrossOriginResourcePolicy resourcePolicy) {
 		Assert.notNull(resourcePolicy, "resourcePolicy cannot be null");
 		this.policy = resourcePolicy;
+		this.staticHeadersVersion++;
 	}
 
 	@Override
@@ -54,6 +60,16 @@ public final class CrossOriginResourcePolicyHeaderWriter implements HeaderWriter
 		}
 	}
 
+	@Override
+	public List<Header> getStaticHeaders(boolean secure) {
+		return (this.policy != null) ? List.of(new Header(RESOURCE_POLICY, this.policy.getPolicy())) : List.of();
+	}
+
+	@Override
+	public int getStaticHeadersVersion() {
+		return this.staticHeadersVersion;
+	}
+
 	public enum CrossOriginResourcePolicy {
 
 		SAME_SITE("same-site"),
@@ -16,10 +16,13 @@
 
 package org.springframework.security.web.header.writers;
 
+import java.util.List;
+
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
-import org.springframework.security.web.header.HeaderWriter;
+import org.springframework.security.web.header.Header;
+import org.springframework.security.web.header.PrecomputableHeaderWriter;
 import org.springframework.util.Assert;
 
 /**
@@ -36,12 +39,14 @@ import org.springframework.util.Assert;
  * @author Ankur Pathak
  * @since 5.1
  */
-public final class FeaturePolicyHeaderWriter implements HeaderWriter {
+public final class FeaturePolicyHeaderWriter implements PrecomputableHeaderWriter {
 
 	private static final String FEATURE_POLICY_HEADER = "Feature-Policy";
 
 	private String policyDirectives;
 
+	private volatile int staticHeadersVersion;
+
 	/**
 	 * Create a new instance of {@link FeaturePolicyHeaderWriter} with supplied security
 	 * policy directive(s).
@@ -59,6 +64,16 @@ public final class FeaturePolicyHeaderWriter implements HeaderWriter {
 		}
 	}
 
+	@Override
+	public List<Header> getStaticHeaders(boolean secure) {
+		return List.of(new Header(FEATURE_POLICY_HEADER, this.policyDirectives));
+	}
+
+	@Override
+	public int getStaticHeadersVersion() {
+		return this.staticHeadersVersion;
+	}
+
 	/**
 	 * Set the security policy directive(s) to be used in the response header.
 	 * @param policyDirectives the security policy directive(s)
@@ -67,6 +82,7 @@ public final class FeaturePolicyHeaderWriter implements HeaderWriter {
 	public void setPolicyDirectives(String policyDirectives) {
 		Assert.hasLength(policyDirectives, "policyDirectives must not be null or empty");
 		this.policyDirectives = policyDirectives;
+		this.staticHeadersVersion++;
 	}
 
 	@Override
@@ -16,13 +16,17 @@
 
 package org.springframework.security.web.header.writers;
 
+import java.util.List;
+
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.core.log.LogMessage;
-import org.springframework.security.web.header.HeaderWriter;
+import org.springframework.lang.Nullable;
+import org.springframework.security.web.header.Header;
+import org.springframework.security.web.header.PrecomputableHeaderWriter;
 import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.util.Assert;
 
@@ -56,7 +60,7 @@ import org.springframework.util.Assert;
  * @author Ankur Pathak
  * @since 3.2
  */
-public final class HstsHeaderWriter implements HeaderWriter {
+public final class HstsHeaderWriter implements PrecomputableHeaderWriter {
 
 	private static final long DEFAULT_MAX_AGE_SECONDS = 31536000;
 
@@ -74,6 +78,8 @@ public final class HstsHeaderWriter implements HeaderWriter {
 
 	private String hstsHeaderValue;
 
+	private volatile int staticHeadersVersion;
+
 	/**
 	 * Creates a new instance
 	 * @param requestMatcher maps to {@link #setRequestMatcher(RequestMatcher)}
@@ -158,6 +164,27 @@ public final class HstsHeaderWriter implements HeaderWriter {
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The header only depends on whether the request is secure when the default
+	 * {@link RequestMatcher} is in use. Otherwise, returns {@code null}.
+	 * @since 7.0
+	 */
+	@Override
+	@Nullable
+	public List<Header> getStaticHeaders(boolean secure) {
+		if (!(this.requestMatcher instanceof SecureRequestMatcher)) {
+			return null;
+		}
+		return secure ? List.of(new Header(HSTS_HEADER_NAME, this.hstsHeaderValue)) : List.of();
+	}
+
+	@Override
+	public int getStaticHeadersVersion() {
+		return this.staticHeadersVersion;
+	}
+
 	/**
 	 * Sets the {@link RequestMatcher} used to determine if the
 	 * "Strict-Transport-Security" should be added. If true the header is added, else the
@@ -169,6 +196,7 @@ public final class HstsHeaderWriter implements HeaderWriter {
 	public void setRequestMatcher(RequestMatcher requestMatcher) {
 		Assert.notNull(requestMatcher, "requestMatcher cannot be null");
 		this.requestMatcher = requestMatcher;
+		this.staticHeadersVersion++;
 	}
 
 	/**
@@ -190,6 +218,7 @@ public final class HstsHeaderWriter implements HeaderWriter {
 		Assert.isTrue(maxAgeInSeconds >= 0, () -> "maxAgeInSeconds must be non-negative. Got " + maxAgeInSeconds);
 		this.maxAgeInSeconds = maxAgeInSeconds;
 		updateHstsHeaderValue();
+		this.staticHeadersVersion++;
 	}
 
 	/**
@@ -206,6 +235,7 @@ public final class HstsHeaderWriter implements HeaderWriter {
 	public void setIncludeSubDomains(boolean includeSubDomains) {
 		this.includeSubDomains = includeSubDomains;
 		updateHstsHeaderValue();
+		this.staticHeadersVersion++;
 	}
 
 	/**
@@ -223,6 +253,7 @@ public final class HstsHeaderWriter implements HeaderWriter {
 	public void setPreload(boolean preload) {
 		this.preload = preload;
 		updateHstsHeaderValue();
+		this.staticHeadersVersion++;
 	}
 
 	private void updateHstsHeaderValue() {
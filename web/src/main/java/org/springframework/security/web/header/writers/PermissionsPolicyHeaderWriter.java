@@ -16,10 +16,13 @@
 
 package org.springframework.security.web.header.writers;
 
+import java.util.List;
+
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
-import org.springframework.security.web.header.HeaderWriter;
+import org.springframework.security.web.header.Header;
+import org.springframework.security.web.header.PrecomputableHeaderWriter;
 import org.springframework.util.Assert;
 
 /**
@@ -35,12 +38,14 @@ import org.springframework.util.Assert;
  * @author Christophe Gilles
  * @since 5.5
  */
-public final class PermissionsPolicyHeaderWriter implements HeaderWriter {
+public final class PermissionsPolicyHeaderWriter implements PrecomputableHeaderWriter {
 
 	private static final String PERMISSIONS_POLICY_HEADER = "Permissions-Policy";
 
 	private String policy;
 
+	private volatile int staticHeadersVersion;
+
 	/**
 	 * Create a new instance of {@link PermissionsPolicyHeaderWriter}.
 	 */
@@ -65,6 +70,7 @@ public final class PermissionsPolicyHeaderWriter implements HeaderWriter {
 	public void setPolicy(String policy) {
 		Assert.hasLength(policy, "policy can not be null or empty");
 		this.policy = policy;
+		this.staticHeadersVersion++;
 	}
 
 	@Override
@@ -74,6 +80,16 @@ public final class PermissionsPolicyHeaderWriter implements HeaderWriter {
 		}
 	}
 
+	@Override
+	public List<Header> getStaticHeaders(boolean secure) {
+		return (this.policy != null) ? List.of(new Header(PERMISSIONS_POLICY_HEADER, this.policy)) : List.of();
+	}
+
+	@Override
+	public int getStaticHeadersVersion() {
+		return this.staticHeadersVersion;
+	}
+
 	@Override
 	public String toString() {
 		return getClass().getName() + " [policy=" + this.policy + "]";
@@ -18,13 +18,18 @@ package org.springframework.security.web.header.writers;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import org.springframework.lang.Nullable;
+import org.springframework.security.web.header.Header;
 import org.springframework.security.web.header.HeaderWriter;
+import org.springframework.security.web.header.PrecomputableHeaderWriter;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 
 /**
  * <p>
@@ -55,12 +60,14 @@ import org.springframework.util.Assert;
  * @author Ankur Pathak
  * @since 4.2
  */
-public class ReferrerPolicyHeaderWriter implements HeaderWriter {
+public class ReferrerPolicyHeaderWriter implements PrecomputableHeaderWriter {
 
 	private static final String REFERRER_POLICY_HEADER = "Referrer-Policy";
 
 	private ReferrerPolicy policy;
 
+	private volatile int staticHeadersVersion;
+
 	/**
 	 * Creates a new instance. Default value: no-referrer.
 	 */
@@ -85,6 +92,7 @@ public class ReferrerPolicyHeaderWriter implements HeaderWriter {
 	public void setPolicy(ReferrerPolicy policy) {
 		Assert.notNull(policy, "policy can not be null");
 		this.policy = policy;
+		this.staticHeadersVersion++;
 	}
 
 	/**
@@ -98,6 +106,29 @@ public class ReferrerPolicyHeaderWriter implements HeaderWriter {
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Returns {@code null} when a subclass overrides
+	 * {@link #writeHeaders(HttpServletRequest, HttpServletResponse)}, so that its
+	 * customization is still invoked for each request.
+	 * @since 7.0
+	 */
+	@Override
+	@Nullable
+	public List<Header> getStaticHeaders(boolean secure) {
+		Class<?> declaringClass = ClassUtils
+			.getMethod(getClass(), "writeHeaders", HttpServletRequest.class, HttpServletResponse.class)
+			.getDeclaringClass();
+		return (declaringClass == ReferrerPolicyHeaderWriter.class)
+				? List.of(new Header(REFERRER_POLICY_HEADER, this.policy.getPolicy())) : null;
+	}
+
+	@Override
+	public int getStaticHeadersVersion() {
+		return this.staticHeadersVersion;
+	}
+
 	public enum ReferrerPolicy {
 
 		NO_REFERRER("no-referrer"),
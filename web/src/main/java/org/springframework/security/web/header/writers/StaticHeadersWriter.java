@@ -22,9 +22,11 @@ import java.util.List;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import org.springframework.lang.Nullable;
 import org.springframework.security.web.header.Header;
-import org.springframework.security.web.header.HeaderWriter;
+import org.springframework.security.web.header.PrecomputableHeaderWriter;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 
 /**
  * {@code HeaderWriter} implementation which writes the same {@code Header} instance.
@@ -34,7 +36,7 @@ import org.springframework.util.Assert;
  * @author Ankur Pathak
  * @since 3.2
  */
-public class StaticHeadersWriter implements HeaderWriter {
+public class StaticHeadersWriter implements PrecomputableHeaderWriter {
 
 	private final List<Header> headers;
 
@@ -67,6 +69,23 @@ public class StaticHeadersWriter implements HeaderWriter {
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Returns {@code null} when a subclass overrides
+	 * {@link #writeHeaders(HttpServletRequest, HttpServletResponse)}, so that its
+	 * customization is still invoked for each request.
+	 * @since 7.0
+	 */
+	@Override
+	@Nullable
+	public List<Header> getStaticHeaders(boolean secure) {
+		Class<?> declaringClass = ClassUtils
+			.getMethod(getClass(), "writeHeaders", HttpServletRequest.class, HttpServletResponse.class)
+			.getDeclaringClass();
+		return (declaringClass == StaticHeadersWriter.class) ? this.headers : null;
+	}
+
 	@Override
 	public String toString() {
 		return getClass().getName() + " [headers=" + this.headers + "]";
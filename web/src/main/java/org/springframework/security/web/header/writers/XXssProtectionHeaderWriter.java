@@ -16,10 +16,13 @@
 
 package org.springframework.security.web.header.writers;
 
+import java.util.List;
+
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
-import org.springframework.security.web.header.HeaderWriter;
+import org.springframework.security.web.header.Header;
+import org.springframework.security.web.header.PrecomputableHeaderWriter;
 import org.springframework.util.Assert;
 
 /**
@@ -32,12 +35,14 @@ import org.springframework.util.Assert;
  * @author Daniel Garnier-Moiroux
  * @since 3.2
  */
-public final class XXssProtectionHeaderWriter implements HeaderWriter {
+public final class XXssProtectionHeaderWriter implements PrecomputableHeaderWriter {
 
 	private static final String XSS_PROTECTION_HEADER = "X-XSS-Protection";
 
 	private HeaderValue headerValue;
 
+	private volatile int staticHeadersVersion;
+
 	/**
 	 * Create a new instance
 	 */
@@ -52,6 +57,16 @@ public final class XXssProtectionHeaderWriter implements HeaderWriter {
 		}
 	}
 
+	@Override
+	public List<Header> getStaticHeaders(boolean secure) {
+		return List.of(new Header(XSS_PROTECTION_HEADER, this.headerValue.toString()));
+	}
+
+	@Override
+	public int getStaticHeadersVersion() {
+		return this.staticHeadersVersion;
+	}
+
 	/**
 	 * Sets the value of the X-XSS-PROTECTION header.
 	 * <p>
@@ -83,6 +98,7 @@ public final class XXssProtectionHeaderWriter implements HeaderWriter {
 	public void setHeaderValue(HeaderValue headerValue) {
 		Assert.notNull(headerValue, "headerValue cannot be null");
 		this.headerValue = headerValue;
+		this.staticHeadersVersion++;
 	}
 
 	/**
@@ -51,6 +51,15 @@ public class MatcherSecurityWebFilterChain implements SecurityWebFilterChain {
 		return this.matcher.matches(exchange).map((m) -> m.isMatch());
 	}
 
+	/**
+	 * The {@link ServerWebExchangeMatcher} that determines whether this chain applies
+	 * @return the {@link ServerWebExchangeMatcher}
+	 * @since 7.0
+	 */
+	public ServerWebExchangeMatcher getMatcher() {
+		return this.matcher;
+	}
+
 	@Override
 	public Flux<WebFilter> getWebFilters() {
 		return Flux.fromIterable(this.filters);
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.server;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.micrometer.observation.ObservationRegistry;
+import reactor.core.publisher.Mono;
+
+import org.springframework.security.web.FilterChainMetrics;
+import org.springframework.security.web.FilterChainMetrics.FilterTiming;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.server.WebHandler;
+
+/**
+ * A
+ * {@link org.springframework.security.web.server.WebFilterChainProxy.WebFilterChainDecorator}
+ * that records the time spent in each filter into pre-registered
+ * {@link FilterChainMetrics} instead of creating observations for every exchange.
+ *
+ * <p>
+ * A filter's time runs from the subscription to its {@link Mono} until that {@link Mono}
+ * terminates, minus the time spent in the rest of the chain. Optionally, a fraction of
+ * the exchanges can be sampled when they enter the chain and fully observed by an
+ * {@link ObservationWebFilterChainDecorator}. Sampled exchanges are recorded by their
+ * observations and not by the {@link FilterChainMetrics}.
+ *
+ * @since 7.0
+ * @see ObservationWebFilterChainDecorator
+ */
+public final class MetricsWebFilterChainDecorator implements WebFilterChainProxy.WebFilterChainDecorator {
+
+	private final FilterChainMetrics metrics = new FilterChainMetrics();
+
+	private final ConcurrentMap<WebFilter, FilterTiming> timings = new ConcurrentHashMap<>();
+
+	private final ObservationWebFilterChainDecorator observations;
+
+	private final double observationSampleRate;
+
+	/**
+	 * Construct a {@link MetricsWebFilterChainDecorator} that does not observe any
+	 * exchange
+	 */
+	public MetricsWebFilterChainDecorator() {
+		this(ObservationRegistry.NOOP, 0);
+	}
+
+	/**
+	 * Construct a {@link MetricsWebFilterChainDecorator} that fully observes the given
+	 * fraction of exchanges
+	 * @param registry the {@link ObservationRegistry} for sampled exchanges
+	 * @param observationSampleRate the fraction of exchanges to observe, between
+	 * {@code 0} and {@code 1}
+	 */
+	public MetricsWebFilterChainDecorator(ObservationRegistry registry, double observationSampleRate) {
+		Assert.notNull(registry, "registry cannot be null");
+		Assert.isTrue(observationSampleRate >= 0 && observationSampleRate <= 1,
+				"observationSampleRate must be between 0 and 1");
+		this.observations = new ObservationWebFilterChainDecorator(registry);
+		this.observationSampleRate = observationSampleRate;
+	}
+
+	/**
+	 * Get the {@link FilterChainMetrics} that this decorator records into
+	 * @return the {@link FilterChainMetrics}
+	 */
+	public FilterChainMetrics getMetrics() {
+		return this.metrics;
+	}
+
+	@Override
+	public WebFilterChain decorate(WebFilterChain original) {
+		return sample() ? this.observations.decorate(original) : original;
+	}
+
+	@Override
+	public WebFilterChain decorate(WebFilterChain original, List<WebFilter> filters) {
+		if (sample()) {
+			return this.observations.decorate(original, filters);
+		}
+		return new TimedWebFilterChain(original::filter, filters, 0, this);
+	}
+
+	private boolean sample() {
+		return this.observationSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < this.observationSampleRate;
+	}
+
+	private FilterTiming timing(WebFilter filter) {
+		return this.timings.computeIfAbsent(filter, this::register);
+	}
+
+	private FilterTiming register(WebFilter filter) {
+		String name = filter.getClass().getSimpleName();
+		return this.metrics.timing(StringUtils.hasText(name) ? name : filter.getClass().getName());
+	}
+
+	private static final class TimedWebFilterChain implements WebFilterChain {
+
+		private final WebHandler handler;
+
+		private final List<WebFilter> filters;
+
+		private final int position;
+
+		private final MetricsWebFilterChainDecorator decorator;
+
+		private long elapsedNanos;
+
+		private TimedWebFilterChain(WebHandler handler, List<WebFilter> filters, int position,
+				MetricsWebFilterChainDecorator decorator) {
+			this.handler = handler;
+			this.filters = filters;
+			this.position = position;
+			this.decorator = decorator;
+		}
+
+		@Override
+		public Mono<Void> filter(ServerWebExchange exchange) {
+			return Mono.defer(() -> {
+				long start = System.nanoTime();
+				Runnable stop = () -> this.elapsedNanos += System.nanoTime() - start;
+				return invoke(exchange, start).doOnTerminate(stop).doOnCancel(stop);
+			});
+		}
+
+		private Mono<Void> invoke(ServerWebExchange exchange, long start) {
+			if (this.position == this.filters.size()) {
+				return this.handler.handle(exchange);
+			}
+			WebFilter filter = this.filters.get(this.position);
+			FilterTiming timing = this.decorator.timing(filter);
+			TimedWebFilterChain next = new TimedWebFilterChain(this.handler, this.filters, this.position + 1,
+					this.decorator);
+			return filter.filter(exchange, next)
+				.doFinally((signal) -> timing.record(System.nanoTime() - start - next.elapsedNanos));
+		}
+
+	}
+
+}
@@ -16,7 +16,9 @@
 
 package org.springframework.security.web.server;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 
@@ -29,11 +31,16 @@ import org.springframework.security.web.server.firewall.ServerExchangeRejectedEx
 import org.springframework.security.web.server.firewall.ServerExchangeRejectedHandler;
 import org.springframework.security.web.server.firewall.ServerWebExchangeFirewall;
 import org.springframework.security.web.server.firewall.StrictServerWebExchangeFirewall;
+import org.springframework.security.web.server.util.matcher.OrServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.PathPatternParserServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.security.web.util.PathPrefixIndex;
 import org.springframework.util.Assert;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import org.springframework.web.server.handler.DefaultWebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
 
 /**
  * Used to delegate to a List of {@link SecurityWebFilterChain} instances.
@@ -51,6 +58,10 @@ public class WebFilterChainProxy implements WebFilter {
 
 	private ServerExchangeRejectedHandler exchangeRejectedHandler = new HttpStatusExchangeRejectedHandler();
 
+	private List<SecurityWebFilterChain> indexedFilters;
+
+	private PathPrefixIndex filterIndex;
+
 	public WebFilterChainProxy(List<SecurityWebFilterChain> filters) {
 		this.filters = filters;
 	}
@@ -68,7 +79,7 @@ public class WebFilterChainProxy implements WebFilter {
 	}
 
 	private Mono<Void> filterFirewalledExchange(ServerWebExchange firewalledExchange, WebFilterChain chain) {
-		return Flux.fromIterable(this.filters)
+		return candidates(firewalledExchange)
 			.filterWhen((securityWebFilterChain) -> securityWebFilterChain.matches(firewalledExchange))
 			.next()
 			.switchIfEmpty(Mono
@@ -78,6 +89,67 @@ public class WebFilterChainProxy implements WebFilter {
 			.flatMap((securedChain) -> securedChain.filter(firewalledExchange));
 	}
 
+	private Flux<SecurityWebFilterChain> candidates(ServerWebExchange exchange) {
+		if (this.filterIndex == null) {
+			return Flux.fromIterable(this.filters);
+		}
+		BitSet candidates = this.filterIndex.candidates(exchange.getRequest().getPath().pathWithinApplication());
+		return Flux.fromStream(() -> candidates.stream().mapToObj(this.indexedFilters::get));
+	}
+
+	/**
+	 * Whether to index the {@link SecurityWebFilterChain}s by the literal path prefix of
+	 * their matchers. Defaults to {@code false}.
+	 *
+	 * <p>
+	 * When enabled, a {@link MatcherSecurityWebFilterChain} whose matcher is a
+	 * {@link PathPatternParserServerWebExchangeMatcher}, or an
+	 * {@link OrServerWebExchangeMatcher} composed only of them, is only evaluated for
+	 * requests whose path starts with the literal segments of one of its patterns. Any
+	 * other chain is evaluated for every request. Candidate chains are still evaluated in
+	 * their configured order, so the first matching chain is the one that is used.
+	 * @param indexFilterChains whether to index the filter chains
+	 * @since 7.0
+	 */
+	public void setIndexFilterChains(boolean indexFilterChains) {
+		if (!indexFilterChains) {
+			this.indexedFilters = null;
+			this.filterIndex = null;
+			return;
+		}
+		PathPrefixIndex.Builder index = PathPrefixIndex.builder();
+		for (SecurityWebFilterChain chain : this.filters) {
+			List<PathPattern> patterns = (chain.getClass() == MatcherSecurityWebFilterChain.class)
+					? pathPatterns(((MatcherSecurityWebFilterChain) chain).getMatcher()) : null;
+			if (patterns != null) {
+				index.patterns(patterns);
+			}
+			else {
+				index.unindexed();
+			}
+		}
+		this.indexedFilters = List.copyOf(this.filters);
+		this.filterIndex = index.build();
+	}
+
+	private static List<PathPattern> pathPatterns(ServerWebExchangeMatcher matcher) {
+		if (matcher instanceof PathPatternParserServerWebExchangeMatcher pathPattern) {
+			return List.of(pathPattern.getPattern());
+		}
+		if (matcher.getClass() != OrServerWebExchangeMatcher.class) {
+			return null;
+		}
+		List<PathPattern> patterns = new ArrayList<>();
+		for (ServerWebExchangeMatcher delegate : ((OrServerWebExchangeMatcher) matcher).getMatchers()) {
+			List<PathPattern> delegatePatterns = pathPatterns(delegate);
+			if (delegatePatterns == null) {
+				return null;
+			}
+			patterns.addAll(delegatePatterns);
+		}
+		return patterns;
+	}
+
 	/**
 	 * Protects the application using the provided
 	 * {@link StrictServerWebExchangeFirewall}.
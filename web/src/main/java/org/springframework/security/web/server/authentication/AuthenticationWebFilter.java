@@ -16,19 +16,28 @@
 
 package org.springframework.security.web.server.authentication;
 
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.util.function.Function;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import reactor.core.publisher.Mono;
 
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.MessageSourceAccessor;
 import org.springframework.core.log.LogMessage;
+import org.springframework.lang.Nullable;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.authentication.ReactiveAuthenticationManagerResolver;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.SpringSecurityMessageSource;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.authentication.AuthenticationThrottle;
+import org.springframework.security.web.authentication.AuthenticationThrottledException;
 import org.springframework.security.web.server.WebFilterExchange;
 import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
 import org.springframework.security.web.server.context.ServerSecurityContextRepository;
@@ -86,6 +95,10 @@ public class AuthenticationWebFilter implements WebFilter {
 
 	private ServerWebExchangeMatcher requiresAuthenticationMatcher = ServerWebExchangeMatchers.anyExchange();
 
+	private AuthenticationThrottle authenticationThrottle;
+
+	private MessageSourceAccessor messages = SpringSecurityMessageSource.getAccessor();
+
 	/**
 	 * Creates an instance
 	 * @param authenticationManager the authentication manager to use
@@ -118,8 +131,34 @@ public class AuthenticationWebFilter implements WebFilter {
 	}
 
 	private Mono<Void> authenticate(ServerWebExchange exchange, WebFilterChain chain, Authentication token) {
+		if (this.authenticationThrottle != null) {
+			return authenticateUnlessThrottled(exchange, chain, token, this.authenticationThrottle);
+		}
+		return doAuthenticate(exchange, chain, token);
+	}
+
+	private Mono<Void> authenticateUnlessThrottled(ServerWebExchange exchange, WebFilterChain chain,
+			Authentication token, AuthenticationThrottle throttle) {
+		String clientAddress = clientAddress(exchange);
+		if (throttle.isThrottled(token.getName(), clientAddress)) {
+			logger.debug("Rejected authentication request since it has too many recent failures");
+			return Mono.error(new AuthenticationThrottledException(this.messages.getMessage(
+					"AbstractAuthenticationProcessingFilter.throttled", "Too many failed authentication attempts")));
+		}
+		return doAuthenticate(exchange, chain, token, (authenticationManager) -> authenticationManager
+			.authenticate(token)
+			.doOnError(BadCredentialsException.class, (ex) -> throttle.recordFailure(token.getName(), clientAddress)));
+	}
+
+	private Mono<Void> doAuthenticate(ServerWebExchange exchange, WebFilterChain chain, Authentication token) {
+		return doAuthenticate(exchange, chain, token,
+				(authenticationManager) -> authenticationManager.authenticate(token));
+	}
+
+	private Mono<Void> doAuthenticate(ServerWebExchange exchange, WebFilterChain chain, Authentication token,
+			Function<ReactiveAuthenticationManager, Mono<Authentication>> authenticate) {
 		return this.authenticationManagerResolver.resolve(exchange)
-			.flatMap((authenticationManager) -> authenticationManager.authenticate(token))
+			.flatMap(authenticate)
 			.switchIfEmpty(Mono
 				.defer(() -> Mono.error(new IllegalStateException("No provider found for " + token.getClass()))))
 			.flatMap(
@@ -128,6 +167,16 @@ public class AuthenticationWebFilter implements WebFilter {
 					(ex) -> logger.debug(LogMessage.format("Authentication failed: %s", ex.getMessage()), ex));
 	}
 
+	@Nullable
+	private static String clientAddress(ServerWebExchange exchange) {
+		InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+		if (remoteAddress == null) {
+			return null;
+		}
+		InetAddress address = remoteAddress.getAddress();
+		return (address != null) ? address.getHostAddress() : remoteAddress.getHostString();
+	}
+
 	protected Mono<Void> onAuthenticationSuccess(Authentication authentication, WebFilterExchange webFilterExchange) {
 		ServerWebExchange exchange = webFilterExchange.getExchange();
 		SecurityContextImpl securityContext = new SecurityContextImpl();
@@ -210,4 +259,31 @@ public class AuthenticationWebFilter implements WebFilter {
 		this.requiresAuthenticationMatcher = requiresAuthenticationMatcher;
 	}
 
+	/**
+	 * Sets the {@link AuthenticationThrottle} to consult before each authentication
+	 * attempt. A request whose username or client address has too many recent failures is
+	 * rejected with an {@link AuthenticationThrottledException}, without invoking the
+	 * {@link ReactiveAuthenticationManager}. Since reactive authentication managers do not
+	 * publish authentication events, this filter records each {@link BadCredentialsException}
+	 * with the throttle itself. The default is not to throttle.
+	 * @param authenticationThrottle the {@link AuthenticationThrottle} to use
+	 * @since 7.0
+	 */
+	public void setAuthenticationThrottle(AuthenticationThrottle authenticationThrottle) {
+		Assert.notNull(authenticationThrottle, "authenticationThrottle cannot be null");
+		this.authenticationThrottle = authenticationThrottle;
+	}
+
+	/**
+	 * Sets the {@link MessageSource} used to resolve the message of an
+	 * {@link AuthenticationThrottledException}. The default is
+	 * {@link SpringSecurityMessageSource}.
+	 * @param messageSource the {@link MessageSource} to use
+	 * @since 7.0
+	 */
+	public void setMessageSource(MessageSource messageSource) {
+		Assert.notNull(messageSource, "messageSource cannot be null");
+		this.messages = new MessageSourceAccessor(messageSource);
+	}
+
 }
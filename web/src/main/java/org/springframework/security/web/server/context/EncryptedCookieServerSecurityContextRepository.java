@@ -0,0 +1,509 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.server.context;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import reactor.core.publisher.Mono;
+
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.log.LogMessage;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.Transient;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.crypto.encrypt.BytesEncryptor;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * A {@link ServerSecurityContextRepository} that stores an encrypted snapshot of the
+ * {@link SecurityContext} in a cookie, so that no server-side state is needed to restore
+ * the context on subsequent requests.
+ *
+ * <p>
+ * The context is serialized, compressed and then encrypted with the configured
+ * {@link BytesEncryptor}, for example
+ * {@link org.springframework.security.crypto.encrypt.Encryptors#stronger}. The encrypted
+ * bytes are then signed with an HMAC, computed with the given {@link SecretKey}. A cookie
+ * is only decrypted and deserialized once its HMAC is verified, so a client cannot
+ * tamper with the cookie, even if the encryptor does not authenticate what it encrypts.
+ * The time at which the context was saved is encrypted along with it, and a context older
+ * than {@link #setContextValidity(Duration) contextValidity} is ignored.
+ *
+ * <p>
+ * To rotate keys, construct this repository with an encryptor for the new key and pass
+ * encryptors for the previous keys to {@link #setPreviousEncryptors(List)}. Cookies
+ * encrypted with a previous key are still read, and are re-encrypted with the new key
+ * the next time that the context is saved. The signing key is not rotated this way;
+ * changing it discards all saved contexts.
+ *
+ * <p>
+ * A value longer than {@link #setMaxCookieValueLength(int) maxCookieValueLength} is split
+ * into several cookies, named after the {@link #setCookieName(String) cookie name} with
+ * a {@code _1}, {@code _2}, and so on suffix. A context that needs more than
+ * {@link #setMaxCookies(int) maxCookies} cookies is not saved.
+ *
+ * <p>
+ * The cookies are read and decrypted only once the {@link Mono} returned by
+ * {@link #load(ServerWebExchange)} is subscribed to.
+ *
+ * @since 7.0
+ * @see org.springframework.security.web.context.EncryptedCookieSecurityContextRepository
+ */
+public final class EncryptedCookieServerSecurityContextRepository implements ServerSecurityContextRepository {
+
+	/**
+	 * The default name of the cookie that stores the {@link SecurityContext}
+	 */
+	public static final String DEFAULT_COOKIE_NAME = "SPRING_SECURITY_CONTEXT";
+
+	private static final String SAVED_CONTEXT_ATTRIBUTE_NAME = EncryptedCookieServerSecurityContextRepository.class
+		.getName()
+		.concat(".SAVED_CONTEXT");
+
+	private static final Object NO_CONTEXT = new Object();
+
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	private static final Log logger = LogFactory.getLog(EncryptedCookieServerSecurityContextRepository.class);
+
+	private final BytesEncryptor encryptor;
+
+	private final SecretKey signingKey;
+
+	private final Mac mac;
+
+	private List<BytesEncryptor> previousEncryptors = List.of();
+
+	private Converter<Object, byte[]> serializer = new SerializingConverter();
+
+	private Converter<byte[], Object> deserializer = new DeserializingConverter();
+
+	private String cookieName = DEFAULT_COOKIE_NAME;
+
+	private String cookiePath;
+
+	private Boolean secure;
+
+	private int maxCookieValueLength = 3800;
+
+	private int maxCookies = 4;
+
+	private Duration contextValidity = Duration.ofHours(12);
+
+	private Clock clock = Clock.systemUTC();
+
+	private Consumer<ResponseCookie.ResponseCookieBuilder> cookieCustomizer = (builder) -> {
+	};
+
+	private AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
+	/**
+	 * Construct an {@link EncryptedCookieServerSecurityContextRepository}
+	 * @param encryptor the {@link BytesEncryptor} with which to encrypt and decrypt the
+	 * {@link SecurityContext}
+	 * @param signingKey the key to sign the encrypted {@link SecurityContext} with, whose
+	 * algorithm is an HMAC algorithm, such as {@code HmacSHA256}. It must be shared by all
+	 * instances of the application.
+	 */
+	public EncryptedCookieServerSecurityContextRepository(BytesEncryptor encryptor, SecretKey signingKey) {
+		Assert.notNull(encryptor, "encryptor cannot be null");
+		Assert.notNull(signingKey, "signingKey cannot be null");
+		this.encryptor = encryptor;
+		this.signingKey = signingKey;
+		this.mac = createMac();
+	}
+
+	@Override
+	public Mono<Void> save(ServerWebExchange exchange, SecurityContext context) {
+		return Mono.fromRunnable(() -> saveContext(exchange, context));
+	}
+
+	@Override
+	public Mono<SecurityContext> load(ServerWebExchange exchange) {
+		return Mono.fromCallable(() -> readSecurityContext(exchange));
+	}
+
+	private void saveContext(ServerWebExchange exchange, SecurityContext context) {
+		Authentication authentication = (context != null) ? context.getAuthentication() : null;
+		if (isTransient(context) || isTransient(authentication)) {
+			return;
+		}
+		List<String> chunks = List.of();
+		if (authentication != null && !this.trustResolver.isAnonymous(authentication)) {
+			chunks = split(encode(context));
+			if (chunks.size() > this.maxCookies) {
+				logger.warn(LogMessage.format("Did not store SecurityContext since it needs %d cookies, "
+						+ "more than the maximum of %d", chunks.size(), this.maxCookies));
+				return;
+			}
+		}
+		for (int i = 0; i < chunks.size(); i++) {
+			addCookie(exchange, cookieName(i), chunks.get(i), -1);
+		}
+		for (int i = chunks.size(); exchange.getRequest().getCookies().containsKey(cookieName(i)); i++) {
+			addCookie(exchange, cookieName(i), "", 0);
+		}
+		exchange.getAttributes().put(SAVED_CONTEXT_ATTRIBUTE_NAME, chunks.isEmpty() ? NO_CONTEXT : context);
+		if (logger.isDebugEnabled()) {
+			logger.debug(LogMessage.format("Stored %s to %d cookie(s)", context, chunks.size()));
+		}
+	}
+
+	private SecurityContext readSecurityContext(ServerWebExchange exchange) {
+		Object saved = exchange.getAttribute(SAVED_CONTEXT_ATTRIBUTE_NAME);
+		if (saved != null) {
+			return (saved != NO_CONTEXT) ? (SecurityContext) saved : null;
+		}
+		StringBuilder value = new StringBuilder();
+		for (int i = 0; i < this.maxCookies; i++) {
+			HttpCookie cookie = exchange.getRequest().getCookies().getFirst(cookieName(i));
+			if (cookie == null) {
+				break;
+			}
+			value.append(cookie.getValue());
+		}
+		if (value.isEmpty()) {
+			return null;
+		}
+		return decode(value.toString());
+	}
+
+	private String encode(SecurityContext context) {
+		byte[] compressed = compress(this.serializer.convert(context));
+		ByteBuffer plaintext = ByteBuffer.allocate(Long.BYTES + compressed.length);
+		plaintext.putLong(this.clock.millis()).put(compressed);
+		byte[] encrypted = this.encryptor.encrypt(plaintext.array());
+		byte[] signature = sign(encrypted);
+		return ENCODER.encodeToString(ByteBuffer.allocate(signature.length + encrypted.length)
+			.put(signature)
+			.put(encrypted)
+			.array());
+	}
+
+	private SecurityContext decode(String value) {
+		try {
+			byte[] encrypted = verify(DECODER.decode(value));
+			if (encrypted == null) {
+				logger.debug("Did not restore SecurityContext from cookie since its signature is invalid");
+				return null;
+			}
+			ByteBuffer plaintext = ByteBuffer.wrap(decrypt(encrypted));
+			Instant savedAt = Instant.ofEpochMilli(plaintext.getLong());
+			if (savedAt.plus(this.contextValidity).isBefore(this.clock.instant())) {
+				logger.debug("Did not restore SecurityContext from cookie since it has expired");
+				return null;
+			}
+			byte[] compressed = new byte[plaintext.remaining()];
+			plaintext.get(compressed);
+			Object context = this.deserializer.convert(decompress(compressed));
+			if (!(context instanceof SecurityContext securityContext)) {
+				logger.debug("Did not restore SecurityContext from cookie since it contains another type");
+				return null;
+			}
+			if (logger.isTraceEnabled()) {
+				logger.trace(LogMessage.format("Retrieved %s from cookie", securityContext));
+			}
+			return securityContext;
+		}
+		catch (RuntimeException | DataFormatException ex) {
+			logger.debug("Did not restore SecurityContext since its cookie could not be decrypted", ex);
+			return null;
+		}
+	}
+
+	private byte[] verify(byte[] signed) {
+		Mac mac = mac();
+		int length = mac.getMacLength();
+		if (signed.length <= length) {
+			return null;
+		}
+		mac.update(signed, length, signed.length - length);
+		byte[] expected = mac.doFinal();
+		byte[] actual = new byte[length];
+		System.arraycopy(signed, 0, actual, 0, length);
+		if (!MessageDigest.isEqual(expected, actual)) {
+			return null;
+		}
+		byte[] encrypted = new byte[signed.length - length];
+		System.arraycopy(signed, length, encrypted, 0, encrypted.length);
+		return encrypted;
+	}
+
+	private byte[] sign(byte[] encrypted) {
+		return mac().doFinal(encrypted);
+	}
+
+	private Mac mac() {
+		try {
+			return (Mac) this.mac.clone();
+		}
+		catch (CloneNotSupportedException ex) {
+			return createMac();
+		}
+	}
+
+	private Mac createMac() {
+		try {
+			Mac mac = Mac.getInstance(this.signingKey.getAlgorithm());
+			mac.init(this.signingKey);
+			return mac;
+		}
+		catch (GeneralSecurityException ex) {
+			throw new IllegalArgumentException("Unable to compute an HMAC with the given signingKey", ex);
+		}
+	}
+
+	private byte[] decrypt(byte[] encrypted) {
+		try {
+			return this.encryptor.decrypt(encrypted);
+		}
+		catch (RuntimeException ex) {
+			for (BytesEncryptor previous : this.previousEncryptors) {
+				try {
+					return previous.decrypt(encrypted);
+				}
+				catch (RuntimeException ignored) {
+					// try the next key
+				}
+			}
+			throw ex;
+		}
+	}
+
+	private List<String> split(String value) {
+		List<String> chunks = new ArrayList<>();
+		for (int i = 0; i < value.length(); i += this.maxCookieValueLength) {
+			chunks.add(value.substring(i, Math.min(value.length(), i + this.maxCookieValueLength)));
+		}
+		return chunks;
+	}
+
+	private String cookieName(int index) {
+		return (index != 0) ? this.cookieName + "_" + index : this.cookieName;
+	}
+
+	private void addCookie(ServerWebExchange exchange, String name, String value, int maxAge) {
+		ServerHttpRequest request = exchange.getRequest();
+		// @formatter:off
+		ResponseCookie.ResponseCookieBuilder cookie = ResponseCookie.from(name, value)
+				.secure((this.secure != null) ? this.secure : (request.getSslInfo() != null))
+				.path((this.cookiePath != null) ? this.cookiePath : getRequestContext(request))
+				.maxAge(maxAge)
+				.httpOnly(true)
+				.sameSite("Lax");
+		// @formatter:on
+		this.cookieCustomizer.accept(cookie);
+		exchange.getResponse().addCookie(cookie.build());
+	}
+
+	private String getRequestContext(ServerHttpRequest request) {
+		String contextPath = request.getPath().contextPath().value();
+		return StringUtils.hasLength(contextPath) ? contextPath : "/";
+	}
+
+	private boolean isTransient(Object object) {
+		if (object == null) {
+			return false;
+		}
+		return AnnotationUtils.getAnnotation(object.getClass(), Transient.class) != null;
+	}
+
+	private static byte[] compress(byte[] bytes) {
+		Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+		try {
+			deflater.setInput(bytes);
+			deflater.finish();
+			ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+			byte[] buffer = new byte[1024];
+			while (!deflater.finished()) {
+				out.write(buffer, 0, deflater.deflate(buffer));
+			}
+			return out.toByteArray();
+		}
+		finally {
+			deflater.end();
+		}
+	}
+
+	private static byte[] decompress(byte[] bytes) throws DataFormatException {
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(bytes);
+			ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 4);
+			byte[] buffer = new byte[1024];
+			while (!inflater.finished()) {
+				int length = inflater.inflate(buffer);
+				if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					throw new DataFormatException("Truncated compressed SecurityContext");
+				}
+				out.write(buffer, 0, length);
+			}
+			return out.toByteArray();
+		}
+		finally {
+			inflater.end();
+		}
+	}
+
+	/**
+	 * Sets the encryptors for previous keys, which are tried in order when the
+	 * {@link SecurityContext} cannot be decrypted with the current key.
+	 * @param previousEncryptors the encryptors for previous keys
+	 */
+	public void setPreviousEncryptors(List<BytesEncryptor> previousEncryptors) {
+		Assert.noNullElements(previousEncryptors, "previousEncryptors cannot contain null elements");
+		this.previousEncryptors = List.copyOf(previousEncryptors);
+	}
+
+	/**
+	 * Sets the {@link Converter} that serializes the {@link SecurityContext}. The default
+	 * uses Java serialization.
+	 * @param serializer the serializer to use
+	 */
+	public void setSerializer(Converter<Object, byte[]> serializer) {
+		Assert.notNull(serializer, "serializer cannot be null");
+		this.serializer = serializer;
+	}
+
+	/**
+	 * Sets the {@link Converter} that deserializes the {@link SecurityContext}. The
+	 * default uses Java deserialization, which is only applied to values whose HMAC was
+	 * verified.
+	 * @param deserializer the deserializer to use
+	 */
+	public void setDeserializer(Converter<byte[], Object> deserializer) {
+		Assert.notNull(deserializer, "deserializer cannot be null");
+		this.deserializer = deserializer;
+	}
+
+	/**
+	 * Sets the name of the cookie that stores the {@link SecurityContext}. The default is
+	 * {@link #DEFAULT_COOKIE_NAME}.
+	 * @param cookieName the name of the cookie
+	 */
+	public void setCookieName(String cookieName) {
+		Assert.hasText(cookieName, "cookieName cannot be empty");
+		this.cookieName = cookieName;
+	}
+
+	/**
+	 * Sets the path of the cookie. The default is the request's context path.
+	 * @param cookiePath the path of the cookie
+	 */
+	public void setCookiePath(String cookiePath) {
+		this.cookiePath = cookiePath;
+	}
+
+	/**
+	 * Sets whether the cookie is secure. The default is whether the request was received
+	 * over SSL.
+	 * @param secure whether the cookie is secure
+	 */
+	public void setSecure(boolean secure) {
+		this.secure = secure;
+	}
+
+	/**
+	 * Add a {@link Consumer} for a {@code ResponseCookieBuilder} that will be invoked for
+	 * each cookie being built, just before the call to {@code build()}.
+	 * @param cookieCustomizer consumer for a cookie builder
+	 */
+	public void setCookieCustomizer(Consumer<ResponseCookie.ResponseCookieBuilder> cookieCustomizer) {
+		Assert.notNull(cookieCustomizer, "cookieCustomizer cannot be null");
+		this.cookieCustomizer = cookieCustomizer;
+	}
+
+	/**
+	 * Sets the maximum length of the value of a single cookie. The default is 3800.
+	 * @param maxCookieValueLength the maximum length of a cookie value
+	 */
+	public void setMaxCookieValueLength(int maxCookieValueLength) {
+		Assert.isTrue(maxCookieValueLength > 0, "maxCookieValueLength must be greater than 0");
+		this.maxCookieValueLength = maxCookieValueLength;
+	}
+
+	/**
+	 * Sets the maximum number of cookies that a {@link SecurityContext} may be split
+	 * into. The default is 4.
+	 * @param maxCookies the maximum number of cookies
+	 */
+	public void setMaxCookies(int maxCookies) {
+		Assert.isTrue(maxCookies > 0, "maxCookies must be greater than 0");
+		this.maxCookies = maxCookies;
+	}
+
+	/**
+	 * Sets how long a saved {@link SecurityContext} remains valid. The default is 12
+	 * hours.
+	 * @param contextValidity how long a saved context remains valid
+	 */
+	public void setContextValidity(Duration contextValidity) {
+		Assert.notNull(contextValidity, "contextValidity cannot be null");
+		Assert.isTrue(!contextValidity.isNegative(), "contextValidity cannot be negative");
+		this.contextValidity = contextValidity;
+	}
+
+	/**
+	 * Sets the {@link Clock} used to record and check when a context was saved.
+	 * @param clock the {@link Clock} to use
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	/**
+	 * Sets the {@link AuthenticationTrustResolver} used to detect anonymous users, whose
+	 * context is not stored. The default is {@link AuthenticationTrustResolverImpl}.
+	 * @param trustResolver the {@link AuthenticationTrustResolver} to use
+	 */
+	public void setTrustResolver(AuthenticationTrustResolver trustResolver) {
+		Assert.notNull(trustResolver, "trustResolver cannot be null");
+		this.trustResolver = trustResolver;
+	}
+
+}
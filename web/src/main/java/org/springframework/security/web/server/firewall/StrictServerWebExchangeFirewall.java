@@ -37,6 +37,7 @@ import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.http.server.reactive.SslInfo;
+import org.springframework.security.web.firewall.UrlBlocklist;
 import org.springframework.util.Assert;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.server.ServerWebExchange;
@@ -124,9 +125,9 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 	private static final List<String> FORBIDDEN_PARAGRAPH_SEPARATOR = Collections
 		.unmodifiableList(Arrays.asList("\u2029"));
 
-	private Set<String> encodedUrlBlocklist = new HashSet<>();
+	private final UrlBlocklist encodedUrlBlocklist = new UrlBlocklist();
 
-	private Set<String> decodedUrlBlocklist = new HashSet<>();
+	private final UrlBlocklist decodedUrlBlocklist = new UrlBlocklist();
 
 	private Set<HttpMethod> allowedHttpMethods = createDefaultAllowedHttpMethods();
 
@@ -188,9 +189,22 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 		return Mono.fromCallable(() -> {
 			ServerHttpRequest request = exchange.getRequest();
 			rejectForbiddenHttpMethod(request);
-			rejectedBlocklistedUrls(request);
+			String path = request.getPath().value();
+			URI uri = request.getURI();
+			String rawPath = uri.getRawPath();
+			String decodedPath = uri.getPath();
+			// each component is scanned exactly once for every rule that applies to it
+			int pathFlags = this.encodedUrlBlocklist.scan(path);
+			int rawPathFlags = this.encodedUrlBlocklist.scan(rawPath);
+			int decodedPathFlags = this.decodedUrlBlocklist.scan(decodedPath);
+			if (((pathFlags | rawPathFlags) & UrlBlocklist.BLOCKLISTED) != 0) {
+				rejectBlocklistedUrl(this.encodedUrlBlocklist, path, rawPath);
+			}
+			if ((decodedPathFlags & UrlBlocklist.BLOCKLISTED) != 0) {
+				rejectBlocklistedUrl(this.decodedUrlBlocklist, decodedPath, null);
+			}
 			rejectedUntrustedHosts(request);
-			if (!isNormalized(request)) {
+			if (((pathFlags | rawPathFlags | decodedPathFlags) & UrlBlocklist.NOT_NORMALIZED) != 0) {
 				throw new ServerExchangeRejectedException(
 						"The request was rejected because the URL was not normalized");
 			}
@@ -579,21 +593,14 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 		}
 	}
 
-	private void rejectedBlocklistedUrls(ServerHttpRequest request) {
-		for (String forbidden : this.encodedUrlBlocklist) {
-			if (encodedUrlContains(request, forbidden)) {
-				throw new ServerExchangeRejectedException(
-						"The request was rejected because the URL contained a potentially malicious String \""
-								+ forbidden + "\"");
-			}
-		}
-		for (String forbidden : this.decodedUrlBlocklist) {
-			if (decodedUrlContains(request, forbidden)) {
-				throw new ServerExchangeRejectedException(
-						"The request was rejected because the URL contained a potentially malicious String \""
-								+ forbidden + "\"");
-			}
+	private static void rejectBlocklistedUrl(UrlBlocklist blocklist, String first, String second) {
+		String forbidden = blocklist.findBlocklisted(first);
+		if (forbidden == null) {
+			forbidden = blocklist.findBlocklisted(second);
 		}
+		throw new ServerExchangeRejectedException(
+				"The request was rejected because the URL contained a potentially malicious String \"" + forbidden
+						+ "\"");
 	}
 
 	private void rejectedUntrustedHosts(ServerHttpRequest request) {
@@ -616,19 +623,6 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 		return result;
 	}
 
-	private boolean isNormalized(ServerHttpRequest request) {
-		if (!isNormalized(request.getPath().value())) {
-			return false;
-		}
-		if (!isNormalized(request.getURI().getRawPath())) {
-			return false;
-		}
-		if (!isNormalized(request.getURI().getPath())) {
-			return false;
-		}
-		return true;
-	}
-
 	private void validateAllowedHeaderName(String headerNames) {
 		if (!StrictServerWebExchangeFirewall.this.allowedHeaderNames.test(headerNames)) {
 			throw new ServerExchangeRejectedException(
@@ -657,17 +651,6 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 		}
 	}
 
-	private static boolean encodedUrlContains(ServerHttpRequest request, String value) {
-		if (valueContains(request.getPath().value(), value)) {
-			return true;
-		}
-		return valueContains(request.getURI().getRawPath(), value);
-	}
-
-	private static boolean decodedUrlContains(ServerHttpRequest request, String value) {
-		return valueContains(request.getURI().getPath(), value);
-	}
-
 	private static boolean containsOnlyPrintableAsciiCharacters(String uri) {
 		if (uri == null) {
 			return true;
@@ -682,34 +665,6 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 		return true;
 	}
 
-	private static boolean valueContains(String value, String contains) {
-		return value != null && value.contains(contains);
-	}
-
-	/**
-	 * Checks whether a path is normalized (doesn't contain path traversal sequences like
-	 * "./", "/../" or "/.")
-	 * @param path the path to test
-	 * @return true if the path doesn't contain any path-traversal character sequences.
-	 */
-	private static boolean isNormalized(String path) {
-		if (path == null) {
-			return true;
-		}
-		for (int i = path.length(); i > 0;) {
-			int slashIndex = path.lastIndexOf('/', i - 1);
-			int gap = i - slashIndex;
-			if (gap == 2 && path.charAt(slashIndex + 1) == '.') {
-				return false; // ".", "/./" or "/."
-			}
-			if (gap == 3 && path.charAt(slashIndex + 1) == '.' && path.charAt(slashIndex + 2) == '.') {
-				return false;
-			}
-			i = slashIndex;
-		}
-		return true;
-	}
-
 	private final class StrictFirewallServerWebExchange extends ServerWebExchangeDecorator {
 
 		private StrictFirewallServerWebExchange(ServerWebExchange delegate) {
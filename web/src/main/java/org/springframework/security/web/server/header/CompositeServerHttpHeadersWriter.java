@@ -16,17 +16,28 @@
 
 package org.springframework.security.web.server.header;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.server.ServerWebExchange;
 
 /**
  * Combines multiple {@link ServerHttpHeadersWriter} instances into a single instance.
  *
+ * <p>
+ * The headers of consecutive {@link PrecomputableServerHttpHeadersWriter}s are gathered
+ * the first time that headers are written and are then applied to each response in a
+ * single, synchronous pass. Only the remaining, dynamic, {@link ServerHttpHeadersWriter}s
+ * are subscribed to per request. The headers are gathered again once any of those writers
+ * reports a new {@link PrecomputableServerHttpHeadersWriter#getStaticHeadersVersion()
+ * version}. The headers that are written and their precedence are the same as invoking
+ * each writer in order.
+ *
  * @author Rob Winch
  * @since 5.0
  */
@@ -34,17 +45,135 @@ public class CompositeServerHttpHeadersWriter implements ServerHttpHeadersWriter
 
 	private final List<ServerHttpHeadersWriter> writers;
 
+	private final PrecomputableServerHttpHeadersWriter[] precomputableWriters;
+
+	private volatile Writers precomputed;
+
 	public CompositeServerHttpHeadersWriter(ServerHttpHeadersWriter... writers) {
 		this(Arrays.asList(writers));
 	}
 
 	public CompositeServerHttpHeadersWriter(List<ServerHttpHeadersWriter> writers) {
 		this.writers = writers;
+		this.precomputableWriters = writers.stream()
+			.filter(PrecomputableServerHttpHeadersWriter.class::isInstance)
+			.map(PrecomputableServerHttpHeadersWriter.class::cast)
+			.toArray(PrecomputableServerHttpHeadersWriter[]::new);
 	}
 
 	@Override
 	public Mono<Void> writeHttpHeaders(ServerWebExchange exchange) {
-		return Flux.fromIterable(this.writers).concatMap((w) -> w.writeHttpHeaders(exchange)).then();
+		List<ServerHttpHeadersWriter> writers = getPrecomputed().getWriters(exchange);
+		if (writers.size() == 1) {
+			return writers.get(0).writeHttpHeaders(exchange);
+		}
+		return Flux.fromIterable(writers).concatMap((w) -> w.writeHttpHeaders(exchange)).then();
+	}
+
+	private Writers getPrecomputed() {
+		Writers precomputed = this.precomputed;
+		if (precomputed == null || !precomputed.isCurrent(this.precomputableWriters)) {
+			// read the versions first so that a concurrent change is picked up next time
+			int[] versions = new int[this.precomputableWriters.length];
+			for (int i = 0; i < versions.length; i++) {
+				versions[i] = this.precomputableWriters[i].getStaticHeadersVersion();
+			}
+			precomputed = new Writers(precompute(true), precompute(false), versions);
+			this.precomputed = precomputed;
+		}
+		return precomputed;
+	}
+
+	private List<ServerHttpHeadersWriter> precompute(boolean secure) {
+		List<ServerHttpHeadersWriter> writers = new ArrayList<>();
+		List<HttpHeaders> block = new ArrayList<>();
+		for (ServerHttpHeadersWriter writer : this.writers) {
+			HttpHeaders headers = (writer instanceof PrecomputableServerHttpHeadersWriter precomputable)
+					? precomputable.getStaticHeaders(secure) : null;
+			if (headers == null) {
+				addBlock(writers, block);
+				writers.add(writer);
+			}
+			else if (!headers.isEmpty()) {
+				block.add(headers);
+			}
+		}
+		addBlock(writers, block);
+		return List.copyOf(writers);
+	}
+
+	private static void addBlock(List<ServerHttpHeadersWriter> writers, List<HttpHeaders> block) {
+		if (block.isEmpty()) {
+			return;
+		}
+		writers.add(new HeadersBlockWriter(List.copyOf(block)));
+		block.clear();
+	}
+
+	private static final class Writers {
+
+		private final List<ServerHttpHeadersWriter> secure;
+
+		private final List<ServerHttpHeadersWriter> insecure;
+
+		private final int[] versions;
+
+		private Writers(List<ServerHttpHeadersWriter> secure, List<ServerHttpHeadersWriter> insecure, int[] versions) {
+			this.secure = secure;
+			this.insecure = secure.equals(insecure) ? secure : insecure;
+			this.versions = versions;
+		}
+
+		private boolean isCurrent(PrecomputableServerHttpHeadersWriter[] writers) {
+			for (int i = 0; i < writers.length; i++) {
+				if (writers[i].getStaticHeadersVersion() != this.versions[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private List<ServerHttpHeadersWriter> getWriters(ServerWebExchange exchange) {
+			if (this.secure == this.insecure) {
+				return this.secure;
+			}
+			String scheme = exchange.getRequest().getURI().getScheme();
+			return "https".equalsIgnoreCase(scheme) ? this.secure : this.insecure;
+		}
+
+	}
+
+	/**
+	 * Writes precomputed groups of headers in order, skipping any group that the response
+	 * already contains a header of
+	 */
+	private static final class HeadersBlockWriter implements ServerHttpHeadersWriter {
+
+		private final List<HttpHeaders> groups;
+
+		private HeadersBlockWriter(List<HttpHeaders> groups) {
+			this.groups = groups;
+		}
+
+		@Override
+		public Mono<Void> writeHttpHeaders(ServerWebExchange exchange) {
+			HttpHeaders headers = exchange.getResponse().getHeaders();
+			for (HttpHeaders group : this.groups) {
+				StaticServerHttpHeadersWriter.writeHeaders(group, headers);
+			}
+			return Mono.empty();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof HeadersBlockWriter other && this.groups.equals(other.groups);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.groups.hashCode();
+		}
+
 	}
 
 }
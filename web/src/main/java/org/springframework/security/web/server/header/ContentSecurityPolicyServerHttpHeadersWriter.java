@@ -18,6 +18,7 @@ package org.springframework.security.web.server.header;
 
 import reactor.core.publisher.Mono;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.web.server.header.StaticServerHttpHeadersWriter.Builder;
 import org.springframework.util.Assert;
 import org.springframework.web.server.ServerWebExchange;
@@ -29,7 +30,7 @@ import org.springframework.web.server.ServerWebExchange;
  * @author Vedran Pavic
  * @since 5.1
  */
-public final class ContentSecurityPolicyServerHttpHeadersWriter implements ServerHttpHeadersWriter {
+public final class ContentSecurityPolicyServerHttpHeadersWriter implements PrecomputableServerHttpHeadersWriter {
 
 	public static final String CONTENT_SECURITY_POLICY = "Content-Security-Policy";
 
@@ -39,13 +40,25 @@ public final class ContentSecurityPolicyServerHttpHeadersWriter implements Serve
 
 	private boolean reportOnly;
 
-	private ServerHttpHeadersWriter delegate;
+	private StaticServerHttpHeadersWriter delegate;
+
+	private volatile int staticHeadersVersion;
 
 	@Override
 	public Mono<Void> writeHttpHeaders(ServerWebExchange exchange) {
 		return (this.delegate != null) ? this.delegate.writeHttpHeaders(exchange) : Mono.empty();
 	}
 
+	@Override
+	public HttpHeaders getStaticHeaders(boolean secure) {
+		return (this.delegate != null) ? this.delegate.getStaticHeaders(secure) : new HttpHeaders();
+	}
+
+	@Override
+	public int getStaticHeadersVersion() {
+		return this.staticHeadersVersion;
+	}
+
 	/**
 	 * Set the policy directive(s) to be used in the response header.
 	 * @param policyDirectives the policy directive(s)
@@ -55,6 +68,7 @@ public final class ContentSecurityPolicyServerHttpHeadersWriter implements Serve
 		Assert.hasLength(policyDirectives, "policyDirectives must not be null or empty");
 		this.policyDirectives = policyDirectives;
 		this.delegate = createDelegate();
+		this.staticHeadersVersion++;
 	}
 
 	/**
@@ -65,9 +79,10 @@ public final class ContentSecurityPolicyServerHttpHeadersWriter implements Serve
 	public void setReportOnly(boolean reportOnly) {
 		this.reportOnly = reportOnly;
 		this.delegate = createDelegate();
+		this.staticHeadersVersion++;
 	}
 
-	private ServerHttpHeadersWriter createDelegate() {
+	private StaticServerHttpHeadersWriter createDelegate() {
 		if (this.policyDirectives == null) {
 			return null;
 		}
@@ -18,6 +18,9 @@ package org.springframework.security.web.server.header;
 
 import reactor.core.publisher.Mono;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
 import org.springframework.web.server.ServerWebExchange;
 
 /**
@@ -26,7 +29,7 @@ import org.springframework.web.server.ServerWebExchange;
  * @author Rob Winch
  * @since 5.0
  */
-public class ContentTypeOptionsServerHttpHeadersWriter implements ServerHttpHeadersWriter {
+public class ContentTypeOptionsServerHttpHeadersWriter implements PrecomputableServerHttpHeadersWriter {
 
 	public static final String X_CONTENT_OPTIONS = "X-Content-Type-Options";
 
@@ -35,7 +38,7 @@ public class ContentTypeOptionsServerHttpHeadersWriter implements ServerHttpHead
 	/**
 	 * The delegate to write all the cache control related headers
 	 */
-	private static final ServerHttpHeadersWriter CONTENT_TYPE_HEADERS = StaticServerHttpHeadersWriter.builder()
+	private static final StaticServerHttpHeadersWriter CONTENT_TYPE_HEADERS = StaticServerHttpHeadersWriter.builder()
 		.header(X_CONTENT_OPTIONS, NOSNIFF)
 		.build();
 
@@ -44,4 +47,21 @@ public class ContentTypeOptionsServerHttpHeadersWriter implements ServerHttpHead
 		return CONTENT_TYPE_HEADERS.writeHttpHeaders(exchange);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Returns {@code null} when a subclass overrides
+	 * {@link #writeHttpHeaders(ServerWebExchange)}, so that its customization is still
+	 * invoked for each request.
+	 * @since 7.0
+	 */
+	@Override
+	@Nullable
+	public HttpHeaders getStaticHeaders(boolean secure) {
+		Class<?> declaringClass = ClassUtils.getMethod(getClass(), "writeHttpHeaders", ServerWebExchange.class)
+			.getDeclaringClass();
+		return (declaringClass == ContentTypeOptionsServerHttpHeadersWriter.class)
+				? CONTENT_TYPE_HEADERS.getStaticHeaders(secure) : null;
+	}
+
 }
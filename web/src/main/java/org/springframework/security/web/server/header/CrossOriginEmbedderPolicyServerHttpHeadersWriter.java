@@ -18,6 +18,7 @@ package org.springframework.security.web.server.header;
 
 import reactor.core.publisher.Mono;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.util.Assert;
 import org.springframework.web.server.ServerWebExchange;
 
@@ -30,11 +31,13 @@ import org.springframework.web.server.ServerWebExchange;
  * "https://developer.mozilla.org/en-US/docs/Web/HTTP/Headers/Cross-Origin-Embedder-Policy">
  * Cross-Origin-Embedder-Policy</a>
  */
-public final class CrossOriginEmbedderPolicyServerHttpHeadersWriter implements ServerHttpHeadersWriter {
+public final class CrossOriginEmbedderPolicyServerHttpHeadersWriter implements PrecomputableServerHttpHeadersWriter {
 
 	public static final String EMBEDDER_POLICY = "Cross-Origin-Embedder-Policy";
 
-	private ServerHttpHeadersWriter delegate;
+	private StaticServerHttpHeadersWriter delegate;
+
+	private volatile int staticHeadersVersion;
 
 	/**
 	 * Sets the {@link CrossOriginEmbedderPolicy} value to be used in the
@@ -44,6 +47,7 @@ public final class CrossOriginEmbedderPolicyServerHttpHeadersWriter implements S
 	public void setPolicy(CrossOriginEmbedderPolicy embedderPolicy) {
 		Assert.notNull(embedderPolicy, "embedderPolicy cannot be null");
 		this.delegate = createDelegate(embedderPolicy);
+		this.staticHeadersVersion++;
 	}
 
 	@Override
@@ -51,7 +55,17 @@ public final class CrossOriginEmbedderPolicyServerHttpHeadersWriter implements S
 		return (this.delegate != null) ? this.delegate.writeHttpHeaders(exchange) : Mono.empty();
 	}
 
-	private static ServerHttpHeadersWriter createDelegate(CrossOriginEmbedderPolicy embedderPolicy) {
+	@Override
+	public HttpHeaders getStaticHeaders(boolean secure) {
+		return (this.delegate != null) ? this.delegate.getStaticHeaders(secure) : new HttpHeaders();
+	}
+
+	@Override
+	public int getStaticHeadersVersion() {
+		return this.staticHeadersVersion;
+	}
+
+	private static StaticServerHttpHeadersWriter createDelegate(CrossOriginEmbedderPolicy embedderPolicy) {
 		StaticServerHttpHeadersWriter.Builder builder = StaticServerHttpHeadersWriter.builder();
 		builder.header(EMBEDDER_POLICY, embedderPolicy.getPolicy());
 		return builder.build();
@@ -18,6 +18,7 @@ package org.springframework.security.web.server.header;
 
 import reactor.core.publisher.Mono;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.util.Assert;
 import org.springframework.web.server.ServerWebExchange;
 
@@ -30,11 +31,13 @@ import org.springframework.web.server.ServerWebExchange;
  * "https://developer.mozilla.org/en-US/docs/Web/HTTP/Headers/Cross-Origin-Opener-Policy">
  * Cross-Origin-Opener-Policy</a>
  */
-public final class CrossOriginOpenerPolicyServerHttpHeadersWriter implements ServerHttpHeadersWriter {
+public final class CrossOriginOpenerPolicyServerHttpHeadersWriter implements PrecomputableServerHttpHeadersWriter {
 
 	public static final String OPENER_POLICY = "Cross-Origin-Opener-Policy";
 
-	private ServerHttpHeadersWriter delegate;
+	private StaticServerHttpHeadersWriter delegate;
+
+	private volatile int staticHeadersVersion;
 
 	/**
 	 * Sets the {@link CrossOriginOpenerPolicy} value to be used in the
@@ -44,6 +47,7 @@ public final class CrossOriginOpenerPolicyServerHttpHeadersWriter implements Ser
 	public void setPolicy(CrossOriginOpenerPolicy openerPolicy) {
 		Assert.notNull(openerPolicy, "openerPolicy cannot be null");
 		this.delegate = createDelegate(openerPolicy);
+		this.staticHeadersVersion++;
 	}
 
 	@Override
@@ -51,7 +55,17 @@ public final class CrossOriginOpenerPolicyServerHttpHeadersWriter implements Ser
 		return (this.delegate != null) ? this.delegate.writeHttpHeaders(exchange) : Mono.empty();
 	}
 
-	private static ServerHttpHeadersWriter createDelegate(CrossOriginOpenerPolicy openerPolicy) {
+	@Override
+	public HttpHeaders getStaticHeaders(boolean secure) {
+		return (this.delegate != null) ? this.delegate.getStaticHeaders(secure) : new HttpHeaders();
+	}
+
+	@Override
+	public int getStaticHeadersVersion() {
+		return this.staticHeadersVersion;
+	}
+
+	private static StaticServerHttpHeadersWriter createDelegate(CrossOriginOpenerPolicy openerPolicy) {
 		StaticServerHttpHeadersWriter.Builder builder = StaticServerHttpHeadersWriter.builder();
 		builder.header(OPENER_POLICY, openerPolicy.getPolicy());
 		return builder.build();
@@ -18,6 +18,7 @@ package org.springframework.security.web.server.header;
 
 import reactor.core.publisher.Mono;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.util.Assert;
 import org.springframework.web.server.ServerWebExchange;
 
@@ -30,11 +31,13 @@ import org.springframework.web.server.ServerWebExchange;
  * "https://developer.mozilla.org/en-US/docs/Web/HTTP/Headers/Cross-Origin-Resource-Policy">
  * Cross-Origin-Resource-Policy</a>
  */
-public final class CrossOriginResourcePolicyServerHttpHeadersWriter implements ServerHttpHeadersWriter {
+public final class CrossOriginResourcePolicyServerHttpHeadersWriter implements PrecomputableServerHttpHeadersWriter {
 
 	public static final String RESOURCE_POLICY = "Cross-Origin-Resource-Policy";
 
-	private ServerHttpHeadersWriter delegate;
+	private StaticServerHttpHeadersWriter delegate;
+
+	private volatile int staticHeadersVersion;
 
 	/**
 	 * Sets the {@link CrossOriginResourcePolicy} value to be used in the
@@ -44,6 +47,7 @@ public final class CrossOriginResourcePolicyServerHttpHeadersWriter implements S
 	public void setPolicy(CrossOriginResourcePolicy resourcePolicy) {
 		Assert.notNull(resourcePolicy, "resourcePolicy cannot be null");
 		this.delegate = createDelegate(resourcePolicy);
+		this.staticHeadersVersion++;
 	}
 
 	@Override
@@ -51,7 +55,17 @@ public final class CrossOriginResourcePolicyServerHttpHeadersWriter implements S
 		return (this.delegate != null) ? this.delegate.writeHttpHeaders(exchange) : Mono.empty();
 	}
 
-	private static ServerHttpHeadersWriter createDelegate(CrossOriginResourcePolicy resourcePolicy) {
+	@Override
+	public HttpHeaders getStaticHeaders(boolean secure) {
+		return (this.delegate != null) ? this.delegate.getStaticHeaders(secure) : new HttpHeaders();
+	}
+
+	@Override
+	public int getStaticHeadersVersion() {
+		return this.staticHeadersVersion;
+	}
+
+	private static StaticServerHttpHeadersWriter createDelegate(CrossOriginResourcePolicy resourcePolicy) {
 		StaticServerHttpHeadersWriter.Builder builder = StaticServerHttpHeadersWriter.builder();
 		builder.header(RESOURCE_POLICY, resourcePolicy.getPolicy());
 		return builder.build();
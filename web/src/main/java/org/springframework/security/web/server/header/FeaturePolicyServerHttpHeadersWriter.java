@@ -18,6 +18,7 @@ package org.springframework.security.web.server.header;
 
 import reactor.core.publisher.Mono;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.web.server.header.StaticServerHttpHeadersWriter.Builder;
 import org.springframework.util.Assert;
 import org.springframework.web.server.ServerWebExchange;
@@ -28,17 +29,29 @@ import org.springframework.web.server.ServerWebExchange;
  * @author Vedran Pavic
  * @since 5.1
  */
-public final class FeaturePolicyServerHttpHeadersWriter implements ServerHttpHeadersWriter {
+public final class FeaturePolicyServerHttpHeadersWriter implements PrecomputableServerHttpHeadersWriter {
 
 	public static final String FEATURE_POLICY = "Feature-Policy";
 
-	private ServerHttpHeadersWriter delegate;
+	private StaticServerHttpHeadersWriter delegate;
+
+	private volatile int staticHeadersVersion;
 
 	@Override
 	public Mono<Void> writeHttpHeaders(ServerWebExchange exchange) {
 		return (this.delegate != null) ? this.delegate.writeHttpHeaders(exchange) : Mono.empty();
 	}
 
+	@Override
+	public HttpHeaders getStaticHeaders(boolean secure) {
+		return (this.delegate != null) ? this.delegate.getStaticHeaders(secure) : new HttpHeaders();
+	}
+
+	@Override
+	public int getStaticHeadersVersion() {
+		return this.staticHeadersVersion;
+	}
+
 	/**
 	 * Set the policy directive(s) to be used in the response header.
 	 * @param policyDirectives the policy directive(s)
@@ -47,9 +60,10 @@ public final class FeaturePolicyServerHttpHeadersWriter implements ServerHttpHea
 	public void setPolicyDirectives(String policyDirectives) {
 		Assert.hasLength(policyDirectives, "policyDirectives must not be null or empty");
 		this.delegate = createDelegate(policyDirectives);
+		this.staticHeadersVersion++;
 	}
 
-	private static ServerHttpHeadersWriter createDelegate(String policyDirectives) {
+	private static StaticServerHttpHeadersWriter createDelegate(String policyDirectives) {
 		Builder builder = StaticServerHttpHeadersWriter.builder();
 		builder.header(FEATURE_POLICY, policyDirectives);
 		return builder.build();
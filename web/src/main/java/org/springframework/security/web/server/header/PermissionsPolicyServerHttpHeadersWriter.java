@@ -18,6 +18,7 @@ package org.springframework.security.web.server.header;
 
 import reactor.core.publisher.Mono;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.web.server.header.StaticServerHttpHeadersWriter.Builder;
 import org.springframework.util.Assert;
 import org.springframework.web.server.ServerWebExchange;
@@ -29,18 +30,30 @@ import org.springframework.web.server.ServerWebExchange;
  * @author Christophe Gilles
  * @since 5.5
  */
-public final class PermissionsPolicyServerHttpHeadersWriter implements ServerHttpHeadersWriter {
+public final class PermissionsPolicyServerHttpHeadersWriter implements PrecomputableServerHttpHeadersWriter {
 
 	public static final String PERMISSIONS_POLICY = "Permissions-Policy";
 
-	private ServerHttpHeadersWriter delegate;
+	private StaticServerHttpHeadersWriter delegate;
+
+	private volatile int staticHeadersVersion;
 
 	@Override
 	public Mono<Void> writeHttpHeaders(ServerWebExchange exchange) {
 		return (this.delegate != null) ? this.delegate.writeHttpHeaders(exchange) : Mono.empty();
 	}
 
-	private static ServerHttpHeadersWriter createDelegate(String policyDirectives) {
+	@Override
+	public HttpHeaders getStaticHeaders(boolean secure) {
+		return (this.delegate != null) ? this.delegate.getStaticHeaders(secure) : new HttpHeaders();
+	}
+
+	@Override
+	public int getStaticHeadersVersion() {
+		return this.staticHeadersVersion;
+	}
+
+	private static StaticServerHttpHeadersWriter createDelegate(String policyDirectives) {
 		Builder builder = StaticServerHttpHeadersWriter.builder();
 		builder.header(PERMISSIONS_POLICY, policyDirectives);
 		return builder.build();
@@ -54,6 +67,7 @@ public final class PermissionsPolicyServerHttpHeadersWriter implements ServerHtt
 	public void setPolicy(String policy) {
 		Assert.notNull(policy, "policy must not be null");
 		this.delegate = createDelegate(policy);
+		this.staticHeadersVersion++;
 	}
 
 }
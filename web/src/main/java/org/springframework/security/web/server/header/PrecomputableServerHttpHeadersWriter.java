@@ -0,0 +1,61 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.server.header;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+
+/**
+ * A {@link ServerHttpHeadersWriter} whose headers depend on nothing but whether the
+ * request uses {@code https}. This allows {@link CompositeServerHttpHeadersWriter} to
+ * gather the headers of consecutive writers once and to apply them to each response in a
+ * single, synchronous pass instead of subscribing to each writer.
+ *
+ * <p>
+ * Implementations promise that {@link #writeHttpHeaders} does nothing more than add all of
+ * the {@link #getStaticHeaders(boolean) static headers} when the response contains none
+ * of them, as {@link StaticServerHttpHeadersWriter} does. Implementations that can be
+ * reconfigured change their {@link #getStaticHeadersVersion() version} whenever their
+ * static headers change.
+ *
+ * @since 7.0
+ * @see CompositeServerHttpHeadersWriter
+ */
+public interface PrecomputableServerHttpHeadersWriter extends ServerHttpHeadersWriter {
+
+	/**
+	 * Return the headers that this writer writes to every response. The returned headers
+	 * must not be modified.
+	 * @param secure whether the request uses {@code https}
+	 * @return the headers to write, possibly empty, or {@code null} if the headers
+	 * currently depend on more than whether the request uses {@code https}
+	 */
+	@Nullable
+	HttpHeaders getStaticHeaders(boolean secure);
+
+	/**
+	 * Return a number that changes whenever this writer is reconfigured in a way that
+	 * changes its {@link #getStaticHeaders(boolean) static headers}, so that headers that
+	 * were gathered earlier can be gathered again. The default is {@code 0}, suitable for
+	 * writers that cannot be reconfigured.
+	 * @return the version of the static headers
+	 */
+	default int getStaticHeadersVersion() {
+		return 0;
+	}
+
+}
@@ -21,6 +21,8 @@ import java.util.Arrays;
 import reactor.core.publisher.Mono;
 
 import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
 import org.springframework.web.server.ServerWebExchange;
 
 /**
@@ -29,7 +31,7 @@ import org.springframework.web.server.ServerWebExchange;
  * @author Rob Winch
  * @since 5.0
  */
-public class StaticServerHttpHeadersWriter implements ServerHttpHeadersWriter {
+public class StaticServerHttpHeadersWriter implements PrecomputableServerHttpHeadersWriter {
 
 	private final HttpHeaders headersToAdd;
 
@@ -39,20 +41,39 @@ public class StaticServerHttpHeadersWriter implements ServerHttpHeadersWriter {
 
 	@Override
 	public Mono<Void> writeHttpHeaders(ServerWebExchange exchange) {
-		HttpHeaders headers = exchange.getResponse().getHeaders();
+		writeHeaders(this.headersToAdd, exchange.getResponse().getHeaders());
+		return Mono.empty();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Returns {@code null} when a subclass overrides
+	 * {@link #writeHttpHeaders(ServerWebExchange)}, so that its customization is still
+	 * invoked for each request.
+	 * @since 7.0
+	 */
+	@Override
+	@Nullable
+	public HttpHeaders getStaticHeaders(boolean secure) {
+		Class<?> declaringClass = ClassUtils.getMethod(getClass(), "writeHttpHeaders", ServerWebExchange.class)
+			.getDeclaringClass();
+		return (declaringClass == StaticServerHttpHeadersWriter.class) ? this.headersToAdd : null;
+	}
+
+	static void writeHeaders(HttpHeaders headersToAdd, HttpHeaders headers) {
 		// Note: We need to ensure that the following algorithm compares headers
 		// case insensitively, which should be true of headers.containsKey().
 		boolean containsNoHeadersToAdd = true;
-		for (String headerName : this.headersToAdd.headerNames()) {
+		for (String headerName : headersToAdd.headerNames()) {
 			if (headers.containsHeader(headerName)) {
 				containsNoHeadersToAdd = false;
 				break;
 			}
 		}
 		if (containsNoHeadersToAdd) {
-			this.headersToAdd.forEach(headers::put);
+			headersToAdd.forEach(headers::put);
 		}
-		return Mono.empty();
 	}
 
 	public static Builder builder() {
@@ -20,6 +20,7 @@ import java.time.Duration;
 
 import reactor.core.publisher.Mono;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.web.server.header.StaticServerHttpHeadersWriter.Builder;
 import org.springframework.web.server.ServerWebExchange;
 
@@ -30,7 +31,7 @@ import org.springframework.web.server.ServerWebExchange;
  * @author Ankur Pathak
  * @since 5.0
  */
-public final class StrictTransportSecurityServerHttpHeadersWriter implements ServerHttpHeadersWriter {
+public final class StrictTransportSecurityServerHttpHeadersWriter implements PrecomputableServerHttpHeadersWriter {
 
 	public static final String STRICT_TRANSPORT_SECURITY = "Strict-Transport-Security";
 
@@ -40,7 +41,9 @@ public final class StrictTransportSecurityServerHttpHeadersWriter implements Ser
 
 	private String preload;
 
-	private ServerHttpHeadersWriter delegate;
+	private StaticServerHttpHeadersWriter delegate;
+
+	private volatile int staticHeadersVersion;
 
 	public StrictTransportSecurityServerHttpHeadersWriter() {
 		setIncludeSubDomains(true);
@@ -54,6 +57,16 @@ public final class StrictTransportSecurityServerHttpHeadersWriter implements Ser
 		return isSecure(exchange) ? this.delegate.writeHttpHeaders(exchange) : Mono.empty();
 	}
 
+	@Override
+	public HttpHeaders getStaticHeaders(boolean secure) {
+		return secure ? this.delegate.getStaticHeaders(secure) : new HttpHeaders();
+	}
+
+	@Override
+	public int getStaticHeadersVersion() {
+		return this.staticHeadersVersion;
+	}
+
 	/**
 	 * Sets if subdomains should be included. Default is true
 	 * @param includeSubDomains if subdomains should be included
@@ -61,6 +74,7 @@ public final class StrictTransportSecurityServerHttpHeadersWriter implements Ser
 	public void setIncludeSubDomains(boolean includeSubDomains) {
 		this.subdomain = includeSubDomains ? " ; includeSubDomains" : "";
 		updateDelegate();
+		this.staticHeadersVersion++;
 	}
 
 	/**
@@ -78,6 +92,7 @@ public final class StrictTransportSecurityServerHttpHeadersWriter implements Ser
 	public void setPreload(boolean preload) {
 		this.preload = preload ? " ; preload" : "";
 		updateDelegate();
+		this.staticHeadersVersion++;
 	}
 
 	/**
@@ -87,6 +102,7 @@ public final class StrictTransportSecurityServerHttpHeadersWriter implements Ser
 	public void setMaxAge(Duration maxAge) {
 		this.maxAge = "max-age=" + maxAge.getSeconds();
 		updateDelegate();
+		this.staticHeadersVersion++;
 	}
 
 	private void updateDelegate() {
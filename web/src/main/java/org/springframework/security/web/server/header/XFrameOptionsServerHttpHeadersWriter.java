@@ -18,7 +18,10 @@ package org.springframework.security.web.server.header;
 
 import reactor.core.publisher.Mono;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
 import org.springframework.security.web.server.header.StaticServerHttpHeadersWriter.Builder;
+import org.springframework.util.ClassUtils;
 import org.springframework.web.server.ServerWebExchange;
 
 /**
@@ -27,17 +30,41 @@ import org.springframework.web.server.ServerWebExchange;
  * @author Rob Winch
  * @since 5.0
  */
-public class XFrameOptionsServerHttpHeadersWriter implements ServerHttpHeadersWriter {
+public class XFrameOptionsServerHttpHeadersWriter implements PrecomputableServerHttpHeadersWriter {
 
 	public static final String X_FRAME_OPTIONS = "X-Frame-Options";
 
-	private ServerHttpHeadersWriter delegate = createDelegate(Mode.DENY);
+	private StaticServerHttpHeadersWriter delegate = createDelegate(Mode.DENY);
+
+	private volatile int staticHeadersVersion;
 
 	@Override
 	public Mono<Void> writeHttpHeaders(ServerWebExchange exchange) {
 		return this.delegate.writeHttpHeaders(exchange);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Returns {@code null} when a subclass overrides
+	 * {@link #writeHttpHeaders(ServerWebExchange)}, so that its customization is still
+	 * invoked for each request.
+	 * @since 7.0
+	 */
+	@Override
+	@Nullable
+	public HttpHeaders getStaticHeaders(boolean secure) {
+		Class<?> declaringClass = ClassUtils.getMethod(getClass(), "writeHttpHeaders", ServerWebExchange.class)
+			.getDeclaringClass();
+		return (declaringClass == XFrameOptionsServerHttpHeadersWriter.class)
+				? this.delegate.getStaticHeaders(secure) : null;
+	}
+
+	@Override
+	public int getStaticHeadersVersion() {
+		return this.staticHeadersVersion;
+	}
+
 	/**
 	 * Sets the X-Frame-Options mode. There is no support for ALLOW-FROM because not
 	 * <a href=
@@ -49,6 +76,7 @@ public class XFrameOptionsServerHttpHeadersWriter implements ServerHttpHeadersWr
 	 */
 	public void setMode(Mode mode) {
 		this.delegate = createDelegate(mode);
+		this.staticHeadersVersion++;
 	}
 
 	/**
@@ -80,7 +108,7 @@ public class XFrameOptionsServerHttpHeadersWriter implements ServerHttpHeadersWr
 
 	}
 
-	private static ServerHttpHeadersWriter createDelegate(Mode mode) {
+	private static StaticServerHttpHeadersWriter createDelegate(Mode mode) {
 		Builder builder = StaticServerHttpHeadersWriter.builder();
 		builder.header(X_FRAME_OPTIONS, mode.name());
 		return builder.build();
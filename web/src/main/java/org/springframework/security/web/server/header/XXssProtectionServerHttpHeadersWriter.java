@@ -18,8 +18,11 @@ package org.springframework.security.web.server.header;
 
 import reactor.core.publisher.Mono;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
 import org.springframework.security.web.server.header.StaticServerHttpHeadersWriter.Builder;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 import org.springframework.web.server.ServerWebExchange;
 
 /**
@@ -29,14 +32,16 @@ import org.springframework.web.server.ServerWebExchange;
  * @author Daniel Garnier-Moiroux
  * @since 5.0
  */
-public class XXssProtectionServerHttpHeadersWriter implements ServerHttpHeadersWriter {
+public class XXssProtectionServerHttpHeadersWriter implements PrecomputableServerHttpHeadersWriter {
 
 	public static final String X_XSS_PROTECTION = "X-XSS-Protection";
 
-	private ServerHttpHeadersWriter delegate;
+	private StaticServerHttpHeadersWriter delegate;
 
 	private HeaderValue headerValue;
 
+	private volatile int staticHeadersVersion;
+
 	/**
 	 * Creates a new instance
 	 */
@@ -50,6 +55,28 @@ public class XXssProtectionServerHttpHeadersWriter implements ServerHttpHeadersW
 		return this.delegate.writeHttpHeaders(exchange);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Returns {@code null} when a subclass overrides
+	 * {@link #writeHttpHeaders(ServerWebExchange)}, so that its customization is still
+	 * invoked for each request.
+	 * @since 7.0
+	 */
+	@Override
+	@Nullable
+	public HttpHeaders getStaticHeaders(boolean secure) {
+		Class<?> declaringClass = ClassUtils.getMethod(getClass(), "writeHttpHeaders", ServerWebExchange.class)
+			.getDeclaringClass();
+		return (declaringClass == XXssProtectionServerHttpHeadersWriter.class)
+				? this.delegate.getStaticHeaders(secure) : null;
+	}
+
+	@Override
+	public int getStaticHeadersVersion() {
+		return this.staticHeadersVersion;
+	}
+
 	/**
 	 * Sets the value of the X-XSS-PROTECTION header. Defaults to
 	 * {@link HeaderValue#DISABLED}
@@ -83,6 +110,7 @@ public class XXssProtectionServerHttpHeadersWriter implements ServerHttpHeadersW
 		Assert.notNull(headerValue, "headerValue cannot be null");
 		this.headerValue = headerValue;
 		updateDelegate();
+		this.staticHeadersVersion++;
 	}
 
 	/**
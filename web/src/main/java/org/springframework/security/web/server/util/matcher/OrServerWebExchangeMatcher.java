@@ -17,6 +17,7 @@
 package org.springframework.security.web.server.util.matcher;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.commons.logging.Log;
@@ -62,6 +63,15 @@ public class OrServerWebExchangeMatcher implements ServerWebExchangeMatcher {
 			.doOnNext((matchResult) -> logger.debug(matchResult.isMatch() ? "matched" : "No matches found"));
 	}
 
+	/**
+	 * The {@link ServerWebExchangeMatcher}s that this matcher tries
+	 * @return the {@link ServerWebExchangeMatcher}s
+	 * @since 7.0
+	 */
+	public List<ServerWebExchangeMatcher> getMatchers() {
+		return Collections.unmodifiableList(this.matchers);
+	}
+
 	@Override
 	public String toString() {
 		return "OrServerWebExchangeMatcher{matchers=" + this.matchers + '}';
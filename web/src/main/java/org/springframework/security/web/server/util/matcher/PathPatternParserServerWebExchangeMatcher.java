@@ -102,6 +102,15 @@ public final class PathPatternParserServerWebExchangeMatcher implements ServerWe
 		return MatchResult.match(variables);
 	}
 
+	/**
+	 * The {@link PathPattern} that this matcher uses
+	 * @return the {@link PathPattern}
+	 * @since 7.0
+	 */
+	public PathPattern getPattern() {
+		return this.pattern;
+	}
+
 	@Override
 	public String toString() {
 		return "PathMatcherServerWebExchangeMatcher{" + "pattern='" + this.pattern + '\'' + ", method=" + this.method
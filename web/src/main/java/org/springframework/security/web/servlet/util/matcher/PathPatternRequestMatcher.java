@@ -142,6 +142,25 @@ public final class PathPatternRequestMatcher implements RequestMatcher {
 		return (info != null) ? MatchResult.match(info.getUriVariables()) : MatchResult.notMatch();
 	}
 
+	/**
+	 * The {@link PathPattern} that this matcher uses
+	 * @return the {@link PathPattern}
+	 * @since 7.0
+	 */
+	public PathPattern getPattern() {
+		return this.pattern;
+	}
+
+	/**
+	 * The {@link HttpMethod} that this matcher requires
+	 * @return the {@link HttpMethod}, or {@code null} if any method matches
+	 * @since 7.0
+	 */
+	@Nullable
+	public HttpMethod getMethod() {
+		return (this.method instanceof HttpMethodRequestMatcher m) ? m.method : null;
+	}
+
 	void setMethod(RequestMatcher method) {
 		this.method = method;
 	}
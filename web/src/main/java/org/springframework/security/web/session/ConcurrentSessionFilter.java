@@ -17,7 +17,11 @@
 package org.springframework.security.web.session;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -28,6 +32,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 
 import org.springframework.core.log.LogMessage;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextHolderStrategy;
@@ -60,6 +65,15 @@ import org.springframework.web.filter.GenericFilterBean;
  * {@link org.springframework.security.web.session.HttpSessionEventPublisher} registered
  * in <code>web.xml</code>.
  * </p>
+ * <p>
+ * With a persistent or shared <code>SessionRegistry</code>, refreshing the last request
+ * on every request can mean a write per request. Setting
+ * {@link #setLastRequestRefreshInterval(Duration) lastRequestRefreshInterval} refreshes
+ * the last request of a session only once it is older than that interval. In addition,
+ * setting {@link #setLastRequestWriteBehindScheduler(TaskScheduler)
+ * lastRequestWriteBehindScheduler} defers the refreshes to a background task that
+ * applies the refreshes of all sessions at once.
+ * </p>
  *
  * @author Ben Alex
  * @author Eddú Meléndez
@@ -81,6 +95,14 @@ public class ConcurrentSessionFilter extends GenericFilterBean {
 
 	private SessionInformationExpiredStrategy sessionInformationExpiredStrategy;
 
+	private Duration lastRequestRefreshInterval = Duration.ZERO;
+
+	private TaskScheduler lastRequestWriteBehindScheduler;
+
+	private final Map<String, Boolean> pendingLastRequestRefreshes = new ConcurrentHashMap<>();
+
+	private volatile ScheduledFuture<?> lastRequestWriteBehindTask;
+
 	public ConcurrentSessionFilter(SessionRegistry sessionRegistry) {
 		Assert.notNull(sessionRegistry, "SessionRegistry required");
 		this.sessionRegistry = sessionRegistry;
@@ -145,12 +167,66 @@ public class ConcurrentSessionFilter extends GenericFilterBean {
 					return;
 				}
 				// Non-expired - update last request date/time
-				this.sessionRegistry.refreshLastRequest(info.getSessionId());
+				refreshLastRequest(info);
 			}
 		}
 		chain.doFilter(request, response);
 	}
 
+	private void refreshLastRequest(SessionInformation info) {
+		long refreshInterval = this.lastRequestRefreshInterval.toMillis();
+		if (refreshInterval > 0 && info.getLastRequest().getTime() + refreshInterval > System.currentTimeMillis()) {
+			return;
+		}
+		if (this.lastRequestWriteBehindScheduler == null) {
+			this.sessionRegistry.refreshLastRequest(info.getSessionId());
+			return;
+		}
+		this.pendingLastRequestRefreshes.put(info.getSessionId(), Boolean.TRUE);
+		if (this.lastRequestWriteBehindTask == null) {
+			scheduleLastRequestWriteBehind();
+		}
+	}
+
+	private synchronized void scheduleLastRequestWriteBehind() {
+		if (this.lastRequestWriteBehindTask == null) {
+			Duration interval = this.lastRequestRefreshInterval;
+			Duration delay = (!interval.isZero()) ? interval : Duration.ofSeconds(1);
+			this.lastRequestWriteBehindTask = this.lastRequestWriteBehindScheduler
+				.scheduleWithFixedDelay(this::flushLastRequestRefreshes, delay);
+		}
+	}
+
+	/**
+	 * Refreshes the last request of every session whose refresh was deferred by
+	 * {@link #setLastRequestWriteBehindScheduler(TaskScheduler)}.
+	 * @return the number of refreshed sessions
+	 * @since 7.0
+	 */
+	public int flushLastRequestRefreshes() {
+		int refreshed = 0;
+		for (String sessionId : this.pendingLastRequestRefreshes.keySet()) {
+			if (this.pendingLastRequestRefreshes.remove(sessionId) != null) {
+				this.sessionRegistry.refreshLastRequest(sessionId);
+				refreshed++;
+			}
+		}
+		if (refreshed > 0 && this.logger.isTraceEnabled()) {
+			this.logger.trace(LogMessage.format("Refreshed last request of %d sessions", refreshed));
+		}
+		return refreshed;
+	}
+
+	@Override
+	public void destroy() {
+		ScheduledFuture<?> task = this.lastRequestWriteBehindTask;
+		if (task != null) {
+			task.cancel(false);
+			this.lastRequestWriteBehindTask = null;
+		}
+		flushLastRequestRefreshes();
+	}
+
 	/**
 	 * Determine the URL for expiration
 	 * @param request the HttpServletRequest
@@ -195,6 +271,36 @@ public class ConcurrentSessionFilter extends GenericFilterBean {
 		this.handlers = new CompositeLogoutHandler(handlers);
 	}
 
+	/**
+	 * Sets how old the last request of a session must be before it is refreshed. The
+	 * default is {@link Duration#ZERO}, which refreshes the last request on every
+	 * request.
+	 * @param lastRequestRefreshInterval how old the last request must be before it is
+	 * refreshed
+	 * @since 7.0
+	 */
+	public void setLastRequestRefreshInterval(Duration lastRequestRefreshInterval) {
+		Assert.notNull(lastRequestRefreshInterval, "lastRequestRefreshInterval cannot be null");
+		Assert.isTrue(!lastRequestRefreshInterval.isNegative(), "lastRequestRefreshInterval cannot be negative");
+		this.lastRequestRefreshInterval = lastRequestRefreshInterval;
+	}
+
+	/**
+	 * Sets the {@link TaskScheduler} used to refresh the last request of sessions in the
+	 * background. When set, a request only records that its session needs refreshing,
+	 * and a task refreshes all recorded sessions every
+	 * {@link #setLastRequestRefreshInterval(Duration) lastRequestRefreshInterval}, or
+	 * every second if no interval is set. The last request of a session is therefore
+	 * the time at which the task ran, which is at most one interval later than the
+	 * actual request. By default, the last request is refreshed during the request.
+	 * @param lastRequestWriteBehindScheduler the {@link TaskScheduler} to use
+	 * @since 7.0
+	 */
+	public void setLastRequestWriteBehindScheduler(TaskScheduler lastRequestWriteBehindScheduler) {
+		Assert.notNull(lastRequestWriteBehindScheduler, "lastRequestWriteBehindScheduler cannot be null");
+		this.lastRequestWriteBehindScheduler = lastRequestWriteBehindScheduler;
+	}
+
 	/**
 	 * Sets the {@link RedirectStrategy} used with
 	 * {@link #ConcurrentSessionFilter(SessionRegistry, String)}
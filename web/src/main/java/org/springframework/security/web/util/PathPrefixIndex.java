@@ -0,0 +1,279 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.util;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.web.util.pattern.PathPattern;
+
+/**
+ * An immutable index of ordered entries keyed by the literal path prefix of their
+ * {@link PathPattern}s.
+ *
+ * <p>
+ * Each entry is identified by its position, starting at {@code 0}, in the order it was
+ * added to the {@link Builder}. Looking up a path returns the positions of all entries
+ * that could possibly match that path: entries whose literal prefix is a prefix of the
+ * path and entries that were added without any pattern. Entries can also be restricted
+ * to a single HTTP method, in which case they are only candidates for that method.
+ * Callers are still expected to evaluate the candidates in ascending order, so that
+ * first-match-wins semantics are preserved; the index only allows skipping entries that
+ * cannot match.
+ *
+ * <p>
+ * Literal segments are compared case-insensitively so that the index stays correct for
+ * patterns created with a case-insensitive
+ * {@link org.springframework.web.util.pattern.PathPatternParser}.
+ *
+ * @since 7.0
+ */
+public final class PathPrefixIndex {
+
+	private final Node root;
+
+	private final BitSet unindexed;
+
+	private final Map<String, BitSet> excludedByMethod;
+
+	private final BitSet methodRestricted;
+
+	private final int size;
+
+	private PathPrefixIndex(Node root, BitSet unindexed, Map<String, BitSet> excludedByMethod,
+			BitSet methodRestricted, int size) {
+		this.root = root;
+		this.unindexed = unindexed;
+		this.excludedByMethod = excludedByMethod;
+		this.methodRestricted = methodRestricted;
+		this.size = size;
+	}
+
+	/**
+	 * Create a {@link Builder} for adding entries in order
+	 * @return the {@link Builder}
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * The number of entries in this index
+	 * @return the number of entries
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Return the positions of all entries that may match the given path.
+	 * @param path the path, relative to the context path
+	 * @return a new {@link BitSet} containing the positions of the candidate entries
+	 */
+	public BitSet candidates(PathContainer path) {
+		BitSet candidates = (BitSet) this.unindexed.clone();
+		Node node = this.root;
+		candidates.or(node.entries);
+		for (PathContainer.Element element : path.elements()) {
+			if (!(element instanceof PathContainer.PathSegment segment)) {
+				continue;
+			}
+			node = node.children.get(segment.valueToMatch().toLowerCase(Locale.ROOT));
+			if (node == null) {
+				return candidates;
+			}
+			candidates.or(node.entries);
+		}
+		return candidates;
+	}
+
+	/**
+	 * Return the positions of all entries that may match the given HTTP method and path.
+	 * @param method the HTTP method
+	 * @param path the path, relative to the context path
+	 * @return a new {@link BitSet} containing the positions of the candidate entries
+	 */
+	public BitSet candidates(String method, PathContainer path) {
+		BitSet candidates = candidates(path);
+		if (this.methodRestricted.isEmpty()) {
+			return candidates;
+		}
+		candidates.andNot(this.excludedByMethod.getOrDefault(method, this.methodRestricted));
+		return candidates;
+	}
+
+	@Override
+	public String toString() {
+		return "PathPrefixIndex [size=" + this.size + ", unindexed=" + this.unindexed + "]";
+	}
+
+	static List<String> literalPrefix(PathPattern pattern) {
+		String patternString = pattern.getPatternString();
+		List<String> segments = new ArrayList<>();
+		if (!patternString.startsWith("/")) {
+			return segments;
+		}
+		int start = 1;
+		while (start < patternString.length()) {
+			int end = patternString.indexOf('/', start);
+			if (end == -1) {
+				end = patternString.length();
+			}
+			String segment = patternString.substring(start, end);
+			if (segment.isEmpty() || !isLiteral(segment)) {
+				return segments;
+			}
+			segments.add(segment.toLowerCase(Locale.ROOT));
+			start = end + 1;
+		}
+		return segments;
+	}
+
+	private static boolean isLiteral(String segment) {
+		for (int i = 0; i < segment.length(); i++) {
+			char c = segment.charAt(i);
+			if (c == '*' || c == '?' || c == '{' || c == '}') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * A builder for a {@link PathPrefixIndex}. Entries are numbered in the order that
+	 * they are added.
+	 */
+	public static final class Builder {
+
+		private final List<List<List<String>>> entries = new ArrayList<>();
+
+		private final List<String> methods = new ArrayList<>();
+
+		private Builder() {
+		}
+
+		/**
+		 * Add an entry that matches when any of the given {@code patterns} match.
+		 * @param patterns the patterns, must not be empty
+		 * @return the {@link Builder} for further configuration
+		 */
+		public Builder patterns(Collection<PathPattern> patterns) {
+			Assert.notEmpty(patterns, "patterns cannot be empty");
+			List<List<String>> prefixes = new ArrayList<>(patterns.size());
+			for (PathPattern pattern : patterns) {
+				Assert.notNull(pattern, "patterns cannot contain null values");
+				prefixes.add(literalPrefix(pattern));
+			}
+			this.entries.add(prefixes);
+			this.methods.add(null);
+			return this;
+		}
+
+		/**
+		 * Add an entry that matches when the given {@code pattern} matches.
+		 * @param pattern the pattern
+		 * @return the {@link Builder} for further configuration
+		 */
+		public Builder pattern(PathPattern pattern) {
+			return patterns(List.of(pattern));
+		}
+
+		/**
+		 * Add an entry that matches when the given {@code method} and {@code pattern}
+		 * match.
+		 * @param method the HTTP method, {@code null} indicates that the method does not
+		 * matter
+		 * @param pattern the pattern
+		 * @return the {@link Builder} for further configuration
+		 */
+		public Builder pattern(@Nullable HttpMethod method, PathPattern pattern) {
+			patterns(List.of(pattern));
+			if (method != null) {
+				this.methods.set(this.methods.size() - 1, method.name());
+			}
+			return this;
+		}
+
+		/**
+		 * Add an entry whose matching logic is unknown; it is a candidate for every path.
+		 * @return the {@link Builder} for further configuration
+		 */
+		public Builder unindexed() {
+			this.entries.add(null);
+			this.methods.add(null);
+			return this;
+		}
+
+		/**
+		 * Build the {@link PathPrefixIndex}
+		 * @return the {@link PathPrefixIndex}
+		 */
+		public PathPrefixIndex build() {
+			Node root = new Node();
+			BitSet unindexed = new BitSet();
+			for (int position = 0; position < this.entries.size(); position++) {
+				List<List<String>> prefixes = this.entries.get(position);
+				if (prefixes == null) {
+					unindexed.set(position);
+					continue;
+				}
+				for (List<String> prefix : prefixes) {
+					Node node = root;
+					for (String segment : prefix) {
+						node = node.children.computeIfAbsent(segment, (s) -> new Node());
+					}
+					node.entries.set(position);
+				}
+			}
+			BitSet methodRestricted = new BitSet();
+			Map<String, BitSet> allowedByMethod = new HashMap<>();
+			for (int position = 0; position < this.methods.size(); position++) {
+				String method = this.methods.get(position);
+				if (method != null) {
+					methodRestricted.set(position);
+					allowedByMethod.computeIfAbsent(method, (m) -> new BitSet()).set(position);
+				}
+			}
+			Map<String, BitSet> excludedByMethod = new HashMap<>();
+			allowedByMethod.forEach((method, allowed) -> {
+				BitSet excluded = (BitSet) methodRestricted.clone();
+				excluded.andNot(allowed);
+				excludedByMethod.put(method, excluded);
+			});
+			return new PathPrefixIndex(root, unindexed, excludedByMethod, methodRestricted, this.entries.size());
+		}
+
+	}
+
+	private static final class Node {
+
+		private final Map<String, Node> children = new HashMap<>();
+
+		private final BitSet entries = new BitSet();
+
+	}
+
+}
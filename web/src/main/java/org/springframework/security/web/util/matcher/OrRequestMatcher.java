@@ -17,6 +17,7 @@
 package org.springframework.security.web.util.matcher;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -82,6 +83,15 @@ public final class OrRequestMatcher implements RequestMatcher {
 		return MatchResult.notMatch();
 	}
 
+	/**
+	 * The {@link RequestMatcher}s that this matcher tries, in order
+	 * @return the {@link RequestMatcher}s
+	 * @since 7.0
+	 */
+	public List<RequestMatcher> getRequestMatchers() {
+		return Collections.unmodifiableList(this.requestMatchers);
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) {
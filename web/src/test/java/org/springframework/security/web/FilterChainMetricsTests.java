@@ -0,0 +1,99 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.web.FilterChainMetrics.FilterTiming;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link FilterChainMetrics}
+ */
+public class FilterChainMetricsTests {
+
+	@Test
+	void timingWhenSameNameThenSameTiming() {
+		FilterChainMetrics metrics = new FilterChainMetrics();
+		FilterTiming timing = metrics.timing("CsrfFilter");
+		assertThat(metrics.timing("CsrfFilter")).isSameAs(timing);
+		assertThat(metrics.getTimings()).containsOnlyKeys("CsrfFilter");
+	}
+
+	@Test
+	void timingWhenEmptyNameThenIllegalArgument() {
+		FilterChainMetrics metrics = new FilterChainMetrics();
+		assertThatIllegalArgumentException().isThrownBy(() -> metrics.timing(""));
+	}
+
+	@Test
+	void recordThenAggregates() {
+		FilterTiming timing = new FilterChainMetrics().timing("CsrfFilter");
+		timing.record(TimeUnit.MICROSECONDS.toNanos(100));
+		timing.record(TimeUnit.MICROSECONDS.toNanos(300));
+		assertThat(timing.getCount()).isEqualTo(2);
+		assertThat(timing.getTotalTime(TimeUnit.MICROSECONDS)).isEqualTo(400);
+		assertThat(timing.getMean(TimeUnit.MICROSECONDS)).isEqualTo(200);
+		assertThat(timing.getMax(TimeUnit.MICROSECONDS)).isEqualTo(300);
+	}
+
+	@Test
+	void getMeanWhenNothingRecordedThenZero() {
+		FilterTiming timing = new FilterChainMetrics().timing("CsrfFilter");
+		assertThat(timing.getMean(TimeUnit.MILLISECONDS)).isZero();
+		assertThat(timing.getPercentile(0.99, TimeUnit.MILLISECONDS)).isZero();
+	}
+
+	@Test
+	void getPercentileThenUpperBoundOfBucket() {
+		FilterTiming timing = new FilterChainMetrics().timing("CsrfFilter");
+		for (int i = 0; i < 99; i++) {
+			timing.record(500);
+		}
+		timing.record(TimeUnit.MILLISECONDS.toNanos(10));
+		assertThat(timing.getPercentile(0.5, TimeUnit.NANOSECONDS)).isEqualTo(1024);
+		assertThat(timing.getPercentile(0.99, TimeUnit.NANOSECONDS)).isEqualTo(1024);
+		assertThat(timing.getPercentile(1, TimeUnit.MILLISECONDS)).isEqualTo(10);
+	}
+
+	@Test
+	void getPercentileWhenOutOfRangeThenIllegalArgument() {
+		FilterTiming timing = new FilterChainMetrics().timing("CsrfFilter");
+		assertThatIllegalArgumentException().isThrownBy(() -> timing.getPercentile(1.5, TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	void getHistogramThenCountsPerBucket() {
+		FilterTiming timing = new FilterChainMetrics().timing("CsrfFilter");
+		timing.record(500);
+		timing.record(1500);
+		timing.record(1800);
+		timing.record(TimeUnit.MINUTES.toNanos(1));
+		Map<Duration, Long> histogram = timing.getHistogram();
+		assertThat(histogram).containsEntry(Duration.ofNanos(1024), 1L);
+		assertThat(histogram).containsEntry(Duration.ofNanos(2048), 2L);
+		assertThat(histogram.values().stream().mapToLong(Long::longValue).sum()).isEqualTo(4);
+		assertThat(histogram.entrySet()).last().extracting(Map.Entry::getValue).isEqualTo(1L);
+	}
+
+}
@@ -17,6 +17,7 @@
 package org.springframework.security.web;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
@@ -33,9 +34,14 @@ import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
 import jakarta.servlet.http.HttpServletResponse;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.stubbing.Answer;
 
@@ -49,6 +55,9 @@ import org.springframework.security.web.firewall.HttpFirewall;
 import org.springframework.security.web.firewall.RequestRejectedException;
 import org.springframework.security.web.firewall.RequestRejectedHandler;
 import org.springframework.security.web.servlet.TestMockHttpServletMappings;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
 import org.springframework.security.web.util.matcher.RequestMatcher;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -63,6 +72,7 @@ import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.springframework.security.web.servlet.TestMockHttpServletRequests.get;
 
@@ -133,6 +143,49 @@ public class FilterChainProxyTests {
 		verify(this.chain).doFilter(any(HttpServletRequest.class), any(HttpServletResponse.class));
 	}
 
+	@Test
+	public void doFilterWhenFlightRecorderEventsEnabledThenRecords(@TempDir Path dir) throws Exception {
+		given(this.matcher.matches(any(HttpServletRequest.class))).willReturn(true);
+		Path dump = dir.resolve("recording.jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable("org.springframework.security.FilterChainSelection");
+			recording.enable("org.springframework.security.FilterInvocation");
+			recording.start();
+			this.fcp.doFilter(this.request, this.response, this.chain);
+			recording.stop();
+			recording.dump(dump);
+		}
+		List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+		assertThat(events).filteredOn((event) -> event.getEventType().getName().endsWith("FilterChainSelection"))
+			.singleElement()
+			.satisfies((event) -> {
+				assertThat(event.getString("requestUri")).isEqualTo("/path");
+				assertThat(event.getBoolean("secured")).isTrue();
+				assertThat(event.getInt("filterCount")).isEqualTo(1);
+			});
+		assertThat(events).filteredOn((event) -> event.getEventType().getName().endsWith("FilterInvocation"))
+			.singleElement()
+			.satisfies((event) -> {
+				assertThat(event.getString("filter")).isEqualTo(this.filter.getClass().getName());
+				assertThat(event.getInt("position")).isEqualTo(1);
+				assertThat(event.getInt("chainSize")).isEqualTo(1);
+			});
+	}
+
+	@Test
+	public void doFilterWhenFlightRecorderEventsDisabledThenDoesNotRecord(@TempDir Path dir) throws Exception {
+		given(this.matcher.matches(any(HttpServletRequest.class))).willReturn(true);
+		Path dump = dir.resolve("recording.jfr");
+		try (Recording recording = new Recording(Configuration.getConfiguration("default"))) {
+			recording.start();
+			this.fcp.doFilter(this.request, this.response, this.chain);
+			recording.stop();
+			recording.dump(dump);
+		}
+		assertThat(RecordingFile.readAllEvents(dump))
+			.noneMatch((event) -> event.getEventType().getName().startsWith("org.springframework.security"));
+	}
+
 	@Test
 	public void originalFilterChainIsInvokedIfMatchingSecurityChainIsEmpty() throws Exception {
 		List<Filter> noFilters = Collections.emptyList();
@@ -440,6 +493,61 @@ public class FilterChainProxyTests {
 		assertFilterChainObservation(contexts.next(), "after", 3);
 	}
 
+	@Test
+	void doFilterWhenIndexFilterChainsThenOnlyCandidateChainsAreEvaluated() throws Exception {
+		RequestMatcher opaque = mock(RequestMatcher.class);
+		Filter apiFilter = mockFilter();
+		Filter opaqueFilter = mockFilter();
+		Filter anyFilter = mockFilter();
+		PathPatternRequestMatcher.Builder builder = PathPatternRequestMatcher.withDefaults();
+		FilterChainProxy fcp = new FilterChainProxy(List.of(
+				new DefaultSecurityFilterChain(new OrRequestMatcher(builder.matcher("/admin/**"),
+						builder.matcher("/management/**")), mockFilter()),
+				new DefaultSecurityFilterChain(builder.matcher("/api/**"), apiFilter),
+				new DefaultSecurityFilterChain(opaque, opaqueFilter),
+				new DefaultSecurityFilterChain(builder.matcher("/**"), anyFilter)));
+		fcp.setIndexFilterChains(true);
+		fcp.doFilter(get("/api/orders").build(), this.response, this.chain);
+		verify(apiFilter).doFilter(any(), any(), any());
+		verifyNoInteractions(opaque, opaqueFilter, anyFilter);
+		fcp.doFilter(get("/other").build(), this.response, this.chain);
+		verify(opaque).matches(any());
+		verify(anyFilter).doFilter(any(), any(), any());
+	}
+
+	@Test
+	void doFilterWhenIndexFilterChainsThenFirstMatchingChainWins() throws Exception {
+		Filter first = mockFilter();
+		Filter second = mockFilter();
+		PathPatternRequestMatcher.Builder builder = PathPatternRequestMatcher.withDefaults();
+		FilterChainProxy fcp = new FilterChainProxy(
+				List.of(new DefaultSecurityFilterChain(builder.matcher("/{segment}/**"), first),
+						new DefaultSecurityFilterChain(builder.matcher("/api/**"), second)));
+		fcp.setIndexFilterChains(true);
+		fcp.doFilter(get("/api/orders").build(), this.response, this.chain);
+		verify(first).doFilter(any(), any(), any());
+		verifyNoInteractions(second);
+	}
+
+	@Test
+	void getFiltersWhenIndexFilterChainsThenSameAsLinear() {
+		PathPatternRequestMatcher.Builder builder = PathPatternRequestMatcher.withDefaults();
+		Filter api = new MockFilter();
+		Filter users = new MockFilter();
+		Filter any = new MockFilter();
+		FilterChainProxy fcp = new FilterChainProxy(List.of(
+				new DefaultSecurityFilterChain(builder.matcher("/api/**"), api),
+				new DefaultSecurityFilterChain(builder.matcher("/users/{id}"), users),
+				new DefaultSecurityFilterChain(AnyRequestMatcher.INSTANCE, any)));
+		List<String> urls = List.of("/api", "/api/orders", "/users/1", "/users/1/x", "/", "/apix");
+		List<List<Filter>> linear = urls.stream().map(fcp::getFilters).toList();
+		fcp.setIndexFilterChains(true);
+		List<List<Filter>> indexed = urls.stream().map(fcp::getFilters).toList();
+		assertThat(indexed).isEqualTo(linear);
+		fcp.setIndexFilterChains(false);
+		assertThat(urls.stream().map(fcp::getFilters).toList()).isEqualTo(linear);
+	}
+
 	static void assertFilterChainObservation(Observation.Context context, String filterSection, int chainPosition) {
 		assertThat(context).isInstanceOf(ObservationFilterChainDecorator.FilterChainObservationContext.class);
 		ObservationFilterChainDecorator.FilterChainObservationContext filterChainObservationContext = (ObservationFilterChainDecorator.FilterChainObservationContext) context;
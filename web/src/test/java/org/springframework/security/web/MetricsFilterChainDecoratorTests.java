@@ -0,0 +1,160 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.FilterChainMetrics.FilterTiming;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Tests for {@link MetricsFilterChainDecorator}
+ */
+public class MetricsFilterChainDecoratorTests {
+
+	@Test
+	void decorateWhenFiltersThenRecordsEachFilterExcludingDownstream() throws Exception {
+		MetricsFilterChainDecorator decorator = new MetricsFilterChainDecorator();
+		FilterChain chain = mock(FilterChain.class);
+		willAnswer((invocation) -> sleep(50)).given(chain).doFilter(any(), any());
+		FilterChain decorated = decorator.decorate(chain, List.of(new SleepingFilter(), new PassThroughFilter()));
+		decorated.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse());
+		verify(chain).doFilter(any(), any());
+		FilterTiming sleeping = decorator.getMetrics().getTimings().get("SleepingFilter");
+		FilterTiming passThrough = decorator.getMetrics().getTimings().get("PassThroughFilter");
+		assertThat(sleeping.getCount()).isEqualTo(1);
+		assertThat(sleeping.getMax(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(5).isLessThan(50);
+		assertThat(passThrough.getCount()).isEqualTo(1);
+		assertThat(passThrough.getMax(TimeUnit.MILLISECONDS)).isLessThan(50);
+	}
+
+	@Test
+	void decorateWhenRequestsThenReusesRegisteredTimings() throws Exception {
+		MetricsFilterChainDecorator decorator = new MetricsFilterChainDecorator();
+		List<Filter> filters = List.of(new PassThroughFilter());
+		decorator.decorate(mock(FilterChain.class), filters)
+			.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse());
+		FilterTiming timing = decorator.getMetrics().getTimings().get("PassThroughFilter");
+		decorator.decorate(mock(FilterChain.class), filters)
+			.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse());
+		assertThat(decorator.getMetrics().getTimings()).containsOnlyKeys("PassThroughFilter");
+		assertThat(decorator.getMetrics().getTimings().get("PassThroughFilter")).isSameAs(timing);
+		assertThat(timing.getCount()).isEqualTo(2);
+	}
+
+	@Test
+	void decorateWhenFilterThrowsThenRecords() throws Exception {
+		MetricsFilterChainDecorator decorator = new MetricsFilterChainDecorator();
+		Filter filter = mock(Filter.class);
+		willThrow(new ServletException("ack")).given(filter).doFilter(any(), any(), any());
+		FilterChain decorated = decorator.decorate(mock(FilterChain.class), List.of(filter));
+		assertThatExceptionOfType(ServletException.class)
+			.isThrownBy(() -> decorated.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse()));
+		assertThat(decorator.getMetrics().getTimings()).hasSize(1);
+		assertThat(decorator.getMetrics().getTimings().values()).allMatch((timing) -> timing.getCount() == 1);
+	}
+
+	@Test
+	void decorateWhenSampledThenObservesInsteadOfRecording() throws Exception {
+		ObservationHandler<?> handler = mock(ObservationHandler.class);
+		given(handler.supportsContext(any())).willReturn(true);
+		ObservationRegistry registry = ObservationRegistry.create();
+		registry.observationConfig().observationHandler(handler);
+		MetricsFilterChainDecorator decorator = new MetricsFilterChainDecorator(registry, 1);
+		FilterChain decorated = decorator.decorate(mock(FilterChain.class), List.of(new PassThroughFilter()));
+		decorated.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse());
+		verify(handler, atLeastOnce()).onStart(any());
+		assertThat(decorator.getMetrics().getTimings()).isEmpty();
+	}
+
+	@Test
+	void decorateWhenNotSampledThenDoesNotObserve() throws Exception {
+		ObservationHandler<?> handler = mock(ObservationHandler.class);
+		given(handler.supportsContext(any())).willReturn(true);
+		ObservationRegistry registry = ObservationRegistry.create();
+		registry.observationConfig().observationHandler(handler);
+		MetricsFilterChainDecorator decorator = new MetricsFilterChainDecorator(registry, 0);
+		decorator.decorate(mock(FilterChain.class), List.of(new PassThroughFilter()))
+			.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse());
+		decorator.decorate(mock(FilterChain.class))
+			.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse());
+		verifyNoInteractions(handler);
+		assertThat(decorator.getMetrics().getTimings()).containsOnlyKeys("PassThroughFilter");
+	}
+
+	@Test
+	void constructorWhenSampleRateOutOfRangeThenIllegalArgument() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new MetricsFilterChainDecorator(ObservationRegistry.NOOP, 1.5));
+	}
+
+	private static Object sleep(long millis) throws InterruptedException {
+		Thread.sleep(millis);
+		return null;
+	}
+
+	static class SleepingFilter implements Filter {
+
+		@Override
+		public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+				throws IOException, ServletException {
+			try {
+				sleep(5);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			chain.doFilter(request, response);
+		}
+
+	}
+
+	static class PassThroughFilter implements Filter {
+
+		@Override
+		public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+				throws IOException, ServletException {
+			chain.doFilter(request, response);
+		}
+
+	}
+
+}
@@ -20,6 +20,7 @@ import java.util.function.Supplier;
 
 import org.junit.jupiter.api.Test;
 
+import org.springframework.http.HttpMethod;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.authentication.TestAuthentication;
 import org.springframework.security.authentication.TestingAuthenticationToken;
@@ -29,11 +30,20 @@ import org.springframework.security.authorization.AuthorizationResult;
 import org.springframework.security.authorization.SingleResultAuthorizationManager;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher.MatchResult;
 import org.springframework.security.web.util.matcher.RequestMatcherEntry;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher.pathPattern;
 
 /**
@@ -401,4 +411,48 @@ public class RequestMatcherDelegatingAuthorizationManagerTests {
 		assertThat(decision.isGranted()).isFalse();
 	}
 
+	@Test
+	public void authorizeWhenIndexRequestMatchersThenDelegatesFirstMatchingManager() {
+		RequestMatcherDelegatingAuthorizationManager manager = RequestMatcherDelegatingAuthorizationManager.builder()
+			.indexRequestMatchers(true)
+			.requestMatchers(pathPattern("/{tenant}/admin"))
+			.denyAll()
+			.requestMatchers(pathPattern(HttpMethod.GET, "/api/**"))
+			.permitAll()
+			.requestMatchers(pathPattern("/api/**"))
+			.hasRole("ADMIN")
+			.requestMatchers(new OrRequestMatcher(pathPattern("/public/**"), pathPattern("/static/**")))
+			.permitAll()
+			.build();
+		Supplier<Authentication> authentication = () -> new TestingAuthenticationToken("user", "password", "ROLE_USER");
+		assertThat(manager.authorize(authentication, new MockHttpServletRequest("GET", "/api/orders")).isGranted())
+			.isTrue();
+		assertThat(manager.authorize(authentication, new MockHttpServletRequest("POST", "/api/orders")).isGranted())
+			.isFalse();
+		assertThat(manager.authorize(authentication, new MockHttpServletRequest("GET", "/api/admin")).isGranted())
+			.isFalse();
+		assertThat(manager.authorize(authentication, new MockHttpServletRequest("GET", "/static/app.js")).isGranted())
+			.isTrue();
+		assertThat(manager.authorize(authentication, new MockHttpServletRequest("GET", "/unmapped")).isGranted())
+			.isFalse();
+	}
+
+	@Test
+	public void authorizeWhenIndexRequestMatchersThenSkipsMappingsThatCannotMatch() {
+		RequestMatcher opaque = mock(RequestMatcher.class);
+		given(opaque.matcher(any())).willReturn(MatchResult.notMatch());
+		RequestMatcher admin = spy(new OrRequestMatcher(pathPattern("/admin/**")));
+		RequestMatcherDelegatingAuthorizationManager manager = RequestMatcherDelegatingAuthorizationManager.builder()
+			.indexRequestMatchers(true)
+			.add(admin, AuthorityAuthorizationManager.hasRole("ADMIN"))
+			.add(opaque, SingleResultAuthorizationManager.denyAll())
+			.add(pathPattern("/api/**"), SingleResultAuthorizationManager.permitAll())
+			.build();
+		AuthorizationResult result = manager.authorize(TestAuthentication::authenticatedUser,
+				new MockHttpServletRequest("GET", "/api/orders"));
+		assertThat(result.isGranted()).isTrue();
+		verify(opaque).matcher(any());
+		verify(admin, never()).matcher(any());
+	}
+
 }
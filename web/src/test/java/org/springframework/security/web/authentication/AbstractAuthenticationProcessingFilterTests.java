@@ -16,6 +16,8 @@
 
 package org.springframework.security.web.authentication;
 
+import java.time.Duration;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
@@ -41,6 +43,7 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.WebAttributes;
 import org.springframework.security.web.authentication.rememberme.AbstractRememberMeServicesTests;
 import org.springframework.security.web.authentication.rememberme.TokenBasedRememberMeServices;
 import org.springframework.security.web.authentication.session.SessionAuthenticationStrategy;
@@ -58,6 +61,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.security.web.servlet.TestMockHttpServletRequests.Builder;
 import static org.springframework.security.web.servlet.TestMockHttpServletRequests.get;
 import static org.springframework.security.web.servlet.TestMockHttpServletRequests.post;
@@ -438,6 +442,52 @@ public class AbstractAuthenticationProcessingFilterTests {
 		assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_UNAUTHORIZED);
 	}
 
+	@Test
+	public void doFilterWhenClientAddressThrottledThenDoesNotAttemptAuthentication() throws Exception {
+		MockHttpServletRequest request = createMockAuthenticationRequest();
+		MockFilterChain chain = new MockFilterChain(false);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		AuthenticationThrottle throttle = new AuthenticationThrottle(1, Duration.ofMinutes(1));
+		throttle.recordFailure("user", request.getRemoteAddr());
+		MockAuthenticationFilter filter = new MockAuthenticationFilter(true);
+		filter.setAuthenticationThrottle(throttle);
+		filter.setAuthenticationFailureHandler(this.failureHandler);
+		filter.doFilter(request, response, chain);
+		assertThat(response.getRedirectedUrl()).isEqualTo("/mycontext/failed.jsp");
+		assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+		assertThat(request.getSession().getAttribute(WebAttributes.AUTHENTICATION_EXCEPTION))
+			.isInstanceOf(AuthenticationThrottledException.class);
+	}
+
+	@Test
+	public void doFilterWhenUsernameThrottledThenDoesNotInvokeAuthenticationManager() throws Exception {
+		MockHttpServletRequest request = post("/login").param("username", "user").param("password", "password").build();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		AuthenticationThrottle throttle = new AuthenticationThrottle(1, Duration.ofMinutes(1));
+		throttle.recordFailure("user", null);
+		AuthenticationManager authenticationManager = mock(AuthenticationManager.class);
+		UsernamePasswordAuthenticationFilter filter = new UsernamePasswordAuthenticationFilter(authenticationManager);
+		filter.setAuthenticationThrottle(throttle);
+		filter.setAuthenticationFailureHandler(this.failureHandler);
+		filter.doFilter(request, response, new MockFilterChain(false));
+		assertThat(response.getRedirectedUrl()).isEqualTo("/failed.jsp");
+		verifyNoInteractions(authenticationManager);
+	}
+
+	@Test
+	public void getAuthenticationManagerWhenThrottleSetThenConfiguredAuthenticationManager() {
+		AuthenticationManager authenticationManager = mock(AuthenticationManager.class);
+		UsernamePasswordAuthenticationFilter filter = new UsernamePasswordAuthenticationFilter(authenticationManager);
+		filter.setAuthenticationThrottle(new AuthenticationThrottle(1, Duration.ofMinutes(1)));
+		assertThat(filter.getAuthenticationManager()).isSameAs(authenticationManager);
+	}
+
+	@Test
+	public void setAuthenticationThrottleWhenNullThenIllegalArgumentException() {
+		AbstractAuthenticationProcessingFilter filter = new MockAuthenticationFilter();
+		assertThatIllegalArgumentException().isThrownBy(() -> filter.setAuthenticationThrottle(null));
+	}
+
 	/**
 	 * https://github.com/spring-projects/spring-security/pull/3905
 	 */
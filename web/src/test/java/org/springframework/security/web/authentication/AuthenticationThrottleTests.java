@@ -0,0 +1,125 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.authentication;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.event.AuthenticationFailureBadCredentialsEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link AuthenticationThrottle}
+ */
+public class AuthenticationThrottleTests {
+
+	private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+	@Test
+	public void constructorWhenInvalidThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new AuthenticationThrottle(0, Duration.ofMinutes(1)));
+		assertThatIllegalArgumentException().isThrownBy(() -> new AuthenticationThrottle(1, Duration.ZERO));
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new AuthenticationThrottle(1, Duration.ofMinutes(1), 0));
+	}
+
+	@Test
+	public void isThrottledWhenUsernameReachesMaxFailuresThenThrottled() {
+		AuthenticationThrottle throttle = throttle(3, NOW);
+		throttle.recordFailure("user", "10.0.0.1");
+		throttle.recordFailure("user", "10.0.0.2");
+		assertThat(throttle.isThrottled("user", "10.0.0.3")).isFalse();
+		throttle.recordFailure("user", "10.0.0.3");
+		assertThat(throttle.isThrottled("user", "10.0.0.4")).isTrue();
+		assertThat(throttle.isThrottled("other", "10.0.0.4")).isFalse();
+	}
+
+	@Test
+	public void isThrottledWhenClientAddressReachesMaxFailuresThenThrottled() {
+		AuthenticationThrottle throttle = throttle(3, NOW);
+		throttle.recordFailure("one", "10.0.0.1");
+		throttle.recordFailure("two", "10.0.0.1");
+		throttle.recordFailure("three", "10.0.0.1");
+		assertThat(throttle.isThrottled(null, "10.0.0.1")).isTrue();
+		assertThat(throttle.isThrottled("four", "10.0.0.1")).isTrue();
+		assertThat(throttle.isThrottled("four", "10.0.0.2")).isFalse();
+	}
+
+	@Test
+	public void isThrottledWhenUsernameEqualsClientAddressThenCountedSeparately() {
+		AuthenticationThrottle throttle = throttle(1, NOW);
+		throttle.recordFailure("10.0.0.1", null);
+		assertThat(throttle.isThrottled(null, "10.0.0.1")).isFalse();
+		assertThat(throttle.isThrottled("10.0.0.1", null)).isTrue();
+	}
+
+	@Test
+	public void isThrottledWhenWindowSlidesThenPreviousFailuresDecay() {
+		AuthenticationThrottle throttle = throttle(4, NOW);
+		for (int i = 0; i < 4; i++) {
+			throttle.recordFailure("user", null);
+		}
+		assertThat(throttle.isThrottled("user", null)).isTrue();
+		// a quarter into the next window, three quarters of the previous count remain
+		throttle.setClock(Clock.fixed(NOW.plusSeconds(75), ZoneOffset.UTC));
+		assertThat(throttle.isThrottled("user", null)).isFalse();
+		throttle.recordFailure("user", null);
+		assertThat(throttle.isThrottled("user", null)).isTrue();
+		throttle.setClock(Clock.fixed(NOW.plusSeconds(240), ZoneOffset.UTC));
+		assertThat(throttle.isThrottled("user", null)).isFalse();
+	}
+
+	@Test
+	public void onApplicationEventWhenBadCredentialsThenRecordsUsernameAndRemoteAddress() {
+		AuthenticationThrottle throttle = throttle(1, NOW);
+		UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken
+			.unauthenticated("user", "password");
+		authentication.setDetails(new WebAuthenticationDetails("10.0.0.1", null));
+		throttle.onApplicationEvent(
+				new AuthenticationFailureBadCredentialsEvent(authentication, new BadCredentialsException("bad")));
+		assertThat(throttle.isThrottled("user", null)).isTrue();
+		assertThat(throttle.isThrottled(null, "10.0.0.1")).isTrue();
+		UsernamePasswordAuthenticationToken other = UsernamePasswordAuthenticationToken.unauthenticated("other",
+				"password");
+		other.setDetails(new WebAuthenticationDetails("10.0.0.1", null));
+		assertThat(throttle.isThrottled(other)).isTrue();
+	}
+
+	@Test
+	public void isThrottledWhenManyOtherKeysThenNotThrottled() {
+		AuthenticationThrottle throttle = new AuthenticationThrottle(2, Duration.ofMinutes(1));
+		for (int i = 0; i < 1000; i++) {
+			throttle.recordFailure("user" + i, null);
+		}
+		assertThat(throttle.isThrottled("victim", null)).isFalse();
+	}
+
+	private static AuthenticationThrottle throttle(int maxFailures, Instant now) {
+		AuthenticationThrottle throttle = new AuthenticationThrottle(maxFailures, Duration.ofMinutes(1));
+		throttle.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		return throttle;
+	}
+
+}
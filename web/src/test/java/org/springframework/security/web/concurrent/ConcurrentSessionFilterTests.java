@@ -16,6 +16,7 @@
 
 package org.springframework.security.web.concurrent;
 
+import java.time.Duration;
 import java.util.Date;
 import java.util.List;
 
@@ -28,6 +29,7 @@ import org.springframework.mock.web.MockFilterChain;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.mock.web.MockHttpSession;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.security.MockSecurityContextHolderStrategy;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -49,6 +51,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -273,6 +276,56 @@ public class ConcurrentSessionFilterTests {
 		assertThatIllegalArgumentException().isThrownBy(() -> filter.setLogoutHandlers(new LogoutHandler[0]));
 	}
 
+	@Test
+	public void doFilterWhenLastRequestRecentThenNotRefreshed() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		MockHttpSession session = new MockHttpSession();
+		request.setSession(session);
+		SessionRegistry registry = mock(SessionRegistry.class);
+		SessionInformation information = new SessionInformation("user", session.getId(),
+				new Date(System.currentTimeMillis() - 1000));
+		given(registry.getSessionInformation(session.getId())).willReturn(information);
+		ConcurrentSessionFilter filter = new ConcurrentSessionFilter(registry);
+		filter.setLastRequestRefreshInterval(Duration.ofMinutes(1));
+		filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+		verify(registry, never()).refreshLastRequest(anyString());
+	}
+
+	@Test
+	public void doFilterWhenLastRequestOlderThanRefreshIntervalThenRefreshed() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		MockHttpSession session = new MockHttpSession();
+		request.setSession(session);
+		SessionRegistry registry = mock(SessionRegistry.class);
+		SessionInformation information = new SessionInformation("user", session.getId(),
+				new Date(System.currentTimeMillis() - 120000));
+		given(registry.getSessionInformation(session.getId())).willReturn(information);
+		ConcurrentSessionFilter filter = new ConcurrentSessionFilter(registry);
+		filter.setLastRequestRefreshInterval(Duration.ofMinutes(1));
+		filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+		verify(registry).refreshLastRequest(session.getId());
+	}
+
+	@Test
+	public void doFilterWhenWriteBehindThenRefreshedWhenFlushed() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		MockHttpSession session = new MockHttpSession();
+		request.setSession(session);
+		SessionRegistry registry = mock(SessionRegistry.class);
+		SessionInformation information = new SessionInformation("user", session.getId(), new Date());
+		given(registry.getSessionInformation(session.getId())).willReturn(information);
+		TaskScheduler scheduler = mock(TaskScheduler.class);
+		ConcurrentSessionFilter filter = new ConcurrentSessionFilter(registry);
+		filter.setLastRequestWriteBehindScheduler(scheduler);
+		filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+		filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+		verify(scheduler).scheduleWithFixedDelay(any(Runnable.class), eq(Duration.ofSeconds(1)));
+		verify(registry, never()).refreshLastRequest(anyString());
+		assertThat(filter.flushLastRequestRefreshes()).isEqualTo(1);
+		verify(registry).refreshLastRequest(session.getId());
+		assertThat(filter.flushLastRequestRefreshes()).isZero();
+	}
+
 	private SessionRegistry mockSessionRegistry() {
 		SessionRegistry registry = mock(SessionRegistry.class);
 		SessionInformation information = new SessionInformation("user", "sessionId",
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.context;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.crypto.encrypt.BytesEncryptor;
+import org.springframework.security.crypto.encrypt.Encryptors;
+import org.springframework.security.crypto.keygen.KeyGenerators;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link EncryptedCookieSecurityContextRepository}
+ */
+public class EncryptedCookieSecurityContextRepositoryTests {
+
+	private final BytesEncryptor encryptor = Encryptors.stronger("password", "5c0744940b5c369b");
+
+	private final SecretKey signingKey = new SecretKeySpec(KeyGenerators.secureRandom(32).generateKey(), "HmacSHA256");
+
+	private final EncryptedCookieSecurityContextRepository repository = new EncryptedCookieSecurityContextRepository(
+			this.encryptor, this.signingKey);
+
+	private final SecurityContext context = new SecurityContextImpl(
+			new TestingAuthenticationToken("user", "password", "ROLE_USER"));
+
+	@Test
+	public void constructorWhenNullEncryptorThenIllegalArgumentException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new EncryptedCookieSecurityContextRepository(null, this.signingKey));
+	}
+
+	@Test
+	public void constructorWhenNullSigningKeyThenIllegalArgumentException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new EncryptedCookieSecurityContextRepository(this.encryptor, null));
+	}
+
+	@Test
+	public void loadDeferredContextWhenSavedThenRestoresContext() {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		this.repository.saveContext(this.context, new MockHttpServletRequest(), response);
+		Cookie cookie = response.getCookie(EncryptedCookieSecurityContextRepository.DEFAULT_COOKIE_NAME);
+		assertThat(cookie).isNotNull();
+		assertThat(cookie.isHttpOnly()).isTrue();
+		assertThat(cookie.getValue()).doesNotContain("user");
+		MockHttpServletRequest request = requestWithCookies(response);
+		assertThat(this.repository.containsContext(request)).isTrue();
+		assertThat(this.repository.loadDeferredContext(request).get()).isEqualTo(this.context);
+	}
+
+	@Test
+	public void loadDeferredContextWhenNoCookieThenEmptyContext() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		assertThat(this.repository.containsContext(request)).isFalse();
+		assertThat(this.repository.loadDeferredContext(request).isGenerated()).isTrue();
+	}
+
+	@Test
+	public void loadDeferredContextWhenTamperedThenEmptyContext() {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		this.repository.saveContext(this.context, new MockHttpServletRequest(), response);
+		String value = response.getCookie(EncryptedCookieSecurityContextRepository.DEFAULT_COOKIE_NAME).getValue();
+		int middle = value.length() / 2;
+		char replacement = (value.charAt(middle) != 'A') ? 'A' : 'B';
+		String tampered = value.substring(0, middle) + replacement + value.substring(middle + 1);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setCookies(new Cookie(EncryptedCookieSecurityContextRepository.DEFAULT_COOKIE_NAME, tampered));
+		assertThat(this.repository.loadDeferredContext(request).isGenerated()).isTrue();
+	}
+
+	@Test
+	public void loadDeferredContextWhenTamperedThenDoesNotDecrypt() {
+		AtomicInteger decrypted = new AtomicInteger();
+		BytesEncryptor unauthenticated = Encryptors.standard("password", "5c0744940b5c369b");
+		BytesEncryptor counting = new BytesEncryptor() {
+			@Override
+			public byte[] encrypt(byte[] bytes) {
+				return unauthenticated.encrypt(bytes);
+			}
+
+			@Override
+			public byte[] decrypt(byte[] encryptedBytes) {
+				decrypted.incrementAndGet();
+				return unauthenticated.decrypt(encryptedBytes);
+			}
+		};
+		EncryptedCookieSecurityContextRepository repository = new EncryptedCookieSecurityContextRepository(counting,
+				this.signingKey);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		repository.saveContext(this.context, new MockHttpServletRequest(), response);
+		String value = response.getCookie(EncryptedCookieSecurityContextRepository.DEFAULT_COOKIE_NAME).getValue();
+		int middle = value.length() / 2;
+		char replacement = (value.charAt(middle) != 'A') ? 'A' : 'B';
+		String tampered = value.substring(0, middle) + replacement + value.substring(middle + 1);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setCookies(new Cookie(EncryptedCookieSecurityContextRepository.DEFAULT_COOKIE_NAME, tampered));
+		assertThat(repository.loadDeferredContext(request).isGenerated()).isTrue();
+		assertThat(decrypted).hasValue(0);
+		assertThat(repository.loadDeferredContext(requestWithCookies(response)).get()).isEqualTo(this.context);
+		assertThat(decrypted).hasValue(1);
+	}
+
+	@Test
+	public void loadDeferredContextWhenOtherSigningKeyThenEmptyContext() {
+		SecretKey other = new SecretKeySpec(KeyGenerators.secureRandom(32).generateKey(), "HmacSHA256");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		new EncryptedCookieSecurityContextRepository(this.encryptor, other).saveContext(this.context,
+				new MockHttpServletRequest(), response);
+		assertThat(this.repository.loadDeferredContext(requestWithCookies(response)).isGenerated()).isTrue();
+	}
+
+	@Test
+	public void loadDeferredContextWhenExpiredThenEmptyContext() {
+		Instant now = Instant.now();
+		this.repository.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		this.repository.saveContext(this.context, new MockHttpServletRequest(), response);
+		this.repository.setClock(Clock.fixed(now.plus(Duration.ofHours(13)), ZoneOffset.UTC));
+		assertThat(this.repository.loadDeferredContext(requestWithCookies(response)).isGenerated()).isTrue();
+	}
+
+	@Test
+	public void loadDeferredContextWhenPreviousKeyThenRestoresContext() {
+		BytesEncryptor previous = Encryptors.stronger("previous", "5c0744940b5c369b");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		new EncryptedCookieSecurityContextRepository(previous, this.signingKey).saveContext(this.context,
+				new MockHttpServletRequest(), response);
+		MockHttpServletRequest request = requestWithCookies(response);
+		assertThat(this.repository.loadDeferredContext(request).isGenerated()).isTrue();
+		this.repository.setPreviousEncryptors(List.of(previous));
+		assertThat(this.repository.loadDeferredContext(request).get()).isEqualTo(this.context);
+	}
+
+	@Test
+	public void saveContextWhenLargerThanCookieThenSplitsIntoChunks() {
+		this.repository.setMaxCookieValueLength(100);
+		this.repository.setMaxCookies(100);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		this.repository.saveContext(this.context, new MockHttpServletRequest(), response);
+		assertThat(response.getCookies().length).isGreaterThan(1);
+		assertThat(response.getCookie(EncryptedCookieSecurityContextRepository.DEFAULT_COOKIE_NAME + "_1"))
+			.isNotNull();
+		assertThat(this.repository.loadDeferredContext(requestWithCookies(response)).get()).isEqualTo(this.context);
+	}
+
+	@Test
+	public void loadDeferredContextWhenMoreThanMaxCookiesThenEmptyContext() {
+		this.repository.setMaxCookieValueLength(100);
+		this.repository.setMaxCookies(100);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		this.repository.saveContext(this.context, new MockHttpServletRequest(), response);
+		this.repository.setMaxCookies(response.getCookies().length - 1);
+		assertThat(this.repository.loadDeferredContext(requestWithCookies(response)).isGenerated()).isTrue();
+	}
+
+	@Test
+	public void saveContextWhenMoreThanMaxCookiesThenDoesNotSave() {
+		this.repository.setMaxCookieValueLength(10);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		this.repository.saveContext(this.context, new MockHttpServletRequest(), response);
+		assertThat(response.getCookies()).isEmpty();
+	}
+
+	@Test
+	public void saveContextWhenAnonymousThenExpiresCookies() {
+		this.repository.setMaxCookieValueLength(100);
+		this.repository.setMaxCookies(100);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		this.repository.saveContext(this.context, new MockHttpServletRequest(), response);
+		int chunks = response.getCookies().length;
+		MockHttpServletRequest request = requestWithCookies(response);
+		MockHttpServletResponse logoutResponse = new MockHttpServletResponse();
+		AnonymousAuthenticationToken anonymous = new AnonymousAuthenticationToken("key", "anonymous",
+				AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+		this.repository.saveContext(new SecurityContextImpl(anonymous), request, logoutResponse);
+		assertThat(logoutResponse.getCookies()).hasSize(chunks).allMatch((cookie) -> cookie.getMaxAge() == 0);
+		assertThat(this.repository.loadDeferredContext(request).isGenerated()).isTrue();
+	}
+
+	@Test
+	public void loadDeferredContextWhenSavedInSameRequestThenReturnsSavedContext() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		this.repository.saveContext(this.context, request, new MockHttpServletResponse());
+		assertThat(this.repository.containsContext(request)).isTrue();
+		assertThat(this.repository.loadDeferredContext(request).get()).isSameAs(this.context);
+	}
+
+	private static MockHttpServletRequest requestWithCookies(MockHttpServletResponse response) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setCookies(response.getCookies());
+		return request;
+	}
+
+}
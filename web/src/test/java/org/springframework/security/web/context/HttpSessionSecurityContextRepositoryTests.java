@@ -58,6 +58,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
@@ -799,6 +800,114 @@ public class HttpSessionSecurityContextRepositoryTests {
 		assertThat(request.getSession(false)).isNull();
 	}
 
+	@Test
+	public void saveContextWhenSkipUnchangedContextWritesAndContextUnchangedThenDoesNotWrite() {
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		repo.setSkipUnchangedContextWrites(true);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		HttpSession session = mock(HttpSession.class);
+		request.setSession(session);
+		SecurityContext context = createSecurityContext(PasswordEncodedUser.user());
+		given(session.getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY))
+			.willReturn(context);
+		SecurityContext loaded = repo.loadDeferredContext(request).get();
+		repo.saveContext(loaded, request, response);
+		verify(session, never()).setAttribute(any(), any());
+		assertThat(repo.getSkippedContextWrites()).isEqualTo(1);
+		assertThat(repo.getPerformedContextWrites()).isZero();
+	}
+
+	@Test
+	public void saveContextWhenSkipUnchangedContextWritesAndAuthenticationMutatedThenWrites() {
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		repo.setSkipUnchangedContextWrites(true);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockHttpSession session = new MockHttpSession();
+		request.setSession(session);
+		SecurityContext context = createSecurityContext(PasswordEncodedUser.user());
+		session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, context);
+		SecurityContext loaded = repo.loadDeferredContext(request).get();
+		((AbstractAuthenticationToken) loaded.getAuthentication()).setDetails("details");
+		repo.saveContext(loaded, request, response);
+		assertThat(repo.getSkippedContextWrites()).isZero();
+		assertThat(repo.getPerformedContextWrites()).isEqualTo(1);
+		// a second save of the same state is skipped
+		repo.saveContext(loaded, request, response);
+		assertThat(repo.getSkippedContextWrites()).isEqualTo(1);
+		assertThat(repo.getPerformedContextWrites()).isEqualTo(1);
+	}
+
+	@Test
+	public void saveContextWhenSkipUnchangedContextWritesAndAuthenticationReplacedThenWrites() {
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		repo.setSkipUnchangedContextWrites(true);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockHttpSession session = new MockHttpSession();
+		request.setSession(session);
+		SecurityContext context = createSecurityContext(PasswordEncodedUser.user());
+		session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, context);
+		SecurityContext loaded = repo.loadDeferredContext(request).get();
+		loaded.setAuthentication(this.testToken);
+		repo.saveContext(loaded, request, response);
+		assertThat(session.getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY))
+			.isSameAs(loaded);
+		assertThat(repo.getPerformedContextWrites()).isEqualTo(1);
+	}
+
+	@Test
+	public void saveContextWhenSkipUnchangedContextWritesAndSessionChangedThenWrites() {
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		repo.setSkipUnchangedContextWrites(true);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockHttpSession session = new MockHttpSession();
+		request.setSession(session);
+		SecurityContext context = createSecurityContext(PasswordEncodedUser.user());
+		session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, context);
+		SecurityContext loaded = repo.loadDeferredContext(request).get();
+		MockHttpSession newSession = new MockHttpSession();
+		request.setSession(newSession);
+		repo.saveContext(loaded, request, response);
+		assertThat(newSession.getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY))
+			.isSameAs(loaded);
+		assertThat(repo.getSkippedContextWrites()).isZero();
+	}
+
+	@Test
+	public void saveContextWhenSkipUnchangedContextWritesAndResponseWrapperThenDoesNotWrite() {
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		repo.setSkipUnchangedContextWrites(true);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		HttpSession session = mock(HttpSession.class);
+		request.setSession(session);
+		SecurityContext context = createSecurityContext(PasswordEncodedUser.user());
+		given(session.getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY))
+			.willReturn(context);
+		HttpRequestResponseHolder holder = new HttpRequestResponseHolder(request, response);
+		SecurityContext loaded = repo.loadContext(holder);
+		repo.saveContext(loaded, holder.getRequest(), holder.getResponse());
+		verify(session, never()).setAttribute(any(), any());
+	}
+
+	@Test
+	public void saveContextWhenSkipUnchangedContextWritesDisabledThenWrites() {
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockHttpSession session = new MockHttpSession();
+		request.setSession(session);
+		SecurityContext context = createSecurityContext(PasswordEncodedUser.user());
+		session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, context);
+		SecurityContext loaded = repo.loadDeferredContext(request).get();
+		repo.saveContext(loaded, request, response);
+		assertThat(repo.getSkippedContextWrites()).isZero();
+		assertThat(repo.getPerformedContextWrites()).isEqualTo(1);
+	}
+
 	private SecurityContext createSecurityContext(UserDetails userDetails) {
 		UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.authenticated(userDetails,
 				userDetails.getPassword(), userDetails.getAuthorities());
@@ -16,6 +16,7 @@
 
 package org.springframework.security.web.context;
 
+import java.io.IOException;
 import java.util.function.Supplier;
 
 import jakarta.servlet.DispatcherType;
@@ -37,12 +38,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockFilterChain;
 import org.springframework.security.authentication.TestAuthentication;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ScopedValueSecurityContextHolderStrategy;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.security.core.context.SecurityContextImpl;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.lenient;
@@ -114,6 +117,39 @@ class SecurityContextHolderFilterTests {
 		verify(this.strategy).clearContext();
 	}
 
+	@Test
+	void doFilterWhenScopedValueStrategyThenBindsSecurityContextToScope() throws Exception {
+		ScopedValueSecurityContextHolderStrategy strategy = new ScopedValueSecurityContextHolderStrategy();
+		Authentication authentication = TestAuthentication.authenticatedUser();
+		SecurityContext expectedContext = new SecurityContextImpl(authentication);
+		given(this.repository.loadDeferredContext(this.requestArg.capture()))
+			.willReturn(new SupplierDeferredSecurityContext(() -> expectedContext, strategy));
+		FilterChain filterChain = (request, response) -> {
+			assertThat(strategy.isScopeBound()).isTrue();
+			assertThat(strategy.getContext()).isEqualTo(expectedContext);
+		};
+
+		this.filter.setSecurityContextHolderStrategy(strategy);
+		this.filter.doFilter(this.request, this.response, filterChain);
+
+		assertThat(strategy.isScopeBound()).isFalse();
+		assertThat(strategy.getContext().getAuthentication()).isNull();
+		strategy.clearContext();
+	}
+
+	@Test
+	void doFilterWhenScopedValueStrategyAndChainThrowsThenPropagates() throws Exception {
+		given(this.repository.loadDeferredContext(this.requestArg.capture()))
+			.willReturn(new SupplierDeferredSecurityContext(SecurityContextImpl::new, this.strategy));
+		FilterChain filterChain = (request, response) -> {
+			throw new IOException("failed");
+		};
+
+		this.filter.setSecurityContextHolderStrategy(new ScopedValueSecurityContextHolderStrategy());
+
+		assertThatIOException().isThrownBy(() -> this.filter.doFilter(this.request, this.response, filterChain));
+	}
+
 	@Test
 	void doFilterWhenFilterAppliedThenDoNothing() throws Exception {
 		given(this.request.getAttribute(FILTER_APPLIED)).willReturn(true);
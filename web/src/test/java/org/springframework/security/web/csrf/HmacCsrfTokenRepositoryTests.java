@@ -0,0 +1,255 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.csrf;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.keygen.KeyGenerators;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link HmacCsrfTokenRepository}
+ */
+public class HmacCsrfTokenRepositoryTests {
+
+	private final SecretKey secretKey = new SecretKeySpec(KeyGenerators.secureRandom(32).generateKey(), "HmacSHA256");
+
+	private MockHttpServletRequest request;
+
+	private MockHttpServletResponse response;
+
+	private HmacCsrfTokenRepository repository;
+
+	@BeforeEach
+	public void setup() {
+		this.request = new MockHttpServletRequest();
+		this.response = new MockHttpServletResponse();
+		this.repository = new HmacCsrfTokenRepository(this.secretKey);
+		this.repository.setRequestResolver(new CsrfTokenRequestAttributeHandler());
+	}
+
+	@AfterEach
+	public void cleanup() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	public void constructorWhenSecretKeyNullThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new HmacCsrfTokenRepository(null));
+	}
+
+	@Test
+	public void constructorWhenNotHmacKeyThenIllegalArgumentException() {
+		SecretKey aes = new SecretKeySpec(KeyGenerators.secureRandom(16).generateKey(), "AES");
+		assertThatIllegalArgumentException().isThrownBy(() -> new HmacCsrfTokenRepository(aes));
+	}
+
+	@Test
+	public void generateTokenThenUsesDefaultNames() {
+		CsrfToken token = this.repository.generateToken(this.request);
+		assertThat(token.getHeaderName()).isEqualTo("X-CSRF-TOKEN");
+		assertThat(token.getParameterName()).isEqualTo("_csrf");
+		assertThat(token.getToken()).isNotEmpty();
+		assertThat(this.request.getSession(false)).isNull();
+	}
+
+	@Test
+	public void loadTokenWhenNoTokenThenNull() {
+		assertThat(this.repository.loadToken(this.request)).isNull();
+		assertThat(this.request.getSession(false)).isNull();
+	}
+
+	@Test
+	public void loadTokenWhenValidTokenThenReturnsToken() {
+		CsrfToken token = generateToken();
+		this.request.addHeader(token.getHeaderName(), token.getToken());
+		assertThat(this.repository.loadToken(this.request).getToken()).isEqualTo(token.getToken());
+		assertThat(this.request.getSession(false)).isNull();
+	}
+
+	@Test
+	public void loadTokenWhenValidParameterThenReturnsToken() {
+		CsrfToken token = generateToken();
+		this.request.setParameter(token.getParameterName(), token.getToken());
+		assertThat(this.repository.loadToken(this.request).getToken()).isEqualTo(token.getToken());
+	}
+
+	@Test
+	public void loadTokenWhenTamperedThenReturnsNewToken() {
+		CsrfToken token = generateToken();
+		char last = token.getToken().charAt(token.getToken().length() - 1);
+		String tampered = token.getToken().substring(0, token.getToken().length() - 1) + ((last == 'A') ? 'B' : 'A');
+		this.request.addHeader(token.getHeaderName(), tampered);
+		CsrfToken loaded = this.repository.loadToken(this.request);
+		assertThat(loaded).isNotNull();
+		assertThat(loaded.getToken()).isNotEqualTo(tampered);
+	}
+
+	@Test
+	public void loadTokenWhenExpiredThenReturnsNewToken() {
+		Instant now = Instant.now();
+		this.repository.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		CsrfToken token = generateToken();
+		this.request.addHeader(token.getHeaderName(), token.getToken());
+		this.repository.setClock(Clock.fixed(now.plus(Duration.ofMinutes(59)), ZoneOffset.UTC));
+		assertThat(this.repository.loadToken(this.request).getToken()).isEqualTo(token.getToken());
+		this.repository.setClock(Clock.fixed(now.plus(Duration.ofMinutes(61)), ZoneOffset.UTC));
+		assertThat(this.repository.loadToken(this.request).getToken()).isNotEqualTo(token.getToken());
+	}
+
+	@Test
+	public void loadTokenWhenOtherPrincipalThenReturnsNewToken() {
+		TestingAuthenticationToken user = new TestingAuthenticationToken("user", "password", "ROLE_USER");
+		SecurityContextHolder.getContext().setAuthentication(user);
+		CsrfToken token = this.repository.generateToken(this.request);
+		this.request.addHeader(token.getHeaderName(), token.getToken());
+		assertThat(this.repository.loadToken(this.request).getToken()).isEqualTo(token.getToken());
+		TestingAuthenticationToken other = new TestingAuthenticationToken("other", "password", "ROLE_USER");
+		SecurityContextHolder.getContext().setAuthentication(other);
+		assertThat(this.repository.loadToken(this.request).getToken()).isNotEqualTo(token.getToken());
+	}
+
+	@Test
+	public void loadTokenWhenOtherSessionThenReturnsNewToken() {
+		this.request.setRequestedSessionId("session");
+		CsrfToken token = this.repository.generateToken(this.request);
+		MockHttpServletRequest other = new MockHttpServletRequest();
+		other.setRequestedSessionId("other");
+		other.addHeader(token.getHeaderName(), token.getToken());
+		assertThat(this.repository.loadToken(other).getToken()).isNotEqualTo(token.getToken());
+	}
+
+	@Test
+	public void loadTokenWhenOtherAnonymousClientThenReturnsNewToken() {
+		CsrfToken token = generateToken();
+		MockHttpServletRequest other = new MockHttpServletRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		this.repository.saveToken(this.repository.generateToken(other), other, response);
+		other.setCookies(response.getCookies());
+		other.addHeader(token.getHeaderName(), token.getToken());
+		assertThat(this.repository.loadToken(other).getToken()).isNotEqualTo(token.getToken());
+	}
+
+	@Test
+	public void loadTokenWhenNothingToBindThenNull() {
+		CsrfToken token = this.repository.generateToken(this.request);
+		MockHttpServletRequest other = new MockHttpServletRequest();
+		other.addHeader(token.getHeaderName(), token.getToken());
+		assertThat(this.repository.loadToken(other)).isNull();
+	}
+
+	@Test
+	public void saveTokenWhenNothingToBindThenWritesNonceCookie() {
+		CsrfToken token = this.repository.generateToken(this.request);
+		this.repository.saveToken(token, this.request, this.response);
+		Cookie nonce = this.response.getCookie("CSRF-NONCE");
+		assertThat(nonce).isNotNull();
+		assertThat(nonce.isHttpOnly()).isTrue();
+		assertThat(nonce.getPath()).isEqualTo("/");
+	}
+
+	@Test
+	public void saveTokenWhenSessionThenNoNonceCookie() {
+		this.request.setRequestedSessionId("session");
+		CsrfToken token = this.repository.generateToken(this.request);
+		this.repository.saveToken(token, this.request, this.response);
+		assertThat(this.response.getCookies()).isEmpty();
+	}
+
+	@Test
+	public void loadTokenWhenOtherSecretKeyThenReturnsNewToken() {
+		CsrfToken token = generateToken();
+		this.request.addHeader(token.getHeaderName(), token.getToken());
+		SecretKey other = new SecretKeySpec(KeyGenerators.secureRandom(32).generateKey(), "HmacSHA256");
+		HmacCsrfTokenRepository repository = new HmacCsrfTokenRepository(other);
+		repository.setRequestResolver(new CsrfTokenRequestAttributeHandler());
+		assertThat(repository.loadToken(this.request).getToken()).isNotEqualTo(token.getToken());
+	}
+
+	@Test
+	public void doFilterWhenXorMaskedTokenThenAllowed() throws Exception {
+		HmacCsrfTokenRepository repository = new HmacCsrfTokenRepository(this.secretKey);
+		CsrfFilter filter = new CsrfFilter(repository);
+		MockFilterChain chain = new MockFilterChain();
+		filter.doFilter(this.request, this.response, chain);
+		CsrfToken maskedToken = (CsrfToken) this.request.getAttribute(CsrfToken.class.getName());
+		MockHttpServletRequest post = new MockHttpServletRequest("POST", "/");
+		post.addHeader(maskedToken.getHeaderName(), maskedToken.getToken());
+		post.setCookies(this.response.getCookies());
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		chain = new MockFilterChain();
+		filter.doFilter(post, response, chain);
+		assertThat(chain.getRequest()).isNotNull();
+		assertThat(post.getSession(false)).isNull();
+	}
+
+	@Test
+	public void doFilterWhenTokenOfOtherAnonymousClientThenForbidden() throws Exception {
+		CsrfFilter filter = new CsrfFilter(new HmacCsrfTokenRepository(this.secretKey));
+		filter.doFilter(this.request, this.response, new MockFilterChain());
+		CsrfToken attackerToken = (CsrfToken) this.request.getAttribute(CsrfToken.class.getName());
+		MockHttpServletRequest victim = new MockHttpServletRequest();
+		MockHttpServletResponse victimResponse = new MockHttpServletResponse();
+		filter.doFilter(victim, victimResponse, new MockFilterChain());
+		((CsrfToken) victim.getAttribute(CsrfToken.class.getName())).getToken();
+		assertThat(victimResponse.getCookie("CSRF-NONCE")).isNotNull();
+		MockHttpServletRequest post = new MockHttpServletRequest("POST", "/login");
+		post.addHeader(attackerToken.getHeaderName(), attackerToken.getToken());
+		post.setCookies(victimResponse.getCookies());
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+		filter.doFilter(post, response, chain);
+		assertThat(chain.getRequest()).isNull();
+		assertThat(response.getStatus()).isEqualTo(403);
+	}
+
+	@Test
+	public void doFilterWhenNoTokenThenForbidden() throws Exception {
+		CsrfFilter filter = new CsrfFilter(new HmacCsrfTokenRepository(this.secretKey));
+		MockHttpServletRequest post = new MockHttpServletRequest("POST", "/");
+		MockFilterChain chain = new MockFilterChain();
+		filter.doFilter(post, this.response, chain);
+		assertThat(chain.getRequest()).isNull();
+		assertThat(this.response.getStatus()).isEqualTo(403);
+	}
+
+	private CsrfToken generateToken() {
+		CsrfToken token = this.repository.generateToken(this.request);
+		this.repository.saveToken(token, this.request, this.response);
+		this.request.setCookies(this.response.getCookies());
+		return token;
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.security.web.firewall;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link UrlBlocklist}
+ */
+public class UrlBlocklistTests {
+
+	@Test
+	void scanWhenNullThenPasses() {
+		UrlBlocklist blocklist = new UrlBlocklist(List.of(";"));
+		assertThat(blocklist.scan(null)).isZero();
+	}
+
+	@Test
+	void scanWhenContainsBlocklistedThenBlocklisted() {
+		UrlBlocklist blocklist = new UrlBlocklist(List.of(";", "%3b", "%3B", "//", " "));
+		assertThat(blocklist.scan("/path;jsessionid=1")).isEqualTo(UrlBlocklist.BLOCKLISTED);
+		assertThat(blocklist.scan("/path%3Bjsessionid=1")).isEqualTo(UrlBlocklist.BLOCKLISTED);
+		assertThat(blocklist.scan("/a//b")).isEqualTo(UrlBlocklist.BLOCKLISTED);
+		assertThat(blocklist.scan("/a/%3")).isZero();
+		assertThat(blocklist.scan("/a/b")).isZero();
+		assertThat(blocklist.scan("/a ")).isEqualTo(UrlBlocklist.BLOCKLISTED | UrlBlocklist.NOT_PRINTABLE_ASCII);
+	}
+
+	@Test
+	void scanWhenDotSegmentThenNotNormalized() {
+		UrlBlocklist blocklist = new UrlBlocklist();
+		assertThat(blocklist.scan(".")).isEqualTo(UrlBlocklist.NOT_NORMALIZED);
+		assertThat(blocklist.scan("..")).isEqualTo(UrlBlocklist.NOT_NORMALIZED);
+		assertThat(blocklist.scan("/a/./b")).isEqualTo(UrlBlocklist.NOT_NORMALIZED);
+		assertThat(blocklist.scan("/a/../b")).isEqualTo(UrlBlocklist.NOT_NORMALIZED);
+		assertThat(blocklist.scan("/a/..")).isEqualTo(UrlBlocklist.NOT_NORMALIZED);
+		assertThat(blocklist.scan("./a")).isEqualTo(UrlBlocklist.NOT_NORMALIZED);
+		assertThat(blocklist.scan("/a/.b/c..")).isZero();
+		assertThat(blocklist.scan("/a/.../b")).isZero();
+		assertThat(blocklist.scan("")).isZero();
+	}
+
+	@Test
+	void scanWhenNonPrintableThenNotPrintableAscii() {
+		UrlBlocklist blocklist = new UrlBlocklist();
+		assertThat(blocklist.scan("/a\tb")).isEqualTo(UrlBlocklist.NOT_PRINTABLE_ASCII);
+		assertThat(blocklist.scan("/ä")).isEqualTo(UrlBlocklist.NOT_PRINTABLE_ASCII);
+		assertThat(blocklist.scan("/a~b")).isZero();
+	}
+
+	@Test
+	void scanWhenModifiedThenRecompiled() {
+		UrlBlocklist blocklist = new UrlBlocklist(List.of("%25"));
+		assertThat(blocklist.scan("/a%25")).isEqualTo(UrlBlocklist.BLOCKLISTED);
+		blocklist.remove("%25");
+		assertThat(blocklist.scan("/a%25")).isZero();
+		blocklist.addAll(List.of("x"));
+		assertThat(blocklist.scan("/x")).isEqualTo(UrlBlocklist.BLOCKLISTED);
+		blocklist.removeIf("x"::equals);
+		assertThat(blocklist.scan("/x")).isZero();
+		blocklist.add("");
+		assertThat(blocklist.scan("/x")).isEqualTo(UrlBlocklist.BLOCKLISTED);
+		blocklist.clear();
+		assertThat(blocklist.scan("/x")).isZero();
+	}
+
+	@Test
+	void findBlocklistedWhenContainedThenReturnsString() {
+		UrlBlocklist blocklist = new UrlBlocklist(List.of(";", "%2f"));
+		assertThat(blocklist.findBlocklisted("/a%2fb")).isEqualTo("%2f");
+		assertThat(blocklist.findBlocklisted("/a/b")).isNull();
+		assertThat(blocklist.findBlocklisted(null)).isNull();
+	}
+
+}
@@ -18,14 +18,20 @@ package org.springframework.security.web.header.writers;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.web.header.HeaderWriter;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
@@ -49,6 +55,76 @@ public class CompositeHeaderWriterTests {
 		verify(two).writeHeaders(request, response);
 	}
 
+	@Test
+	public void writeHeadersWhenStaticWritersThenWritesTheSameHeadersAsEachWriter() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		response.setHeader("X-Existing", "existing");
+		HeaderWriter dynamic = mock(HeaderWriter.class);
+		willAnswer((invocation) -> {
+			response.setHeader("X-Second", "dynamic");
+			return null;
+		}).given(dynamic).writeHeaders(any(), any());
+		List<HeaderWriter> headerWriters = Arrays.asList(new StaticHeadersWriter("X-First", "one", "two"),
+				new StaticHeadersWriter("x-first", "ignored"), new StaticHeadersWriter("X-Existing", "ignored"),
+				dynamic, new StaticHeadersWriter("X-Second", "ignored"), new XContentTypeOptionsHeaderWriter());
+		CompositeHeaderWriter headerWriter = new CompositeHeaderWriter(headerWriters);
+		headerWriter.writeHeaders(request, response);
+		assertThat(response.getHeaders("X-First")).containsExactly("one", "two");
+		assertThat(response.getHeaders("X-Existing")).containsExactly("existing");
+		assertThat(response.getHeaders("X-Second")).containsExactly("dynamic");
+		assertThat(response.getHeader("X-Content-Type-Options")).isEqualTo("nosniff");
+		verify(dynamic).writeHeaders(request, response);
+	}
+
+	@Test
+	public void writeHeadersWhenHstsThenWritesOnlyForSecureRequests() {
+		CompositeHeaderWriter headerWriter = new CompositeHeaderWriter(
+				Arrays.asList(new HstsHeaderWriter(), new XContentTypeOptionsHeaderWriter()));
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		headerWriter.writeHeaders(request, response);
+		assertThat(response.getHeaderNames()).containsExactly("X-Content-Type-Options");
+		request.setSecure(true);
+		response = new MockHttpServletResponse();
+		headerWriter.writeHeaders(request, response);
+		assertThat(response.getHeaderNames()).containsExactly("Strict-Transport-Security", "X-Content-Type-Options");
+	}
+
+	@Test
+	public void writeHeadersWhenWriterReconfiguredThenWritesNewHeaders() {
+		ContentSecurityPolicyHeaderWriter contentSecurityPolicy = new ContentSecurityPolicyHeaderWriter(
+				"default-src 'self'");
+		CompositeHeaderWriter headerWriter = new CompositeHeaderWriter(
+				Arrays.asList(contentSecurityPolicy, new XContentTypeOptionsHeaderWriter()));
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		headerWriter.writeHeaders(request, response);
+		assertThat(response.getHeader("Content-Security-Policy")).isEqualTo("default-src 'self'");
+		contentSecurityPolicy.setPolicyDirectives("default-src 'none'");
+		contentSecurityPolicy.setReportOnly(true);
+		response = new MockHttpServletResponse();
+		headerWriter.writeHeaders(request, response);
+		assertThat(response.getHeader("Content-Security-Policy")).isNull();
+		assertThat(response.getHeader("Content-Security-Policy-Report-Only")).isEqualTo("default-src 'none'");
+		assertThat(response.getHeader("X-Content-Type-Options")).isEqualTo("nosniff");
+	}
+
+	@Test
+	public void writeHeadersWhenSubclassOverridesWriteHeadersThenInvokesSubclass() {
+		StaticHeadersWriter custom = new StaticHeadersWriter("X-Custom", "static") {
+			@Override
+			public void writeHeaders(HttpServletRequest request, HttpServletResponse response) {
+				response.setHeader("X-Custom", request.getRequestURI());
+			}
+		};
+		CompositeHeaderWriter headerWriter = new CompositeHeaderWriter(Collections.singletonList(custom));
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/path");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		headerWriter.writeHeaders(request, response);
+		assertThat(response.getHeader("X-Custom")).isEqualTo("/path");
+	}
+
 	@Test
 	public void constructorWhenPassingEmptyListThenThrowsException() {
 		assertThatIllegalArgumentException().isThrownBy(() -> new CompositeHeaderWriter(Collections.emptyList()));
@@ -21,6 +21,7 @@ import org.junit.jupiter.api.Test;
 
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.header.Header;
 import org.springframework.security.web.util.matcher.AnyRequestMatcher;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -143,4 +144,18 @@ public class HstsHeaderWriterTests {
 		assertThat(this.response.getHeader(HSTS_HEADER_NAME)).isSameAs(value);
 	}
 
+	@Test
+	public void getStaticHeadersWhenDefaultRequestMatcherThenDependsOnlyOnSecure() {
+		assertThat(this.writer.getStaticHeaders(true))
+			.containsExactly(new Header(HSTS_HEADER_NAME, "max-age=31536000 ; includeSubDomains"));
+		assertThat(this.writer.getStaticHeaders(false)).isEmpty();
+	}
+
+	@Test
+	public void getStaticHeadersWhenCustomRequestMatcherThenNull() {
+		this.writer.setRequestMatcher(AnyRequestMatcher.INSTANCE);
+		assertThat(this.writer.getStaticHeaders(true)).isNull();
+		assertThat(this.writer.getStaticHeaders(false)).isNull();
+	}
+
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.server;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.web.FilterChainMetrics.FilterTiming;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Tests for {@link MetricsWebFilterChainDecorator}
+ */
+public class MetricsWebFilterChainDecoratorTests {
+
+	@Test
+	void decorateWhenFiltersThenRecordsEachFilterExcludingDownstream() {
+		MetricsWebFilterChainDecorator decorator = new MetricsWebFilterChainDecorator();
+		WebFilterChain chain = mock(WebFilterChain.class);
+		given(chain.filter(any())).willReturn(Mono.delay(Duration.ofMillis(50)).then());
+		WebFilterChain decorated = decorator.decorate(chain, List.of(new DelayingFilter(), new PassThroughFilter()));
+		decorated.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/").build())).block();
+		FilterTiming delaying = decorator.getMetrics().getTimings().get("DelayingFilter");
+		FilterTiming passThrough = decorator.getMetrics().getTimings().get("PassThroughFilter");
+		assertThat(delaying.getCount()).isEqualTo(1);
+		assertThat(delaying.getMax(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(5).isLessThan(50);
+		assertThat(passThrough.getCount()).isEqualTo(1);
+		assertThat(passThrough.getMax(TimeUnit.MILLISECONDS)).isLessThan(50);
+	}
+
+	@Test
+	void decorateWhenFilterErrorsThenRecords() {
+		MetricsWebFilterChainDecorator decorator = new MetricsWebFilterChainDecorator();
+		WebFilter filter = (exchange, chain) -> Mono.error(new IllegalStateException("ack"));
+		WebFilterChain decorated = decorator.decorate(mock(WebFilterChain.class), List.of(filter));
+		assertThatExceptionOfType(IllegalStateException.class).isThrownBy(
+				() -> decorated.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/").build())).block());
+		assertThat(decorator.getMetrics().getTimings()).hasSize(1);
+		assertThat(decorator.getMetrics().getTimings().values()).allMatch((timing) -> timing.getCount() == 1);
+	}
+
+	@Test
+	void decorateWhenSampledThenObservesInsteadOfRecording() {
+		ObservationHandler<?> handler = mock(ObservationHandler.class);
+		given(handler.supportsContext(any())).willReturn(true);
+		ObservationRegistry registry = ObservationRegistry.create();
+		registry.observationConfig().observationHandler(handler);
+		MetricsWebFilterChainDecorator decorator = new MetricsWebFilterChainDecorator(registry, 1);
+		WebFilterChain chain = mock(WebFilterChain.class);
+		given(chain.filter(any())).willReturn(Mono.empty());
+		WebFilterChain decorated = decorator.decorate(chain, List.of(new PassThroughFilter()));
+		decorated.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/").build())).block();
+		verify(handler, atLeastOnce()).onStart(any());
+		assertThat(decorator.getMetrics().getTimings()).isEmpty();
+	}
+
+	@Test
+	void decorateWhenNotSampledThenDoesNotObserve() {
+		ObservationHandler<?> handler = mock(ObservationHandler.class);
+		given(handler.supportsContext(any())).willReturn(true);
+		ObservationRegistry registry = ObservationRegistry.create();
+		registry.observationConfig().observationHandler(handler);
+		MetricsWebFilterChainDecorator decorator = new MetricsWebFilterChainDecorator(registry, 0);
+		WebFilterChain chain = mock(WebFilterChain.class);
+		given(chain.filter(any())).willReturn(Mono.empty());
+		decorator.decorate(chain, List.of(new PassThroughFilter()))
+			.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/").build()))
+			.block();
+		decorator.decorate(chain).filter(MockServerWebExchange.from(MockServerHttpRequest.get("/").build())).block();
+		verifyNoInteractions(handler);
+		assertThat(decorator.getMetrics().getTimings()).containsOnlyKeys("PassThroughFilter");
+	}
+
+	static class DelayingFilter implements WebFilter {
+
+		@Override
+		public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+			return Mono.delay(Duration.ofMillis(5)).then(chain.filter(exchange));
+		}
+
+	}
+
+	static class PassThroughFilter implements WebFilter {
+
+		@Override
+		public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+			return chain.filter(exchange);
+		}
+
+	}
+
+}
@@ -37,6 +37,8 @@ import org.springframework.security.web.server.ObservationWebFilterChainDecorato
 import org.springframework.security.web.server.firewall.ServerExchangeRejectedException;
 import org.springframework.security.web.server.firewall.ServerExchangeRejectedHandler;
 import org.springframework.security.web.server.firewall.ServerWebExchangeFirewall;
+import org.springframework.security.web.server.util.matcher.OrServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.PathPatternParserServerWebExchangeMatcher;
 import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
 import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher.MatchResult;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -219,6 +221,47 @@ public class WebFilterChainProxyTests {
 		verify(handler).handle(any(), any());
 	}
 
+	@Test
+	void filterWhenIndexFilterChainsThenFirstMatchingCandidateChainUsed() {
+		ServerWebExchangeMatcher opaque = mock(ServerWebExchangeMatcher.class);
+		WebFilter apiFilter = mock(WebFilter.class);
+		given(apiFilter.filter(any(), any())).willReturn(Mono.empty());
+		WebFilter opaqueFilter = mock(WebFilter.class);
+		MatcherSecurityWebFilterChain admin = new MatcherSecurityWebFilterChain(
+				new OrServerWebExchangeMatcher(new PathPatternParserServerWebExchangeMatcher("/admin/**"),
+						new PathPatternParserServerWebExchangeMatcher("/management/**")),
+				List.of(new PassthroughWebFilter()));
+		MatcherSecurityWebFilterChain api = new MatcherSecurityWebFilterChain(
+				new PathPatternParserServerWebExchangeMatcher("/api/**"), List.of(apiFilter));
+		MatcherSecurityWebFilterChain other = new MatcherSecurityWebFilterChain(opaque, List.of(opaqueFilter));
+		WebFilterChainProxy filter = new WebFilterChainProxy(admin, api, other);
+		filter.setIndexFilterChains(true);
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/orders"));
+		filter.filter(exchange, (e) -> Mono.empty()).block();
+		verify(apiFilter).filter(any(), any());
+		verifyNoInteractions(opaque, opaqueFilter);
+	}
+
+	@Test
+	void filterWhenIndexFilterChainsAndNoCandidateMatchesThenContinuesChain() {
+		ServerWebExchangeMatcher opaque = mock(ServerWebExchangeMatcher.class);
+		given(opaque.matches(any())).willReturn(MatchResult.notMatch());
+		WebFilter apiFilter = mock(WebFilter.class);
+		MatcherSecurityWebFilterChain api = new MatcherSecurityWebFilterChain(
+				new PathPatternParserServerWebExchangeMatcher("/api/**"), List.of(apiFilter));
+		MatcherSecurityWebFilterChain other = new MatcherSecurityWebFilterChain(opaque,
+				List.of(new PassthroughWebFilter()));
+		WebFilterChainProxy filter = new WebFilterChainProxy(api, other);
+		filter.setIndexFilterChains(true);
+		WebFilterChain chain = mock(WebFilterChain.class);
+		given(chain.filter(any())).willReturn(Mono.empty());
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/other"));
+		filter.filter(exchange, chain).block();
+		verify(opaque).matches(any());
+		verify(chain).filter(any());
+		verifyNoInteractions(apiFilter);
+	}
+
 	static void assertFilterChainObservation(Observation.Context context, String filterSection, int chainPosition) {
 		assertThat(context).isInstanceOf(WebFilterChainObservationContext.class);
 		WebFilterChainObservationContext filterChainObservationContext = (WebFilterChainObservationContext) context;
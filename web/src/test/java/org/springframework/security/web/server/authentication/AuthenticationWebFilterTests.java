@@ -16,9 +16,12 @@
 
 package org.springframework.security.web.server.authentication;
 
+import java.time.Duration;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
@@ -28,7 +31,10 @@ import org.springframework.security.authentication.ReactiveAuthenticationManager
 import org.springframework.security.authentication.ReactiveAuthenticationManagerResolver;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.test.web.reactive.server.WebTestClientBuilder;
+import org.springframework.security.web.authentication.AuthenticationThrottle;
+import org.springframework.security.web.authentication.AuthenticationThrottledException;
 import org.springframework.security.web.server.context.ServerSecurityContextRepository;
 import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
 import org.springframework.test.web.reactive.server.EntityExchangeResult;
@@ -41,6 +47,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
@@ -281,6 +288,47 @@ public class AuthenticationWebFilterTests {
 		verifyNoMoreInteractions(this.successHandler, this.failureHandler);
 	}
 
+	@Test
+	public void filterWhenThrottledThenDoesNotInvokeAuthenticationManager() {
+		Mono<Authentication> authentication = Mono.just(new TestingAuthenticationToken("test", "this", "ROLE_USER"));
+		given(this.authenticationConverter.convert(any())).willReturn(authentication);
+		given(this.authenticationManager.authenticate(any()))
+			.willReturn(Mono.error(new BadCredentialsException("Failed")));
+		given(this.failureHandler.onAuthenticationFailure(any(), any())).willReturn(Mono.empty());
+		this.filter.setAuthenticationThrottle(new AuthenticationThrottle(2, Duration.ofMinutes(1)));
+		WebTestClient client = WebTestClientBuilder.bindToWebFilters(this.filter).build();
+		for (int i = 0; i < 3; i++) {
+			client.get().uri("/").exchange().expectStatus().isOk();
+		}
+		verify(this.authenticationManager, times(2)).authenticate(any());
+		ArgumentCaptor<AuthenticationException> exception = ArgumentCaptor.forClass(AuthenticationException.class);
+		verify(this.failureHandler, times(3)).onAuthenticationFailure(any(), exception.capture());
+		assertThat(exception.getAllValues()).extracting(Object::getClass)
+			.containsExactly(BadCredentialsException.class, BadCredentialsException.class,
+					AuthenticationThrottledException.class);
+	}
+
+	@Test
+	public void filterWhenBadCredentialsAfterSuccessThenDoesNotRecordFailure() {
+		TestingAuthenticationToken token = new TestingAuthenticationToken("test", "this", "ROLE_USER");
+		given(this.authenticationConverter.convert(any())).willReturn(Mono.just(token));
+		given(this.authenticationManager.authenticate(any())).willReturn(Mono.just(token));
+		given(this.securityContextRepository.save(any(), any())).willReturn(Mono.empty());
+		given(this.successHandler.onAuthenticationSuccess(any(), any()))
+			.willReturn(Mono.error(new BadCredentialsException("Failed downstream")));
+		given(this.failureHandler.onAuthenticationFailure(any(), any())).willReturn(Mono.empty());
+		AuthenticationThrottle throttle = new AuthenticationThrottle(1, Duration.ofMinutes(1));
+		this.filter.setAuthenticationThrottle(throttle);
+		WebTestClient client = WebTestClientBuilder.bindToWebFilters(this.filter).build();
+		client.get().uri("/").exchange().expectStatus().isOk();
+		assertThat(throttle.isThrottled("test", null)).isFalse();
+	}
+
+	@Test
+	public void setAuthenticationThrottleWhenNullThenException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.filter.setAuthenticationThrottle(null));
+	}
+
 	@Test
 	public void setRequiresAuthenticationMatcherWhenNullThenException() {
 		assertThatIllegalArgumentException().isThrownBy(() -> this.filter.setRequiresAuthenticationMatcher(null));
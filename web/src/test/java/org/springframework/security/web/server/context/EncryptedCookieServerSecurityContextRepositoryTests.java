@@ -0,0 +1,147 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.server.context;
+
+import java.util.List;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import org.springframework.http.HttpCookie;
+import org.springframework.http.ResponseCookie;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.crypto.encrypt.BytesEncryptor;
+import org.springframework.security.crypto.encrypt.Encryptors;
+import org.springframework.security.crypto.keygen.KeyGenerators;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link EncryptedCookieServerSecurityContextRepository}
+ */
+public class EncryptedCookieServerSecurityContextRepositoryTests {
+
+	private final BytesEncryptor encryptor = Encryptors.stronger("password", "5c0744940b5c369b");
+
+	private final SecretKey signingKey = new SecretKeySpec(KeyGenerators.secureRandom(32).generateKey(), "HmacSHA256");
+
+	private EncryptedCookieServerSecurityContextRepository repository;
+
+	private final SecurityContext context = new SecurityContextImpl(
+			new TestingAuthenticationToken("user", "password", "ROLE_USER"));
+
+	@BeforeEach
+	public void setup() {
+		this.repository = new EncryptedCookieServerSecurityContextRepository(this.encryptor, this.signingKey);
+	}
+
+	@Test
+	public void loadWhenSavedThenRestoresContext() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+		this.repository.save(exchange, this.context).block();
+		ResponseCookie cookie = exchange.getResponse()
+			.getCookies()
+			.getFirst(EncryptedCookieServerSecurityContextRepository.DEFAULT_COOKIE_NAME);
+		assertThat(cookie).isNotNull();
+		assertThat(cookie.isHttpOnly()).isTrue();
+		StepVerifier.create(this.repository.load(exchangeWithCookies(exchange)))
+			.expectNext(this.context)
+			.verifyComplete();
+	}
+
+	@Test
+	public void loadWhenNoCookieThenEmpty() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+		StepVerifier.create(this.repository.load(exchange)).verifyComplete();
+	}
+
+	@Test
+	public void loadWhenUnknownKeyThenEmpty() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+		BytesEncryptor other = Encryptors.stronger("other", "5c0744940b5c369b");
+		new EncryptedCookieServerSecurityContextRepository(other, this.signingKey).save(exchange, this.context).block();
+		StepVerifier.create(this.repository.load(exchangeWithCookies(exchange))).verifyComplete();
+		this.repository.setPreviousEncryptors(List.of(other));
+		StepVerifier.create(this.repository.load(exchangeWithCookies(exchange)))
+			.expectNext(this.context)
+			.verifyComplete();
+	}
+
+	@Test
+	public void loadWhenTamperedThenEmpty() {
+		BytesEncryptor unauthenticated = Encryptors.standard("password", "5c0744940b5c369b");
+		EncryptedCookieServerSecurityContextRepository repository = new EncryptedCookieServerSecurityContextRepository(
+				unauthenticated, this.signingKey);
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+		repository.save(exchange, this.context).block();
+		String value = exchange.getResponse()
+			.getCookies()
+			.getFirst(EncryptedCookieServerSecurityContextRepository.DEFAULT_COOKIE_NAME)
+			.getValue();
+		int middle = value.length() / 2;
+		char replacement = (value.charAt(middle) != 'A') ? 'A' : 'B';
+		String tampered = value.substring(0, middle) + replacement + value.substring(middle + 1);
+		MockServerWebExchange request = MockServerWebExchange.from(MockServerHttpRequest.get("/")
+			.cookie(new HttpCookie(EncryptedCookieServerSecurityContextRepository.DEFAULT_COOKIE_NAME, tampered)));
+		StepVerifier.create(repository.load(request)).verifyComplete();
+		StepVerifier.create(repository.load(exchangeWithCookies(exchange))).expectNext(this.context).verifyComplete();
+	}
+
+	@Test
+	public void saveWhenLargerThanCookieThenSplitsIntoChunks() {
+		this.repository.setMaxCookieValueLength(100);
+		this.repository.setMaxCookies(100);
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+		this.repository.save(exchange, this.context).block();
+		assertThat(exchange.getResponse().getCookies().size()).isGreaterThan(1);
+		StepVerifier.create(this.repository.load(exchangeWithCookies(exchange)))
+			.expectNext(this.context)
+			.verifyComplete();
+	}
+
+	@Test
+	public void saveWhenNullContextThenExpiresCookies() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+		this.repository.save(exchange, this.context).block();
+		MockServerWebExchange logout = exchangeWithCookies(exchange);
+		this.repository.save(logout, null).block();
+		ResponseCookie cookie = logout.getResponse()
+			.getCookies()
+			.getFirst(EncryptedCookieServerSecurityContextRepository.DEFAULT_COOKIE_NAME);
+		assertThat(cookie.getMaxAge()).isZero();
+		StepVerifier.create(this.repository.load(logout)).verifyComplete();
+	}
+
+	private static MockServerWebExchange exchangeWithCookies(MockServerWebExchange exchange) {
+		MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/");
+		exchange.getResponse()
+			.getCookies()
+			.values()
+			.forEach((cookies) -> cookies
+				.forEach((cookie) -> request.cookie(new HttpCookie(cookie.getName(), cookie.getValue()))));
+		return MockServerWebExchange.from(request);
+	}
+
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.server.csrf;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseCookie;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.crypto.keygen.KeyGenerators;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebSession;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link HmacServerCsrfTokenRepository}
+ */
+public class HmacServerCsrfTokenRepositoryTests {
+
+	private final SecretKey secretKey = new SecretKeySpec(KeyGenerators.secureRandom(32).generateKey(), "HmacSHA256");
+
+	private HmacServerCsrfTokenRepository repository;
+
+	private ResponseCookie nonce;
+
+	@BeforeEach
+	public void setup() {
+		this.repository = new HmacServerCsrfTokenRepository(this.secretKey);
+		this.repository.setRequestResolver(new ServerCsrfTokenRequestAttributeHandler());
+	}
+
+	@Test
+	public void constructorWhenSecretKeyNullThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new HmacServerCsrfTokenRepository(null));
+	}
+
+	@Test
+	public void generateTokenThenNoSession() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+		CsrfToken token = this.repository.generateToken(exchange).block();
+		assertThat(token.getHeaderName()).isEqualTo("X-CSRF-TOKEN");
+		assertThat(token.getParameterName()).isEqualTo("_csrf");
+		assertThat(token.getToken()).isNotEmpty();
+		StepVerifier.create(exchange.getSession().map(WebSession::isStarted)).expectNext(false).verifyComplete();
+	}
+
+	@Test
+	public void loadTokenWhenNoTokenThenEmpty() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/"));
+		StepVerifier.create(this.repository.loadToken(exchange)).verifyComplete();
+	}
+
+	@Test
+	public void loadTokenWhenValidTokenThenReturnsToken() {
+		CsrfToken token = generateToken(this.repository);
+		ServerWebExchange exchange = withToken(token, token.getToken());
+		StepVerifier.create(this.repository.loadToken(exchange).map(CsrfToken::getToken))
+			.expectNext(token.getToken())
+			.verifyComplete();
+	}
+
+	@Test
+	public void loadTokenWhenExpiredThenReturnsNewToken() {
+		Instant now = Instant.now();
+		this.repository.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		this.repository.setTokenValidity(Duration.ofMinutes(5));
+		CsrfToken token = generateToken(this.repository);
+		this.repository.setClock(Clock.fixed(now.plus(Duration.ofMinutes(6)), ZoneOffset.UTC));
+		CsrfToken loaded = this.repository.loadToken(withToken(token, token.getToken())).block();
+		assertThat(loaded).isNotNull();
+		assertThat(loaded.getToken()).isNotEqualTo(token.getToken());
+	}
+
+	@Test
+	public void loadTokenWhenOtherPrincipalThenReturnsNewToken() {
+		ServerWebExchange user = MockServerWebExchange.from(MockServerHttpRequest.get("/"))
+			.mutate()
+			.principal(Mono.just(new TestingAuthenticationToken("user", "password", "ROLE_USER")))
+			.build();
+		CsrfToken token = this.repository.generateToken(user).block();
+		ServerWebExchange other = withToken(token, token.getToken()).mutate()
+			.principal(Mono.just(new TestingAuthenticationToken("other", "password", "ROLE_USER")))
+			.build();
+		CsrfToken loaded = this.repository.loadToken(other).block();
+		assertThat(loaded.getToken()).isNotEqualTo(token.getToken());
+	}
+
+	@Test
+	public void loadTokenWhenOtherAnonymousClientThenReturnsNewToken() {
+		CsrfToken token = generateToken(this.repository);
+		ResponseCookie attackerNonce = this.nonce;
+		generateToken(this.repository);
+		assertThat(this.nonce.getValue()).isNotEqualTo(attackerNonce.getValue());
+		CsrfToken loaded = this.repository.loadToken(withToken(token, token.getToken())).block();
+		assertThat(loaded.getToken()).isNotEqualTo(token.getToken());
+	}
+
+	@Test
+	public void loadTokenWhenNothingToBindThenEmpty() {
+		CsrfToken token = this.repository.generateToken(MockServerWebExchange.from(MockServerHttpRequest.get("/")))
+			.block();
+		StepVerifier.create(this.repository.loadToken(withToken(token, token.getToken()))).verifyComplete();
+	}
+
+	@Test
+	public void saveTokenWhenNothingToBindThenWritesNonceCookie() {
+		generateToken(this.repository);
+		assertThat(this.nonce).isNotNull();
+		assertThat(this.nonce.isHttpOnly()).isTrue();
+		assertThat(this.nonce.getPath()).isEqualTo("/");
+	}
+
+	@Test
+	public void filterWhenTokenOfOtherAnonymousClientThenForbidden() {
+		CsrfToken attackerToken = generateToken(this.repository);
+		generateToken(this.repository);
+		ServerWebExchange post = withToken(attackerToken, attackerToken.getToken());
+		CsrfWebFilter filter = new CsrfWebFilter();
+		filter.setCsrfTokenRepository(this.repository);
+		filter.setRequestHandler(new ServerCsrfTokenRequestAttributeHandler());
+		StepVerifier.create(filter.filter(post, (exchange) -> Mono.empty())).verifyComplete();
+		assertThat(post.getResponse().getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+	}
+
+	@Test
+	public void filterWhenXorMaskedTokenThenAllowed() {
+		HmacServerCsrfTokenRepository repository = new HmacServerCsrfTokenRepository(this.secretKey);
+		CsrfToken token = generateToken(repository);
+		MockServerWebExchange get = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+		XorServerCsrfTokenRequestAttributeHandler handler = new XorServerCsrfTokenRequestAttributeHandler();
+		handler.handle(get, Mono.just(token));
+		Mono<CsrfToken> maskedToken = get.getAttribute(CsrfToken.class.getName());
+		ServerWebExchange post = withToken(token, maskedToken.block().getToken());
+		CsrfWebFilter filter = new CsrfWebFilter();
+		filter.setCsrfTokenRepository(repository);
+		StepVerifier.create(filter.filter(post, (exchange) -> Mono.empty())).verifyComplete();
+		assertThat(post.getResponse().getStatusCode()).isNull();
+	}
+
+	private CsrfToken generateToken(HmacServerCsrfTokenRepository repository) {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+		CsrfToken token = repository.generateToken(exchange).block();
+		repository.saveToken(exchange, token).block();
+		this.nonce = exchange.getResponse().getCookies().getFirst("CSRF-NONCE");
+		return token;
+	}
+
+	private ServerWebExchange withToken(CsrfToken token, String value) {
+		MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.post("/")
+			.header(token.getHeaderName(), value);
+		if (this.nonce != null) {
+			request.cookie(new HttpCookie(this.nonce.getName(), this.nonce.getValue()));
+		}
+		return MockServerWebExchange.from(request);
+	}
+
+}
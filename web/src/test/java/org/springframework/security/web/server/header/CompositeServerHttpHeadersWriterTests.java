@@ -30,6 +30,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.ServerWebExchange;
@@ -101,4 +102,57 @@ public class CompositeServerHttpHeadersWriterTests {
 		assertThat(latch.await(3, TimeUnit.SECONDS)).isTrue();
 	}
 
+	@Test
+	public void writeHttpHeadersWhenStaticWritersThenWritesTheSameHeadersAsEachWriter() {
+		ServerHttpHeadersWriter dynamic = (exchange) -> Mono.fromRunnable(() -> {
+			HttpHeaders headers = exchange.getResponse().getHeaders();
+			headers.set("X-Dynamic", headers.getFirst("X-First"));
+		});
+		ServerHttpHeadersWriter first = StaticServerHttpHeadersWriter.builder().header("X-First", "one", "two").build();
+		ServerHttpHeadersWriter overlapping = StaticServerHttpHeadersWriter.builder()
+			.header("x-first", "ignored")
+			.header("X-Other", "ignored")
+			.build();
+		CompositeServerHttpHeadersWriter writer = new CompositeServerHttpHeadersWriter(first, overlapping, dynamic,
+				new XContentTypeOptionsServerHttpHeadersWriter());
+		StepVerifier.create(writer.writeHttpHeaders(this.exchange)).verifyComplete();
+		HttpHeaders headers = this.exchange.getResponse().getHeaders();
+		assertThat(headers.get("X-First")).containsExactly("one", "two");
+		assertThat(headers.containsHeader("X-Other")).isFalse();
+		assertThat(headers.getFirst("X-Dynamic")).isEqualTo("one");
+		assertThat(headers.getFirst(XContentTypeOptionsServerHttpHeadersWriter.X_CONTENT_OPTIONS))
+			.isEqualTo(XContentTypeOptionsServerHttpHeadersWriter.NOSNIFF);
+	}
+
+	@Test
+	public void writeHttpHeadersWhenHstsThenWritesOnlyForHttps() {
+		CompositeServerHttpHeadersWriter writer = new CompositeServerHttpHeadersWriter(
+				new StrictTransportSecurityServerHttpHeadersWriter(), new XContentTypeOptionsServerHttpHeadersWriter());
+		StepVerifier.create(writer.writeHttpHeaders(this.exchange)).verifyComplete();
+		assertThat(this.exchange.getResponse().getHeaders().headerNames())
+			.containsExactly(XContentTypeOptionsServerHttpHeadersWriter.X_CONTENT_OPTIONS);
+		ServerWebExchange https = MockServerWebExchange.from(MockServerHttpRequest.get("https://example.com/").build());
+		StepVerifier.create(writer.writeHttpHeaders(https)).verifyComplete();
+		assertThat(https.getResponse().getHeaders().headerNames()).containsExactly(
+				StrictTransportSecurityServerHttpHeadersWriter.STRICT_TRANSPORT_SECURITY,
+				XContentTypeOptionsServerHttpHeadersWriter.X_CONTENT_OPTIONS);
+	}
+
+	@Test
+	public void writeHttpHeadersWhenWriterReconfiguredThenWritesNewHeaders() {
+		XFrameOptionsServerHttpHeadersWriter frameOptions = new XFrameOptionsServerHttpHeadersWriter();
+		CompositeServerHttpHeadersWriter writer = new CompositeServerHttpHeadersWriter(frameOptions,
+				new XContentTypeOptionsServerHttpHeadersWriter());
+		StepVerifier.create(writer.writeHttpHeaders(this.exchange)).verifyComplete();
+		HttpHeaders headers = this.exchange.getResponse().getHeaders();
+		assertThat(headers.getFirst(XFrameOptionsServerHttpHeadersWriter.X_FRAME_OPTIONS)).isEqualTo("DENY");
+		frameOptions.setMode(XFrameOptionsServerHttpHeadersWriter.Mode.SAMEORIGIN);
+		ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/").build());
+		StepVerifier.create(writer.writeHttpHeaders(exchange)).verifyComplete();
+		headers = exchange.getResponse().getHeaders();
+		assertThat(headers.getFirst(XFrameOptionsServerHttpHeadersWriter.X_FRAME_OPTIONS)).isEqualTo("SAMEORIGIN");
+		assertThat(headers.getFirst(XContentTypeOptionsServerHttpHeadersWriter.X_CONTENT_OPTIONS))
+			.isEqualTo(XContentTypeOptionsServerHttpHeadersWriter.NOSNIFF);
+	}
+
 }
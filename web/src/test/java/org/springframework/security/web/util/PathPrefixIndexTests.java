@@ -0,0 +1,134 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.security.web.util;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link PathPrefixIndex}
+ */
+public class PathPrefixIndexTests {
+
+	@Test
+	void candidatesWhenLiteralPrefixMatchesThenIncluded() {
+		PathPrefixIndex index = PathPrefixIndex.builder()
+			.pattern(pattern("/api/v1/**"))
+			.pattern(pattern("/api/v2/**"))
+			.pattern(pattern("/static/**"))
+			.build();
+		assertThat(index.size()).isEqualTo(3);
+		assertThat(index.candidates(path("/api/v1/orders")).stream()).containsExactly(0);
+		assertThat(index.candidates(path("/api/v2")).stream()).containsExactly(1);
+		assertThat(index.candidates(path("/static/app.js")).stream()).containsExactly(2);
+		assertThat(index.candidates(path("/other")).isEmpty()).isTrue();
+	}
+
+	@Test
+	void candidatesWhenUnindexedThenAlwaysIncluded() {
+		PathPrefixIndex index = PathPrefixIndex.builder()
+			.unindexed()
+			.pattern(pattern("/api/**"))
+			.unindexed()
+			.build();
+		assertThat(index.candidates(path("/api/orders")).stream()).containsExactly(0, 1, 2);
+		assertThat(index.candidates(path("/other")).stream()).containsExactly(0, 2);
+	}
+
+	@Test
+	void candidatesWhenPatternStartsWithVariableThenAlwaysIncluded() {
+		PathPrefixIndex index = PathPrefixIndex.builder()
+			.pattern(pattern("/{tenant}/api/**"))
+			.pattern(pattern("/**"))
+			.pattern(pattern("/api*/**"))
+			.build();
+		assertThat(index.candidates(path("/acme/api")).stream()).containsExactly(0, 1, 2);
+	}
+
+	@Test
+	void candidatesWhenLiteralPrefixFollowedByVariableThenIndexedByLiteralSegments() {
+		PathPrefixIndex index = PathPrefixIndex.builder()
+			.pattern(pattern("/users/{id}/profile"))
+			.pattern(pattern("/users/admin"))
+			.build();
+		assertThat(index.candidates(path("/users/admin")).stream()).containsExactly(0, 1);
+		assertThat(index.candidates(path("/users/123/profile")).stream()).containsExactly(0, 1);
+		assertThat(index.candidates(path("/accounts/123")).isEmpty()).isTrue();
+	}
+
+	@Test
+	void candidatesWhenMultiplePatternsThenAnyPrefixIncludesEntry() {
+		PathPrefixIndex index = PathPrefixIndex.builder()
+			.patterns(List.of(pattern("/login"), pattern("/logout")))
+			.build();
+		assertThat(index.candidates(path("/login")).stream()).containsExactly(0);
+		assertThat(index.candidates(path("/logout")).stream()).containsExactly(0);
+		assertThat(index.candidates(path("/signup")).isEmpty()).isTrue();
+	}
+
+	@Test
+	void candidatesWhenCaseInsensitivePatternThenIncluded() {
+		PathPatternParser parser = new PathPatternParser();
+		parser.setCaseSensitive(false);
+		PathPrefixIndex index = PathPrefixIndex.builder().pattern(parser.parse("/Admin/**")).build();
+		assertThat(index.candidates(path("/ADMIN/users")).stream()).containsExactly(0);
+	}
+
+	@Test
+	void candidatesWhenPathHasMatrixVariablesThenIncluded() {
+		PathPrefixIndex index = PathPrefixIndex.builder().pattern(pattern("/api/**")).build();
+		assertThat(index.candidates(path("/api;jsessionid=abc/orders")).stream()).containsExactly(0);
+	}
+
+	@Test
+	void candidatesWhenMethodRestrictedThenOnlyIncludedForThatMethod() {
+		PathPrefixIndex index = PathPrefixIndex.builder()
+			.pattern(HttpMethod.GET, pattern("/api/**"))
+			.pattern(HttpMethod.POST, pattern("/api/**"))
+			.pattern(null, pattern("/api/**"))
+			.unindexed()
+			.build();
+		assertThat(index.candidates("GET", path("/api/orders")).stream()).containsExactly(0, 2, 3);
+		assertThat(index.candidates("POST", path("/api/orders")).stream()).containsExactly(1, 2, 3);
+		assertThat(index.candidates("DELETE", path("/api/orders")).stream()).containsExactly(2, 3);
+		assertThat(index.candidates(path("/api/orders")).stream()).containsExactly(0, 1, 2, 3);
+	}
+
+	@Test
+	void patternsWhenEmptyThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> PathPrefixIndex.builder().patterns(List.of()));
+	}
+
+	private static PathPattern pattern(String pattern) {
+		return PathPatternParser.defaultInstance.parse(pattern);
+	}
+
+	private static PathContainer path(String path) {
+		return PathContainer.parsePath(path);
+	}
+
+}